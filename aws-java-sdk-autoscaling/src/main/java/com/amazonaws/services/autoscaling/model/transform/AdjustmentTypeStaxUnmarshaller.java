@@ -21,7 +21,7 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.autoscaling.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -45,18 +45,19 @@ public class AdjustmentTypeStaxUnmarshaller implements
             targetDepth += 1;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument())
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT)
                 return adjustmentType;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
 
                 if (context.testExpression("AdjustmentType", targetDepth)) {
                     adjustmentType.setAdjustmentType(StringStaxUnmarshaller
                             .getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return adjustmentType;
                 }
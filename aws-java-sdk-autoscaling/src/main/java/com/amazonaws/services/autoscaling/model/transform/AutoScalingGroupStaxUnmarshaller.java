@@ -21,7 +21,7 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.autoscaling.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -45,11 +45,12 @@ public class AutoScalingGroupStaxUnmarshaller implements
             targetDepth += 1;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument())
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT)
                 return autoScalingGroup;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
 
                 if (context.testExpression("AutoScalingGroupName", targetDepth)) {
                     autoScalingGroup
@@ -195,7 +196,7 @@ public class AutoScalingGroupStaxUnmarshaller implements
                                     .getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return autoScalingGroup;
                 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.S3ClientOptions;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.sqs.AmazonSQSClient;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+
+/**
+ * End-to-end benchmarks of a service call through the generated clients:
+ * request marshalling, signing, {@code AmazonHttpClient} execution over a real
+ * (loopback) connection and response unmarshalling, for each of the three
+ * wire protocols.
+ * <p>
+ * Run with {@code -prof gc} (as {@link BenchmarkRunner} does) to get the
+ * allocation rate per operation alongside throughput and the p99 latency of
+ * the sample-time mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class ClientRoundTripBenchmark {
+
+    /** Number of messages, attributes or keys returned by each call. */
+    @Param({"1", "10"})
+    public int resultSize;
+
+    private StubServer server;
+    private AmazonSQSClient sqs;
+    private AmazonDynamoDBClient dynamoDB;
+    private AmazonS3Client s3;
+
+    private ReceiveMessageRequest receiveMessageRequest;
+    private GetItemRequest getItemRequest;
+
+    @Setup
+    public void setUp() {
+        server = new StubServer();
+        server.start(resultSize);
+
+        BasicAWSCredentials credentials = new BasicAWSCredentials("akid", "skid");
+        ClientConfiguration config = new ClientConfiguration().withMaxErrorRetry(0);
+
+        sqs = new AmazonSQSClient(credentials, config);
+        sqs.setEndpoint(server.endpoint());
+        receiveMessageRequest = new ReceiveMessageRequest(server.endpoint() + StubServer.QUEUE_PATH)
+                .withMaxNumberOfMessages(10)
+                .withAttributeNames("All");
+
+        dynamoDB = new AmazonDynamoDBClient(credentials, config);
+        dynamoDB.setEndpoint(server.endpoint());
+        getItemRequest = new GetItemRequest()
+                .withTableName("benchmark-table")
+                .withKey(Collections.singletonMap("id", new AttributeValue("customer-0001")));
+
+        s3 = new AmazonS3Client(credentials, config);
+        s3.setEndpoint(server.endpoint());
+        s3.setS3ClientOptions(new S3ClientOptions().withPathStyleAccess(true));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sqs.shutdown();
+        dynamoDB.shutdown();
+        s3.shutdown();
+        server.stop();
+    }
+
+    /** Query protocol: form-encoded request, XML response via StAX. */
+    @Benchmark
+    public ReceiveMessageResult sqsReceiveMessage() {
+        return sqs.receiveMessage(receiveMessageRequest);
+    }
+
+    /** JSON protocol: Jackson-generated request, JSON response. */
+    @Benchmark
+    public GetItemResult dynamoDbGetItem() {
+        return dynamoDB.getItem(getItemRequest);
+    }
+
+    /** REST-XML protocol: REST request, XML response via SAX. */
+    @Benchmark
+    public ObjectListing s3ListObjects() {
+        return s3.listObjects(StubServer.BUCKET);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.regions.Region;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.sqs.AmazonSQSClient;
+
+/**
+ * Cold start benchmarks: the time to construct the first client of a JVM and
+ * point it at a region, which includes loading the SDK internal configuration
+ * and the endpoint metadata.
+ * <p>
+ * Each fork runs a single invocation without warmup, so every measurement is
+ * taken in a fresh JVM that has not loaded any SDK class yet. Nothing in this
+ * class may touch the SDK outside of the benchmark methods.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ClientStartupBenchmark {
+
+    @Benchmark
+    public AmazonS3Client firstS3Client() {
+        AmazonS3Client s3 = new AmazonS3Client(new BasicAWSCredentials("akid", "skid"));
+        s3.setRegion(Region.getRegion(Regions.US_WEST_2));
+        return s3;
+    }
+
+    @Benchmark
+    public AmazonDynamoDBClient firstDynamoDBClient() {
+        AmazonDynamoDBClient dynamoDB = new AmazonDynamoDBClient(new BasicAWSCredentials("akid", "skid"));
+        dynamoDB.setRegion(Region.getRegion(Regions.US_WEST_2));
+        return dynamoDB;
+    }
+
+    @Benchmark
+    public AmazonSQSClient firstSqsClient() {
+        AmazonSQSClient sqs = new AmazonSQSClient(new BasicAWSCredentials("akid", "skid"));
+        sqs.setRegion(Region.getRegion(Regions.US_WEST_2));
+        return sqs;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.dynamodbv2.datamodeling.ConversionSchema;
+import com.amazonaws.services.dynamodbv2.datamodeling.ConversionSchemas;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+/**
+ * Benchmarks of {@link DynamoDBMapper#marshallIntoObject} and
+ * {@link DynamoDBMapper#marshallIntoObjects} on a 30-attribute item, comparing
+ * the default conversion schema with its
+ * {@link ConversionSchemas#preBound(ConversionSchema) pre-bound} variant.
+ * No requests are sent.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MapperConversionBenchmark {
+
+    /** Whether the mapper uses the pre-bound conversion schema. */
+    @Param({"false", "true"})
+    public boolean preBound;
+
+    /** Number of items converted by {@link #marshallIntoObjects()}. */
+    @Param({"1", "100"})
+    public int resultSize;
+
+    private DynamoDBMapper mapper;
+    private Map<String, AttributeValue> item;
+    private List<Map<String, AttributeValue>> items;
+
+    @Setup
+    public void setUp() {
+        ConversionSchema schema = ConversionSchemas.V2_COMPATIBLE;
+        if (preBound) {
+            schema = ConversionSchemas.preBound(schema);
+        }
+        mapper = new DynamoDBMapper(
+                new AmazonDynamoDBClient(new BasicAWSCredentials("akid", "skid")),
+                new DynamoDBMapperConfig(schema));
+
+        item = newItem();
+        items = new ArrayList<Map<String, AttributeValue>>(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            items.add(newItem());
+        }
+    }
+
+    @Benchmark
+    public WideItem marshallIntoObject() {
+        return mapper.marshallIntoObject(WideItem.class, item);
+    }
+
+    @Benchmark
+    public List<WideItem> marshallIntoObjects() {
+        return mapper.marshallIntoObjects(WideItem.class, items);
+    }
+
+    private static Map<String, AttributeValue> newItem() {
+        Map<String, AttributeValue> item = new HashMap<String, AttributeValue>();
+        item.put("attribute01", new AttributeValue("value-1"));
+        item.put("attribute02", new AttributeValue("value-2"));
+        item.put("attribute03", new AttributeValue("value-3"));
+        item.put("attribute04", new AttributeValue("value-4"));
+        item.put("attribute05", new AttributeValue("value-5"));
+        item.put("attribute06", new AttributeValue("value-6"));
+        item.put("attribute07", new AttributeValue("value-7"));
+        item.put("attribute08", new AttributeValue("value-8"));
+        item.put("attribute09", new AttributeValue("value-9"));
+        item.put("attribute10", new AttributeValue("value-10"));
+        item.put("attribute11", new AttributeValue("value-11"));
+        item.put("attribute12", new AttributeValue("value-12"));
+        item.put("attribute13", new AttributeValue().withN("13000"));
+        item.put("attribute14", new AttributeValue().withN("14000"));
+        item.put("attribute15", new AttributeValue().withN("15000"));
+        item.put("attribute16", new AttributeValue().withN("16000"));
+        item.put("attribute17", new AttributeValue().withN("17000"));
+        item.put("attribute18", new AttributeValue().withN("18000"));
+        item.put("attribute19", new AttributeValue().withN("19000"));
+        item.put("attribute20", new AttributeValue().withN("20000"));
+        item.put("attribute21", new AttributeValue().withN("21000"));
+        item.put("attribute22", new AttributeValue().withN("22000"));
+        item.put("attribute23", new AttributeValue().withN("23.5"));
+        item.put("attribute24", new AttributeValue().withN("24.5"));
+        item.put("attribute25", new AttributeValue().withN("25.5"));
+        item.put("attribute26", new AttributeValue().withN("1"));
+        item.put("attribute27", new AttributeValue().withN("1"));
+        item.put("attribute28", new AttributeValue().withSS("a", "b", "c"));
+        item.put("attribute29", new AttributeValue().withSS("a", "b", "c"));
+        item.put("attribute30", new AttributeValue().withL(new AttributeValue("a"), new AttributeValue("b")));
+        return item;
+    }
+
+    /**
+     * A mapped class with 30 attributes of the common scalar, set and list
+     * types.
+     */
+    @DynamoDBTable(tableName = "benchmark")
+    public static class WideItem {
+        private String attribute01;
+        private String attribute02;
+        private String attribute03;
+        private String attribute04;
+        private String attribute05;
+        private String attribute06;
+        private String attribute07;
+        private String attribute08;
+        private String attribute09;
+        private String attribute10;
+        private String attribute11;
+        private String attribute12;
+        private Long attribute13;
+        private Long attribute14;
+        private Long attribute15;
+        private Long attribute16;
+        private Long attribute17;
+        private Long attribute18;
+        private Integer attribute19;
+        private Integer attribute20;
+        private Integer attribute21;
+        private Integer attribute22;
+        private Double attribute23;
+        private Double attribute24;
+        private Double attribute25;
+        private Boolean attribute26;
+        private Boolean attribute27;
+        private Set<String> attribute28;
+        private Set<String> attribute29;
+        private List<String> attribute30;
+
+        @DynamoDBHashKey
+        public String getAttribute01() { return attribute01; }
+        public void setAttribute01(String attribute01) { this.attribute01 = attribute01; }
+        public String getAttribute02() { return attribute02; }
+        public void setAttribute02(String attribute02) { this.attribute02 = attribute02; }
+        public String getAttribute03() { return attribute03; }
+        public void setAttribute03(String attribute03) { this.attribute03 = attribute03; }
+        public String getAttribute04() { return attribute04; }
+        public void setAttribute04(String attribute04) { this.attribute04 = attribute04; }
+        public String getAttribute05() { return attribute05; }
+        public void setAttribute05(String attribute05) { this.attribute05 = attribute05; }
+        public String getAttribute06() { return attribute06; }
+        public void setAttribute06(String attribute06) { this.attribute06 = attribute06; }
+        public String getAttribute07() { return attribute07; }
+        public void setAttribute07(String attribute07) { this.attribute07 = attribute07; }
+        public String getAttribute08() { return attribute08; }
+        public void setAttribute08(String attribute08) { this.attribute08 = attribute08; }
+        public String getAttribute09() { return attribute09; }
+        public void setAttribute09(String attribute09) { this.attribute09 = attribute09; }
+        public String getAttribute10() { return attribute10; }
+        public void setAttribute10(String attribute10) { this.attribute10 = attribute10; }
+        public String getAttribute11() { return attribute11; }
+        public void setAttribute11(String attribute11) { this.attribute11 = attribute11; }
+        public String getAttribute12() { return attribute12; }
+        public void setAttribute12(String attribute12) { this.attribute12 = attribute12; }
+        public Long getAttribute13() { return attribute13; }
+        public void setAttribute13(Long attribute13) { this.attribute13 = attribute13; }
+        public Long getAttribute14() { return attribute14; }
+        public void setAttribute14(Long attribute14) { this.attribute14 = attribute14; }
+        public Long getAttribute15() { return attribute15; }
+        public void setAttribute15(Long attribute15) { this.attribute15 = attribute15; }
+        public Long getAttribute16() { return attribute16; }
+        public void setAttribute16(Long attribute16) { this.attribute16 = attribute16; }
+        public Long getAttribute17() { return attribute17; }
+        public void setAttribute17(Long attribute17) { this.attribute17 = attribute17; }
+        public Long getAttribute18() { return attribute18; }
+        public void setAttribute18(Long attribute18) { this.attribute18 = attribute18; }
+        public Integer getAttribute19() { return attribute19; }
+        public void setAttribute19(Integer attribute19) { this.attribute19 = attribute19; }
+        public Integer getAttribute20() { return attribute20; }
+        public void setAttribute20(Integer attribute20) { this.attribute20 = attribute20; }
+        public Integer getAttribute21() { return attribute21; }
+        public void setAttribute21(Integer attribute21) { this.attribute21 = attribute21; }
+        public Integer getAttribute22() { return attribute22; }
+        public void setAttribute22(Integer attribute22) { this.attribute22 = attribute22; }
+        public Double getAttribute23() { return attribute23; }
+        public void setAttribute23(Double attribute23) { this.attribute23 = attribute23; }
+        public Double getAttribute24() { return attribute24; }
+        public void setAttribute24(Double attribute24) { this.attribute24 = attribute24; }
+        public Double getAttribute25() { return attribute25; }
+        public void setAttribute25(Double attribute25) { this.attribute25 = attribute25; }
+        public Boolean getAttribute26() { return attribute26; }
+        public void setAttribute26(Boolean attribute26) { this.attribute26 = attribute26; }
+        public Boolean getAttribute27() { return attribute27; }
+        public void setAttribute27(Boolean attribute27) { this.attribute27 = attribute27; }
+        public Set<String> getAttribute28() { return attribute28; }
+        public void setAttribute28(Set<String> attribute28) { this.attribute28 = attribute28; }
+        public Set<String> getAttribute29() { return attribute29; }
+        public void setAttribute29(Set<String> attribute29) { this.attribute29 = attribute29; }
+        public List<String> getAttribute30() { return attribute30; }
+        public void setAttribute30(List<String> attribute30) { this.attribute30 = attribute30; }
+    }
+}
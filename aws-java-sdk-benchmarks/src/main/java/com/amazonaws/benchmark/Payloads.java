@@ -0,0 +1,175 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.Md5Utils;
+import com.amazonaws.util.StringUtils;
+
+/**
+ * Generates representative service response bodies for the benchmarks. The
+ * payloads are built programmatically so that their size can be varied with a
+ * JMH parameter and so that checksums (e.g. the SQS message body MD5) are
+ * always consistent with the content.
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    /**
+     * Query protocol (XML) response of an SQS ReceiveMessage call returning
+     * the given number of messages.
+     */
+    static String sqsReceiveMessage(int messages) {
+        return sqsReceiveMessage(messages, false);
+    }
+
+    /**
+     * Query protocol (XML) response of an SQS ReceiveMessage call returning
+     * the given number of messages, optionally each with a String and a
+     * Number message attribute.
+     */
+    static String sqsReceiveMessage(int messages, boolean messageAttributes) {
+        StringBuilder sb = new StringBuilder(512 * messages + 256);
+        sb.append("<ReceiveMessageResponse xmlns=\"http://queue.amazonaws.com/doc/2012-11-05/\">")
+          .append("<ReceiveMessageResult>");
+        for (int i = 0; i < messages; i++) {
+            String body = messageBody(i);
+            sb.append("<Message>")
+              .append("<MessageId>5fea7756-0ea4-451a-a703-a558b933e2").append(pad(i)).append("</MessageId>")
+              .append("<ReceiptHandle>MbZj6wDWli+JvwwJaBV+3dcjk2YW2vA3+STFFljTM8tJJg6HRG6PYSasuWXPJB+Cw")
+              .append("Lj1FjgXUv1uSj1gUPAWV66FU/WeR4mq2OKpEGYWbnLmpRCJVAyeMjeU5ZBdtcQ+QE").append(pad(i))
+              .append("</ReceiptHandle>")
+              .append("<MD5OfBody>").append(md5Hex(body)).append("</MD5OfBody>")
+              .append("<Body>").append(body).append("</Body>")
+              .append("<Attribute><Name>SenderId</Name><Value>195004372649</Value></Attribute>")
+              .append("<Attribute><Name>SentTimestamp</Name><Value>1238099229000</Value></Attribute>")
+              .append("<Attribute><Name>ApproximateReceiveCount</Name><Value>5</Value></Attribute>")
+              .append("<Attribute><Name>ApproximateFirstReceiveTimestamp</Name><Value>1250700979248</Value></Attribute>");
+            if (messageAttributes) {
+                String traceId = "Root=1-5759e988-bd862e3fe1be46a994272793-" + pad(i);
+                String priority = Integer.toString(i % 10);
+                sb.append("<MD5OfMessageAttributes>")
+                  .append(messageAttributesMd5Hex(traceId, priority))
+                  .append("</MD5OfMessageAttributes>")
+                  .append("<MessageAttribute><Name>traceId</Name><Value>")
+                  .append("<StringValue>").append(traceId).append("</StringValue>")
+                  .append("<DataType>String</DataType></Value></MessageAttribute>")
+                  .append("<MessageAttribute><Name>priority</Name><Value>")
+                  .append("<StringValue>").append(priority).append("</StringValue>")
+                  .append("<DataType>Number</DataType></Value></MessageAttribute>");
+            }
+            sb.append("</Message>");
+        }
+        sb.append("</ReceiveMessageResult>")
+          .append("<ResponseMetadata><RequestId>b6633655-283d-45b4-aee4-4e84e0ae6afa</RequestId></ResponseMetadata>")
+          .append("</ReceiveMessageResponse>");
+        return sb.toString();
+    }
+
+    /**
+     * JSON protocol response of a DynamoDB GetItem call whose item has the
+     * given number of attributes.
+     */
+    static String dynamoDbGetItem(int attributes) {
+        StringBuilder sb = new StringBuilder(96 * attributes + 64);
+        sb.append("{\"Item\":{\"id\":{\"S\":\"customer-0001\"}");
+        for (int i = 0; i < attributes; i++) {
+            sb.append(",\"s").append(i).append("\":{\"S\":\"").append(messageBody(i)).append("\"}");
+            sb.append(",\"n").append(i).append("\":{\"N\":\"").append(1000000 + i).append("\"}");
+            sb.append(",\"l").append(i).append("\":{\"L\":[{\"S\":\"a\"},{\"N\":\"").append(i).append("\"}]}");
+        }
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    /**
+     * REST-XML response of an S3 ListObjects call returning the given number
+     * of keys.
+     */
+    static String s3ListObjects(String bucket, int keys) {
+        StringBuilder sb = new StringBuilder(384 * keys + 256);
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+          .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+          .append("<Name>").append(bucket).append("</Name><Prefix></Prefix><Marker></Marker>")
+          .append("<MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>");
+        for (int i = 0; i < keys; i++) {
+            sb.append("<Contents>")
+              .append("<Key>logs/2016/04/21/part-").append(pad(i)).append(".gz</Key>")
+              .append("<LastModified>2016-04-21T17:42:29.000Z</LastModified>")
+              .append("<ETag>&quot;828ef3fdfa96f00ad9f27c383fc9ac7f&quot;</ETag>")
+              .append("<Size>").append(5242880 + i).append("</Size>")
+              .append("<Owner><ID>75aa57f09aa0c8caeab4f8c24e99d10f8e7faeebf76c078efc7c6caea54ba06a</ID>")
+              .append("<DisplayName>benchmark</DisplayName></Owner>")
+              .append("<StorageClass>STANDARD</StorageClass>")
+              .append("</Contents>");
+        }
+        sb.append("</ListBucketResult>");
+        return sb.toString();
+    }
+
+    static byte[] toBytes(String payload) {
+        return payload.getBytes(StringUtils.UTF8);
+    }
+
+    private static String messageBody(int i) {
+        return "{\"orderId\":" + i + ",\"status\":\"SHIPPED\",\"carrier\":\"benchmark-carrier\"}";
+    }
+
+    private static String pad(int i) {
+        return String.format("%06d", i);
+    }
+
+    private static String md5Hex(String s) {
+        return BinaryUtils.toHex(Md5Utils.computeMD5Hash(toBytes(s)));
+    }
+
+    /**
+     * MD5 of the message attributes generated by
+     * {@link #sqsReceiveMessage(int, boolean)}, in the encoding SQS uses:
+     * attributes sorted by name, each as the length-prefixed name, data type
+     * and, after a transport type byte of 1 (String), value.
+     */
+    private static String messageAttributesMd5Hex(String traceId, String priority) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            writeStringAttribute(out, "priority", "Number", priority);
+            writeStringAttribute(out, "traceId", "String", traceId);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return BinaryUtils.toHex(Md5Utils.computeMD5Hash(bytes.toByteArray()));
+    }
+
+    private static void writeStringAttribute(DataOutputStream out, String name, String dataType, String value)
+            throws IOException {
+        writeLengthAndBytes(out, name);
+        writeLengthAndBytes(out, dataType);
+        out.write(1);
+        writeLengthAndBytes(out, value);
+    }
+
+    private static void writeLengthAndBytes(DataOutputStream out, String s) throws IOException {
+        byte[] utf8 = toBytes(s);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+}
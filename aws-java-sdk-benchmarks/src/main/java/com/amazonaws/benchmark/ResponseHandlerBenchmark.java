@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.http.JsonResponseHandler;
+import com.amazonaws.http.StaxResponseHandler;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.transform.GetItemResultJsonUnmarshaller;
+import com.amazonaws.services.s3.model.transform.XmlResponsesSaxParser;
+import com.amazonaws.services.s3.model.transform.XmlResponsesSaxParser.ListBucketHandler;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.amazonaws.services.sqs.model.transform.ReceiveMessageResultStaxUnmarshaller;
+import com.amazonaws.util.json.SdkJsonProtocolFactory;
+
+/**
+ * Benchmarks of response unmarshalling in isolation from the transport:
+ * {@link StaxResponseHandler} for the Query protocol,
+ * {@link JsonResponseHandler} for the JSON protocol and
+ * {@link XmlResponsesSaxParser} for S3's REST-XML listing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ResponseHandlerBenchmark {
+
+    /** Number of messages, attributes or keys in each response. */
+    @Param({"1", "10", "1000"})
+    public int resultSize;
+
+    private byte[] queryXml;
+    private byte[] json;
+    private byte[] restXml;
+
+    private StaxResponseHandler<ReceiveMessageResult> staxHandler;
+    private JsonResponseHandler<GetItemResult> jsonHandler;
+    private XmlResponsesSaxParser saxParser;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        queryXml = Payloads.toBytes(Payloads.sqsReceiveMessage(resultSize));
+        json = Payloads.toBytes(Payloads.dynamoDbGetItem(resultSize));
+        restXml = Payloads.toBytes(Payloads.s3ListObjects(StubServer.BUCKET, resultSize));
+
+        staxHandler = new StaxResponseHandler<ReceiveMessageResult>(
+                ReceiveMessageResultStaxUnmarshaller.getInstance());
+        jsonHandler = SdkJsonProtocolFactory.createResponseHandler(
+                GetItemResultJsonUnmarshaller.getInstance(), false);
+        saxParser = new XmlResponsesSaxParser();
+    }
+
+    @Benchmark
+    public AmazonWebServiceResponse<ReceiveMessageResult> staxQueryResponse() throws Exception {
+        return staxHandler.handle(newResponse(queryXml));
+    }
+
+    @Benchmark
+    public AmazonWebServiceResponse<GetItemResult> jsonResponse() throws Exception {
+        return jsonHandler.handle(newResponse(json));
+    }
+
+    @Benchmark
+    public ListBucketHandler saxRestXmlResponse() throws Exception {
+        return saxParser.parseListBucketObjectsResponse(new ByteArrayInputStream(restXml), false);
+    }
+
+    private static HttpResponse newResponse(byte[] body) {
+        HttpResponse response = new HttpResponse(new DefaultRequest<Void>("benchmark"), null);
+        response.setStatusCode(200);
+        response.setContent(new ByteArrayInputStream(body));
+        return response;
+    }
+}
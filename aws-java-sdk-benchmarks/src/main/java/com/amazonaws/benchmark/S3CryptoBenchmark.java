@@ -0,0 +1,215 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.internal.StaticCredentialsProvider;
+import com.amazonaws.services.s3.internal.S3Direct;
+import com.amazonaws.services.s3.internal.crypto.CryptoModuleDispatcher;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.CopyPartRequest;
+import com.amazonaws.services.s3.model.CopyPartResult;
+import com.amazonaws.services.s3.model.CryptoConfiguration;
+import com.amazonaws.services.s3.model.CryptoMode;
+import com.amazonaws.services.s3.model.EncryptionMaterials;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.services.s3.model.StaticEncryptionMaterialsProvider;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import com.amazonaws.util.IOUtils;
+
+/**
+ * Benchmarks of client-side encryption and decryption throughput of the S3
+ * encryption client's crypto modules, for AES/CBC (encryption only) and
+ * AES/GCM (authenticated encryption) content, against an in-memory S3 so that
+ * only the cryptographic path is measured. Decryption of either kind of
+ * content always goes through the authenticated encryption module, as it does
+ * for an S3 encryption client configured with
+ * {@link CryptoMode#AuthenticatedEncryption}. AES/GCM requires the Bouncy
+ * Castle provider on the classpath; its signed jar is copied next to the
+ * benchmarks jar, which refers to it from its manifest, since a provider
+ * shaded into the uber jar would lose its signature.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class S3CryptoBenchmark {
+
+    /** The content encryption scheme of the object. */
+    @Param({"AesCbc", "AesGcm"})
+    public String scheme;
+
+    /** Size in bytes of the plaintext object. */
+    @Param({"1024", "1048576"})
+    public int objectSize;
+
+    /** Size in bytes of the buffer feeding the content cipher. */
+    @Param({"2048", "16384"})
+    public int cipherBufferSize;
+
+    private InMemoryS3 s3;
+    private CryptoModuleDispatcher encryptor;
+    private CryptoModuleDispatcher decryptor;
+    private byte[] plaintext;
+    private byte[] drain;
+
+    @Setup
+    public void setUp() throws Exception {
+        plaintext = new byte[objectSize];
+        new Random(42).nextBytes(plaintext);
+        drain = new byte[64 * 1024];
+
+        s3 = new InMemoryS3();
+        StaticEncryptionMaterialsProvider materials = new StaticEncryptionMaterialsProvider(
+                new EncryptionMaterials(new SecretKeySpec(new byte[32], "AES")));
+        StaticCredentialsProvider credentials = new StaticCredentialsProvider(
+                new BasicAWSCredentials("akid", "skid"));
+        CryptoMode mode = "AesGcm".equals(scheme)
+                ? CryptoMode.AuthenticatedEncryption
+                : CryptoMode.EncryptionOnly;
+
+        encryptor = new CryptoModuleDispatcher(null, s3, credentials, materials,
+                new CryptoConfiguration(mode)
+                        .withCipherBufferSize(cipherBufferSize)
+                        .readOnly());
+        decryptor = new CryptoModuleDispatcher(null, s3, credentials, materials,
+                new CryptoConfiguration(CryptoMode.AuthenticatedEncryption)
+                        .withCipherBufferSize(cipherBufferSize)
+                        .readOnly());
+
+        // Store the object to be decrypted, and fail fast if it does not
+        // decrypt back to the plaintext.
+        encrypt();
+        if (decrypt() != objectSize)
+            throw new IllegalStateException("Decrypted object size mismatch");
+    }
+
+    @Benchmark
+    public PutObjectResult encrypt() {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(objectSize);
+        return encryptor.putObjectSecurely(new PutObjectRequest("bucket", "key",
+                new ByteArrayInputStream(plaintext), metadata));
+    }
+
+    @Benchmark
+    public long decrypt() throws IOException {
+        S3Object object = decryptor.getObjectSecurely(new GetObjectRequest("bucket", "key"));
+        InputStream in = object.getObjectContent();
+        try {
+            long total = 0;
+            for (int n; (n = in.read(drain)) != -1; )
+                total += n;
+            return total;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Holds the last object put, ignoring bucket and key.
+     */
+    private static final class InMemoryS3 extends S3Direct {
+        private volatile byte[] content;
+        private volatile ObjectMetadata metadata;
+
+        @Override
+        public PutObjectResult putObject(PutObjectRequest req) {
+            try {
+                content = IOUtils.toByteArray(req.getInputStream());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            metadata = req.getMetadata().clone();
+            return new PutObjectResult();
+        }
+
+        @Override
+        public S3Object getObject(GetObjectRequest req) {
+            S3Object object = new S3Object();
+            object.setBucketName(req.getBucketName());
+            object.setKey(req.getKey());
+            object.setObjectMetadata(metadata.clone());
+            object.setObjectContent(new S3ObjectInputStream(
+                    new ByteArrayInputStream(content), null));
+            return object;
+        }
+
+        @Override
+        public ObjectMetadata getObject(GetObjectRequest req, File dest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompleteMultipartUploadResult completeMultipartUpload(
+                CompleteMultipartUploadRequest req) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InitiateMultipartUploadResult initiateMultipartUpload(
+                InitiateMultipartUploadRequest req) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public UploadPartResult uploadPart(UploadPartRequest req) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CopyPartResult copyPart(CopyPartRequest req) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void abortMultipartUpload(AbortMultipartUploadRequest req) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
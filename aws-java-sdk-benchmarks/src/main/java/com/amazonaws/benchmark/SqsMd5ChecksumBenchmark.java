@@ -0,0 +1,101 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.http.StaxResponseHandler;
+import com.amazonaws.services.sqs.MessageMD5ChecksumHandler;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.amazonaws.services.sqs.model.transform.ReceiveMessageResultStaxUnmarshaller;
+
+/**
+ * Benchmarks of SQS ReceiveMessage response unmarshalling with and without
+ * the client-side MD5 verification done by {@link MessageMD5ChecksumHandler},
+ * to measure what the verification adds on top of parsing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SqsMd5ChecksumBenchmark {
+
+    /** Number of messages in each response; SQS returns at most 10. */
+    @Param({"1", "10"})
+    public int resultSize;
+
+    /** Whether each message carries message attributes to verify as well. */
+    @Param({"false", "true"})
+    public boolean messageAttributes;
+
+    private byte[] queryXml;
+
+    private StaxResponseHandler<ReceiveMessageResult> staxHandler;
+    private MessageMD5ChecksumHandler checksumHandler;
+    private Request<ReceiveMessageRequest> request;
+
+    @Setup
+    public void setUp() throws Exception {
+        queryXml = Payloads.toBytes(Payloads.sqsReceiveMessage(resultSize, messageAttributes));
+
+        staxHandler = new StaxResponseHandler<ReceiveMessageResult>(
+                ReceiveMessageResultStaxUnmarshaller.getInstance());
+        checksumHandler = new MessageMD5ChecksumHandler();
+        ReceiveMessageRequest original = new ReceiveMessageRequest("https://sqs.us-east-1.amazonaws.com/123456789012/benchmark")
+                .withMessageAttributeNames("All");
+        request = new DefaultRequest<ReceiveMessageRequest>(original, "AmazonSQS");
+
+        // Fail fast if the generated checksums do not verify.
+        checksumHandler.afterResponse(request, unmarshall(), null);
+    }
+
+    @Benchmark
+    public ReceiveMessageResult unmarshall() throws Exception {
+        return staxHandler.handle(newResponse(queryXml)).getResult();
+    }
+
+    @Benchmark
+    public ReceiveMessageResult unmarshallAndVerify() throws Exception {
+        ReceiveMessageResult result = unmarshall();
+        checksumHandler.afterResponse(request, result, null);
+        return result;
+    }
+
+    private static HttpResponse newResponse(byte[] body) {
+        HttpResponse response = new HttpResponse(new DefaultRequest<Void>("benchmark"), null);
+        response.setStatusCode(200);
+        response.setContent(new ByteArrayInputStream(body));
+        return response;
+    }
+}
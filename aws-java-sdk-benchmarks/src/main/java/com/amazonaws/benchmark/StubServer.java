@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmark;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+/**
+ * In-process HTTP server that answers the benchmarked operations with canned
+ * responses, so that the full client request/response path can be measured
+ * without any network or service latency.
+ */
+final class StubServer {
+
+    static final String QUEUE_PATH = "/123456789012/benchmark-queue";
+    static final String BUCKET = "benchmark-bucket";
+
+    private final WireMockServer server;
+
+    StubServer() {
+        server = new WireMockServer(WireMockConfiguration.wireMockConfig().port(0));
+    }
+
+    /**
+     * Starts the server and registers the stub responses, each sized for the
+     * given number of messages, items or keys.
+     */
+    void start(int resultSize) {
+        server.start();
+        WireMock client = new WireMock("localhost", server.port());
+
+        client.register(post(urlEqualTo(QUEUE_PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "text/xml")
+                        .withBody(Payloads.sqsReceiveMessage(resultSize))));
+
+        client.register(post(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/x-amz-json-1.0")
+                        .withHeader("x-amzn-RequestId", "RSUO7E5ISJ11GKMR0RJM4JAD0RVV4KQNSO5AEMVJF66Q9ASUAAJG")
+                        .withBody(Payloads.dynamoDbGetItem(resultSize))));
+
+        client.register(get(urlMatching("/" + BUCKET + ".*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/xml")
+                        .withHeader("x-amz-request-id", "3B3C7C725673C630")
+                        .withBody(Payloads.s3ListObjects(BUCKET, resultSize))));
+    }
+
+    String endpoint() {
+        return "http://localhost:" + server.port();
+    }
+
+    void stop() {
+        server.stop();
+    }
+}
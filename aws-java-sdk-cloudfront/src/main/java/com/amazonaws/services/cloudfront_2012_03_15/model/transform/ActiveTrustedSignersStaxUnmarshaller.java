@@ -15,7 +15,7 @@
 
 package com.amazonaws.services.cloudfront_2012_03_15.model.transform;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudfront_2012_03_15.model.ActiveTrustedSigners;
 import com.amazonaws.transform.StaxUnmarshallerContext;
@@ -35,15 +35,16 @@ public class ActiveTrustedSignersStaxUnmarshaller implements Unmarshaller<Active
 
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return activeTrustedSigners;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return activeTrustedSigners;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Signer", targetDepth)) {
                     activeTrustedSigners.getSigners().add(SignerStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return activeTrustedSigners;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudfront_2012_03_15.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudfront_2012_03_15.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -40,10 +40,11 @@ public class DistributionStaxUnmarshaller implements Unmarshaller<Distribution,
         
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return distribution;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return distribution;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Id", targetDepth)) {
                     distribution.setId(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -72,7 +73,7 @@ public class DistributionStaxUnmarshaller implements Unmarshaller<Distribution,
                     distribution.setDistributionConfig(DistributionConfigStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return distribution;
                 }
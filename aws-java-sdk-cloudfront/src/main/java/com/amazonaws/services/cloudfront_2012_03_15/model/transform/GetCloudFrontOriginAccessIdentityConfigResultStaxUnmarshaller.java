@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudfront_2012_03_15.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudfront_2012_03_15.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -43,15 +43,16 @@ public class GetCloudFrontOriginAccessIdentityConfigResultStaxUnmarshaller imple
         
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return getCloudFrontOriginAccessIdentityConfigResult;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return getCloudFrontOriginAccessIdentityConfigResult;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("CloudFrontOriginAccessIdentityConfig", targetDepth)) {
                     getCloudFrontOriginAccessIdentityConfigResult.setCloudFrontOriginAccessIdentityConfig(CloudFrontOriginAccessIdentityConfigStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return getCloudFrontOriginAccessIdentityConfigResult;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudfront_2012_03_15.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudfront_2012_03_15.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -38,15 +38,16 @@ public class ListCloudFrontOriginAccessIdentitiesResultStaxUnmarshaller implemen
         int targetDepth = originalDepth + 1;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return listCloudFrontOriginAccessIdentitiesResult;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return listCloudFrontOriginAccessIdentitiesResult;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("CloudFrontOriginAccessIdentityList", targetDepth)) {
                     listCloudFrontOriginAccessIdentitiesResult.setCloudFrontOriginAccessIdentityList(CloudFrontOriginAccessIdentityListStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return listCloudFrontOriginAccessIdentitiesResult;
                 }
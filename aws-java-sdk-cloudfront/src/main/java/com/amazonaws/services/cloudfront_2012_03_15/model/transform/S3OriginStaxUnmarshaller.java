@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudfront_2012_03_15.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudfront_2012_03_15.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -40,10 +40,11 @@ public class S3OriginStaxUnmarshaller implements Unmarshaller<S3Origin, StaxUnma
         
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return s3Origin;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return s3Origin;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("DNSName", targetDepth)) {
                     s3Origin.setDNSName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -52,7 +53,7 @@ public class S3OriginStaxUnmarshaller implements Unmarshaller<S3Origin, StaxUnma
                     s3Origin.setOriginAccessIdentity(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return s3Origin;
                 }
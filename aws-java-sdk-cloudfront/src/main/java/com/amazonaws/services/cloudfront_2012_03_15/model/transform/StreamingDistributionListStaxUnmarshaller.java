@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudfront_2012_03_15.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudfront_2012_03_15.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -40,10 +40,11 @@ public class StreamingDistributionListStaxUnmarshaller implements Unmarshaller<S
         
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return streamingDistributionList;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return streamingDistributionList;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Marker", targetDepth)) {
                     streamingDistributionList.setMarker(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -64,7 +65,7 @@ public class StreamingDistributionListStaxUnmarshaller implements Unmarshaller<S
                     streamingDistributionList.getStreamingDistributionSummaries().add(StreamingDistributionSummaryStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return streamingDistributionList;
                 }
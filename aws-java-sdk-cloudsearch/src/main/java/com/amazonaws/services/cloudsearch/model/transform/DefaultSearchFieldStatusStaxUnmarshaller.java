@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearch.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearch.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -40,10 +40,11 @@ public class DefaultSearchFieldStatusStaxUnmarshaller implements Unmarshaller<De
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return defaultSearchFieldStatus;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return defaultSearchFieldStatus;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Options", targetDepth)) {
                     defaultSearchFieldStatus.setOptions(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -52,7 +53,7 @@ public class DefaultSearchFieldStatusStaxUnmarshaller implements Unmarshaller<De
                     defaultSearchFieldStatus.setStatus(OptionStatusStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return defaultSearchFieldStatus;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearch.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearch.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class DomainStatusStaxUnmarshaller implements Unmarshaller<DomainStatus,
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return domainStatus;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return domainStatus;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("DomainId", targetDepth)) {
                     domainStatus.setDomainId(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -93,7 +94,7 @@ public class DomainStatusStaxUnmarshaller implements Unmarshaller<DomainStatus,
                     domainStatus.setSearchInstanceCount(IntegerStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return domainStatus;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearch.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearch.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class IndexFieldStaxUnmarshaller implements Unmarshaller<IndexField, Stax
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return indexField;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return indexField;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("IndexFieldName", targetDepth)) {
                     indexField.setIndexFieldName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -69,7 +70,7 @@ public class IndexFieldStaxUnmarshaller implements Unmarshaller<IndexField, Stax
                     indexField.getSourceAttributes().add(SourceAttributeStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return indexField;
                 }
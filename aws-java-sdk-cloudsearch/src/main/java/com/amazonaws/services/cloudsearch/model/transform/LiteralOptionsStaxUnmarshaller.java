@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearch.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearch.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class LiteralOptionsStaxUnmarshaller implements Unmarshaller<LiteralOptio
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return literalOptions;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return literalOptions;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("DefaultValue", targetDepth)) {
                     literalOptions.setDefaultValue(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -61,7 +62,7 @@ public class LiteralOptionsStaxUnmarshaller implements Unmarshaller<LiteralOptio
                     literalOptions.setResultEnabled(BooleanStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return literalOptions;
                 }
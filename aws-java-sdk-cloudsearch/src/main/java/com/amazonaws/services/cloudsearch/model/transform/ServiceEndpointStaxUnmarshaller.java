@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearch.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearch.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class ServiceEndpointStaxUnmarshaller implements Unmarshaller<ServiceEndp
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return serviceEndpoint;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return serviceEndpoint;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Arn", targetDepth)) {
                     serviceEndpoint.setArn(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -53,7 +54,7 @@ public class ServiceEndpointStaxUnmarshaller implements Unmarshaller<ServiceEndp
                     serviceEndpoint.setEndpoint(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return serviceEndpoint;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearch.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearch.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -40,10 +40,11 @@ public class SourceAttributeStaxUnmarshaller implements Unmarshaller<SourceAttri
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return sourceAttribute;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return sourceAttribute;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("SourceDataFunction", targetDepth)) {
                     sourceAttribute.setSourceDataFunction(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -60,7 +61,7 @@ public class SourceAttributeStaxUnmarshaller implements Unmarshaller<SourceAttri
                     sourceAttribute.setSourceDataMap(SourceDataMapStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return sourceAttribute;
                 }
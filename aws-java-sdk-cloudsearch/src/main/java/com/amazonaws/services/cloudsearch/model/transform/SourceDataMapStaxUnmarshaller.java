@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearch.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearch.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class SourceDataMapStaxUnmarshaller implements Unmarshaller<SourceDataMap
                 = new MapEntry<String, String>();
 
             while (true) {
-                XMLEvent xmlEvent = context.nextEvent();
-                if (xmlEvent.isEndDocument()) return entry;
+                int token = context.nextToken();
+                if (token == XMLStreamConstants.END_DOCUMENT) return entry;
 
-                if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+                if (token == XMLStreamConstants.ATTRIBUTE
+                        || token == XMLStreamConstants.START_ELEMENT) {
                     if (context.testExpression("key", targetDepth)) {
                         entry.setKey(StringStaxUnmarshaller.getInstance().unmarshall(context));
                         continue;
@@ -53,7 +54,7 @@ public class SourceDataMapStaxUnmarshaller implements Unmarshaller<SourceDataMap
                         entry.setValue(StringStaxUnmarshaller.getInstance().unmarshall(context));
                         continue;
                     }
-                } else if (xmlEvent.isEndElement()) {
+                } else if (token == XMLStreamConstants.END_ELEMENT) {
                     if (context.getCurrentDepth() < originalDepth) return entry;
                 }
             }
@@ -75,10 +76,11 @@ public class SourceDataMapStaxUnmarshaller implements Unmarshaller<SourceDataMap
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return sourceDataMap;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return sourceDataMap;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("SourceName", targetDepth)) {
                     sourceDataMap.setSourceName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -92,7 +94,7 @@ public class SourceDataMapStaxUnmarshaller implements Unmarshaller<SourceDataMap
                     sourceDataMap.getCases().put(entry.getKey(), entry.getValue());
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return sourceDataMap;
                 }
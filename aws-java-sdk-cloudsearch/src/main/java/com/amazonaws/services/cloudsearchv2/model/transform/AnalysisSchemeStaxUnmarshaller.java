@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearchv2.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearchv2.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class AnalysisSchemeStaxUnmarshaller implements Unmarshaller<AnalysisSche
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return analysisScheme;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return analysisScheme;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("AnalysisSchemeName", targetDepth)) {
                     analysisScheme.setAnalysisSchemeName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -55,7 +56,7 @@ public class AnalysisSchemeStaxUnmarshaller implements Unmarshaller<AnalysisSche
                     analysisScheme.setAnalysisOptions(AnalysisOptionsStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return analysisScheme;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearchv2.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearchv2.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class DateArrayOptionsStaxUnmarshaller implements Unmarshaller<DateArrayO
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return dateArrayOptions;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return dateArrayOptions;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("DefaultValue", targetDepth)) {
                     dateArrayOptions.setDefaultValue(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -63,7 +64,7 @@ public class DateArrayOptionsStaxUnmarshaller implements Unmarshaller<DateArrayO
                     dateArrayOptions.setReturnEnabled(BooleanStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return dateArrayOptions;
                 }
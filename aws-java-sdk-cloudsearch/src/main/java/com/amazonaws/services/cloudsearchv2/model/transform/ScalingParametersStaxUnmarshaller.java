@@ -18,7 +18,7 @@ package com.amazonaws.services.cloudsearchv2.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.cloudsearchv2.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class ScalingParametersStaxUnmarshaller implements Unmarshaller<ScalingPa
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return scalingParameters;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return scalingParameters;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("DesiredInstanceType", targetDepth)) {
                     scalingParameters.setDesiredInstanceType(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -55,7 +56,7 @@ public class ScalingParametersStaxUnmarshaller implements Unmarshaller<ScalingPa
                     scalingParameters.setDesiredPartitionCount(IntegerStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return scalingParameters;
                 }
@@ -8,7 +8,6 @@
 
 package ${metadata.packageName}.model.transform;
 
-import java.io.ByteArrayInputStream;
 import java.util.Collections;
 import java.util.Map;
 import java.util.List;
@@ -62,9 +61,8 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
 
           jsonGenerator.writeEndObject();
 
-          byte[] content = jsonGenerator.getBytes();
-          request.setContent(new ByteArrayInputStream(content));
-          request.addHeader("Content-Length", Integer.toString(content.length));
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
           request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
@@ -11,7 +11,9 @@ package ${metadata.packageName}.model.transform;
 
 import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
+<#if !shapes[shapeName].hasPayloadMember && !shapes[shapeName].unboundMembers?has_content>
 import java.io.ByteArrayInputStream;
+</#if>
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringWriter;
@@ -88,9 +90,8 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
                         jsonGenerator.writeEndObject();
                     }
 
-                    byte[] content = jsonGenerator.getBytes();
-                    request.setContent(new ByteArrayInputStream(content));
-                    request.addHeader("Content-Length", Integer.toString(content.length));
+                    request.setContent(jsonGenerator.getContentStream());
+                    request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
                     if (!request.getHeaders().containsKey("Content-Type")) {
                         request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
                     }
@@ -116,9 +117,8 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
 
             jsonGenerator.writeEndObject();
 
-            byte[] content = jsonGenerator.getBytes();
-            request.setContent(new ByteArrayInputStream(content));
-            request.addHeader("Content-Length", Integer.toString(content.length));
+            request.setContent(jsonGenerator.getContentStream());
+            request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
             if (!request.getHeaders().containsKey("Content-Type")) {
                 request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
             }
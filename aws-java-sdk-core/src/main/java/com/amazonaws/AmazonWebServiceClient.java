@@ -21,6 +21,7 @@ import com.amazonaws.handlers.RequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.http.AmazonHttpClient;
 import com.amazonaws.http.ExecutionContext;
+import com.amazonaws.http.conn.ConnectionPoolMetrics;
 import com.amazonaws.internal.DefaultServiceEndpointBuilder;
 import com.amazonaws.log.CommonsLogFactory;
 import com.amazonaws.metrics.AwsSdkMetrics;
@@ -554,6 +555,31 @@ public abstract class AmazonWebServiceClient {
         return client.getRequestMetricCollector();
     }
 
+    /**
+     * Returns a snapshot of the state and usage statistics of the HTTP
+     * connection pool of this client; or null if they are not available.
+     */
+    public ConnectionPoolMetrics getConnectionPoolMetrics() {
+        return client.getConnectionPoolMetrics();
+    }
+
+    /**
+     * Opens up to the given number of connections to the endpoint of this
+     * client and returns them to the connection pool, so that the first
+     * requests don't have to wait for connections (and TLS handshakes) to be
+     * set up. Blocks until the connections are open. The number is capped by
+     * the maximum number of connections per route, and connections already
+     * open count towards it. Connections through a proxy are not pre-warmed.
+     *
+     * @param count
+     *            The number of connections wanted.
+     * @return The number of connections newly opened.
+     * @see ClientConfiguration#setConnectionPrewarmCount(int)
+     */
+    public int prewarmConnections(int count) {
+        return client.prewarmConnections(endpoint, count);
+    }
+
     /**
      * Returns the client specific request metric collector if there is one; or
      * the one at the AWS SDK level otherwise.
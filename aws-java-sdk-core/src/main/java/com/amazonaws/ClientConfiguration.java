@@ -14,6 +14,8 @@
  */
 package com.amazonaws;
 
+import com.amazonaws.http.ContentEncoder;
+import com.amazonaws.http.GzipContentEncoder;
 import com.amazonaws.http.IdleConnectionReaper;
 import com.amazonaws.retry.PredefinedRetryPolicies;
 import com.amazonaws.retry.RetryPolicy;
@@ -50,6 +52,24 @@ public class ClientConfiguration {
     /** The default max connection pool size. */
     public static final int DEFAULT_MAX_CONNECTIONS = 50;
 
+    /**
+     * The default max number of connections to a single route (host). A negative value means the
+     * same as the max connection pool size.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = -1;
+
+    /**
+     * The default timeout for acquiring a connection from the connection pool. This is disabled by
+     * default.
+     */
+    public static final int DEFAULT_CONNECTION_ACQUIRE_TIMEOUT = 0;
+
+    /**
+     * The default number of connections to open to an endpoint ahead of time. This is disabled by
+     * default.
+     */
+    public static final int DEFAULT_CONNECTION_PREWARM_COUNT = 0;
+
     /**
      * The default on whether to utilize the USE_EXPECT_CONTINUE handshake for operations. Currently
      * only honored for PUT operations.
@@ -80,6 +100,12 @@ public class ClientConfiguration {
      */
     public static final boolean DEFAULT_USE_GZIP = false;
 
+    /**
+     * The default minimum size (in bytes) of request content to be encoded with the request content
+     * encoder, if any.
+     */
+    public static final int DEFAULT_REQUEST_COMPRESSION_THRESHOLD = 10 * 1024;
+
     /**
      * The default expiration time (in milliseconds) for a connection in the connection pool.
      */
@@ -100,6 +126,11 @@ public class ClientConfiguration {
      */
     public static final boolean DEFAULT_THROTTLE_RETRIES = false;
 
+    /**
+     * The default on whether to adaptively limit the request rate on throttling errors.
+     */
+    public static final boolean DEFAULT_USE_ADAPTIVE_RATE_LIMITING = false;
+
     /**
      * The default response metadata cache size.
      */
@@ -154,6 +185,24 @@ public class ClientConfiguration {
     /** The maximum number of open HTTP connections. */
     private int maxConnections = DEFAULT_MAX_CONNECTIONS;
 
+    /**
+     * The maximum number of open HTTP connections to a single route. A negative value means the
+     * same as {@link #maxConnections}.
+     */
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+    /**
+     * The amount of time to wait (in milliseconds) for a connection to become available in the
+     * connection pool. A value of 0 means infinity.
+     */
+    private int connectionAcquireTimeout = DEFAULT_CONNECTION_ACQUIRE_TIMEOUT;
+
+    /**
+     * The number of connections to open ahead of time to each endpoint the client sends requests
+     * to.
+     */
+    private int connectionPrewarmCount = DEFAULT_CONNECTION_PREWARM_COUNT;
+
     /**
      * The amount of time to wait (in milliseconds) for data to be transfered over an established,
      * open connection before the connection is timed out. A value of 0 means infinity, and is not
@@ -179,6 +228,8 @@ public class ClientConfiguration {
 
     private boolean throttleRetries = DEFAULT_THROTTLE_RETRIES;
 
+    private boolean adaptiveRateLimiting = DEFAULT_USE_ADAPTIVE_RATE_LIMITING;
+
     /**
      * Optional size hint (in bytes) for the low level TCP send buffer. This is an advanced option
      * for advanced users who want to tune low level TCP parameters to try and squeeze out more
@@ -205,6 +256,15 @@ public class ClientConfiguration {
      */
     private boolean useGzip = DEFAULT_USE_GZIP;
 
+    /**
+     * Optional encoder, such as {@link GzipContentEncoder}, for the content of POST requests; or
+     * null if request content is sent as is.
+     */
+    private ContentEncoder requestContentEncoder;
+
+    /** The minimum size (in bytes) of request content to be encoded. */
+    private int requestCompressionThreshold = DEFAULT_REQUEST_COMPRESSION_THRESHOLD;
+
     /**
      * Optional override to control which signature algorithm should be used to sign requests to the
      * service. If not explicitly set, the client will determine the algorithm to use by inspecting
@@ -277,9 +337,13 @@ public class ClientConfiguration {
     public ClientConfiguration(ClientConfiguration other) {
         this.connectionTimeout = other.connectionTimeout;
         this.maxConnections = other.maxConnections;
+        this.maxConnectionsPerRoute = other.maxConnectionsPerRoute;
+        this.connectionAcquireTimeout = other.connectionAcquireTimeout;
+        this.connectionPrewarmCount = other.connectionPrewarmCount;
         this.maxErrorRetry = other.maxErrorRetry;
         this.retryPolicy = other.retryPolicy;
         this.throttleRetries = other.throttleRetries;
+        this.adaptiveRateLimiting = other.adaptiveRateLimiting;
         this.localAddress = other.localAddress;
         this.protocol = other.protocol;
         this.proxyDomain = other.proxyDomain;
@@ -295,6 +359,8 @@ public class ClientConfiguration {
         this.userAgent = other.userAgent;
         this.useReaper = other.useReaper;
         this.useGzip = other.useGzip;
+        this.requestContentEncoder = other.requestContentEncoder;
+        this.requestCompressionThreshold = other.requestCompressionThreshold;
         this.socketReceiveBufferSizeHint = other.socketReceiveBufferSizeHint;
         this.socketSendBufferSizeHint = other.socketSendBufferSizeHint;
         this.signerOverride = other.signerOverride;
@@ -384,6 +450,122 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns the maximum number of allowed open HTTP connections to a single route, ie a single
+     * host. A negative value means the same as {@link #getMaxConnections()}.
+     *
+     * @return The maximum number of allowed open HTTP connections to a single route.
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of allowed open HTTP connections to a single route, ie a single
+     * host. Limiting the connections per route keeps a slow or throttled endpoint from starving
+     * the requests sent to the other endpoints that share the same client. A negative value (the
+     * default) means the same as {@link #getMaxConnections()}.
+     *
+     * @param maxConnectionsPerRoute
+     *            The maximum number of allowed open HTTP connections to a single route.
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of allowed open HTTP connections to a single route, ie a single
+     * host, and returns the updated ClientConfiguration object.
+     *
+     * @param maxConnectionsPerRoute
+     *            The maximum number of allowed open HTTP connections to a single route.
+     * @return The updated ClientConfiguration object.
+     * @see #setMaxConnectionsPerRoute(int)
+     */
+    public ClientConfiguration withMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        return this;
+    }
+
+    /**
+     * Returns the amount of time to wait (in milliseconds) for a connection to become available in
+     * the connection pool. A value of 0 means infinity.
+     *
+     * @return The amount of time to wait (in milliseconds) for a pooled connection.
+     */
+    public int getConnectionAcquireTimeout() {
+        return connectionAcquireTimeout;
+    }
+
+    /**
+     * Sets the amount of time to wait (in milliseconds) for a connection to become available in
+     * the connection pool. Requests waiting for a connection are served in the order they started
+     * waiting; a request that cannot get a connection in time fails with a
+     * {@link org.apache.http.conn.ConnectionPoolTimeoutException}, which is retried like other
+     * connection failures. A value of 0 (the default) means infinity.
+     *
+     * @param connectionAcquireTimeout
+     *            The amount of time to wait (in milliseconds) for a pooled connection.
+     */
+    public void setConnectionAcquireTimeout(int connectionAcquireTimeout) {
+        this.connectionAcquireTimeout = connectionAcquireTimeout;
+    }
+
+    /**
+     * Sets the amount of time to wait (in milliseconds) for a connection to become available in
+     * the connection pool, and returns the updated ClientConfiguration object.
+     *
+     * @param connectionAcquireTimeout
+     *            The amount of time to wait (in milliseconds) for a pooled connection.
+     * @return The updated ClientConfiguration object.
+     * @see #setConnectionAcquireTimeout(int)
+     */
+    public ClientConfiguration withConnectionAcquireTimeout(int connectionAcquireTimeout) {
+        setConnectionAcquireTimeout(connectionAcquireTimeout);
+        return this;
+    }
+
+    /**
+     * Returns the number of connections opened ahead of time to each endpoint the client sends
+     * requests to.
+     *
+     * @return The number of connections to pre-warm per endpoint.
+     */
+    public int getConnectionPrewarmCount() {
+        return connectionPrewarmCount;
+    }
+
+    /**
+     * Sets the number of connections opened ahead of time to each endpoint the client sends
+     * requests to. When greater than 0, the first request to an endpoint opens up to this many
+     * connections in the background (including any TLS handshakes), so that a following burst of
+     * concurrent requests does not have to wait for them. The number of connections opened is
+     * capped by the per route connection limit. The default is 0, which disables pre-warming.
+     * <p>
+     * To open the connections before the first request instead, call
+     * {@link AmazonWebServiceClient#prewarmConnections(int)}.
+     *
+     * @param connectionPrewarmCount
+     *            The number of connections to pre-warm per endpoint.
+     */
+    public void setConnectionPrewarmCount(int connectionPrewarmCount) {
+        this.connectionPrewarmCount = connectionPrewarmCount;
+    }
+
+    /**
+     * Sets the number of connections opened ahead of time to each endpoint the client sends
+     * requests to, and returns the updated ClientConfiguration object.
+     *
+     * @param connectionPrewarmCount
+     *            The number of connections to pre-warm per endpoint.
+     * @return The updated ClientConfiguration object.
+     * @see #setConnectionPrewarmCount(int)
+     */
+    public ClientConfiguration withConnectionPrewarmCount(int connectionPrewarmCount) {
+        setConnectionPrewarmCount(connectionPrewarmCount);
+        return this;
+    }
+
     /**
      * Returns the HTTP user agent header to send with all requests.
      *
@@ -1183,6 +1365,73 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns whether adaptive rate limiting will be used.
+     * <p>
+     * Adaptive rate limiting slows down the rate at which the client sends requests to an
+     * endpoint once the service starts responding with throttling errors. The allowed rate is
+     * cut on every throttling error and recovers gradually as requests succeed, and is shared
+     * by all threads using the client. Once the allowed rate is well above the rate requests
+     * are being sent at the client stops limiting requests until the next throttling error.
+     * </p>
+     * <p>
+     * Retry throttling limits how many failed requests are retried, whereas adaptive rate
+     * limiting limits how fast requests are sent in the first place. The two can be used
+     * together.
+     * </p>
+     *
+     * @return true if adaptive rate limiting will be used
+     */
+    public boolean useAdaptiveRateLimiting() {
+        return adaptiveRateLimiting;
+    }
+
+    /**
+     * Sets whether adaptive rate limiting should be used.
+     * <p>
+     * Adaptive rate limiting slows down the rate at which the client sends requests to an
+     * endpoint once the service starts responding with throttling errors. The allowed rate is
+     * cut on every throttling error and recovers gradually as requests succeed, and is shared
+     * by all threads using the client. Once the allowed rate is well above the rate requests
+     * are being sent at the client stops limiting requests until the next throttling error.
+     * </p>
+     * <p>
+     * Retry throttling limits how many failed requests are retried, whereas adaptive rate
+     * limiting limits how fast requests are sent in the first place. The two can be used
+     * together.
+     * </p>
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     */
+    public void setUseAdaptiveRateLimiting(boolean use) {
+        this.adaptiveRateLimiting = use;
+    }
+
+    /**
+     * Sets whether adaptive rate limiting should be used.
+     * <p>
+     * Adaptive rate limiting slows down the rate at which the client sends requests to an
+     * endpoint once the service starts responding with throttling errors. The allowed rate is
+     * cut on every throttling error and recovers gradually as requests succeed, and is shared
+     * by all threads using the client. Once the allowed rate is well above the rate requests
+     * are being sent at the client stops limiting requests until the next throttling error.
+     * </p>
+     * <p>
+     * Retry throttling limits how many failed requests are retried, whereas adaptive rate
+     * limiting limits how fast requests are sent in the first place. The two can be used
+     * together.
+     * </p>
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     * @return The updated ClientConfiguration object.
+     */
+    public ClientConfiguration withAdaptiveRateLimiting(boolean use) {
+        setUseAdaptiveRateLimiting(use);
+        return this;
+    }
+
     /**
      * Checks if gzip compression is used
      *
@@ -1214,6 +1463,82 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns the encoder for the content of POST requests, or null if request content is sent as
+     * is.
+     *
+     * @return The encoder for the content of POST requests, or null.
+     */
+    public ContentEncoder getRequestContentEncoder() {
+        return requestContentEncoder;
+    }
+
+    /**
+     * Sets the encoder for the content of POST requests, such as {@link GzipContentEncoder} to
+     * compress request bodies. The content of a POST request is encoded when it is at least
+     * {@link #getRequestCompressionThreshold()} bytes long (or of unknown length), has no
+     * Content-Encoding or Content-MD5 header, and is not a {@link java.io.BufferedInputStream}.
+     * Encoded content is sent with a Content-Encoding header and with chunked transfer encoding,
+     * as its length is not known up front.
+     * <p>
+     * Only set this for clients of services that accept encoded request bodies. By default, it is
+     * null and request content is sent as is.
+     *
+     * @param requestContentEncoder
+     *            The encoder for the content of POST requests, or null.
+     */
+    public void setRequestContentEncoder(ContentEncoder requestContentEncoder) {
+        this.requestContentEncoder = requestContentEncoder;
+    }
+
+    /**
+     * Sets the encoder for the content of POST requests and returns the updated
+     * ClientConfiguration object.
+     *
+     * @param requestContentEncoder
+     *            The encoder for the content of POST requests, or null.
+     * @return The updated ClientConfiguration object.
+     * @see #setRequestContentEncoder(ContentEncoder)
+     */
+    public ClientConfiguration withRequestContentEncoder(ContentEncoder requestContentEncoder) {
+        setRequestContentEncoder(requestContentEncoder);
+        return this;
+    }
+
+    /**
+     * Returns the minimum size (in bytes) of request content to be encoded with the request
+     * content encoder.
+     *
+     * @return The minimum size (in bytes) of request content to be encoded.
+     */
+    public int getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    /**
+     * Sets the minimum size (in bytes) of request content to be encoded with the request content
+     * encoder; smaller content is not worth the CPU time. By default, it is 10 KB.
+     *
+     * @param requestCompressionThreshold
+     *            The minimum size (in bytes) of request content to be encoded.
+     */
+    public void setRequestCompressionThreshold(int requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    /**
+     * Sets the minimum size (in bytes) of request content to be encoded with the request content
+     * encoder and returns the updated ClientConfiguration object.
+     *
+     * @param requestCompressionThreshold
+     *            The minimum size (in bytes) of request content to be encoded.
+     * @return The updated ClientConfiguration object.
+     */
+    public ClientConfiguration withRequestCompressionThreshold(int requestCompressionThreshold) {
+        setRequestCompressionThreshold(requestCompressionThreshold);
+        return this;
+    }
+
     /**
      * Returns the optional size hints (in bytes) for the low level TCP send and receive buffers.
      * This is an advanced option for advanced users who want to tune low level TCP parameters to
@@ -1525,6 +1850,9 @@ public class ClientConfiguration {
      * service decides the connection has been idle for too long and closes it) at the cost of
      * having to re-establish new connections more frequently.
      * <p>
+     * When the {@link IdleConnectionReaper} is in use, it also closes connections which have been
+     * idle for longer than this value, checking the pool every half of this value.
+     * <p>
      * By default, it is set to one minute (60000ms).
      *
      * @param connectionMaxIdleMillis
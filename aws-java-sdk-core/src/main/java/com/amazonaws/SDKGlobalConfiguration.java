@@ -145,6 +145,19 @@ public class SDKGlobalConfiguration {
     public static final String ENABLE_IN_REGION_OPTIMIZED_MODE =
             "com.amazonaws.sdk.enableInRegionOptimizedMode";
 
+    /**
+     * System property to set the interval, in milliseconds, for which byte
+     * transfer events destined to an asynchronously called progress listener
+     * are held and coalesced before being delivered by
+     * {@link com.amazonaws.event.SDKProgressPublisher}. Larger intervals
+     * trade the timeliness of progress updates for fewer callbacks.
+     * <p>
+     * If not set, events are delivered as soon as the callback thread is
+     * free, and only those which queue up in the meantime are coalesced.
+     */
+    public static final String PROGRESS_EVENT_COALESCING_INTERVAL_SYSTEM_PROPERTY =
+        "com.amazonaws.sdk.progressEventCoalescingIntervalMillis";
+
     /**
      * @deprecated with {@link AmazonWebServiceRequest#getRequestClientOptions()}
      * and {@link RequestClientOptions#setReadLimit(int)}.
@@ -20,7 +20,10 @@ import com.amazonaws.SignableRequest;
 import com.amazonaws.auth.internal.AWS4SignerRequestParams;
 import com.amazonaws.auth.internal.AWS4SignerUtils;
 import com.amazonaws.auth.internal.SignerKey;
-import com.amazonaws.internal.FIFOCache;
+import com.amazonaws.auth.internal.SignerKeyCache;
+import com.amazonaws.event.ProgressInputStream;
+import com.amazonaws.internal.ReleasableInputStream;
+import com.amazonaws.internal.SdkByteArrayInputStream;
 import com.amazonaws.log.InternalLogApi;
 import com.amazonaws.log.InternalLogFactory;
 import com.amazonaws.util.BinaryUtils;
@@ -45,7 +48,7 @@ public class AWS4Signer extends AbstractAWSSigner implements
 
     protected static final InternalLogApi log = InternalLogFactory.getLog(AWS4Signer.class);
     private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FIFOCache<SignerKey> signerCache = new FIFOCache<SignerKey>(SIGNER_CACHE_MAX_SIZE);
+    private static final SignerKeyCache signerCache = new SignerKeyCache(SIGNER_CACHE_MAX_SIZE);
     private static final List<String> listOfHeadersToIgnoreInLowerCase = Arrays.asList("connection");
 
     /**
@@ -320,19 +323,18 @@ public class AWS4Signer extends AbstractAWSSigner implements
     private final byte[] deriveSigningKey(AWSCredentials credentials,
             AWS4SignerRequestParams signerRequestParams) {
 
-        final String cacheKey = computeSigningCacheKeyName(credentials,
-                signerRequestParams);
+        final String secretKey = credentials.getAWSSecretKey();
+        final String regionName = signerRequestParams.getRegionName();
+        final String serviceName = signerRequestParams.getServiceName();
         final long daysSinceEpochSigningDate = DateUtils
                 .numberOfDaysSinceEpoch(signerRequestParams
                         .getSigningDateTimeMilli());
 
-        SignerKey signerKey = signerCache.get(cacheKey);
+        SignerKey signerKey = signerCache.get(secretKey, regionName,
+                serviceName, daysSinceEpochSigningDate);
 
         if (signerKey != null) {
-            if (daysSinceEpochSigningDate == signerKey
-                    .getNumberOfDaysSinceEpoch()) {
-                return signerKey.getSigningKey();
-            }
+            return signerKey.getSigningKey();
         }
         if (log.isDebugEnabled()) {
             log.debug("Generating a new signing key as the signing key not available in the cache for the date "
@@ -340,25 +342,26 @@ public class AWS4Signer extends AbstractAWSSigner implements
         }
         byte[] signingKey = newSigningKey(credentials,
                 signerRequestParams.getFormattedSigningDate(),
-                signerRequestParams.getRegionName(),
-                signerRequestParams.getServiceName());
-        signerCache.add(cacheKey, new SignerKey(
+                regionName, serviceName);
+        signerCache.add(secretKey, regionName, serviceName, new SignerKey(
                 daysSinceEpochSigningDate, signingKey));
         return signingKey;
     }
 
     /**
-     * Computes the name to be used to reference the signing key in the cache.
+     * Returns the number of signing key lookups, across all AWS4Signer
+     * instances, that were served from the signing key cache.
      */
-    private final String computeSigningCacheKeyName(AWSCredentials credentials,
-            AWS4SignerRequestParams signerRequestParams) {
-        final StringBuilder hashKeyBuilder = new StringBuilder(
-                credentials.getAWSSecretKey());
+    public static long getSigningKeyCacheHitCount() {
+        return signerCache.getHitCount();
+    }
 
-        return hashKeyBuilder.append("-")
-                .append(signerRequestParams.getRegionName())
-                .append("-")
-                .append(signerRequestParams.getServiceName()).toString();
+    /**
+     * Returns the number of signing key lookups, across all AWS4Signer
+     * instances, that had to derive a new signing key.
+     */
+    public static long getSigningKeyCacheMissCount() {
+        return signerCache.getMissCount();
     }
 
     /**
@@ -369,7 +372,7 @@ public class AWS4Signer extends AbstractAWSSigner implements
      */
     protected final byte[] computeSignature(String stringToSign,
             byte[] signingKey, AWS4SignerRequestParams signerRequestParams) {
-        return sign(stringToSign.getBytes(Charset.forName("UTF-8")), signingKey,
+        return sign(stringToSign.getBytes(StringUtils.UTF8), signingKey,
                 SigningAlgorithm.HmacSHA256);
     }
 
@@ -498,6 +501,12 @@ public class AWS4Signer extends AbstractAWSSigner implements
      */
     protected String calculateContentHash(SignableRequest<?> request) {
         InputStream payloadStream = getBinaryRequestPayloadStream(request);
+        SdkByteArrayInputStream content = unwrapByteArrayContent(payloadStream);
+        // The digest is cached on the content, so retries don't rehash it
+        if (content != null && content.isAtStart()) {
+            return BinaryUtils.toHex(
+                    content.getSha256Digest(getMessageDigestInstance()));
+        }
         ReadLimitInfo info = request.getReadLimitInfo();
         payloadStream.mark(info == null ? -1 : info.getReadLimit());
         String contentSha256 = BinaryUtils.toHex(hash(payloadStream));
@@ -511,6 +520,27 @@ public class AWS4Signer extends AbstractAWSSigner implements
         return contentSha256;
     }
 
+    /**
+     * Returns the {@link SdkByteArrayInputStream} underneath the given request
+     * payload stream, looking through the wrappers added by the http client;
+     * or null if the payload is not such a stream.
+     */
+    private static SdkByteArrayInputStream unwrapByteArrayContent(InputStream is) {
+        while (true) {
+            if (is instanceof SdkByteArrayInputStream)
+                return (SdkByteArrayInputStream) is;
+            if (is instanceof ProgressInputStream) {
+                is = ((ProgressInputStream) is).getWrappedInputStream();
+            } else if (is != null && is.getClass() == ReleasableInputStream.class) {
+                // Subclasses such as ResettableInputStream track their own
+                // position, so only the plain wrapper is looked through
+                is = ((ReleasableInputStream) is).getWrappedInputStream();
+            } else {
+                return null;
+            }
+        }
+    }
+
     /**
      * Subclass could override this method to perform any additional procedure
      * on the request payload, with access to the result from signing the
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth;
+
+import com.amazonaws.annotation.Immutable;
+
+/**
+ * A point in time snapshot of how a refreshing credentials provider has been
+ * refreshing its credentials.
+ */
+@Immutable
+public final class CredentialsRefreshMetrics {
+
+    private final long refreshCount;
+    private final long refreshFailureCount;
+    private final long blockingRefreshCount;
+    private final long staleServeCount;
+    private final long lastRefreshLatencyMillis;
+    private final long totalRefreshLatencyMillis;
+
+    public CredentialsRefreshMetrics(long refreshCount, long refreshFailureCount,
+            long blockingRefreshCount, long staleServeCount,
+            long lastRefreshLatencyMillis, long totalRefreshLatencyMillis) {
+        this.refreshCount = refreshCount;
+        this.refreshFailureCount = refreshFailureCount;
+        this.blockingRefreshCount = blockingRefreshCount;
+        this.staleServeCount = staleServeCount;
+        this.lastRefreshLatencyMillis = lastRefreshLatencyMillis;
+        this.totalRefreshLatencyMillis = totalRefreshLatencyMillis;
+    }
+
+    /**
+     * Returns the number of successful refreshes.
+     */
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * Returns the number of refreshes that failed.
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailureCount;
+    }
+
+    /**
+     * Returns the number of times a caller had to wait for a refresh because
+     * no usable credentials were available.
+     */
+    public long getBlockingRefreshCount() {
+        return blockingRefreshCount;
+    }
+
+    /**
+     * Returns the number of times credentials that were due to be refreshed
+     * were returned while a background refresh was pending.
+     */
+    public long getStaleServeCount() {
+        return staleServeCount;
+    }
+
+    /**
+     * Returns the time taken by the most recent refresh attempt, in
+     * milliseconds.
+     */
+    public long getLastRefreshLatencyMillis() {
+        return lastRefreshLatencyMillis;
+    }
+
+    /**
+     * Returns the average time taken by a refresh attempt, in milliseconds.
+     */
+    public long getAverageRefreshLatencyMillis() {
+        long attempts = refreshCount + refreshFailureCount;
+        return attempts == 0 ? 0 : totalRefreshLatencyMillis / attempts;
+    }
+
+    @Override
+    public String toString() {
+        return "{refreshCount=" + refreshCount
+                + ", refreshFailureCount=" + refreshFailureCount
+                + ", blockingRefreshCount=" + blockingRefreshCount
+                + ", staleServeCount=" + staleServeCount
+                + ", lastRefreshLatencyMillis=" + lastRefreshLatencyMillis
+                + ", averageRefreshLatencyMillis=" + getAverageRefreshLatencyMillis()
+                + "}";
+    }
+}
@@ -16,15 +16,16 @@ package com.amazonaws.auth;
 
 import java.io.IOException;
 import java.util.Date;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.amazonaws.AmazonClientException;
+import com.amazonaws.auth.internal.RefreshableTask;
 import com.amazonaws.internal.EC2MetadataClient;
+import com.amazonaws.internal.SdkFunction;
+import com.amazonaws.internal.SdkPredicate;
 import com.amazonaws.util.DateUtils;
 import com.amazonaws.util.json.Jackson;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -33,6 +34,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 /**
  * Credentials provider implementation that loads credentials from the Amazon
  * EC2 Instance Metadata Service.
+ * <p>
+ * Credentials are returned without blocking while they are valid. Once loaded,
+ * they are refreshed by a background thread ahead of their expiration, and
+ * callers only wait on the metadata service when there are no credentials or
+ * the current credentials have expired. Background refreshes stop once the
+ * provider is garbage collected or {@link #shutdown()} is called.
  */
 public class InstanceProfileCredentialsProvider implements AWSCredentialsProvider {
 
@@ -59,12 +66,6 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
     /** The name of the Json Object that contains the token.*/
     private static final String TOKEN = "Token";
 
-    /**
-     * The wait time, after which the background thread initiates a refresh to
-     * load latest credentials if needed.
-     */
-    private static final int ASYNC_REFRESH_INTERVAL_TIME_MINUTES= 1;
-
 
     /** The current instance profile credentials */
     protected volatile AWSCredentials credentials;
@@ -76,19 +77,46 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
     protected volatile Date lastInstanceProfileCheck;
 
     /**
-     * The executor service used for refreshing the credentials in the
-     * background.
+     * Refreshes the credentials above. The task only decides when to load
+     * credentials; the fields above remain the source of truth.
      */
-    private volatile ScheduledExecutorService executor;
+    private final RefreshableTask<AWSCredentials> refreshableTask = new RefreshableTask.Builder<AWSCredentials>()
+            .withRefreshCallable(new Callable<AWSCredentials>() {
+                @Override
+                public AWSCredentials call() {
+                    return loadCredentials();
+                }
+            })
+            .withBlockingRefreshPredicate(new SdkPredicate<AWSCredentials>() {
+                @Override
+                public boolean test(AWSCredentials ignored) {
+                    return credentials == null || expired();
+                }
+            })
+            .withAsyncRefreshPredicate(new SdkPredicate<AWSCredentials>() {
+                @Override
+                public boolean test(AWSCredentials ignored) {
+                    return needsToLoadCredentials();
+                }
+            })
+            .withAsyncRefreshTime(new SdkFunction<AWSCredentials, Date>() {
+                @Override
+                public Date apply(AWSCredentials ignored) {
+                    return nextRefreshTime();
+                }
+            })
+            .build();
 
     public InstanceProfileCredentialsProvider() {
         this(false);
     }
 
     /**
-     * Spins up a new thread to refresh the credentials asynchronously if
-     * refreshCredentialsAsync is set to true, otherwise the credentials will be
-     * refreshed from the instance metadata service synchronously,
+     * Starts loading the credentials in the background straight away if
+     * refreshCredentialsAsync is set to true, otherwise the credentials will
+     * first be loaded from the instance metadata service when they are
+     * requested. Either way, loaded credentials are refreshed in the
+     * background ahead of their expiration.
      *
      * @param refreshCredentialsAsync
      *            true if credentials needs to be refreshed asynchronously else
@@ -96,32 +124,12 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
      */
     public InstanceProfileCredentialsProvider(boolean refreshCredentialsAsync) {
         if (refreshCredentialsAsync) {
-            executor = Executors.newScheduledThreadPool(1);
-            executor.scheduleWithFixedDelay(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        getCredentials();
-                    } catch (AmazonClientException ace) {
-                        handleError(ace);
-                    } catch (RuntimeException re) {
-                        handleError(re);
-                    } catch (Error e) {
-                        handleError(e);
-                    }
-                }
-            }, 0, ASYNC_REFRESH_INTERVAL_TIME_MINUTES, TimeUnit.MINUTES);
+            refreshableTask.asyncRefresh();
         }
     }
 
-    private void handleError(Throwable t) {
-        credentials = null;
-        LOG.error(t.getMessage(), t);
-    }
-
     public AWSCredentials getCredentials() {
-        if (needsToLoadCredentials())
-            loadCredentials();
+        refreshableTask.refreshIfNeeded();
         if (expired()) {
             throw new AmazonClientException(
                     "The credentials received from the Amazon EC2 metadata service have expired");
@@ -133,6 +141,23 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
         credentials = null;
     }
 
+    /**
+     * Stops refreshing the credentials in the background. Credentials are
+     * still loaded from the metadata service when they are requested and
+     * can't be used.
+     */
+    public void shutdown() {
+        refreshableTask.shutdown();
+    }
+
+    /**
+     * Returns a snapshot of how this provider has been refreshing its
+     * credentials.
+     */
+    public CredentialsRefreshMetrics getRefreshMetrics() {
+        return refreshableTask.getMetrics();
+    }
+
     protected boolean needsToLoadCredentials() {
         if (credentials == null) return true;
 
@@ -164,6 +189,23 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
         return (System.currentTimeMillis() - lastInstanceProfileCheck.getTime()) > REFRESH_THRESHOLD;
     }
 
+    /**
+     * Returns the time at which {@link #needsToLoadCredentials()} will start
+     * returning true for the current credentials.
+     */
+    private Date nextRefreshTime() {
+        long refreshTime = Long.MAX_VALUE;
+        Date expiration = credentialsExpiration;
+        if (expiration != null) {
+            refreshTime = expiration.getTime() - EXPIRATION_THRESHOLD;
+        }
+        Date lastCheck = lastInstanceProfileCheck;
+        if (lastCheck != null) {
+            refreshTime = Math.min(refreshTime, lastCheck.getTime() + REFRESH_THRESHOLD);
+        }
+        return refreshTime == Long.MAX_VALUE ? null : new Date(refreshTime);
+    }
+
     private boolean expired() {
         if (credentialsExpiration != null) {
             if (credentialsExpiration.getTime() < System.currentTimeMillis()) {
@@ -174,9 +216,7 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
         return false;
     }
 
-    private synchronized void loadCredentials() {
-        if (!needsToLoadCredentials()) return;
-
+    private AWSCredentials loadCredentials() {
         JsonNode accessKey;
         JsonNode secretKey;
         JsonNode node;
@@ -195,13 +235,15 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
                 throw new AmazonClientException("Unable to load credentials.");
             }
 
+            AWSCredentials loaded;
             if (null != token) {
-                credentials = new BasicSessionCredentials(accessKey.asText(),
+                loaded = new BasicSessionCredentials(accessKey.asText(),
                         secretKey.asText(), token.asText());
             } else {
-                credentials = new BasicAWSCredentials(accessKey.asText(),
+                loaded = new BasicAWSCredentials(accessKey.asText(),
                         secretKey.asText());
             }
+            credentials = loaded;
 
             JsonNode expirationJsonNode = node.get("Expiration");
             if (null != expirationJsonNode) {
@@ -216,37 +258,18 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
                 try {
                     credentialsExpiration = DateUtils.parseISO8601Date(expiration);
                 } catch(Exception ex) {
-                    handleError("Unable to parse credentials expiration date from Amazon EC2 metadata service", ex);
+                    // The new credentials are still usable, so just log the error
+                    LOG.debug("Unable to parse credentials expiration date from Amazon EC2 metadata service", ex);
                 }
             }
+            return loaded;
         } catch (JsonMappingException e) {
-            handleError("Unable to parse credentials from Amazon EC2 metadata service", e);
+            throw new AmazonClientException("Unable to parse credentials from Amazon EC2 metadata service", e);
         } catch (IOException e) {
-            handleError("Unable to load credentials from Amazon EC2 metadata service", e);
+            throw new AmazonClientException("Unable to load credentials from Amazon EC2 metadata service", e);
         }
     }
 
-    /**
-     * Handles reporting or throwing an error encountered while requesting
-     * credentials from the Amazon EC2 Instance Metadata Service. The Instance
-     * Metadata Service could be briefly unavailable for a number of reasons, so
-     * we need to gracefully handle falling back to valid credentials if they're
-     * available, and only throw exceptions if we really can't recover.
-     *
-     * @param errorMessage
-     *            A human readable description of the error.
-     * @param e
-     *            The error that occurred.
-     */
-    private void handleError(String errorMessage, Exception e) {
-        // If we don't have any valid credentials to fall back on, then throw an exception
-        if (credentials == null || expired())
-            throw new AmazonClientException(errorMessage, e);
-
-        // Otherwise, just log the error and continuing using the current credentials
-        LOG.debug(errorMessage, e);
-    }
-
     @Override
     public String toString() {
         return getClass().getSimpleName();
@@ -254,8 +277,6 @@ public class InstanceProfileCredentialsProvider implements AWSCredentialsProvide
 
     @Override
     protected void finalize() throws Throwable {
-        if (executor != null) {
-            executor.shutdownNow();
-        }
+        refreshableTask.shutdown();
     }
 }
@@ -14,9 +14,45 @@
  */
 package com.amazonaws.auth;
 
+import java.security.NoSuchAlgorithmException;
+
+import javax.crypto.Mac;
+
+import com.amazonaws.AmazonClientException;
+
 public enum SigningAlgorithm {
-    
+
     HmacSHA1,
     HmacSHA256;
 
+    /**
+     * Per-thread {@link Mac} instance for this algorithm, so that signing a
+     * request does not go through the JCA provider lookup every time.
+     */
+    private final ThreadLocal<Mac> macReference;
+
+    private SigningAlgorithm() {
+        final String algorithmName = this.toString();
+        macReference = new ThreadLocal<Mac>() {
+            @Override
+            protected Mac initialValue() {
+                try {
+                    return Mac.getInstance(algorithmName);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new AmazonClientException(
+                            "Unable to fetch Mac instance for Algorithm "
+                                    + algorithmName + ": " + e.getMessage(), e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the thread local reference for the crypto algorithm. The
+     * returned instance is only to be used by the calling thread, and must be
+     * (re-)initialized with a key before use.
+     */
+    public Mac getMac() {
+        return macReference.get();
+    }
 }
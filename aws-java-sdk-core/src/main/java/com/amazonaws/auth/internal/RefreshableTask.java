@@ -0,0 +1,466 @@
+/*
+ * Copyright 2011-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.auth.CredentialsRefreshMetrics;
+import com.amazonaws.internal.SdkFunction;
+import com.amazonaws.internal.SdkPredicate;
+import com.amazonaws.util.ValidationUtils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Handles refreshing a value with a simple synchronization policy. The current value is read
+ * without locking. Once a value is loaded, a background refresh is scheduled, with some jitter,
+ * ahead of the time the value is due to be refreshed. Callers are only blocked, doing a
+ * synchronous refresh, when there is no usable value.
+ * <p>
+ * Background refreshes of all tasks run on a single shared daemon thread, which only holds weak
+ * references to the tasks, so a task that is no longer in use stops being refreshed once it is
+ * garbage collected. Use {@link #shutdown()} to stop the background refreshes of a task straight
+ * away.
+ */
+@ThreadSafe
+@SdkInternalApi
+public class RefreshableTask<T> {
+
+    private static final Log LOG = LogFactory.getLog(RefreshableTask.class);
+
+    /**
+     * Maximum time to wait for a blocking refresh lock before calling refresh again. This is to
+     * rate limit how many times we call refresh. In the ideal case, refresh always occurs in a
+     * timely fashion and only one thread actually does the refresh.
+     */
+    private static final long BLOCKING_REFRESH_MAX_WAIT_IN_SECONDS = 5;
+
+    /**
+     * Time after which a failed background refresh, or one that did not produce a value that is
+     * fresh enough, is retried. The actual delay is jittered between half and all of this time.
+     */
+    private static final long ASYNC_REFRESH_RETRY_IN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Maximum fraction of the time until a value is due to be refreshed by which a background
+     * refresh is brought forward, so that many hosts that loaded their values at the same time do
+     * not all refresh them at the same time.
+     */
+    private static final double PREFETCH_JITTER = 0.1;
+
+    /**
+     * Used to synchronize a blocking refresh. Used when a caller can't return without getting the
+     * refreshed value.
+     */
+    private final Lock blockingRefreshLock = new ReentrantLock();
+
+    /**
+     * Atomic holder for refreshable value.
+     */
+    private final AtomicReference<T> refreshableValueHolder = new AtomicReference<T>();
+
+    /**
+     * Single threaded executor, shared by all tasks, to asynchronously refresh the values.
+     */
+    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(1,
+            new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r);
+                    t.setName("java-sdk-credentials-refresh-thread");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    /**
+     * The currently scheduled asynchronous refresh, if any.
+     */
+    private volatile Future<?> scheduledRefresh;
+
+    /**
+     * True once no more asynchronous refreshes are to be scheduled.
+     */
+    private volatile boolean shutdown;
+
+    /**
+     * Used to ensure only one asynchronous refresh is scheduled or running at any given time.
+     */
+    private final AtomicBoolean asyncRefreshing = new AtomicBoolean(false);
+
+    private final Random random = new Random();
+
+    /**
+     * Callback to get a new refreshed value.
+     */
+    private final Callable<T> refreshCallable;
+
+    /**
+     * Predicate to determine whether a blocking refresh should be performed
+     */
+    private final SdkPredicate<T> shouldDoBlockingRefresh;
+
+    /**
+     * Predicate to determine whether a async refresh can be done rather than a blocking refresh.
+     */
+    private final SdkPredicate<T> shouldDoAsyncRefresh;
+
+    /**
+     * Function returning the time at which a value becomes due for an async refresh, or null if
+     * no background refresh should be scheduled for it.
+     */
+    private final SdkFunction<T, Date> asyncRefreshTime;
+
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+    private final AtomicLong blockingRefreshCount = new AtomicLong();
+    private final AtomicLong staleServeCount = new AtomicLong();
+    private final AtomicLong totalRefreshLatencyMillis = new AtomicLong();
+    private volatile long lastRefreshLatencyMillis;
+
+    private RefreshableTask(Callable<T> refreshCallable, SdkPredicate<T> shouldDoBlockingRefresh,
+                            SdkPredicate<T> shouldDoAsyncRefresh,
+                            SdkFunction<T, Date> asyncRefreshTime) {
+        this.refreshCallable = ValidationUtils.assertNotNull(refreshCallable, "refreshCallable");
+        this.shouldDoBlockingRefresh = ValidationUtils
+                .assertNotNull(shouldDoBlockingRefresh, "shouldDoBlockingRefresh");
+        this.shouldDoAsyncRefresh = ValidationUtils
+                .assertNotNull(shouldDoAsyncRefresh, "shouldDoAsyncRefresh");
+        this.asyncRefreshTime = asyncRefreshTime;
+    }
+
+    @NotThreadSafe
+    public static class Builder<T> {
+        private Callable<T> refreshCallable;
+        private SdkPredicate<T> shouldDoBlockingRefresh;
+        private SdkPredicate<T> shouldDoAsyncRefresh;
+        private SdkFunction<T, Date> asyncRefreshTime;
+
+        /**
+         * Set the callable that will provide the value when a refresh occurs.
+         *
+         * @return This object for method chaining.
+         */
+        public Builder<T> withRefreshCallable(Callable<T> refreshCallable) {
+            this.refreshCallable = refreshCallable;
+            return this;
+        }
+
+        /**
+         * Set the predicate that will determine when the task will do a blocking refresh.
+         *
+         * @return This object for method chaining.
+         */
+        public Builder<T> withBlockingRefreshPredicate(SdkPredicate<T> shouldDoBlockingRefresh) {
+            this.shouldDoBlockingRefresh = shouldDoBlockingRefresh;
+            return this;
+        }
+
+        /**
+         * Set the predicate that will determine when the task will queue a non-blocking, async
+         * refresh.
+         *
+         * @return This object for method chaining.
+         */
+        public Builder<T> withAsyncRefreshPredicate(SdkPredicate<T> shouldDoAsyncRefresh) {
+            this.shouldDoAsyncRefresh = shouldDoAsyncRefresh;
+            return this;
+        }
+
+        /**
+         * Set the function that returns the time at which a value will start matching the async
+         * refresh predicate. If set, a background refresh is scheduled shortly before that time
+         * whenever the value is refreshed, so callers rarely see a value that is due for refresh.
+         *
+         * @return This object for method chaining.
+         */
+        public Builder<T> withAsyncRefreshTime(SdkFunction<T, Date> asyncRefreshTime) {
+            this.asyncRefreshTime = asyncRefreshTime;
+            return this;
+        }
+
+        /**
+         * @return The configured RefreshableTask
+         */
+        public RefreshableTask<T> build() {
+            return new RefreshableTask<T>(refreshCallable, shouldDoBlockingRefresh,
+                                          shouldDoAsyncRefresh, asyncRefreshTime);
+        }
+    }
+
+    /**
+     * Return a valid value, refreshing if necessary. May return the current value, do an async
+     * refresh if possible, or do a blocking refresh if needed.
+     *
+     * @throws AmazonClientException If error occurs during refresh.
+     * @throws IllegalStateException If value if invalid after refreshing.
+     */
+    public T getValue() throws AmazonClientException, IllegalStateException {
+        refreshIfNeeded();
+        return getRefreshedValue();
+    }
+
+    /**
+     * Does a blocking refresh if the value can't be used, or queues an async refresh if the value
+     * is due to be refreshed. For owners that keep the refreshed value themselves rather than
+     * reading it back with {@link #getValue()}.
+     *
+     * @throws AmazonClientException If error occurs during a blocking refresh.
+     */
+    public void refreshIfNeeded() throws AmazonClientException {
+        T value = refreshableValueHolder.get();
+        if (shouldDoBlockingRefresh.test(value)) {
+            blockingRefresh();
+        } else if (shouldDoAsyncRefresh.test(value)) {
+            staleServeCount.incrementAndGet();
+            asyncRefresh();
+        }
+    }
+
+    /**
+     * Forces a refresh of the value. This method will not attempt to lock on calls to refresh the
+     * value.
+     *
+     * @throws AmazonClientException If error occurs during refresh.
+     * @throws IllegalStateException If value if invalid after refreshing.
+     */
+    public T forceGetValue() {
+        refreshValue();
+        scheduleAsyncRefresh();
+        return getRefreshedValue();
+    }
+
+    /**
+     * Queues an asynchronous refresh of the value, unless one is already queued or running.
+     * Caller is never blocked.
+     */
+    public void asyncRefresh() {
+        submitAsyncRefresh(0);
+    }
+
+    /**
+     * @return A snapshot of the refresh metrics of this task.
+     */
+    public CredentialsRefreshMetrics getMetrics() {
+        return new CredentialsRefreshMetrics(refreshCount.get(), refreshFailureCount.get(),
+                                             blockingRefreshCount.get(), staleServeCount.get(),
+                                             lastRefreshLatencyMillis,
+                                             totalRefreshLatencyMillis.get());
+    }
+
+    /**
+     * Stops any scheduled background refresh. The task can still do blocking refreshes afterwards.
+     */
+    public void shutdown() {
+        shutdown = true;
+        Future<?> future = scheduledRefresh;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * @return The refreshed value.
+     * @throws IllegalStateException If the refreshed value is still invalid.
+     */
+    private T getRefreshedValue() throws IllegalStateException {
+        T refreshableValue = refreshableValueHolder.get();
+        if (refreshableValue != null) {
+            return refreshableValue;
+        } else {
+            throw new IllegalStateException("Refreshed value should never be null.");
+        }
+    }
+
+    private boolean shouldDoBlockingRefresh() {
+        return shouldDoBlockingRefresh.test(refreshableValueHolder.get());
+    }
+
+    /**
+     * Used when there is no valid value to return. Callers are blocked until a new value is created
+     * or an exception is thrown.
+     */
+    private void blockingRefresh() {
+        blockingRefreshCount.incrementAndGet();
+        try {
+            if (blockingRefreshLock
+                    .tryLock(BLOCKING_REFRESH_MAX_WAIT_IN_SECONDS, TimeUnit.SECONDS)) {
+                try {
+                    // Return if successful refresh occurred while waiting for the lock
+                    if (!shouldDoBlockingRefresh()) {
+                        return;
+                    } else {
+                        // Otherwise do a synchronous refresh if the last lock holder was unable to
+                        // refresh the value
+                        refreshValue();
+                        scheduleAsyncRefresh();
+                        return;
+                    }
+                } finally {
+                    blockingRefreshLock.unlock();
+                }
+            }
+        } catch (InterruptedException ex) {
+            handleInterruptedException("Interrupted waiting to refresh the value.", ex);
+        }
+        // Couldn't acquire the lock. Just try a synchronous refresh
+        refreshValue();
+        scheduleAsyncRefresh();
+    }
+
+    /**
+     * Schedules the next background refresh of a freshly refreshed value.
+     */
+    private void scheduleAsyncRefresh() {
+        if (asyncRefreshTime == null) {
+            return;
+        }
+        Date refreshTime = asyncRefreshTime.apply(refreshableValueHolder.get());
+        if (refreshTime == null) {
+            return;
+        }
+
+        long delay = refreshTime.getTime() - System.currentTimeMillis();
+        if (delay > 0) {
+            submitAsyncRefresh(delay - (long) (random.nextDouble() * delay * PREFETCH_JITTER));
+        } else {
+            // The source handed back a value that is already due for refresh, e.g. because it
+            // has not issued a newer one yet, so try again later rather than straight away.
+            submitAsyncRefresh(retryDelay());
+        }
+    }
+
+    private long retryDelay() {
+        long half = ASYNC_REFRESH_RETRY_IN_MILLIS / 2;
+        return half + (long) (random.nextDouble() * half);
+    }
+
+    /**
+     * Used to asynchronously refresh the value. Caller is never blocked.
+     */
+    private void submitAsyncRefresh(long delayMillis) {
+        // Immediately return if refresh already queued or in progress, or the task is shut down
+        if (!shutdown && asyncRefreshing.compareAndSet(false, true)) {
+            try {
+                scheduledRefresh = EXECUTOR.schedule(new AsyncRefresh(this), delayMillis,
+                                                     TimeUnit.MILLISECONDS);
+            } catch (RuntimeException ex) {
+                asyncRefreshing.set(false);
+                throw ex;
+            }
+            if (shutdown) {
+                // Shut down while scheduling, so make sure the refresh doesn't run
+                scheduledRefresh.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Refreshes the value in the background, then schedules the next background refresh.
+     */
+    private void runAsyncRefresh() {
+        if (shutdown) {
+            return;
+        }
+        boolean refreshed = false;
+        try {
+            refreshValue();
+            refreshed = true;
+        } catch (RuntimeException ex) {
+            LOG.debug("Unable to refresh value in the background", ex);
+        } finally {
+            asyncRefreshing.set(false);
+        }
+        if (refreshed) {
+            scheduleAsyncRefresh();
+        } else {
+            submitAsyncRefresh(retryDelay());
+        }
+    }
+
+    /**
+     * Invokes the callback to get a new value.
+     */
+    private void refreshValue() {
+        long startTime = System.nanoTime();
+        boolean success = false;
+        try {
+            refreshableValueHolder.set(refreshCallable.call());
+            success = true;
+        } catch (AmazonServiceException ase) {
+            // Preserve the original ASE
+            throw ase;
+        } catch (AmazonClientException ace) {
+            // Preserve the original ACE
+            throw ace;
+        } catch (Exception e) {
+            throw new AmazonClientException(e);
+        } finally {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            lastRefreshLatencyMillis = latency;
+            totalRefreshLatencyMillis.addAndGet(latency);
+            (success ? refreshCount : refreshFailureCount).incrementAndGet();
+        }
+    }
+
+    /**
+     * A scheduled background refresh. Only weakly references the task, so that scheduling a
+     * refresh doesn't keep the task, and the credentials provider that owns it, from being garbage
+     * collected.
+     */
+    private static class AsyncRefresh implements Runnable {
+        private final WeakReference<RefreshableTask<?>> taskRef;
+
+        private AsyncRefresh(RefreshableTask<?> task) {
+            this.taskRef = new WeakReference<RefreshableTask<?>>(task);
+        }
+
+        @Override
+        public void run() {
+            RefreshableTask<?> task = taskRef.get();
+            if (task != null) {
+                task.runAsyncRefresh();
+            }
+        }
+    }
+
+    /**
+     * If we are interrupted while waiting for a lock we just restore the interrupt status and throw
+     * an AmazonClientException back to the caller.
+     */
+    private void handleInterruptedException(String message, InterruptedException cause) {
+        Thread.currentThread().interrupt();
+        throw new AmazonClientException(message, cause);
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.annotation.Immutable;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A bounded, lock-free cache of derived SigV4 signing keys, keyed on the
+ * secret key, region and service. The date the key was derived for is held
+ * in the cached {@link SignerKey}, so a lookup for a different day is a miss
+ * and the stale entry is simply replaced.
+ * <p>
+ * When the cache grows past its maximum size an arbitrary entry is evicted;
+ * with the small number of distinct credential/region/service combinations a
+ * process normally signs for, eviction is expected to be rare.
+ */
+@ThreadSafe
+public final class SignerKeyCache {
+
+    private final int maxSize;
+    private final ConcurrentMap<CacheKey, SignerKey> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxSize
+     *            the maximum number of entries of the cache
+     */
+    public SignerKeyCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize
+                    + " must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<CacheKey, SignerKey>(maxSize);
+    }
+
+    /**
+     * Returns the signing key derived for the given secret key, region,
+     * service and day; or null if no such key is cached.
+     */
+    public SignerKey get(String secretKey, String regionName,
+            String serviceName, long numberOfDaysSinceEpoch) {
+        SignerKey signerKey = cache.get(new CacheKey(secretKey, regionName,
+                serviceName));
+        if (signerKey != null
+                && signerKey.getNumberOfDaysSinceEpoch() == numberOfDaysSinceEpoch) {
+            hits.incrementAndGet();
+            return signerKey;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Adds a signing key to the cache, replacing any key previously cached
+     * for the same secret key, region and service.
+     */
+    public void add(String secretKey, String regionName, String serviceName,
+            SignerKey signerKey) {
+        CacheKey key = new CacheKey(secretKey, regionName, serviceName);
+        if (cache.size() >= maxSize && !cache.containsKey(key)) {
+            // make room first so the new entry itself is never evicted
+            evict(key, maxSize - 1);
+        }
+        cache.put(key, signerKey);
+        if (cache.size() > maxSize) {
+            // concurrent additions overshot the bound
+            evict(key, maxSize);
+        }
+    }
+
+    /** Returns the number of lookups that found a usable signing key. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Returns the number of lookups that required deriving a new key. */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /** Returns the current size of the cache. */
+    public int size() {
+        return cache.size();
+    }
+
+    /** Returns the maximum size of the cache. */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Evicts arbitrary entries other than the given key until the cache is no
+     * larger than the given size.
+     */
+    private void evict(CacheKey keep, int size) {
+        Iterator<CacheKey> keys = cache.keySet().iterator();
+        while (cache.size() > size && keys.hasNext()) {
+            if (!keep.equals(keys.next())) {
+                keys.remove();
+            }
+        }
+    }
+
+    @Immutable
+    private static final class CacheKey {
+        private final String secretKey;
+        private final String regionName;
+        private final String serviceName;
+        private final int hashCode;
+
+        CacheKey(String secretKey, String regionName, String serviceName) {
+            this.secretKey = secretKey;
+            this.regionName = regionName;
+            this.serviceName = serviceName;
+            int h = secretKey.hashCode();
+            h = 31 * h + (regionName == null ? 0 : regionName.hashCode());
+            h = 31 * h + (serviceName == null ? 0 : serviceName.hashCode());
+            this.hashCode = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return hashCode == other.hashCode
+                    && secretKey.equals(other.secretKey)
+                    && equal(regionName, other.regionName)
+                    && equal(serviceName, other.serviceName);
+        }
+
+        private static boolean equal(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
@@ -21,18 +21,33 @@ import static com.amazonaws.event.ProgressEventType.REQUEST_CONTENT_LENGTH_EVENT
 import static com.amazonaws.event.ProgressEventType.RESPONSE_BYTE_TRANSFER_EVENT;
 import static com.amazonaws.event.ProgressEventType.RESPONSE_CONTENT_LENGTH_EVENT;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.LogFactory;
 
+import com.amazonaws.SDKGlobalConfiguration;
+
 /**
  * This class is responsible for executing the callback method of
  * ProgressListener; listener callbacks are executed sequentially in a separate
  * single thread.
+ * <p>
+ * Events for a given listener are delivered in batches, in the order they were
+ * published; byte transfer events which pile up before the callback thread
+ * gets to them are coalesced. Listeners that implement {@link DeliveryMode}
+ * and are safe to be called synchronously, such as {@link SyncProgressListener}
+ * and {@link SamplingProgressListener}, are called directly on the publishing
+ * thread instead.
  */
 public class SDKProgressPublisher {
     protected static final boolean SYNC = false;  // for testing purposes only
@@ -42,6 +57,19 @@ public class SDKProgressPublisher {
      */
     private static volatile Future<?> latestFutureTask;
 
+    /**
+     * Upper bound on the number of events pending delivery to a single
+     * asynchronous listener before byte transfer events are merged out of
+     * order.
+     */
+    private static final int MAX_PENDING_EVENTS = 1024;
+
+    private static final long COALESCING_INTERVAL_MILLIS = getCoalescingIntervalMillis();
+
+    /** The events pending delivery, by asynchronous listener. */
+    private static final ConcurrentMap<ProgressListener, EventQueue> eventQueues =
+            new ConcurrentHashMap<ProgressListener, EventQueue>();
+
     /**
      * Used to deliver a progress event to the given listener.
      * 
@@ -73,16 +101,25 @@ public class SDKProgressPublisher {
                 }
             }
         }
-        // Not safe to call the listener directly; so submit an async task.
-        // This is unfortunate as the listener should never block in the first
-        // place, but such task submission is necessary to remain backward
-        // compatible.
-        return latestFutureTask = LazyHolder.executor.submit(new Runnable() {
-            @Override
-            public void run() {
-                listener.progressChanged(event);
+        // Not safe to call the listener directly; so queue the event for
+        // the callback thread. This is unfortunate as the listener should
+        // never block in the first place, but such asynchronous delivery is
+        // necessary to remain backward compatible.
+        for (;;) {
+            EventQueue queue = eventQueues.get(listener);
+            if (queue == null) {
+                EventQueue newQueue = new EventQueue(listener);
+                queue = eventQueues.putIfAbsent(listener, newQueue);
+                if (queue == null) {
+                    queue = newQueue;
+                }
+            }
+            Future<?> future = queue.offer(event);
+            if (future != null) {
+                return future;
             }
-        });
+            // The queue has just been drained and retired; use a new one
+        }
     }
 
     private static Future<?> quietlyCallListener(final ProgressListener listener,
@@ -237,8 +274,13 @@ public class SDKProgressPublisher {
     @Deprecated
     public static void waitTillCompletion()
             throws InterruptedException, ExecutionException {
-        if (latestFutureTask != null) {
-            latestFutureTask.get();
+        Future<?> future = latestFutureTask;
+        while (future != null) {
+            future.get();
+            // A batch delivery may have submitted another for the events
+            // published while it ran
+            Future<?> latest = latestFutureTask;
+            future = latest == future ? null : latest;
         }
     }
 
@@ -247,14 +289,14 @@ public class SDKProgressPublisher {
      */
     private static final class LazyHolder {
         /** A single thread pool for executing all ProgressListener callbacks. **/
-        private static final ExecutorService executor = createNewExecutorService();
+        private static final ScheduledExecutorService executor = createNewExecutorService();
 
         /**
          * Creates a new single threaded executor service for performing the
          * callbacks.
          */
-        private static ExecutorService createNewExecutorService() {
-            return Executors.newSingleThreadExecutor(new ThreadFactory() {
+        private static ScheduledExecutorService createNewExecutorService() {
+            return Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
                 public Thread newThread(Runnable r) {
                     Thread t = new Thread(r);
                     t.setName("java-sdk-progress-listener-callback-thread");
@@ -265,6 +307,129 @@ public class SDKProgressPublisher {
         }
     }
 
+    /**
+     * Returns the interval for which byte transfer events are held back to
+     * be coalesced, as configured by
+     * {@link SDKGlobalConfiguration#PROGRESS_EVENT_COALESCING_INTERVAL_SYSTEM_PROPERTY}.
+     */
+    private static long getCoalescingIntervalMillis() {
+        String interval = System.getProperty(
+                SDKGlobalConfiguration.PROGRESS_EVENT_COALESCING_INTERVAL_SYSTEM_PROPERTY);
+        if (interval != null) {
+            try {
+                return Math.max(0, Long.parseLong(interval.trim()));
+            } catch (NumberFormatException e) {
+                LogFactory.getLog(SDKProgressPublisher.class).warn(
+                        "Ignoring invalid progress event coalescing interval: " + interval);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The events pending delivery to a listener that is not safe to call
+     * synchronously. At most one task per queue is submitted to the callback
+     * thread at any time, and it delivers a batch of events at once; byte
+     * transfer events published while the task is pending are coalesced into
+     * a single event instead of being queued one by one.
+     * <p>
+     * The queue is retired, and removed from {@link #eventQueues}, once
+     * drained so that idle listeners are not retained.
+     */
+    private static final class EventQueue implements Runnable {
+        private final ProgressListener listener;
+        private List<ProgressEvent> pending = new ArrayList<ProgressEvent>();
+        private List<ProgressEvent> delivering = new ArrayList<ProgressEvent>();
+        /** The submitted delivery task, or null if none is pending. */
+        private Future<?> task;
+        private boolean retired;
+
+        EventQueue(ProgressListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Queues the given event for delivery.
+         *
+         * @return the future of the task that will deliver the event; or null
+         *         if this queue has been retired and the event was not
+         *         queued.
+         */
+        synchronized Future<?> offer(ProgressEvent event) {
+            if (retired) {
+                return null;
+            }
+            if (!coalesce(event)) {
+                pending.add(event);
+            }
+            if (task == null) {
+                task = submit();
+            }
+            return task;
+        }
+
+        /**
+         * Merges the given event into a pending one, if it is a byte transfer
+         * event and the last pending event is of the same type. Once
+         * {@link #MAX_PENDING_EVENTS} are pending, it is merged into the most
+         * recent event of the same type instead, so the number of pending
+         * events stays bounded however fast the bytes are transferred.
+         */
+        private boolean coalesce(ProgressEvent event) {
+            ProgressEventType type = event.getEventType();
+            if (type != REQUEST_BYTE_TRANSFER_EVENT && type != RESPONSE_BYTE_TRANSFER_EVENT) {
+                return false;
+            }
+            int last = pending.size() - 1;
+            int first = pending.size() < MAX_PENDING_EVENTS ? Math.max(last, 0) : 0;
+            for (int i = last; i >= first; i--) {
+                ProgressEvent previous = pending.get(i);
+                if (previous.getEventType() == type) {
+                    pending.set(i, new ProgressEvent(type, previous.getBytes() + event.getBytes()));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Future<?> submit() {
+            Future<?> future = COALESCING_INTERVAL_MILLIS > 0
+                    ? LazyHolder.executor.schedule(this, COALESCING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)
+                    : LazyHolder.executor.submit(this);
+            return setLatestFutureTask(future);
+        }
+
+        /**
+         * Delivers the events pending so far. Events published in the
+         * meantime are left to a newly submitted task, so that a busy
+         * listener cannot starve the others.
+         */
+        @Override
+        public void run() {
+            synchronized (this) {
+                List<ProgressEvent> events = pending;
+                pending = delivering;
+                delivering = events;
+            }
+            try {
+                for (ProgressEvent event : delivering) {
+                    quietlyCallListener(listener, event);
+                }
+            } finally {
+                delivering.clear();
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        task = null;
+                        retired = true;
+                        eventQueues.remove(listener, this);
+                    } else {
+                        task = submit();
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Can be used to shutdown the (legacy) executor.
      * <p>
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.event;
+
+import static com.amazonaws.event.ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT;
+import static com.amazonaws.event.ProgressEventType.RESPONSE_BYTE_TRANSFER_EVENT;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A progress listener which is called on the thread publishing the progress,
+ * and which forwards byte transfer events to the wrapped listener at most once
+ * per sampling interval, summing up the bytes transferred in between. All other
+ * events are forwarded as they come, after any bytes held back.
+ * <p>
+ * Use it to follow the progress of large transfers without any events being
+ * queued for the progress callback thread of {@link SDKProgressPublisher}. As
+ * with {@link SyncProgressListener}, the wrapped listener is called on the
+ * threads doing the transfer, possibly concurrently, and so must be thread
+ * safe and must never block.
+ */
+@ThreadSafe
+public class SamplingProgressListener extends SyncProgressListener {
+    private final ProgressListener listener;
+    private final long intervalNanos;
+
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong lastForwardNanos;
+
+    /**
+     * @param listener
+     *            the listener to forward the sampled events to
+     * @param interval
+     *            the minimum interval between two forwarded byte transfer
+     *            events
+     * @param unit
+     *            the unit of the interval
+     */
+    public SamplingProgressListener(ProgressListener listener, long interval, TimeUnit unit) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null.");
+        }
+        if (interval < 0) {
+            throw new IllegalArgumentException("interval must be non-negative.");
+        }
+        this.listener = listener;
+        this.intervalNanos = unit.toNanos(interval);
+        // So that the first bytes transferred are forwarded right away
+        this.lastForwardNanos = new AtomicLong(System.nanoTime() - intervalNanos);
+    }
+
+    @Override
+    public void progressChanged(ProgressEvent progressEvent) {
+        switch (progressEvent.getEventType()) {
+            case REQUEST_BYTE_TRANSFER_EVENT:
+                requestBytes.addAndGet(progressEvent.getBytes());
+                sample();
+                break;
+            case RESPONSE_BYTE_TRANSFER_EVENT:
+                responseBytes.addAndGet(progressEvent.getBytes());
+                sample();
+                break;
+            default:
+                flush();
+                listener.progressChanged(progressEvent);
+                break;
+        }
+    }
+
+    /**
+     * Forwards the bytes transferred so far if the sampling interval has
+     * elapsed since they were last forwarded.
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        long last = lastForwardNanos.get();
+        if (now - last >= intervalNanos && lastForwardNanos.compareAndSet(last, now)) {
+            flush();
+        }
+    }
+
+    /**
+     * Forwards the bytes transferred since the last forwarded byte transfer
+     * events, if any, regardless of the sampling interval.
+     */
+    public void flush() {
+        long bytes = requestBytes.getAndSet(0);
+        if (bytes > 0) {
+            listener.progressChanged(new ProgressEvent(REQUEST_BYTE_TRANSFER_EVENT, bytes));
+        }
+        bytes = responseBytes.getAndSet(0);
+        if (bytes > 0) {
+            listener.progressChanged(new ProgressEvent(RESPONSE_BYTE_TRANSFER_EVENT, bytes));
+        }
+    }
+}
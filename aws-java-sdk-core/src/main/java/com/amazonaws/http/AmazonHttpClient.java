@@ -18,6 +18,7 @@ import com.amazonaws.*;
 import com.amazonaws.AmazonServiceException.ErrorType;
 import com.amazonaws.RequestClientOptions.Marker;
 import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.auth.AWS4Signer;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.Signer;
@@ -26,6 +27,9 @@ import com.amazonaws.event.ProgressInputStream;
 import com.amazonaws.event.ProgressListener;
 import com.amazonaws.handlers.CredentialsRequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.http.conn.ConnectionPoolMetrics;
+import com.amazonaws.http.conn.ConnectionPoolMetricsCollector;
+import com.amazonaws.http.conn.ConnectionPoolMetricsSource;
 import com.amazonaws.http.conn.ssl.SdkTLSSocketFactory;
 import com.amazonaws.http.exception.HttpRequestTimeoutException;
 import com.amazonaws.http.timers.client.ClientExecutionTimeoutException;
@@ -53,22 +57,34 @@ import org.apache.http.annotation.ThreadSafe;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.scheme.Scheme;
 import org.apache.http.conn.scheme.SchemeRegistry;
 import org.apache.http.conn.ssl.SSLSocketFactory;
 import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.message.BasicHttpRequest;
 import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.amazonaws.SDKGlobalConfiguration.PROFILING_SYSTEM_PROPERTY;
 import static com.amazonaws.event.SDKProgressPublisher.*;
@@ -114,6 +130,12 @@ public class AmazonHttpClient {
      */
     private static final int THROTTLED_RETRIES = 100;
 
+    /**
+     * Executor pre-warming connections in the background, shared by all clients. Its thread is
+     * only kept alive while there are connections to pre-warm.
+     */
+    private static final ThreadPoolExecutor prewarmExecutor = createPrewarmExecutor();
+
     static {
         // Customers have reported XML parsing issues with the following
         // JVM versions, which don't occur with more recent versions, so
@@ -142,6 +164,15 @@ public class AmazonHttpClient {
     /** Retry capacity manager, used to manage throttled retry resource */
     private final CapacityManager retryCapacity;
 
+    /**
+     * Adaptive rate limiters keyed by endpoint host, or null if adaptive rate limiting is not
+     * enabled.
+     */
+    private final ConcurrentMap<String, AdaptiveRateLimiter> rateLimiters;
+
+    /** Endpoints connections have already been pre-warmed to. */
+    private final ConcurrentMap<String, Boolean> prewarmedEndpoints = new ConcurrentHashMap<String, Boolean>();
+
     /**
      * Timer to enforce timeouts on the whole execution of the request (request handlers, retries,
      * backoff strategy, unmarshalling, etc)
@@ -205,6 +236,8 @@ public class AmazonHttpClient {
         int throttledRetryMaxCapacity = clientConfig.useThrottledRetries()
                 ? THROTTLED_RETRY_COST * THROTTLED_RETRIES : -1;
         this.retryCapacity = new CapacityManager(throttledRetryMaxCapacity);
+        this.rateLimiters = clientConfig.useAdaptiveRateLimiting()
+                ? new ConcurrentHashMap<String, AdaptiveRateLimiter>() : null;
     }
 
     /**
@@ -557,6 +590,7 @@ public class AmazonHttpClient {
         final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics()
                 .addPropertyWith(Field.ServiceName, request.getServiceName())
                 .addPropertyWith(Field.ServiceEndpoint, request.getEndpoint());
+        encodeRequestContent(request, executionContext);
         // Make a copy of the original request params and headers so that we can
         // permute it in this loop and start over with the original every time.
         final Map<String, List<String>> originalParameters = new LinkedHashMap<String, List<String>>(
@@ -795,6 +829,16 @@ public class AmazonHttpClient {
         }
         updateRetryHeaderInfo(request, execOneParams);
 
+        final AdaptiveRateLimiter rateLimiter = getRateLimiter(request);
+        if (rateLimiter != null) {
+            awsRequestMetrics.startEvent(Field.RateLimiterWaitTime);
+            try {
+                rateLimiter.acquire();
+            } finally {
+                awsRequestMetrics.endEvent(Field.RateLimiterWaitTime);
+            }
+        }
+
         // Sign the request if a signer was provided
         execOneParams.newSigner(request, execContext);
         if (execOneParams.signer != null && credentials != null) {
@@ -819,6 +863,7 @@ public class AmazonHttpClient {
         checkInterrupted();
         execOneParams.newApacheRequest(httpRequestFactory, request, config, execContext);
 
+        prewarmConnectionsInBackground(request.getEndpoint());
         captureConnectionPoolMetrics(httpClient.getConnectionManager(), awsRequestMetrics);
         HttpContext httpContext = new BasicHttpContext();
         httpContext.setAttribute(AWSRequestMetrics.class.getSimpleName(), awsRequestMetrics);
@@ -880,6 +925,9 @@ public class AmazonHttpClient {
             } else {
                 retryCapacity.release();
             }
+            if (rateLimiter != null) {
+                rateLimiter.onSuccess();
+            }
             return new Response<T>(response, httpResponse);
         }
         if (isTemporaryRedirect(execOneParams.apacheResponse)) {
@@ -904,6 +952,9 @@ public class AmazonHttpClient {
         awsRequestMetrics.addPropertyWith(Field.AWSRequestID, ase.getRequestId())
                 .addPropertyWith(Field.AWSErrorCode, ase.getErrorCode())
                 .addPropertyWith(Field.StatusCode, ase.getStatusCode());
+        if (rateLimiter != null && RetryUtils.isThrottlingException(ase)) {
+            rateLimiter.onThrottle();
+        }
         // Check whether we should internally retry the auth error
         execOneParams.authRetryParam = null;
         AuthErrorRetryStrategy authRetry = execContext.getAuthErrorRetryStrategy();
@@ -1066,6 +1117,77 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * Encodes the content of the given request with the request content encoder of the client
+     * configuration, if any, and if the request is eligible; see
+     * {@link ClientConfiguration#setRequestContentEncoder(ContentEncoder)}.
+     */
+    private void encodeRequestContent(Request<?> request, ExecutionContext executionContext) {
+        ContentEncoder encoder = config.getRequestContentEncoder();
+        Map<String, String> headers = request.getHeaders();
+        if (encoder == null || request.getHttpMethod() != HttpMethodName.POST
+                || headers.containsKey("Content-Encoding") || headers.containsKey("Content-MD5")) {
+            return;
+        }
+        InputStream content = request.getContent();
+        if (content == null) {
+            // The parameters of query protocol requests are sent as the content of the POST
+            // request. Moving them into the content ahead of time keeps the signature valid only
+            // if the content itself is signed, as done by Signature Version 4.
+            if (!(executionContext.getSignerByURI(request.getEndpoint()) instanceof AWS4Signer)) {
+                return;
+            }
+            String encodedParams = HttpUtils.encodeParameters(request);
+            if (encodedParams == null) {
+                return;
+            }
+            byte[] bytes = encodedParams.getBytes(StringUtils.UTF8);
+            if (bytes.length < config.getRequestCompressionThreshold()) {
+                return;
+            }
+            content = new ByteArrayInputStream(bytes);
+            request.setParameters(new LinkedHashMap<String, List<String>>());
+        } else {
+            // A buffered stream can only be reset within its read limit, which encoding could
+            // exceed when retrying
+            if (content instanceof BufferedInputStream) {
+                return;
+            }
+            String contentLength = headers.get("Content-Length");
+            try {
+                if (contentLength != null
+                        && Long.parseLong(contentLength) < config.getRequestCompressionThreshold()) {
+                    return;
+                }
+            } catch (NumberFormatException e) {
+                // Unknown length; encode
+            }
+        }
+        request.setContent(encoder.encode(content));
+        headers.remove("Content-Length");
+        request.addHeader("Content-Encoding", encoder.getContentEncoding());
+    }
+
+    /**
+     * Returns the adaptive rate limiter shared by all requests to the endpoint of the given
+     * request, or null if adaptive rate limiting is not enabled.
+     */
+    private AdaptiveRateLimiter getRateLimiter(Request<?> request) {
+        if (rateLimiters == null || request.getEndpoint() == null) {
+            return null;
+        }
+        String host = request.getEndpoint().getHost();
+        AdaptiveRateLimiter rateLimiter = rateLimiters.get(host);
+        if (rateLimiter == null) {
+            rateLimiter = new AdaptiveRateLimiter();
+            AdaptiveRateLimiter existing = rateLimiters.putIfAbsent(host, rateLimiter);
+            if (existing != null) {
+                rateLimiter = existing;
+            }
+        }
+        return rateLimiter;
+    }
+
     /**
      * Adds Retry information to the {@link #HEADER_SDK_RETRY_INFO} header. Used for analysis of
      * retry policy.
@@ -1097,6 +1219,121 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * Returns a snapshot of the state and usage statistics of the connection pool of this client,
+     * or null if the underlying HTTP client does not expose them.
+     */
+    public ConnectionPoolMetrics getConnectionPoolMetrics() {
+        ClientConnectionManager connectionManager = httpClient.getConnectionManager();
+        if (connectionManager instanceof ConnectionPoolMetricsSource) {
+            return ((ConnectionPoolMetricsSource) connectionManager).getConnectionPoolMetrics();
+        }
+        return null;
+    }
+
+    /**
+     * Opens up to the given number of connections to the given endpoint and returns them to the
+     * connection pool, so that they can be reused by the following requests. Connections already
+     * open in the pool count towards the given number, which is also capped by the maximum number
+     * of connections per route. Connections to endpoints accessed through a proxy are not
+     * pre-warmed.
+     *
+     * @param endpoint
+     *            The endpoint to open connections to.
+     * @param count
+     *            The number of connections wanted.
+     * @return The number of connections newly opened.
+     */
+    @SuppressWarnings("unchecked")
+    public int prewarmConnections(URI endpoint, int count) {
+        if (!(httpClient instanceof AbstractHttpClient)) {
+            return 0;
+        }
+        AbstractHttpClient client = (AbstractHttpClient) httpClient;
+        ClientConnectionManager connectionManager = client.getConnectionManager();
+        HttpContext context = new BasicHttpContext();
+        HttpRoute route;
+        try {
+            route = client.getRoutePlanner().determineRoute(
+                    new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme()),
+                    new BasicHttpRequest("GET", "/"), context);
+        } catch (HttpException e) {
+            log.debug("Unable to determine the route to " + endpoint, e);
+            return 0;
+        }
+        if (route.getProxyHost() != null) {
+            return 0;
+        }
+        if (connectionManager instanceof ConnPoolControl) {
+            count = Math.min(count, ((ConnPoolControl<HttpRoute>) connectionManager).getMaxPerRoute(route));
+        }
+        // Hold on to every connection until all are open so that each lease gets a distinct one
+        List<ManagedClientConnection> leased = new ArrayList<ManagedClientConnection>(count);
+        int opened = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                // Pre-warming is not a use of the pool, so keep it out of the pool metrics
+                ClientConnectionRequest connRequest = connectionManager instanceof ConnectionPoolMetricsSource
+                        ? ((ConnectionPoolMetricsSource) connectionManager).requestUnmeteredConnection(route, null)
+                        : connectionManager.requestConnection(route, null);
+                ManagedClientConnection conn = connRequest.getConnection(config.getConnectionTimeout(),
+                        TimeUnit.MILLISECONDS);
+                leased.add(conn);
+                if (!conn.isOpen()) {
+                    conn.open(route, context, client.getParams());
+                    opened++;
+                }
+                conn.markReusable();
+            }
+        } catch (Exception e) {
+            log.debug("Unable to pre-warm connections to " + endpoint, e);
+        } finally {
+            for (ManagedClientConnection conn : leased) {
+                connectionManager.releaseConnection(conn, config.getConnectionMaxIdleMillis(),
+                        TimeUnit.MILLISECONDS);
+            }
+            // No request will be sent on this thread to pick up the details of a lease
+            ConnectionPoolMetricsCollector.clearCurrentLease();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Pre-warmed " + opened + " connections to " + endpoint);
+        }
+        return opened;
+    }
+
+    /**
+     * Pre-warms connections to the given endpoint in the background the first time a request is
+     * sent to it, if enabled in the client configuration.
+     */
+    private void prewarmConnectionsInBackground(final URI endpoint) {
+        final int count = config.getConnectionPrewarmCount();
+        if (count <= 0 || endpoint == null
+                || prewarmedEndpoints.putIfAbsent(endpoint.getScheme() + "://" + endpoint.getAuthority(),
+                        Boolean.TRUE) != null) {
+            return;
+        }
+        prewarmExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                prewarmConnections(endpoint, count);
+            }
+        });
+    }
+
+    private static ThreadPoolExecutor createPrewarmExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "java-sdk-connection-prewarm");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Shuts down this HTTP client object, releasing any resources that might be held open. This is
      * an optional method, and callers are not expected to call it, but can if they want to
@@ -42,11 +42,14 @@ class ConnectionManagerFactory {
                 TimeUnit.MILLISECONDS,
                 new DelegatingDnsResolver(config.getDnsResolver()));
 
-        connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+        int maxConnectionsPerRoute = config.getMaxConnectionsPerRoute();
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute > 0
+                ? Math.min(maxConnectionsPerRoute, config.getMaxConnections())
+                : config.getMaxConnections());
         connectionManager.setMaxTotal(config.getMaxConnections());
 
         if (config.useReaper()) {
-            IdleConnectionReaper.registerConnectionManager(connectionManager);
+            IdleConnectionReaper.registerConnectionManager(connectionManager, config.getConnectionMaxIdleMillis());
         }
 
         return connectionManager;
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import java.io.InputStream;
+
+/**
+ * Encodes the content of requests, for example to compress it, before they
+ * are signed and sent.
+ *
+ * @see com.amazonaws.ClientConfiguration#setRequestContentEncoder(ContentEncoder)
+ */
+public interface ContentEncoder {
+
+    /**
+     * Returns the value of the Content-Encoding header describing the encoded
+     * content, for example "gzip".
+     */
+    String getContentEncoding();
+
+    /**
+     * Returns a stream of the given content encoded. The returned stream
+     * should encode the content as it is read rather than all at once, and
+     * should support {@link InputStream#mark(int)} and
+     * {@link InputStream#reset()} from its start whenever the given content
+     * does, so that requests can be signed and retried.
+     *
+     * @param content
+     *            The content to encode.
+     * @return The encoded content.
+     */
+    InputStream encode(InputStream content);
+}
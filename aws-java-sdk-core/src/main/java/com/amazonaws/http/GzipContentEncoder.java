@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import java.io.InputStream;
+
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.internal.GzipCompressingInputStream;
+
+/**
+ * Compresses request content in gzip format, streaming it so that the
+ * compressed content is never held in memory as a whole.
+ */
+@ThreadSafe
+public class GzipContentEncoder implements ContentEncoder {
+
+    @Override
+    public String getContentEncoding() {
+        return "gzip";
+    }
+
+    @Override
+    public InputStream encode(InputStream content) {
+        return new GzipCompressingInputStream(content);
+    }
+}
@@ -15,6 +15,8 @@
 package com.amazonaws.http;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
@@ -44,8 +46,8 @@ import org.apache.http.auth.NTCredentials;
 import org.apache.http.client.AuthCache;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.RedirectStrategy;
-import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.params.HttpClientParams;
 import org.apache.http.client.protocol.ClientContext;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.params.ConnRoutePNames;
@@ -58,6 +60,7 @@ import org.apache.http.conn.scheme.SchemeSocketFactory;
 import org.apache.http.conn.ssl.SSLContexts;
 import org.apache.http.conn.ssl.SSLInitializationException;
 import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.conn.PoolingClientConnectionManager;
@@ -73,6 +76,7 @@ import com.amazonaws.http.conn.SdkConnectionKeepAliveStrategy;
 import com.amazonaws.http.conn.ssl.SdkTLSSocketFactory;
 import com.amazonaws.http.impl.client.HttpRequestNoRetryHandler;
 import com.amazonaws.http.impl.client.SdkHttpClient;
+import com.amazonaws.internal.GzipInflatingInputStream;
 
 /** Responsible for creating and configuring instances of Apache HttpClient4. */
 @SdkInternalApi
@@ -94,6 +98,9 @@ public class HttpClientFactory {
         HttpConnectionParams.setStaleCheckingEnabled(httpClientParams, true);
         HttpConnectionParams.setTcpNoDelay(httpClientParams, true);
         HttpConnectionParams.setSoKeepalive(httpClientParams, config.useTcpKeepAlive());
+        if (config.getConnectionAcquireTimeout() > 0) {
+            HttpClientParams.setConnectionManagerTimeout(httpClientParams, config.getConnectionAcquireTimeout());
+        }
 
         int socketSendBufferSizeHint = config.getSocketBufferSizeHints()[0];
         int socketReceiveBufferSizeHint = config.getSocketBufferSizeHints()[1];
@@ -197,7 +204,7 @@ public class HttpClientFactory {
                             for (int i = 0; i < codecs.length; i++) {
                                 if (codecs[i].getName()
                                         .equalsIgnoreCase("gzip")) {
-                                    response.setEntity(new GzipDecompressingEntity(
+                                    response.setEntity(new GzipInflatingEntity(
                                             response.getEntity()));
                                     return;
                                 }
@@ -213,6 +220,54 @@ public class HttpClientFactory {
     }
 
 
+    /**
+     * Decompresses a gzip encoded response entity with a pooled inflater.
+     */
+    private static final class GzipInflatingEntity extends HttpEntityWrapper {
+
+        private InputStream content;
+
+        GzipInflatingEntity(HttpEntity entity) {
+            super(entity);
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (wrappedEntity.isStreaming()) {
+                if (content == null) {
+                    content = new GzipInflatingInputStream(wrappedEntity.getContent());
+                }
+                return content;
+            }
+            return new GzipInflatingInputStream(wrappedEntity.getContent());
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            // The content is no longer encoded
+            return null;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(OutputStream outstream) throws IOException {
+            InputStream in = getContent();
+            try {
+                byte[] buffer = new byte[8 * 1024];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    outstream.write(buffer, 0, n);
+                }
+            } finally {
+                in.close();
+            }
+        }
+    }
+
     /**
      * Disable http redirect inside Apache HttpClient.
      */
@@ -14,9 +14,16 @@
  */
 package com.amazonaws.http;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -39,47 +46,108 @@ import org.apache.http.conn.ClientConnectionManager;
  * cleaning up old/inactive HTTP connections, we'd see more IO exceptions when
  * stale connections (i.e. closed on the AWS side) are left in the connection
  * pool, and requests grab one of them to begin executing a request.
+ * <p>
+ * Each registered connection manager is checked on its own schedule, derived
+ * from its maximum idle time. Connection managers are only weakly referenced,
+ * so a client that is never shut down does not keep its connection pool from
+ * being garbage collected.
  */
-public final class IdleConnectionReaper extends Thread {
+public final class IdleConnectionReaper {
+
+    /** The default maximum idle time of a connection. */
+    private static final long DEFAULT_MAX_IDLE_MILLISECONDS = 1000 * 60 * 1;
+
+    /** The shortest period between two checks of the same connection manager. */
+    private static final long MIN_PERIOD_MILLISECONDS = 1000;
 
-    /** The period between invocations of the idle connection reaper. */
-    private static final int PERIOD_MILLISECONDS = 1000 * 60 * 1;
+    /** The longest period between two checks of the same connection manager. */
+    private static final long MAX_PERIOD_MILLISECONDS = 1000 * 60 * 1;
 
     /**
-     * The list of registered connection managers, whose connections
-     * will be periodically checked and idle connections closed.
+     * The registered connection managers, whose connections will be
+     * periodically checked and idle connections closed.
      */
-    private static final ArrayList<ClientConnectionManager> connectionManagers = new ArrayList<ClientConnectionManager>();
+    private static final ConcurrentMap<ManagerReference, ReaperTask> tasks =
+            new ConcurrentHashMap<ManagerReference, ReaperTask>();
+
+    /** The number of registered connection managers. */
+    private static final AtomicInteger registered = new AtomicInteger();
+
     /**
-     * Set to true when shutting down the reaper;  Once set to true, this
-     * flag is never set back to false.
+     * Connection managers are registered and removed under the read lock, so
+     * they don't contend with each other; the executor is only created and
+     * shut down under the write lock, so it can't be shut down as the last
+     * connection manager is removed while a new one is being scheduled on it.
      */
-    private volatile boolean shuttingDown;
+    private static final ReadWriteLock lock = new ReentrantReadWriteLock();
 
-    /** Singleton instance of the connection reaper. */
-    private static IdleConnectionReaper instance;
+    /**
+     * The scheduler running the reaper thread; or null if no connection manager
+     * is registered. Only created and shut down while holding the write lock.
+     */
+    private static volatile ScheduledThreadPoolExecutor executor;
 
     /** Shared log for any errors during connection reaping. */
     static final Log log = LogFactory.getLog(IdleConnectionReaper.class);
 
-    /** Private constructor - singleton pattern. */
+    /** Private constructor - no instances. */
     private IdleConnectionReaper() {
-        super("java-sdk-http-connection-reaper");
-        setDaemon(true);
     }
 
     /**
-     * Registers the given connection manager with this reaper;
-     * 
+     * Registers the given connection manager with this reaper, closing
+     * connections that have been idle for more than a minute.
+     *
      * @return true if the connection manager has been successfully registered;
      * false otherwise.
      */
-    public static synchronized boolean registerConnectionManager(ClientConnectionManager connectionManager) {
-        if (instance == null) {
-            instance = new IdleConnectionReaper();
-            instance.start();
+    public static boolean registerConnectionManager(ClientConnectionManager connectionManager) {
+        return registerConnectionManager(connectionManager, DEFAULT_MAX_IDLE_MILLISECONDS);
+    }
+
+    /**
+     * Registers the given connection manager with this reaper, closing
+     * connections that have been idle for more than the given time. The
+     * connection manager is checked every half of the given time, but no less
+     * often than once a minute and no more often than once a second.
+     *
+     * @param maxIdleMillis
+     *            The maximum idle time of a connection; if not positive, a
+     *            minute is used.
+     * @return true if the connection manager has been successfully registered;
+     * false otherwise.
+     */
+    public static boolean registerConnectionManager(
+            ClientConnectionManager connectionManager, long maxIdleMillis) {
+        ReaperTask task = new ReaperTask(new ManagerReference(connectionManager),
+                maxIdleMillis > 0 ? maxIdleMillis : DEFAULT_MAX_IDLE_MILLISECONDS);
+        lock.readLock().lock();
+        try {
+            if (tasks.putIfAbsent(task.reference, task) != null) {
+                return false;
+            }
+            registered.incrementAndGet();
+            ScheduledThreadPoolExecutor current = executor;
+            if (current != null) {
+                schedule(current, task);
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            // The connection manager may have been removed meanwhile
+            if (tasks.get(task.reference) == task) {
+                if (executor == null) {
+                    executor = createExecutor();
+                }
+                schedule(executor, task);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
-        return connectionManagers.add(connectionManager);
+        return true;
     }
 
     /**
@@ -89,50 +157,77 @@ public final class IdleConnectionReaper extends Thread {
      * @return true if the connection manager has been successfully removed;
      * false otherwise.
      */
-    public static synchronized boolean removeConnectionManager(ClientConnectionManager connectionManager) {
-        boolean b = connectionManagers.remove(connectionManager);
-        if (connectionManagers.isEmpty())
-            shutdown();
-        return b;
-    }
-    
-    private void markShuttingDown() {
-        shuttingDown = true;
+    public static boolean removeConnectionManager(ClientConnectionManager connectionManager) {
+        return remove(new ManagerReference(connectionManager));
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public void run() {
-        while (true) {
-            if (shuttingDown) {
-                log.debug("Shutting down reaper thread.");
-                return;
+    private static boolean remove(ManagerReference reference) {
+        boolean last;
+        lock.readLock().lock();
+        try {
+            ReaperTask task = tasks.remove(reference);
+            if (task == null) {
+                return false;
             }
+            task.cancel();
+            last = registered.decrementAndGet() == 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (last) {
+            lock.writeLock().lock();
             try {
-                Thread.sleep(PERIOD_MILLISECONDS);
-
-                // Copy the list of managed ConnectionManagers to avoid possible
-                // ConcurrentModificationExceptions if registerConnectionManager or
-                // removeConnectionManager are called while we're iterating (rather
-                // than block/lock while this loop executes).
-                List<ClientConnectionManager> connectionManagers = null;
-                synchronized (IdleConnectionReaper.class) {
-                    connectionManagers = (List<ClientConnectionManager>)IdleConnectionReaper.connectionManagers.clone();
+                // Unless a connection manager has been registered meanwhile
+                if (registered.get() == 0) {
+                    shutdownExecutor();
                 }
-                for (ClientConnectionManager connectionManager : connectionManagers) {
-                    // When we release connections, the connection manager leaves them
-                    // open so they can be reused.  We want to close out any idle
-                    // connections so that they don't sit around in CLOSE_WAIT.
-                    try {
-                        connectionManager.closeIdleConnections(60, TimeUnit.SECONDS);
-                    } catch (Exception t) {
-                        log.warn("Unable to close idle connections", t);
-                    }
-                }
-            } catch (Throwable t) {
-                log.debug("Reaper thread: ",  t);
+            } finally {
+                lock.writeLock().unlock();
             }
         }
+        return true;
+    }
+
+    /**
+     * Must be called while holding either lock, so the executor is not shut
+     * down meanwhile.
+     */
+    private static void schedule(ScheduledThreadPoolExecutor executor, ReaperTask task) {
+        long period = Math.min(Math.max(task.maxIdleMillis / 2, MIN_PERIOD_MILLISECONDS), MAX_PERIOD_MILLISECONDS);
+        task.setFuture(executor.scheduleWithFixedDelay(task, period, period, TimeUnit.MILLISECONDS));
+    }
+
+    private static ScheduledThreadPoolExecutor createExecutor() {
+        ScheduledThreadPoolExecutor newExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "java-sdk-http-connection-reaper");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // Drop the tasks of removed connection managers right away, where
+        // supported (Java 7 and above)
+        try {
+            newExecutor.getClass().getMethod("setRemoveOnCancelPolicy", boolean.class)
+                    .invoke(newExecutor, Boolean.TRUE);
+        } catch (Exception e) {
+            log.debug("Cancelled reaper tasks will be removed once due", e);
+        }
+        return newExecutor;
+    }
+
+    /**
+     * Must be called while holding the write lock.
+     */
+    private static boolean shutdownExecutor() {
+        if (executor == null) {
+            return false;
+        }
+        log.debug("Shutting down reaper thread.");
+        executor.shutdownNow();
+        executor = null;
+        return true;
     }
 
     /**
@@ -146,15 +241,20 @@ public final class IdleConnectionReaper extends Thread {
      * 
      * @return true if an actual shutdown has been made; false otherwise.
      */
-    public static synchronized boolean shutdown() {
-        if ( instance != null ) {
-            instance.markShuttingDown();
-            instance.interrupt();
-            connectionManagers.clear();
-            instance = null;
-            return true;
+    public static boolean shutdown() {
+        lock.writeLock().lock();
+        try {
+            for (ManagerReference reference : tasks.keySet()) {
+                ReaperTask task = tasks.remove(reference);
+                if (task != null) {
+                    task.cancel();
+                    registered.decrementAndGet();
+                }
+            }
+            return shutdownExecutor();
+        } finally {
+            lock.writeLock().unlock();
         }
-        return false;
     }
 
     /**
@@ -162,5 +262,87 @@ public final class IdleConnectionReaper extends Thread {
      * Returns the number of connection managers currently monitored by this
      * reaper.
      */
-    static synchronized int size() { return connectionManagers.size(); }
-}
\ No newline at end of file
+    static int size() { return registered.get(); }
+
+    /**
+     * A weak reference to a connection manager, usable as a map key. Two
+     * references are equal if the referenced connection managers are equal, so
+     * that a connection manager can be removed through a wrapper delegating
+     * {@link Object#equals(Object)} and {@link Object#hashCode()} to it.
+     */
+    private static final class ManagerReference extends WeakReference<ClientConnectionManager> {
+        private final int hashCode;
+
+        ManagerReference(ClientConnectionManager connectionManager) {
+            super(connectionManager);
+            this.hashCode = connectionManager.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ManagerReference)) {
+                return false;
+            }
+            ClientConnectionManager connectionManager = get();
+            return connectionManager != null && connectionManager.equals(((ManagerReference) obj).get());
+        }
+    }
+
+    /**
+     * Periodically closes the idle and expired connections of one connection
+     * manager.
+     */
+    private static final class ReaperTask implements Runnable {
+        private final ManagerReference reference;
+        private final long maxIdleMillis;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+
+        ReaperTask(ManagerReference reference, long maxIdleMillis) {
+            this.reference = reference;
+            this.maxIdleMillis = maxIdleMillis;
+        }
+
+        void setFuture(ScheduledFuture<?> future) {
+            this.future = future;
+            if (cancelled) {
+                future.cancel(false);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            ClientConnectionManager connectionManager = reference.get();
+            if (connectionManager == null) {
+                // The client was garbage collected without being shut down
+                remove(reference);
+                return;
+            }
+            // When we release connections, the connection manager leaves them
+            // open so they can be reused.  We want to close out any idle
+            // connections so that they don't sit around in CLOSE_WAIT.
+            try {
+                connectionManager.closeExpiredConnections();
+                connectionManager.closeIdleConnections(maxIdleMillis, TimeUnit.MILLISECONDS);
+            } catch (Exception t) {
+                log.warn("Unable to close idle connections", t);
+            }
+        }
+    }
+}
@@ -17,6 +17,8 @@ package com.amazonaws.http;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.amazonaws.util.StringUtils;
 import com.amazonaws.util.json.SdkJsonProtocolFactory;
@@ -38,6 +40,14 @@ public class JsonErrorResponseHandlerV2 implements HttpResponseHandler<AmazonSer
 
     private static final Log LOG = LogFactory.getLog(JsonErrorResponseHandlerV2.class);
 
+    /**
+     * Error response handlers are created per request, so the (expensive to
+     * build) ObjectMapper used to read the error content is shared per
+     * JsonFactory instead of being created for every error response.
+     */
+    private static final ConcurrentMap<JsonFactory, ObjectMapper> MAPPERS =
+            new ConcurrentHashMap<JsonFactory, ObjectMapper>();
+
     private final List<JsonErrorUnmarshallerV2> unmarshallers;
     private final JsonErrorCodeParser errorCodeParser;
     private final JsonErrorMessageParser errorMessageParser;
@@ -184,12 +194,23 @@ public class JsonErrorResponseHandlerV2 implements HttpResponseHandler<AmazonSer
             } catch (Exception e) {
                 LOG.info("Unable to read HTTP response content", e);
             }
-            return new JsonContent(rawJsonContent, new ObjectMapper
-                    (jsonFactory).configure(JsonParser.Feature
-                    .ALLOW_COMMENTS, true));
+            return new JsonContent(rawJsonContent, getMapper(jsonFactory));
 
         }
 
+        private static ObjectMapper getMapper(JsonFactory jsonFactory) {
+            ObjectMapper mapper = MAPPERS.get(jsonFactory);
+            if (mapper == null) {
+                mapper = new ObjectMapper(jsonFactory).configure(
+                        JsonParser.Feature.ALLOW_COMMENTS, true);
+                ObjectMapper existing = MAPPERS.putIfAbsent(jsonFactory, mapper);
+                if (existing != null) {
+                    mapper = existing;
+                }
+            }
+            return mapper;
+        }
+
         private JsonContent(byte[] rawJsonContent, ObjectMapper mapper) {
             this.rawContent = rawJsonContent;
             this.jsonNode = parseJsonContent(rawJsonContent, mapper);
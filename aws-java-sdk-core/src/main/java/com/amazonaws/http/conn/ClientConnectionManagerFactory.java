@@ -23,6 +23,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.pool.ConnPoolControl;
 
 public class ClientConnectionManagerFactory {
@@ -30,7 +31,9 @@ public class ClientConnectionManagerFactory {
 
     /**
      * Returns a wrapped instance of {@link ClientConnectionManager}
-     * to capture the necessary performance metrics.
+     * to capture the necessary performance metrics. If the given manager is
+     * a connection pool, the returned instance also implements
+     * {@link ConnectionPoolMetricsSource}.
      * @param orig the target instance to be wrapped
      */
     public static ClientConnectionManager wrap(ClientConnectionManager orig) {
@@ -41,6 +44,7 @@ public class ClientConnectionManagerFactory {
             interfaces = new Class<?>[] { 
                     ClientConnectionManager.class,
                     ConnPoolControl.class,
+                    ConnectionPoolMetricsSource.class,
                     Wrapped.class 
             };
         } else {
@@ -63,17 +67,27 @@ public class ClientConnectionManagerFactory {
      */
     private static class Handler implements InvocationHandler {
         private final ClientConnectionManager orig;
+        private final ConnectionPoolMetricsCollector collector = new ConnectionPoolMetricsCollector();
         Handler(ClientConnectionManager real) {
             this.orig = real;
         }
         @Override
+        @SuppressWarnings("unchecked")
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == ConnectionPoolMetricsSource.class) {
+                if ("requestUnmeteredConnection".equals(method.getName())) {
+                    return orig.requestConnection((HttpRoute) args[0], args[1]);
+                }
+                return collector.getMetrics((ConnPoolControl<HttpRoute>) orig);
+            }
             try {
                 Object ret = method.invoke(orig, args);
-                return ret instanceof ClientConnectionRequest
-                     ? ClientConnectionRequestFactory.wrap((ClientConnectionRequest) ret)
-                     : ret
-                     ;
+                if (ret instanceof ClientConnectionRequest) {
+                    HttpRoute route = args[0] instanceof HttpRoute ? (HttpRoute) args[0] : null;
+                    return ClientConnectionRequestFactory.wrap(
+                            (ClientConnectionRequest) ret, collector, route);
+                }
+                return ret;
             } catch (InvocationTargetException e) {
                 log.debug("", e);
                 throw e.getCause();
@@ -22,6 +22,9 @@ import java.lang.reflect.Proxy;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
 
 import com.amazonaws.metrics.AwsSdkMetrics;
 import com.amazonaws.metrics.ServiceLatencyProvider;
@@ -38,15 +41,18 @@ class ClientConnectionRequestFactory {
      * Returns a wrapped instance of {@link ClientConnectionRequest}
      * to capture the necessary performance metrics.
      * @param orig the target instance to be wrapped
+     * @param collector the statistics of the pool the connection is leased from
+     * @param route the route of the requested connection, or null if unknown
      */
-    static ClientConnectionRequest wrap(ClientConnectionRequest orig) {
+    static ClientConnectionRequest wrap(ClientConnectionRequest orig,
+            ConnectionPoolMetricsCollector collector, HttpRoute route) {
         if (orig instanceof Wrapped)
             throw new IllegalArgumentException();
         return (ClientConnectionRequest) Proxy.newProxyInstance(
                 // https://github.com/aws/aws-sdk-java/pull/48#issuecomment-29454423
                 ClientConnectionRequestFactory.class.getClassLoader(),
                 interfaces,
-                new Handler(orig));
+                new Handler(orig, collector, route));
     }
 
     /**
@@ -57,8 +63,12 @@ class ClientConnectionRequestFactory {
      */
     private static class Handler implements InvocationHandler {
         private final ClientConnectionRequest orig;
-        Handler(ClientConnectionRequest orig) {
+        private final ConnectionPoolMetricsCollector collector;
+        private final HttpRoute route;
+        Handler(ClientConnectionRequest orig, ConnectionPoolMetricsCollector collector, HttpRoute route) {
             this.orig = orig;
+            this.collector = collector;
+            this.route = route;
         }
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
@@ -66,8 +76,17 @@ class ClientConnectionRequestFactory {
                 if ("getConnection".equals(method.getName())) {
                     ServiceLatencyProvider latencyProvider = new ServiceLatencyProvider(
                             AWSServiceMetrics.HttpClientGetConnectionTime);
+                    final long startNanos = System.nanoTime();
                     try {
-                        return method.invoke(orig, args);
+                        Object conn = method.invoke(orig, args);
+                        collector.leased(route, startNanos, conn instanceof ManagedClientConnection
+                                && ((ManagedClientConnection) conn).isOpen());
+                        return conn;
+                    } catch (InvocationTargetException e) {
+                        if (e.getCause() instanceof ConnectionPoolTimeoutException) {
+                            collector.leaseTimedOut();
+                        }
+                        throw e;
                     } finally {
                         AwsSdkMetrics.getServiceMetricCollector()
                                 .collectLatency(latencyProvider.endTiming());
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.amazonaws.annotation.Immutable;
+import com.amazonaws.annotation.SdkInternalApi;
+
+/**
+ * A snapshot of the state and the usage statistics of the HTTP connection pool
+ * of a client.
+ * <p>
+ * Lease wait times that grow while service latency stays flat point at pool
+ * starvation; in that case consider raising the maximum number of connections,
+ * or the maximum number of connections per route.
+ */
+@Immutable
+public class ConnectionPoolMetrics {
+
+    private final int leased;
+    private final int available;
+    private final int pending;
+    private final int max;
+    private final Map<String, RouteStats> routes;
+    private final long leases;
+    private final long reusedLeases;
+    private final long leaseTimeouts;
+    private final long totalLeaseWaitMillis;
+    private final long connectionsCreated;
+    private final long totalConnectionCreationMillis;
+    private final long tlsHandshakes;
+    private final long totalTlsHandshakeMillis;
+
+    @SdkInternalApi
+    public ConnectionPoolMetrics(int leased, int available, int pending, int max,
+            Map<String, RouteStats> routes, long leases, long reusedLeases, long leaseTimeouts,
+            long totalLeaseWaitMillis, long connectionsCreated, long totalConnectionCreationMillis,
+            long tlsHandshakes, long totalTlsHandshakeMillis) {
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.max = max;
+        this.routes = Collections.unmodifiableMap(routes);
+        this.leases = leases;
+        this.reusedLeases = reusedLeases;
+        this.leaseTimeouts = leaseTimeouts;
+        this.totalLeaseWaitMillis = totalLeaseWaitMillis;
+        this.connectionsCreated = connectionsCreated;
+        this.totalConnectionCreationMillis = totalConnectionCreationMillis;
+        this.tlsHandshakes = tlsHandshakes;
+        this.totalTlsHandshakeMillis = totalTlsHandshakeMillis;
+    }
+
+    /** Returns the number of connections currently leased to requests. */
+    public int getLeased() {
+        return leased;
+    }
+
+    /** Returns the number of idle persistent connections in the pool. */
+    public int getAvailable() {
+        return available;
+    }
+
+    /** Returns the number of requests currently waiting for a connection. */
+    public int getPending() {
+        return pending;
+    }
+
+    /** Returns the maximum number of connections in the pool. */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the state of the pool for each route, keyed by the target host
+     * of the route (for example {@code https://bucket.s3.amazonaws.com:443}).
+     */
+    public Map<String, RouteStats> getRoutes() {
+        return routes;
+    }
+
+    /** Returns the total number of connections leased from the pool. */
+    public long getLeases() {
+        return leases;
+    }
+
+    /**
+     * Returns the total number of leases that got back an already open
+     * connection.
+     */
+    public long getReusedLeases() {
+        return reusedLeases;
+    }
+
+    /**
+     * Returns the fraction of leases that got back an already open
+     * connection, or 0 if there have been no leases yet.
+     */
+    public double getReuseRatio() {
+        return leases == 0 ? 0 : (double) reusedLeases / leases;
+    }
+
+    /**
+     * Returns the total number of requests that timed out waiting for a
+     * connection.
+     */
+    public long getLeaseTimeouts() {
+        return leaseTimeouts;
+    }
+
+    /** Returns the total time, in milliseconds, requests waited for a connection. */
+    public long getTotalLeaseWaitMillis() {
+        return totalLeaseWaitMillis;
+    }
+
+    /**
+     * Returns the total number of new connections opened to send requests.
+     * Connections opened ahead of time by pre-warming are not included.
+     */
+    public long getConnectionsCreated() {
+        return connectionsCreated;
+    }
+
+    /**
+     * Returns the total time, in milliseconds, spent opening new connections,
+     * including name resolution and TLS handshakes.
+     */
+    public long getTotalConnectionCreationMillis() {
+        return totalConnectionCreationMillis;
+    }
+
+    /**
+     * Returns the total number of TLS handshakes performed by new connections
+     * opened to send requests.
+     */
+    public long getTlsHandshakes() {
+        return tlsHandshakes;
+    }
+
+    /** Returns the total time, in milliseconds, spent in TLS handshakes. */
+    public long getTotalTlsHandshakeMillis() {
+        return totalTlsHandshakeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolMetrics [leased=" + leased + ", available=" + available + ", pending=" + pending
+                + ", max=" + max + ", routes=" + routes + ", leases=" + leases + ", reusedLeases=" + reusedLeases
+                + ", leaseTimeouts=" + leaseTimeouts + ", totalLeaseWaitMillis=" + totalLeaseWaitMillis
+                + ", connectionsCreated=" + connectionsCreated + ", totalConnectionCreationMillis="
+                + totalConnectionCreationMillis + ", tlsHandshakes=" + tlsHandshakes
+                + ", totalTlsHandshakeMillis=" + totalTlsHandshakeMillis + "]";
+    }
+
+    /**
+     * The state of the connection pool for a single route.
+     */
+    @Immutable
+    public static class RouteStats {
+
+        private final int leased;
+        private final int available;
+        private final int pending;
+        private final int max;
+
+        @SdkInternalApi
+        public RouteStats(int leased, int available, int pending, int max) {
+            this.leased = leased;
+            this.available = available;
+            this.pending = pending;
+            this.max = max;
+        }
+
+        /** Returns the number of connections to the route currently leased. */
+        public int getLeased() {
+            return leased;
+        }
+
+        /** Returns the number of idle persistent connections to the route. */
+        public int getAvailable() {
+            return available;
+        }
+
+        /** Returns the number of requests waiting for a connection to the route. */
+        public int getPending() {
+            return pending;
+        }
+
+        /** Returns the maximum number of connections to the route. */
+        public int getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "[leased=" + leased + ", available=" + available + ", pending=" + pending + ", max=" + max
+                    + "]";
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.TimingInfo;
+
+/**
+ * Collects the usage statistics of one connection pool.
+ * <p>
+ * A connection is leased, opened if needed and then used to send a request all
+ * on the same thread, so the details of the latest lease are kept in a thread
+ * local until the request is sent, at which point they are recorded in the
+ * {@link AWSRequestMetrics} of the request.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class ConnectionPoolMetricsCollector {
+
+    /**
+     * The maximum number of routes to report the statistics of; leases for
+     * further routes are still counted in the totals.
+     */
+    static final int MAX_ROUTES = 1000;
+
+    private static final ThreadLocal<Lease> currentLease = new ThreadLocal<Lease>();
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong reusedLeases = new AtomicLong();
+    private final AtomicLong leaseTimeouts = new AtomicLong();
+    private final AtomicLong leaseWaitNanos = new AtomicLong();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionCreationNanos = new AtomicLong();
+    private final AtomicLong tlsHandshakes = new AtomicLong();
+    private final AtomicLong tlsHandshakeNanos = new AtomicLong();
+
+    /**
+     * Routes connections have been leased for, dropped again once the pool no
+     * longer holds any connection for them.
+     */
+    private final Map<HttpRoute, Boolean> routes = new ConcurrentHashMap<HttpRoute, Boolean>();
+
+    /**
+     * Records that a connection was leased on the current thread.
+     *
+     * @param route
+     *            The route of the connection.
+     * @param leaseStartNanos
+     *            When the lease was requested.
+     * @param reused
+     *            Whether the leased connection was already open.
+     */
+    void leased(HttpRoute route, long leaseStartNanos, boolean reused) {
+        long now = System.nanoTime();
+        leases.incrementAndGet();
+        if (reused) {
+            reusedLeases.incrementAndGet();
+        }
+        leaseWaitNanos.addAndGet(now - leaseStartNanos);
+        if (route != null && !routes.containsKey(route) && routes.size() < MAX_ROUTES) {
+            routes.put(route, Boolean.TRUE);
+        }
+        currentLease.set(new Lease(this, leaseStartNanos, now, reused));
+    }
+
+    /**
+     * Records that a request timed out waiting for a connection.
+     */
+    void leaseTimedOut() {
+        leaseTimeouts.incrementAndGet();
+    }
+
+    /**
+     * Records a TLS handshake performed on the current thread while opening
+     * the connection of the latest lease.
+     */
+    public static void tlsHandshakeCompleted(long startNanos, long endNanos) {
+        Lease lease = currentLease.get();
+        if (lease != null) {
+            lease.tlsHandshakeStartNanos = startNanos;
+            lease.tlsHandshakeEndNanos = endNanos;
+        }
+    }
+
+    /**
+     * Records the details of the latest connection lease on the current thread
+     * in the given request metrics, which may be null, and in the statistics
+     * of the pool the connection was leased from. Called once the connection
+     * is ready to send a request.
+     */
+    public static void recordCurrentLease(AWSRequestMetrics awsRequestMetrics) {
+        Lease lease = currentLease.get();
+        if (lease == null) {
+            return;
+        }
+        currentLease.remove();
+        lease.record(awsRequestMetrics, System.nanoTime());
+    }
+
+    /**
+     * Discards the details of the latest connection lease on the current
+     * thread, if any, without recording them.
+     */
+    public static void clearCurrentLease() {
+        currentLease.remove();
+    }
+
+    /**
+     * Returns a snapshot of the statistics collected so far, together with the
+     * current state of the given pool. Routes the pool no longer holds any
+     * connection for are left out and forgotten.
+     */
+    public ConnectionPoolMetrics getMetrics(ConnPoolControl<HttpRoute> pool) {
+        PoolStats total = pool.getTotalStats();
+        Map<String, ConnectionPoolMetrics.RouteStats> routeStats =
+                new LinkedHashMap<String, ConnectionPoolMetrics.RouteStats>();
+        for (HttpRoute route : routes.keySet()) {
+            PoolStats stats = pool.getStats(route);
+            if (stats.getLeased() == 0 && stats.getAvailable() == 0 && stats.getPending() == 0) {
+                routes.remove(route);
+                continue;
+            }
+            routeStats.put(route.getTargetHost().toURI(), new ConnectionPoolMetrics.RouteStats(
+                    stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax()));
+        }
+        return new ConnectionPoolMetrics(total.getLeased(), total.getAvailable(), total.getPending(),
+                total.getMax(), routeStats, leases.get(), reusedLeases.get(), leaseTimeouts.get(),
+                TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos.get()), connectionsCreated.get(),
+                TimeUnit.NANOSECONDS.toMillis(connectionCreationNanos.get()), tlsHandshakes.get(),
+                TimeUnit.NANOSECONDS.toMillis(tlsHandshakeNanos.get()));
+    }
+
+    private static class Lease {
+        private final ConnectionPoolMetricsCollector collector;
+        private final long startNanos;
+        private final long leasedNanos;
+        private final boolean reused;
+        private long tlsHandshakeStartNanos = -1;
+        private long tlsHandshakeEndNanos = -1;
+
+        Lease(ConnectionPoolMetricsCollector collector, long startNanos, long leasedNanos, boolean reused) {
+            this.collector = collector;
+            this.startNanos = startNanos;
+            this.leasedNanos = leasedNanos;
+            this.reused = reused;
+        }
+
+        void record(AWSRequestMetrics metrics, long readyNanos) {
+            if (!reused) {
+                collector.connectionsCreated.incrementAndGet();
+                collector.connectionCreationNanos.addAndGet(readyNanos - leasedNanos);
+            }
+            if (tlsHandshakeStartNanos >= 0) {
+                collector.tlsHandshakes.incrementAndGet();
+                collector.tlsHandshakeNanos.addAndGet(tlsHandshakeEndNanos - tlsHandshakeStartNanos);
+            }
+            if (metrics == null || !metrics.isEnabled()) {
+                return;
+            }
+            TimingInfo timingInfo = metrics.getTimingInfo();
+            timingInfo.addSubMeasurement(Field.HttpClientLeaseWaitTime.name(),
+                    TimingInfo.unmodifiableTimingInfo(startNanos, leasedNanos));
+            metrics.setCounter(Field.HttpClientConnectionReused, reused ? 1 : 0);
+            if (!reused) {
+                timingInfo.addSubMeasurement(Field.HttpClientConnectionCreationTime.name(),
+                        TimingInfo.unmodifiableTimingInfo(leasedNanos, readyNanos));
+            }
+            if (tlsHandshakeStartNanos >= 0) {
+                timingInfo.addSubMeasurement(Field.HttpClientTlsHandshakeTime.name(),
+                        TimingInfo.unmodifiableTimingInfo(tlsHandshakeStartNanos, tlsHandshakeEndNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+
+/**
+ * Implemented by connection managers that can report
+ * {@link ConnectionPoolMetrics}.
+ */
+public interface ConnectionPoolMetricsSource {
+
+    /**
+     * Returns a snapshot of the metrics of the connection pool.
+     */
+    ConnectionPoolMetrics getConnectionPoolMetrics();
+
+    /**
+     * Requests a connection like
+     * {@link ClientConnectionManager#requestConnection(HttpRoute, Object)},
+     * without counting the lease in the metrics of the connection pool; e.g.
+     * to open connections ahead of the requests that will use them.
+     */
+    ClientConnectionRequest requestUnmeteredConnection(HttpRoute route, Object state);
+}
@@ -38,7 +38,10 @@ import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.ssl.SSLSocketFactory;
 import org.apache.http.conn.ssl.X509HostnameVerifier;
 import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
 
+import com.amazonaws.http.conn.ConnectionPoolMetricsCollector;
+import com.amazonaws.internal.DelegateSSLSocket;
 import com.amazonaws.internal.SdkSSLMetricsSocket;
 import com.amazonaws.internal.SdkSSLSocket;
 import com.amazonaws.internal.SdkSocket;
@@ -121,6 +124,16 @@ public class SdkTLSSocketFactory extends SSLSocketFactory {
         return false;
     }
 
+    /**
+     * {@inheritDoc} The returned socket reports the time taken by its TLS
+     * handshake to the connection pool metrics.
+     */
+    @Override
+    public Socket createSocket(final HttpContext context) throws IOException {
+        final Socket socket = super.createSocket(context);
+        return socket instanceof SSLSocket ? new HandshakeTimingSSLSocket((SSLSocket) socket) : socket;
+    }
+
     @Override
     public Socket connectSocket(final Socket socket,
                                 final InetSocketAddress remoteAddress,
@@ -145,6 +158,10 @@ public class SdkTLSSocketFactory extends SSLSocketFactory {
             }
             throw sslEx;
         }
+        if (socket instanceof HandshakeTimingSSLSocket) {
+            SdkSSLSocket sslSocket = new SdkSSLSocket(((HandshakeTimingSSLSocket) socket).getDelegate());
+            return AwsSdkMetrics.isHttpSocketReadMetricEnabled() ? new SdkSSLMetricsSocket(sslSocket) : sslSocket;
+        }
         if (socket instanceof SSLSocket) {
             SdkSSLSocket sslSocket = new SdkSSLSocket((SSLSocket) socket);
             return AwsSdkMetrics.isHttpSocketReadMetricEnabled() ? new SdkSSLMetricsSocket(sslSocket) : sslSocket;
@@ -190,4 +207,27 @@ public class SdkTLSSocketFactory extends SSLSocketFactory {
         }
         return t;
     }
+
+    /**
+     * Times the TLS handshake of a newly created socket. Only used while the
+     * connection is being established; the connected socket is unwrapped
+     * before being handed to the connection.
+     */
+    private static class HandshakeTimingSSLSocket extends DelegateSSLSocket {
+
+        HandshakeTimingSSLSocket(SSLSocket sock) {
+            super(sock);
+        }
+
+        SSLSocket getDelegate() {
+            return sock;
+        }
+
+        @Override
+        public void startHandshake() throws IOException {
+            final long startNanos = System.nanoTime();
+            sock.startHandshake();
+            ConnectionPoolMetricsCollector.tlsHandshakeCompleted(startNanos, System.nanoTime());
+        }
+    }
 }
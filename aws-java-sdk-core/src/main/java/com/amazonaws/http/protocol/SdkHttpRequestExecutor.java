@@ -25,6 +25,7 @@ import org.apache.http.conn.ManagedHttpClientConnection;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpRequestExecutor;
 
+import com.amazonaws.http.conn.ConnectionPoolMetricsCollector;
 import com.amazonaws.internal.SdkMetricsSocket;
 import com.amazonaws.internal.SdkSSLMetricsSocket;
 import com.amazonaws.util.AWSRequestMetrics;
@@ -43,6 +44,8 @@ public class SdkHttpRequestExecutor extends HttpRequestExecutor {
                 throws IOException, HttpException {
         AWSRequestMetrics awsRequestMetrics = (AWSRequestMetrics) context
                 .getAttribute(AWSRequestMetrics.class.getSimpleName());
+        // The connection has been leased and opened; time to record how long that took
+        ConnectionPoolMetricsCollector.recordCurrentLease(awsRequestMetrics);
 
         if (awsRequestMetrics == null) {
             return super.doSendRequest(request, conn, context);
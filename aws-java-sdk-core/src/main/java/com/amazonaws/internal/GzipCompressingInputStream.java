@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.annotation.SdkInternalApi;
+
+/**
+ * Compresses the wrapped input stream in gzip format as it is read, so that
+ * the compressed content never has to be held in memory as a whole.
+ * <p>
+ * If the wrapped stream supports mark and reset, so does this stream, as long
+ * as it is marked before anything is read; resetting then compresses the
+ * wrapped stream again from its mark. Later marks are supported by compressing
+ * again from the first mark and skipping to the later one.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public class GzipCompressingInputStream extends SdkInputStream {
+
+    /** Gzip header: magic, deflate method, no flags, no mtime, no extra flags, unknown OS. */
+    private static final byte[] HEADER = {
+        (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] inputBuffer = new byte[BUFFER_SIZE];
+    private final CRC32 crc = new CRC32();
+    private Deflater deflater;
+    private long uncompressedSize;
+
+    /** Header or trailer bytes pending to be returned. */
+    private byte[] pending;
+    private int pendingPosition;
+    private boolean finishing;
+    private boolean eof;
+
+    private boolean started;
+    /** True if the wrapped stream has been marked before anything was read. */
+    private boolean marked;
+    /** Number of compressed bytes returned since the start of the stream. */
+    private long position;
+    /** Position of the last mark; or -1 if not marked. */
+    private long markPosition = -1;
+
+    public GzipCompressingInputStream(InputStream in) {
+        this.in = in;
+        this.deflater = ZlibPool.borrowDeflater();
+        this.pending = HEADER;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        abortIfNeeded();
+        if (len == 0) {
+            return 0;
+        }
+        if (deflater == null) {
+            throw new IOException("Stream closed");
+        }
+        started = true;
+        while (true) {
+            if (pendingPosition < pending.length) {
+                int n = Math.min(len, pending.length - pendingPosition);
+                System.arraycopy(pending, pendingPosition, b, off, n);
+                pendingPosition += n;
+                position += n;
+                return n;
+            }
+            if (eof) {
+                return -1;
+            }
+            if (deflater.finished()) {
+                pending = trailer();
+                pendingPosition = 0;
+                eof = true;
+                continue;
+            }
+            if (!finishing && deflater.needsInput()) {
+                int read = in.read(inputBuffer, 0, inputBuffer.length);
+                if (read == -1) {
+                    deflater.finish();
+                    finishing = true;
+                } else if (read > 0) {
+                    crc.update(inputBuffer, 0, read);
+                    uncompressedSize += read;
+                    deflater.setInput(inputBuffer, 0, read);
+                }
+                continue;
+            }
+            int n = deflater.deflate(b, off, len);
+            if (n > 0) {
+                position += n;
+                return n;
+            }
+        }
+    }
+
+    private byte[] trailer() {
+        long checksum = crc.getValue();
+        return new byte[] {
+            (byte) checksum, (byte) (checksum >> 8), (byte) (checksum >> 16), (byte) (checksum >> 24),
+            (byte) uncompressedSize, (byte) (uncompressedSize >> 8),
+            (byte) (uncompressedSize >> 16), (byte) (uncompressedSize >> 24)
+        };
+    }
+
+    @Override
+    public boolean markSupported() {
+        return in.markSupported();
+    }
+
+    @Override
+    public void mark(int readlimit) {
+        abortIfNeeded();
+        if (!started) {
+            in.mark(readlimit);
+            marked = true;
+        }
+        markPosition = position;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        abortIfNeeded();
+        if (markPosition < 0) {
+            throw new IOException("Resetting to invalid mark");
+        }
+        if (!marked) {
+            throw new IOException("Resetting is only supported if the stream was marked before anything was read");
+        }
+        if (deflater == null) {
+            throw new IOException("Stream closed");
+        }
+        in.reset();
+        deflater.reset();
+        crc.reset();
+        uncompressedSize = 0;
+        pending = HEADER;
+        pendingPosition = 0;
+        finishing = false;
+        eof = false;
+        started = false;
+        position = 0;
+        skipToMark();
+    }
+
+    /**
+     * Compresses the wrapped stream again up to the last mark, which gives the
+     * same output as the first time, discarding the output.
+     */
+    private void skipToMark() throws IOException {
+        byte[] discard = new byte[BUFFER_SIZE];
+        while (position < markPosition) {
+            int n = read(discard, 0, (int) Math.min(discard.length, markPosition - position));
+            if (n == -1) {
+                throw new IOException("Unable to reset to mark");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (deflater != null) {
+            ZlibPool.returnDeflater(deflater);
+            deflater = null;
+        }
+        in.close();
+    }
+
+    @Override
+    protected InputStream getWrappedInputStream() {
+        return in;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.annotation.SdkInternalApi;
+
+/**
+ * Decompresses a gzip stream with a pooled inflater and a larger buffer than
+ * {@link java.util.zip.GZIPInputStream} uses by default. Only the first gzip
+ * member of the stream is read, which is all an HTTP response body ever has.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public class GzipInflatingInputStream extends InflaterInputStream {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final CRC32 crc = new CRC32();
+    private long uncompressedSize;
+    private boolean eof;
+    private boolean closed;
+
+    public GzipInflatingInputStream(InputStream in) throws IOException {
+        super(in, ZlibPool.borrowInflater(), BUFFER_SIZE);
+        try {
+            readHeader();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (eof) {
+            return -1;
+        }
+        int n = super.read(b, off, len);
+        if (n == -1) {
+            eof = true;
+            readTrailer();
+        } else {
+            crc.update(b, off, n);
+            uncompressedSize += n;
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            super.close();
+            ZlibPool.returnInflater(inf);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (readUnsignedShort() != 0x8b1f) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUnsignedByte() != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flags = readUnsignedByte();
+        // Skip mtime, extra flags and OS
+        skipFully(6);
+        if ((flags & FEXTRA) != 0) {
+            skipFully(readUnsignedShort());
+        }
+        if ((flags & FNAME) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & FHCRC) != 0) {
+            skipFully(2);
+        }
+    }
+
+    private void readTrailer() throws IOException {
+        // Part or all of the trailer may already be in the input buffer
+        int remaining = inf.getRemaining();
+        byte[] trailer = new byte[8];
+        int n = Math.min(remaining, trailer.length);
+        System.arraycopy(buf, len - remaining, trailer, 0, n);
+        while (n < trailer.length) {
+            int read = in.read(trailer, n, trailer.length - n);
+            if (read == -1) {
+                throw new EOFException("Unexpected end of GZIP trailer");
+            }
+            n += read;
+        }
+        if (readInt(trailer, 0) != crc.getValue()) {
+            throw new ZipException("Corrupt GZIP trailer: CRC mismatch");
+        }
+        if (readInt(trailer, 4) != (uncompressedSize & 0xffffffffL)) {
+            throw new ZipException("Corrupt GZIP trailer: size mismatch");
+        }
+    }
+
+    private static long readInt(byte[] b, int off) {
+        return (b[off] & 0xffL) | (b[off + 1] & 0xffL) << 8 | (b[off + 2] & 0xffL) << 16
+                | (b[off + 3] & 0xffL) << 24;
+    }
+
+    private int readUnsignedShort() throws IOException {
+        return readUnsignedByte() | readUnsignedByte() << 8;
+    }
+
+    private int readUnsignedByte() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("Unexpected end of GZIP header");
+        }
+        return b;
+    }
+
+    private void skipFully(int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            readUnsignedByte();
+        }
+    }
+
+    private void skipZeroTerminated() throws IOException {
+        while (readUnsignedByte() != 0) {
+        }
+    }
+}
@@ -115,6 +115,13 @@ public class ReleasableInputStream extends SdkFilterInputStream implements Relea
         return t;
     }
 
+    /**
+     * Returns the underlying input stream wrapped by this input stream.
+     */
+    public final InputStream getWrappedInputStream() {
+        return in;
+    }
+
     /**
      * Wraps the given input stream into a {@link ReleasableInputStream} if
      * necessary. Note if the given input stream is a {@link FileInputStream}, a
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+
+import com.amazonaws.annotation.SdkInternalApi;
+
+/**
+ * A {@link ByteArrayInputStream} over request content that is never modified
+ * once the stream is created. The stream reads the array it is given without
+ * copying it, and caches the SHA-256 digest of the whole content so that
+ * signing the same request more than once, e.g. on retries, hashes the
+ * content only once.
+ */
+@SdkInternalApi
+public class SdkByteArrayInputStream extends ByteArrayInputStream {
+
+    private final int offset;
+
+    private volatile byte[] sha256;
+
+    public SdkByteArrayInputStream(byte[] buf, int offset, int length) {
+        super(buf, offset, length);
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the length of the whole content, regardless of how much of it
+     * has been read.
+     */
+    public int getLength() {
+        return count - offset;
+    }
+
+    /**
+     * Returns true if no content has been read, or the stream has been reset
+     * to the start of the content.
+     */
+    public synchronized boolean isAtStart() {
+        return pos == offset;
+    }
+
+    /**
+     * Returns the SHA-256 digest of the whole content, computing it with the
+     * given message digest on first use.
+     *
+     * @param md
+     *            a SHA-256 message digest that has been reset and is ready
+     *            to use; only used if the digest has not been computed yet
+     */
+    public byte[] getSha256Digest(MessageDigest md) {
+        byte[] digest = sha256;
+        if (digest == null) {
+            md.update(buf, offset, getLength());
+            digest = md.digest();
+            sha256 = digest;
+        }
+        return digest.clone();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Pools of {@link Deflater} and {@link Inflater} instances for gzip streams.
+ * Both hold native memory that is only released when they are ended or
+ * finalized, so reusing them saves the allocation and the finalization of a
+ * pair per compressed request or response.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ZlibPool {
+
+    /** Maximum number of idle instances of each kind kept in the pools. */
+    private static final int MAX_POOLED = 32;
+
+    private static final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<Deflater>();
+    private static final AtomicInteger pooledDeflaters = new AtomicInteger();
+
+    private static final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<Inflater>();
+    private static final AtomicInteger pooledInflaters = new AtomicInteger();
+
+    private ZlibPool() {
+    }
+
+    /**
+     * Returns a deflater producing raw deflate data (no zlib header or
+     * checksum) at the default compression level.
+     */
+    public static Deflater borrowDeflater() {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            return new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        pooledDeflaters.decrementAndGet();
+        return deflater;
+    }
+
+    /**
+     * Returns the given deflater, obtained from {@link #borrowDeflater()}, to
+     * the pool. It must not be used by the caller anymore.
+     */
+    public static void returnDeflater(Deflater deflater) {
+        if (pooledDeflaters.incrementAndGet() > MAX_POOLED) {
+            pooledDeflaters.decrementAndGet();
+            deflater.end();
+            return;
+        }
+        deflater.reset();
+        deflaters.offer(deflater);
+    }
+
+    /**
+     * Returns an inflater reading raw deflate data (no zlib header or
+     * checksum).
+     */
+    public static Inflater borrowInflater() {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            return new Inflater(true);
+        }
+        pooledInflaters.decrementAndGet();
+        return inflater;
+    }
+
+    /**
+     * Returns the given inflater, obtained from {@link #borrowInflater()}, to
+     * the pool. It must not be used by the caller anymore.
+     */
+    public static void returnInflater(Inflater inflater) {
+        if (pooledInflaters.incrementAndGet() > MAX_POOLED) {
+            pooledInflaters.decrementAndGet();
+            inflater.end();
+            return;
+        }
+        inflater.reset();
+        inflaters.offer(inflater);
+    }
+}
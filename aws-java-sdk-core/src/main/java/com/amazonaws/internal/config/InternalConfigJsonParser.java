@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal.config;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads the internal configuration files into an
+ * {@link InternalConfigJsonHelper} with the Jackson streaming parser.
+ * <p>
+ * The configuration is loaded on the construction of the first client, and
+ * binding it through an ObjectMapper meant initializing Jackson databind on
+ * that path, which dominated the cold start latency of short-lived processes.
+ * Unknown fields are skipped and comments are allowed, as before.
+ */
+final class InternalConfigJsonParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .configure(JsonParser.Feature.ALLOW_COMMENTS, true);
+
+    private InternalConfigJsonParser() {
+    }
+
+    static InternalConfigJsonHelper parse(URL url) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser(url);
+        try {
+            parser.nextToken();
+            if (!startObject(parser)) {
+                throw new JsonParseException("No internal configuration found in " + url,
+                        parser.getCurrentLocation());
+            }
+            return parseConfig(parser);
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static InternalConfigJsonHelper parseConfig(JsonParser parser) throws IOException {
+        InternalConfigJsonHelper config = new InternalConfigJsonHelper();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("defaultSigner".equals(field)) {
+                config.setDefaultSigner(parseSignerConfig(parser));
+            } else if ("serviceSigners".equals(field)) {
+                config.setServiceSigners(parseSignerIndexes(parser));
+            } else if ("regionSigners".equals(field)) {
+                config.setRegionSigners(parseSignerIndexes(parser));
+            } else if ("serviceRegionSigners".equals(field)) {
+                config.setServiceRegionSigners(parseSignerIndexes(parser));
+            } else if ("httpClients".equals(field)) {
+                config.setHttpClients(parseHttpClientIndexes(parser));
+            } else if ("hostRegexToRegionMappings".equals(field)) {
+                config.setHostRegexToRegionMappings(parseHostRegexToRegionMappings(parser));
+            } else if ("userAgentTemplate".equals(field)) {
+                config.setUserAgentTemplate(readString(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return config;
+    }
+
+    private static SignerConfigJsonHelper parseSignerConfig(JsonParser parser) throws IOException {
+        if (!startObject(parser)) {
+            return null;
+        }
+        SignerConfigJsonHelper config = new SignerConfigJsonHelper();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("signerType".equals(field)) {
+                config.setSignerType(readString(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return config;
+    }
+
+    private static HttpClientConfigJsonHelper parseHttpClientConfig(JsonParser parser) throws IOException {
+        if (!startObject(parser)) {
+            return null;
+        }
+        HttpClientConfigJsonHelper config = new HttpClientConfigJsonHelper();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("serviceName".equals(field)) {
+                config.setServiceName(readString(parser));
+            } else if ("regionMetadataServiceName".equals(field)) {
+                config.setRegionMetadataServiceName(readString(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonIndex<SignerConfigJsonHelper, SignerConfig>[] parseSignerIndexes(JsonParser parser)
+            throws IOException {
+        if (!startArray(parser)) {
+            return null;
+        }
+        List<JsonIndex<SignerConfigJsonHelper, SignerConfig>> indexes =
+                new ArrayList<JsonIndex<SignerConfigJsonHelper, SignerConfig>>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (!startObject(parser)) {
+                continue;
+            }
+            JsonIndex<SignerConfigJsonHelper, SignerConfig> index =
+                    new JsonIndex<SignerConfigJsonHelper, SignerConfig>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("key".equals(field)) {
+                    index.setKey(readString(parser));
+                } else if ("config".equals(field)) {
+                    index.setConfig(parseSignerConfig(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            indexes.add(index);
+        }
+        return indexes.toArray(new JsonIndex[indexes.size()]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonIndex<HttpClientConfigJsonHelper, HttpClientConfig>[] parseHttpClientIndexes(
+            JsonParser parser) throws IOException {
+        if (!startArray(parser)) {
+            return null;
+        }
+        List<JsonIndex<HttpClientConfigJsonHelper, HttpClientConfig>> indexes =
+                new ArrayList<JsonIndex<HttpClientConfigJsonHelper, HttpClientConfig>>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (!startObject(parser)) {
+                continue;
+            }
+            JsonIndex<HttpClientConfigJsonHelper, HttpClientConfig> index =
+                    new JsonIndex<HttpClientConfigJsonHelper, HttpClientConfig>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("key".equals(field)) {
+                    index.setKey(readString(parser));
+                } else if ("config".equals(field)) {
+                    index.setConfig(parseHttpClientConfig(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            indexes.add(index);
+        }
+        return indexes.toArray(new JsonIndex[indexes.size()]);
+    }
+
+    private static HostRegexToRegionMappingJsonHelper[] parseHostRegexToRegionMappings(JsonParser parser)
+            throws IOException {
+        if (!startArray(parser)) {
+            return null;
+        }
+        List<HostRegexToRegionMappingJsonHelper> mappings = new ArrayList<HostRegexToRegionMappingJsonHelper>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (!startObject(parser)) {
+                continue;
+            }
+            HostRegexToRegionMappingJsonHelper mapping = new HostRegexToRegionMappingJsonHelper();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("hostNameRegex".equals(field)) {
+                    mapping.setHostNameRegex(readString(parser));
+                } else if ("regionName".equals(field)) {
+                    mapping.setRegionName(readString(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            mappings.add(mapping);
+        }
+        return mappings.toArray(new HostRegexToRegionMappingJsonHelper[mappings.size()]);
+    }
+
+    /**
+     * Returns true if the parser is positioned at the start of an object,
+     * false if it is positioned at a null value.
+     */
+    private static boolean startObject(JsonParser parser) throws IOException {
+        return start(parser, JsonToken.START_OBJECT);
+    }
+
+    /**
+     * Returns true if the parser is positioned at the start of an array,
+     * false if it is positioned at a null value.
+     */
+    private static boolean startArray(JsonParser parser) throws IOException {
+        return start(parser, JsonToken.START_ARRAY);
+    }
+
+    private static boolean start(JsonParser parser, JsonToken expected) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (token != expected) {
+            throw new JsonParseException("Expected " + expected + " but found " + token,
+                    parser.getCurrentLocation());
+        }
+        return true;
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new JsonParseException("Expected a string value but found " + token,
+                    parser.getCurrentLocation());
+        }
+        return parser.getText();
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.partitions;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.partitions.model.CredentialScope;
+import com.amazonaws.partitions.model.Endpoint;
+import com.amazonaws.partitions.model.Partition;
+import com.amazonaws.partitions.model.Partitions;
+import com.amazonaws.partitions.model.Region;
+import com.amazonaws.partitions.model.Service;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads a partition file with the Jackson streaming parser.
+ * <p>
+ * Only the partition and region metadata is read up front. The service
+ * definitions of a partition are indexed by their location in the file
+ * content and are read into a {@link Service} on their first lookup, since a
+ * client only ever needs the few services it talks to.
+ */
+@SdkInternalApi
+final class PartitionsJsonParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .configure(JsonParser.Feature.ALLOW_COMMENTS, true);
+
+    private PartitionsJsonParser() {
+    }
+
+    /**
+     * Parses the partitions from the given UTF-8 encoded file content. The
+     * content is retained by the returned partitions and must not be modified
+     * afterwards.
+     */
+    static Partitions parse(byte[] content) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser(content);
+        try {
+            parser.nextToken();
+            expect(parser, JsonToken.START_OBJECT);
+
+            String version = null;
+            List<Partition> partitions = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("version".equals(field)) {
+                    version = readString(parser);
+                } else if ("partitions".equals(field)) {
+                    partitions = parsePartitions(parser, content);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Partitions(version, partitions);
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static List<Partition> parsePartitions(JsonParser parser, byte[] content) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        List<Partition> partitions = new ArrayList<Partition>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            partitions.add(parsePartition(parser, content));
+        }
+        return partitions;
+    }
+
+    private static Partition parsePartition(JsonParser parser, byte[] content) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+
+        String partition = null;
+        String partitionName = null;
+        String dnsSuffix = null;
+        String regionRegex = null;
+        Endpoint defaults = null;
+        Map<String, Region> regions = null;
+        Map<String, Service> services = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("partition".equals(field)) {
+                partition = readString(parser);
+            } else if ("partitionName".equals(field)) {
+                partitionName = readString(parser);
+            } else if ("dnsSuffix".equals(field)) {
+                dnsSuffix = readString(parser);
+            } else if ("regionRegex".equals(field)) {
+                regionRegex = readString(parser);
+            } else if ("defaults".equals(field)) {
+                defaults = parseEndpoint(parser);
+            } else if ("regions".equals(field)) {
+                regions = parseRegions(parser);
+            } else if ("services".equals(field)) {
+                services = indexServices(parser, content);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        Partition p = new Partition(partition, regions, services);
+        p.setPartitionName(partitionName);
+        p.setDnsSuffix(dnsSuffix);
+        p.setRegionRegex(regionRegex);
+        p.setDefaults(defaults);
+        return p;
+    }
+
+    private static Map<String, Region> parseRegions(JsonParser parser) throws IOException {
+        if (isNull(parser)) {
+            return null;
+        }
+        expect(parser, JsonToken.START_OBJECT);
+        Map<String, Region> regions = new LinkedHashMap<String, Region>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String regionName = parser.getCurrentName();
+            parser.nextToken();
+            expect(parser, JsonToken.START_OBJECT);
+            String description = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("description".equals(field)) {
+                    description = readString(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            regions.put(regionName, new Region(description));
+        }
+        return regions;
+    }
+
+    /**
+     * Records the location of every service definition in the "services"
+     * object the parser is positioned at, without reading them.
+     */
+    private static Map<String, Service> indexServices(JsonParser parser, byte[] content) throws IOException {
+        if (isNull(parser)) {
+            return null;
+        }
+        expect(parser, JsonToken.START_OBJECT);
+        Map<String, long[]> index = new LinkedHashMap<String, long[]>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String serviceName = parser.getCurrentName();
+            parser.nextToken();
+            expect(parser, JsonToken.START_OBJECT);
+            // The parser has just consumed the opening brace of the object;
+            // the token location would point at the preceding field name.
+            long start = parser.getCurrentLocation().getByteOffset() - 1;
+            if (start < 0 || content[(int) start] != '{') {
+                throw new JsonParseException("Unable to locate the definition of service "
+                        + serviceName, parser.getCurrentLocation());
+            }
+            parser.skipChildren();
+            long end = parser.getCurrentLocation().getByteOffset();
+            index.put(serviceName, new long[] {start, end});
+        }
+        return new LazyServiceMap(content, index);
+    }
+
+    private static Service parseService(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+
+        Map<String, Endpoint> endpoints = null;
+        Endpoint defaults = null;
+        String partitionEndpoint = null;
+        boolean isRegionalized = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("endpoints".equals(field)) {
+                endpoints = parseEndpoints(parser);
+            } else if ("defaults".equals(field)) {
+                defaults = parseEndpoint(parser);
+            } else if ("partitionEndpoint".equals(field)) {
+                partitionEndpoint = readString(parser);
+            } else if ("isRegionalized".equals(field)) {
+                isRegionalized = parser.getValueAsBoolean();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        Service service = new Service(endpoints);
+        service.setDefaults(defaults);
+        service.setPartitionEndpoint(partitionEndpoint);
+        service.setRegionalized(isRegionalized);
+        return service;
+    }
+
+    private static Map<String, Endpoint> parseEndpoints(JsonParser parser) throws IOException {
+        if (isNull(parser)) {
+            return null;
+        }
+        expect(parser, JsonToken.START_OBJECT);
+        Map<String, Endpoint> endpoints = new HashMap<String, Endpoint>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String regionName = parser.getCurrentName();
+            parser.nextToken();
+            endpoints.put(regionName, parseEndpoint(parser));
+        }
+        return endpoints;
+    }
+
+    private static Endpoint parseEndpoint(JsonParser parser) throws IOException {
+        if (isNull(parser)) {
+            return null;
+        }
+        expect(parser, JsonToken.START_OBJECT);
+        Endpoint endpoint = new Endpoint();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("hostname".equals(field)) {
+                endpoint.setHostName(readString(parser));
+            } else if ("credentialScope".equals(field)) {
+                endpoint.setCredentialScope(parseCredentialScope(parser));
+            } else if ("protocols".equals(field)) {
+                endpoint.setProtocols(parseStringSet(parser));
+            } else if ("signatureVersions".equals(field)) {
+                endpoint.setSignatureVersions(parseStringSet(parser));
+            } else if ("sslCommonName".equals(field)) {
+                endpoint.setSslCommonName(readString(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return endpoint;
+    }
+
+    private static CredentialScope parseCredentialScope(JsonParser parser) throws IOException {
+        if (isNull(parser)) {
+            return null;
+        }
+        expect(parser, JsonToken.START_OBJECT);
+        CredentialScope credentialScope = new CredentialScope();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("region".equals(field)) {
+                credentialScope.setRegion(readString(parser));
+            } else if ("service".equals(field)) {
+                credentialScope.setService(readString(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return credentialScope;
+    }
+
+    private static Set<String> parseStringSet(JsonParser parser) throws IOException {
+        if (isNull(parser)) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY);
+        Set<String> values = new HashSet<String>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readString(parser));
+        }
+        return values;
+    }
+
+    private static boolean isNull(JsonParser parser) {
+        return parser.getCurrentToken() == JsonToken.VALUE_NULL;
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token != expected) {
+            throw new JsonParseException("Expected " + expected + " but found " + token,
+                    parser.getCurrentLocation());
+        }
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == null || !token.isScalarValue()) {
+            throw new JsonParseException("Expected a scalar value but found " + token,
+                    parser.getCurrentLocation());
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Service definitions of a partition, keyed by service name. Each
+     * definition is read from the partition file content when it is first
+     * looked up and cached from then on.
+     */
+    private static final class LazyServiceMap extends AbstractMap<String, Service> {
+
+        private final byte[] content;
+
+        /**
+         * Start and end offsets of each service definition in the content.
+         */
+        private final Map<String, long[]> index;
+
+        private final ConcurrentMap<String, Service> services = new ConcurrentHashMap<String, Service>();
+
+        private LazyServiceMap(byte[] content, Map<String, long[]> index) {
+            this.content = content;
+            this.index = index;
+        }
+
+        @Override
+        public Service get(Object serviceName) {
+            long[] location = index.get(serviceName);
+            if (location == null) {
+                return null;
+            }
+            Service service = services.get(serviceName);
+            if (service == null) {
+                service = load((String) serviceName, location);
+                Service existing = services.putIfAbsent((String) serviceName, service);
+                if (existing != null) {
+                    service = existing;
+                }
+            }
+            return service;
+        }
+
+        private Service load(String serviceName, long[] location) {
+            try {
+                JsonParser parser = JSON_FACTORY.createParser(content, (int) location[0],
+                        (int) (location[1] - location[0]));
+                try {
+                    parser.nextToken();
+                    return parseService(parser);
+                } finally {
+                    parser.close();
+                }
+            } catch (IOException e) {
+                throw new AmazonClientException("Unable to load the endpoint metadata of service "
+                        + serviceName, e);
+            }
+        }
+
+        @Override
+        public boolean containsKey(Object serviceName) {
+            return index.containsKey(serviceName);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(index.keySet());
+        }
+
+        @Override
+        public int size() {
+            return index.size();
+        }
+
+        @Override
+        public Set<Entry<String, Service>> entrySet() {
+            Map<String, Service> all = new LinkedHashMap<String, Service>();
+            for (String serviceName : index.keySet()) {
+                all.put(serviceName, get(serviceName));
+            }
+            return Collections.unmodifiableMap(all).entrySet();
+        }
+    }
+}
@@ -21,10 +21,6 @@ import com.amazonaws.partitions.model.Partitions;
 import com.amazonaws.regions.RegionMetadata;
 import com.amazonaws.regions.RegionUtils;
 import com.amazonaws.util.IOUtils;
-import com.amazonaws.util.json.Jackson;
-import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.FilenameFilter;
@@ -53,11 +49,6 @@ public class PartitionsLoader {
     public static final String PARTITIONS_OVERRIDE_RESOURCE_PATH =
             "com/amazonaws/partitions/override/endpoints.json";
 
-    /**
-     * Jackson object mapper that is used for parsing the partition files.
-     */
-    private static final ObjectMapper mapper = Jackson.getObjectMapper();
-
     /**
      * classloader to to be used for loading the partitions.
      */
@@ -93,7 +84,7 @@ public class PartitionsLoader {
 
         try {
 
-            return mapper.readValue(stream, Partitions.class);
+            return PartitionsJsonParser.parse(IOUtils.toByteArray(stream));
 
         } catch (IOException e) {
             throw new AmazonClientException("Error while loading partitions " +
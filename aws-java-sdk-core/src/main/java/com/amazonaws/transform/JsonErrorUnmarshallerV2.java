@@ -28,10 +28,6 @@ public class JsonErrorUnmarshallerV2 extends AbstractErrorUnmarshaller<JsonNode>
     public static final JsonErrorUnmarshallerV2 DEFAULT_UNMARSHALLER = new JsonErrorUnmarshallerV2(
             AmazonServiceException.class, null);
 
-    private static final ObjectMapper MAPPER = new ObjectMapper().configure(
-            DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false).setPropertyNamingStrategy(
-            new PascalCaseStrategy());
-
     private final String handledErrorCode;
 
     /**
@@ -47,7 +43,7 @@ public class JsonErrorUnmarshallerV2 extends AbstractErrorUnmarshaller<JsonNode>
 
     @Override
     public AmazonServiceException unmarshall(JsonNode jsonContent) throws Exception {
-        return MAPPER.treeToValue(jsonContent, exceptionClass);
+        return MapperHolder.MAPPER.treeToValue(jsonContent, exceptionClass);
     }
 
     /**
@@ -62,4 +58,14 @@ public class JsonErrorUnmarshallerV2 extends AbstractErrorUnmarshaller<JsonNode>
         return handledErrorCode.equals(actualErrorCode);
     }
 
+    /**
+     * Clients register their error unmarshallers when they are constructed,
+     * so the mapper is only created once the first error response is read,
+     * keeping Jackson databind off the client start up path.
+     */
+    private static class MapperHolder {
+        private static final ObjectMapper MAPPER = new ObjectMapper().configure(
+                DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false).setPropertyNamingStrategy(
+                new PascalCaseStrategy());
+    }
 }
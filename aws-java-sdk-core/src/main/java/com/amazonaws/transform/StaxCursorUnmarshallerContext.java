@@ -0,0 +1,271 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Unmarshaller context that reads the XML response through the StAX cursor
+ * API rather than the event API. No event object is created per XML event;
+ * the current element path is kept in a single reused buffer built from the
+ * parser's own (symbol table interned) element names, and element text is
+ * returned straight from the parser whenever it arrives in a single chunk.
+ * <p>
+ * Unmarshallers should advance the context with {@link #nextToken()}.
+ * {@link #nextEvent()} is still supported for existing unmarshallers, but
+ * creates an event object for every call.
+ */
+public class StaxCursorUnmarshallerContext extends StaxUnmarshallerContext {
+
+    private static final XMLEventFactory eventFactory = XMLEventFactory.newInstance();
+
+    private final XMLStreamReader reader;
+
+    /** The path of the current position, e.g. "/a/b/@c" */
+    private final StringBuilder path = new StringBuilder(128);
+
+    /** The length of the path at each element depth */
+    private int[] pathLengths = new int[16];
+
+    private int depth;
+
+    /** The type of the current token, or zero before the first token */
+    private int currentToken;
+
+    /** Index of the current attribute of the current start element */
+    private int attributeIndex = -1;
+
+    /**
+     * True if the reader is already positioned on the next token, either
+     * because nothing has been read yet or because {@link #readText()} had to
+     * read up to the end of the element.
+     */
+    private boolean pending = true;
+
+    /** Buffer for element text that the parser returns in several chunks */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Constructs a new unmarshaller context using the specified XML stream
+     * reader.
+     *
+     * @param reader
+     *            The source of XML for this unmarshalling context.
+     */
+    public StaxCursorUnmarshallerContext(XMLStreamReader reader) {
+        this(reader, null);
+    }
+
+    /**
+     * Constructs a new unmarshaller context using the specified XML stream
+     * reader, and a set of response headers.
+     *
+     * @param reader
+     *            The source of XML for this unmarshalling context.
+     * @param headers
+     *            The set of response headers associated with this unmarshaller
+     *            context.
+     */
+    public StaxCursorUnmarshallerContext(XMLStreamReader reader, Map<String, String> headers) {
+        super(null, headers);
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean isInsideResponseHeader() {
+        return currentToken == 0;
+    }
+
+    @Override
+    public boolean isStartOfDocument() throws XMLStreamException {
+        return pending && reader.getEventType() == XMLStreamConstants.START_DOCUMENT;
+    }
+
+    @Override
+    public int getCurrentDepth() {
+        return depth;
+    }
+
+    @Override
+    public int nextToken() throws XMLStreamException {
+        if (!pending && reader.getEventType() == XMLStreamConstants.START_ELEMENT
+                && (currentToken == XMLStreamConstants.START_ELEMENT
+                        || currentToken == XMLStreamConstants.ATTRIBUTE)) {
+            int next = attributeIndex + 1;
+            if (next < reader.getAttributeCount()) {
+                attributeIndex = next;
+                path.setLength(pathLengths[depth - 1]);
+                path.append("/@").append(reader.getAttributeLocalName(next));
+                return currentToken = XMLStreamConstants.ATTRIBUTE;
+            }
+        }
+
+        attributeIndex = -1;
+        path.setLength(depth == 0 ? 0 : pathLengths[depth - 1]);
+
+        int token;
+        if (pending) {
+            pending = false;
+            token = reader.getEventType();
+        } else {
+            token = reader.next();
+        }
+
+        if (token == XMLStreamConstants.START_ELEMENT) {
+            push(reader.getLocalName());
+        } else if (token == XMLStreamConstants.END_ELEMENT) {
+            pop();
+        } else if (token == XMLStreamConstants.CHARACTERS && hasMetadataExpressions()) {
+            collectMetadata(reader.getText());
+        }
+
+        return currentToken = token;
+    }
+
+    @Override
+    public XMLEvent nextEvent() throws XMLStreamException {
+        int token = nextToken();
+        synchronized (eventFactory) {
+            switch (token) {
+            case XMLStreamConstants.START_DOCUMENT:
+                return eventFactory.createStartDocument();
+            case XMLStreamConstants.END_DOCUMENT:
+                return eventFactory.createEndDocument();
+            case XMLStreamConstants.START_ELEMENT:
+                return eventFactory.createStartElement(reader.getName(), null, null);
+            case XMLStreamConstants.END_ELEMENT:
+                return eventFactory.createEndElement(reader.getName(), null);
+            case XMLStreamConstants.ATTRIBUTE:
+                return eventFactory.createAttribute(
+                        reader.getAttributeName(attributeIndex),
+                        reader.getAttributeValue(attributeIndex));
+            case XMLStreamConstants.CHARACTERS:
+                return eventFactory.createCharacters(reader.getText());
+            case XMLStreamConstants.CDATA:
+                return eventFactory.createCData(reader.getText());
+            case XMLStreamConstants.SPACE:
+                return eventFactory.createSpace(reader.getText());
+            case XMLStreamConstants.COMMENT:
+                return eventFactory.createComment(reader.getText());
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                return eventFactory.createProcessingInstruction(
+                        reader.getPITarget(), reader.getPIData());
+            case XMLStreamConstants.DTD:
+                return eventFactory.createDTD(reader.getText());
+            default:
+                throw new XMLStreamException("Unsupported XML event type: " + token);
+            }
+        }
+    }
+
+    @Override
+    public String readText() throws XMLStreamException {
+        if (isInsideResponseHeader()) {
+            return super.readText();
+        }
+        if (currentToken == XMLStreamConstants.ATTRIBUTE) {
+            return reader.getAttributeValue(attributeIndex);
+        }
+
+        String value = "";
+        text.setLength(0);
+        while (true) {
+            int token = reader.next();
+            if (token == XMLStreamConstants.CHARACTERS
+                    || token == XMLStreamConstants.CDATA
+                    || token == XMLStreamConstants.SPACE) {
+                if (value.length() == 0) {
+                    value = reader.getText();
+                } else {
+                    if (text.length() == 0) {
+                        text.append(value);
+                    }
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
+                pending = true;
+                break;
+            } else {
+                throw new RuntimeException("Encountered unexpected event: " + token);
+            }
+        }
+
+        if (text.length() > 0) {
+            value = text.toString();
+        }
+        if (hasMetadataExpressions()) {
+            collectMetadata(value);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean testExpression(String expression) {
+        if (expression.equals(".")) return true;
+        return pathEndsWith(expression);
+    }
+
+    @Override
+    public boolean testExpression(String expression, int startingStackDepth) {
+        if (expression.equals(".")) return true;
+
+        int index = -1;
+        while ((index = expression.indexOf("/", index + 1)) > -1) {
+            // Don't consider attributes a new depth level
+            if (expression.charAt(index + 1) != '@') {
+                startingStackDepth++;
+            }
+        }
+
+        if (startingStackDepth != depth) return false;
+
+        int separator = path.length() - expression.length() - 1;
+        return separator >= 0
+                && path.charAt(separator) == '/'
+                && pathEndsWith(expression);
+    }
+
+    private boolean pathEndsWith(String suffix) {
+        int offset = path.length() - suffix.length();
+        if (offset < 0) return false;
+
+        for (int i = suffix.length() - 1; i >= 0; i--) {
+            if (path.charAt(offset + i) != suffix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void push(String name) {
+        if (depth == pathLengths.length) {
+            int[] grown = new int[depth * 2];
+            System.arraycopy(pathLengths, 0, grown, 0, depth);
+            pathLengths = grown;
+        }
+        path.append('/').append(name);
+        pathLengths[depth++] = path.length();
+    }
+
+    private void pop() {
+        depth--;
+        path.setLength(depth == 0 ? 0 : pathLengths[depth - 1]);
+    }
+}
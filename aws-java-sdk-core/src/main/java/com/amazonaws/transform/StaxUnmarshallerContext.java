@@ -219,17 +219,28 @@ public class StaxUnmarshallerContext {
         if (eventReader.hasNext()) {
             XMLEvent nextEvent = eventReader.peek();
             if (nextEvent != null && nextEvent.isCharacters()) {
-                for (MetadataExpression metadataExpression : metadataExpressions) {
-                    if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
-                        metadata.put(metadataExpression.key, nextEvent.asCharacters().getData());
-                    }
-                }
+                collectMetadata(nextEvent.asCharacters().getData());
             }
         }
 
         return currentEvent;
     }
 
+    /**
+     * Moves to the next XML event for the document being parsed and returns
+     * its type, one of the {@link XMLStreamConstants}. Unmarshallers that only
+     * need the type of each event should prefer this method to
+     * {@link #nextEvent()}, as it allows a context to avoid creating an
+     * {@link XMLEvent} object per event.
+     *
+     * @return The type of the next XML event for the document being parsed.
+     *
+     * @throws XMLStreamException
+     */
+    public int nextToken() throws XMLStreamException {
+        return nextEvent().getEventType();
+    }
+
     /**
      * Returns any metadata collected through metadata expressions while this
      * context was reading the XML events from the XML document.
@@ -260,6 +271,26 @@ public class StaxUnmarshallerContext {
     }
 
 
+    /**
+     * Stores the specified element data under the key of every registered
+     * metadata expression that matches the current document position.
+     */
+    void collectMetadata(String data) {
+        for (MetadataExpression metadataExpression : metadataExpressions) {
+            if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
+                metadata.put(metadataExpression.key, data);
+            }
+        }
+    }
+
+    /**
+     * Returns true if any metadata expressions have been registered with this
+     * context.
+     */
+    boolean hasMetadataExpressions() {
+        return !metadataExpressions.isEmpty();
+    }
+
     /*
      * Private Interface
      */
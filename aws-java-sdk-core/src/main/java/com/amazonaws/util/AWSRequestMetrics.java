@@ -107,6 +107,26 @@ public class AWSRequestMetrics {
          * excluding any retry.
          */
         HttpClientReceiveResponseTime,
+        /**
+         * Time taken to lease a connection from the connection pool, including
+         * any time spent waiting for a connection to become available.
+         */
+        HttpClientLeaseWaitTime,
+        /**
+         * Time taken to open a new connection after it was leased, including
+         * name resolution and any TLS handshake. Absent when a pooled
+         * connection was reused.
+         */
+        HttpClientConnectionCreationTime,
+        /**
+         * Time taken by the TLS handshake of a new connection.
+         */
+        HttpClientTlsHandshakeTime,
+        /**
+         * 1 if the request was sent over a reused pooled connection; 0 if a new
+         * connection had to be opened.
+         */
+        HttpClientConnectionReused,
 
         /**
          * Time taken for socket to read.
@@ -139,6 +159,11 @@ public class AWSRequestMetrics {
          */
         HttpClientPoolPendingCount,
         RetryPauseTime,
+        /**
+         * Time spent waiting for the client side adaptive rate limiter before
+         * sending a request.
+         */
+        RateLimiterWaitTime,
 //      S3DownloadThroughput, // migrated to S3RequestMetric in the S3 client library
 //      S3UploadThroughput,   // migrated to S3RequestMetric in the S3 client library
         ServiceEndpoint,
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Client side token bucket rate limiter that adapts its rate to throttling
+ * responses from a service. The limiter lets all requests through until the
+ * first throttling error. It then limits the send rate to a fraction of the
+ * rate that was being measured, cuts it again on every further throttling
+ * error, and raises it linearly over time while requests succeed. Once the
+ * allowed rate is well above the rate requests are actually being sent at, the
+ * limiter stops limiting until the next throttling error.
+ * <p>
+ * One limiter is meant to be shared by all the threads sending requests to the
+ * same endpoint, so that they back off together.
+ */
+@ThreadSafe
+public class AdaptiveRateLimiter {
+
+    /** Factor applied to the send rate on each throttling error. */
+    private static final double THROTTLE_DECREASE_FACTOR = 0.7;
+
+    /**
+     * Fraction of the rate set by the last throttling error by which the rate
+     * recovers every second.
+     */
+    private static final double RECOVERY_PER_SECOND = 0.05;
+
+    /** The send rate never drops below this many requests per second. */
+    private static final double MIN_FILL_RATE = 0.5;
+
+    /**
+     * Limiting stops once the allowed rate is this many times the measured
+     * send rate.
+     */
+    private static final double RECOVERED_FACTOR = 2;
+
+    /** Interval over which the send rate is measured. */
+    private static final long MEASUREMENT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /** Weight of the previous measurement in the smoothed send rate. */
+    private static final double MEASUREMENT_SMOOTHING = 0.8;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Object lock = new Object();
+
+    /** Whether the limiter is currently limiting the send rate. */
+    private volatile boolean enabled;
+
+    /** Allowed requests per second while enabled. */
+    private double fillRate;
+
+    /** Requests per second the fill rate recovers by every second. */
+    private double recoveryRate;
+
+    private long lastRecoveryNanos;
+
+    /** Tokens in the bucket. Negative while callers are waiting for tokens. */
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    /** Smoothed measurement of requests sent per second. */
+    private double measuredRate;
+
+    private volatile long measurementStartNanos = System.nanoTime();
+
+    private final AtomicInteger measuredRequests = new AtomicInteger();
+
+    /**
+     * Waits, if the send rate is currently being limited, until a request may
+     * be sent.
+     *
+     * @return The time waited, in milliseconds.
+     * @throws InterruptedException
+     *             If interrupted while waiting.
+     */
+    public long acquire() throws InterruptedException {
+        measuredRequests.incrementAndGet();
+        long now = System.nanoTime();
+        if (now - measurementStartNanos >= MEASUREMENT_INTERVAL_NANOS) {
+            synchronized (lock) {
+                measure(now);
+            }
+        }
+        if (!enabled) {
+            return 0;
+        }
+
+        long waitNanos;
+        synchronized (lock) {
+            if (!enabled) {
+                return 0;
+            }
+            refill(now);
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens / fillRate * NANOS_PER_SECOND);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    /**
+     * Cuts the allowed send rate after a throttling error, enabling the
+     * limiter if it is not already limiting.
+     */
+    public void onThrottle() {
+        synchronized (lock) {
+            long now = System.nanoTime();
+            if (enabled) {
+                refill(now);
+                fillRate = Math.max(fillRate * THROTTLE_DECREASE_FACTOR, MIN_FILL_RATE);
+            } else {
+                enabled = true;
+                fillRate = Math.max(currentRate(now) * THROTTLE_DECREASE_FACTOR, MIN_FILL_RATE);
+                tokens = 0;
+                lastRefillNanos = now;
+            }
+            recoveryRate = fillRate * RECOVERY_PER_SECOND;
+            lastRecoveryNanos = now;
+        }
+    }
+
+    /**
+     * Raises the allowed send rate after a successful response, and stops
+     * limiting once the rate has recovered.
+     */
+    public void onSuccess() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            if (!enabled) {
+                return;
+            }
+            long now = System.nanoTime();
+            refill(now);
+            fillRate += recoveryRate * ((now - lastRecoveryNanos) / NANOS_PER_SECOND);
+            lastRecoveryNanos = now;
+            if (fillRate >= currentRate(now) * RECOVERED_FACTOR && tokens >= 0) {
+                enabled = false;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the limiter is currently limiting the send rate.
+     */
+    public boolean isLimiting() {
+        return enabled;
+    }
+
+    /**
+     * Returns the currently allowed send rate in requests per second, or a
+     * negative value if the send rate is not being limited.
+     */
+    public double getSendRate() {
+        synchronized (lock) {
+            return enabled ? fillRate : -1;
+        }
+    }
+
+    private void refill(long now) {
+        double capacity = Math.max(fillRate, 1);
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / NANOS_PER_SECOND * fillRate);
+        lastRefillNanos = now;
+    }
+
+    private void measure(long now) {
+        long elapsed = now - measurementStartNanos;
+        if (elapsed < MEASUREMENT_INTERVAL_NANOS) {
+            return;
+        }
+        double rate = measuredRequests.getAndSet(0) / (elapsed / NANOS_PER_SECOND);
+        measuredRate = measuredRate == 0 ? rate
+                : MEASUREMENT_SMOOTHING * measuredRate + (1 - MEASUREMENT_SMOOTHING) * rate;
+        measurementStartNanos = now;
+    }
+
+    /**
+     * Returns the measured send rate, falling back to the rate in the current
+     * measurement interval until a full interval has been measured.
+     */
+    private double currentRate(long now) {
+        if (measuredRate > 0) {
+            return measuredRate;
+        }
+        long elapsed = Math.max(now - measurementStartNanos, 1);
+        return measuredRequests.get() / (elapsed / NANOS_PER_SECOND);
+    }
+}
@@ -15,6 +15,7 @@
 package com.amazonaws.util.json;
 
 import com.amazonaws.AmazonClientException;
+import com.amazonaws.internal.SdkByteArrayInputStream;
 import com.amazonaws.util.BinaryUtils;
 import com.amazonaws.util.DateUtils;
 import com.fasterxml.jackson.core.JsonFactory;
@@ -22,6 +23,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -48,7 +50,21 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         }
     }
 
-    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    /**
+     * BAOS that can hand out its internal buffer as a stream rather than copying it.
+     */
+    private static class ContentOutputStream extends ByteArrayOutputStream {
+
+        ContentOutputStream(int size) {
+            super(size);
+        }
+
+        synchronized SdkByteArrayInputStream toInputStream() {
+            return new SdkByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    private final ContentOutputStream baos = new ContentOutputStream(DEFAULT_BUFFER_SIZE);
 
     private final JsonGenerator generator;
 
@@ -258,6 +274,25 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         return baos.toByteArray();
     }
 
+    /**
+     * Get the JSON content as a stream that reads directly from the generator's buffer. Unlike
+     * {@link #getBytes()} no copy of the content is made, so no more JSON may be written once this
+     * method has been called.
+     *
+     * @return Stream of the UTF-8 encoded bytes that make up the generated JSON.
+     */
+    @Override
+    public InputStream getContentStream() {
+        close();
+        return baos.toInputStream();
+    }
+
+    @Override
+    public int getContentLength() {
+        close();
+        return baos.size();
+    }
+
     @Override
     public String getContentType() {
         return contentType;
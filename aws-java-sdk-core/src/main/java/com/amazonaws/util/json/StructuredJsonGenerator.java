@@ -19,6 +19,7 @@ package com.amazonaws.util.json;
 
 import com.amazonaws.annotation.SdkProtectedApi;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -64,5 +65,16 @@ public interface StructuredJsonGenerator {
 
     byte[] getBytes();
 
+    /**
+     * Returns the generated content as a stream over the generator's own buffer, without copying
+     * it. The generator must not be written to after this method is called.
+     */
+    InputStream getContentStream();
+
+    /**
+     * Returns the length in bytes of the generated content.
+     */
+    int getContentLength();
+
     String getContentType();
 }
@@ -36,6 +36,7 @@ import org.junit.Test;
 import com.amazonaws.DefaultRequest;
 import com.amazonaws.Request;
 import com.amazonaws.auth.internal.AWS4SignerUtils;
+import com.amazonaws.internal.SdkByteArrayInputStream;
 
 /**
  * Unit tests for the
@@ -119,6 +120,38 @@ public class AWS4SignerTest {
                 request.getHeaders().get("Authorization"));
     }
 
+    /**
+     * Tests that content whose SHA-256 digest is cached on the stream signs the
+     * same as any other content, including when it is signed again.
+     */
+    @Test
+    public void testSigningWithCachedContentHash() throws Exception {
+        AWSCredentials credentials = new BasicAWSCredentials("access", "secret");
+        Calendar c = new GregorianCalendar();
+        c.set(1981, 1, 16, 6, 30, 0);
+        c.setTimeZone(TimeZone.getTimeZone("UTC"));
+        signer.setOverrideDate(c.getTime());
+        signer.setServiceName("demo");
+
+        Request<?> expected = generateBasicRequest();
+        signer.sign(expected, credentials);
+
+        byte[] content = "{\"TableName\": \"foo\"}".getBytes();
+        SdkByteArrayInputStream stream = new SdkByteArrayInputStream(content, 0, content.length);
+        Request<?> request = generateBasicRequest();
+        request.setContent(stream);
+        signer.sign(request, credentials);
+        assertEquals(expected.getHeaders().get("Authorization"),
+                request.getHeaders().get("Authorization"));
+
+        // Signing the same content again, as on a retry, reuses the cached hash
+        request = generateBasicRequest();
+        request.setContent(stream);
+        signer.sign(request, credentials);
+        assertEquals(expected.getHeaders().get("Authorization"),
+                request.getHeaders().get("Authorization"));
+    }
+
     /**
      * Tests that if passed anonymous credentials, signer will not generate a signature
      */
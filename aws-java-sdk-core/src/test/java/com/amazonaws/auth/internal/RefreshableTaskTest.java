@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.ref.WeakReference;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.auth.CredentialsRefreshMetrics;
+import com.amazonaws.internal.SdkFunction;
+import com.amazonaws.internal.SdkPredicate;
+
+public class RefreshableTaskTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private volatile boolean failRefresh;
+
+    private volatile boolean due;
+
+    private RefreshableTask<Integer> task;
+
+    @After
+    public void tearDown() {
+        if (task != null) {
+            task.shutdown();
+        }
+    }
+
+    @Test
+    public void firstCallBlocksUntilValueIsLoaded() {
+        task = newTask(null);
+        assertEquals(Integer.valueOf(1), task.getValue());
+        assertEquals(Integer.valueOf(1), task.getValue());
+
+        CredentialsRefreshMetrics metrics = task.getMetrics();
+        assertEquals(1, metrics.getRefreshCount());
+        assertEquals(1, metrics.getBlockingRefreshCount());
+        assertEquals(0, metrics.getStaleServeCount());
+    }
+
+    @Test
+    public void valueDueForRefreshIsServedWhileRefreshingInBackground() throws Exception {
+        task = newTask(null);
+        assertEquals(Integer.valueOf(1), task.getValue());
+
+        due = true;
+        assertEquals(Integer.valueOf(1), task.getValue());
+        due = false;
+        waitForCalls(2);
+        assertEquals(Integer.valueOf(2), task.getValue());
+
+        CredentialsRefreshMetrics metrics = task.getMetrics();
+        assertEquals(2, metrics.getRefreshCount());
+        assertEquals(1, metrics.getBlockingRefreshCount());
+        assertEquals(1, metrics.getStaleServeCount());
+    }
+
+    @Test
+    public void refreshIsScheduledAheadOfTime() throws Exception {
+        task = newTask(new SdkFunction<Integer, Date>() {
+            @Override
+            public Date apply(Integer value) {
+                return value < 3 ? new Date(System.currentTimeMillis() + 50) : null;
+            }
+        });
+        assertEquals(Integer.valueOf(1), task.getValue());
+        waitForCalls(3);
+        assertEquals(Integer.valueOf(3), task.getValue());
+        assertEquals(0, task.getMetrics().getStaleServeCount());
+    }
+
+    @Test
+    public void failedBlockingRefreshIsThrown() {
+        failRefresh = true;
+        task = newTask(null);
+        try {
+            task.getValue();
+            fail("Expected an AmazonClientException");
+        } catch (AmazonClientException expected) {
+        }
+        assertEquals(1, task.getMetrics().getRefreshFailureCount());
+    }
+
+    @Test
+    public void failedBackgroundRefreshKeepsCurrentValue() throws Exception {
+        task = newTask(null);
+        assertEquals(Integer.valueOf(1), task.getValue());
+
+        failRefresh = true;
+        due = true;
+        assertEquals(Integer.valueOf(1), task.getValue());
+        waitForCalls(2);
+        assertEquals(Integer.valueOf(1), task.getValue());
+    }
+
+    @Test
+    public void shutdownStopsScheduledRefreshes() throws Exception {
+        task = newTask(refreshIn(100));
+        assertEquals(Integer.valueOf(1), task.getValue());
+        task.shutdown();
+        Thread.sleep(300);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void scheduledRefreshDoesNotKeepTaskReachable() throws Exception {
+        RefreshableTask<Integer> unused = newTask(refreshIn(100));
+        assertEquals(Integer.valueOf(1), unused.getValue());
+        WeakReference<RefreshableTask<Integer>> ref =
+                new WeakReference<RefreshableTask<Integer>>(unused);
+        unused = null;
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ref.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+        int refreshes = calls.get();
+        Thread.sleep(300);
+        assertEquals(refreshes, calls.get());
+    }
+
+    private SdkFunction<Integer, Date> refreshIn(final long millis) {
+        return new SdkFunction<Integer, Date>() {
+            @Override
+            public Date apply(Integer value) {
+                return new Date(System.currentTimeMillis() + millis);
+            }
+        };
+    }
+
+    private RefreshableTask<Integer> newTask(SdkFunction<Integer, Date> asyncRefreshTime) {
+        return new RefreshableTask.Builder<Integer>()
+                .withRefreshCallable(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int call = calls.incrementAndGet();
+                        if (failRefresh) {
+                            throw new AmazonClientException("Refresh failed");
+                        }
+                        return call;
+                    }
+                })
+                .withBlockingRefreshPredicate(new SdkPredicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return value == null;
+                    }
+                })
+                .withAsyncRefreshPredicate(new SdkPredicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return due;
+                    }
+                })
+                .withAsyncRefreshTime(asyncRefreshTime)
+                .build();
+    }
+
+    private void waitForCalls(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(calls.get() >= expected);
+        // Let the refresh finish storing its value
+        Thread.sleep(50);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.auth.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class SignerKeyCacheTest {
+
+    private static final byte[] KEY = new byte[] {1, 2, 3};
+
+    @Test
+    public void testHitAndMissCounts() {
+        SignerKeyCache cache = new SignerKeyCache(10);
+        assertNull(cache.get("secret", "us-east-1", "sqs", 100));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.add("secret", "us-east-1", "sqs", new SignerKey(100, KEY));
+        assertArrayEquals(KEY, cache.get("secret", "us-east-1", "sqs", 100).getSigningKey());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testKeyForAnotherDayIsAMiss() {
+        SignerKeyCache cache = new SignerKeyCache(10);
+        cache.add("secret", "us-east-1", "sqs", new SignerKey(100, KEY));
+        assertNull(cache.get("secret", "us-east-1", "sqs", 101));
+
+        cache.add("secret", "us-east-1", "sqs", new SignerKey(101, KEY));
+        assertEquals(1, cache.size());
+        assertEquals(101, cache.get("secret", "us-east-1", "sqs", 101).getNumberOfDaysSinceEpoch());
+    }
+
+    @Test
+    public void testKeysAreDistinguishedByCredentialsRegionAndService() {
+        SignerKeyCache cache = new SignerKeyCache(10);
+        cache.add("secret", "us-east-1", "sqs", new SignerKey(100, KEY));
+        assertNull(cache.get("other-secret", "us-east-1", "sqs", 100));
+        assertNull(cache.get("secret", "us-west-2", "sqs", 100));
+        assertNull(cache.get("secret", "us-east-1", "sns", 100));
+        assertNull(cache.get("secret", null, "sqs", 100));
+    }
+
+    @Test
+    public void testBoundedSize() {
+        SignerKeyCache cache = new SignerKeyCache(2);
+        cache.add("k1", "us-east-1", "sqs", new SignerKey(100, KEY));
+        cache.add("k2", "us-east-1", "sqs", new SignerKey(100, KEY));
+        cache.add("k3", "us-east-1", "sqs", new SignerKey(100, KEY));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testNewlyAddedKeyIsNeverEvicted() {
+        SignerKeyCache cache = new SignerKeyCache(1);
+        for (int i = 0; i < 100; i++) {
+            cache.add("k" + i, "us-east-1", "sqs", new SignerKey(100, KEY));
+            assertEquals(1, cache.size());
+            assertArrayEquals(KEY, cache.get("k" + i, "us-east-1", "sqs", 100).getSigningKey());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroSize() {
+        new SignerKeyCache(0);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.event;
+
+import static com.amazonaws.event.SDKProgressPublisher.publishProgress;
+import static com.amazonaws.event.SDKProgressPublisher.publishRequestBytesTransferred;
+import static com.amazonaws.event.SDKProgressPublisher.publishResponseBytesTransferred;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class SDKProgressPublisherTest {
+
+    @Test
+    public void coalescesByteTransferEventsInOrder() throws Exception {
+        CountDownLatch latch = blockCallbackThread();
+        RecordingListener listener = new RecordingListener();
+        for (int i = 0; i < 1000; i++) {
+            publishRequestBytesTransferred(listener, 10);
+        }
+        publishProgress(listener, ProgressEventType.TRANSFER_PART_COMPLETED_EVENT);
+        for (int i = 0; i < 5; i++) {
+            publishRequestBytesTransferred(listener, 1);
+        }
+        latch.countDown();
+        waitTillCompletion();
+
+        List<ProgressEvent> events = listener.getEvents();
+        assertEquals(3, events.size());
+        assertEquals(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, events.get(0).getEventType());
+        assertEquals(10000, events.get(0).getBytes());
+        assertEquals(ProgressEventType.TRANSFER_PART_COMPLETED_EVENT, events.get(1).getEventType());
+        assertEquals(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, events.get(2).getEventType());
+        assertEquals(5, events.get(2).getBytes());
+    }
+
+    @Test
+    public void boundsPendingInterleavedEvents() throws Exception {
+        CountDownLatch latch = blockCallbackThread();
+        RecordingListener listener = new RecordingListener();
+        for (int i = 0; i < 3000; i++) {
+            publishRequestBytesTransferred(listener, 1);
+            publishResponseBytesTransferred(listener, 2);
+        }
+        latch.countDown();
+        waitTillCompletion();
+
+        long requestBytes = 0;
+        long responseBytes = 0;
+        for (ProgressEvent event : listener.getEvents()) {
+            if (event.getEventType() == ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT) {
+                requestBytes += event.getBytes();
+            } else {
+                responseBytes += event.getBytes();
+            }
+        }
+        assertEquals(3000, requestBytes);
+        assertEquals(6000, responseBytes);
+        assertTrue(listener.getEvents().size() <= 1024);
+    }
+
+    @Test
+    public void deliversToSeparateListenersIndependently() throws Exception {
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        publishRequestBytesTransferred(first, 1);
+        publishRequestBytesTransferred(second, 2);
+        publishProgress(first, ProgressEventType.TRANSFER_COMPLETED_EVENT);
+        waitTillCompletion();
+
+        assertEquals(2, first.getEvents().size());
+        assertEquals(ProgressEventType.TRANSFER_COMPLETED_EVENT, first.getEvents().get(1).getEventType());
+        assertEquals(1, second.getEvents().size());
+        assertEquals(2, second.getEvents().get(0).getBytes());
+    }
+
+    /**
+     * Keeps the callback thread busy until the returned latch is counted
+     * down, so that the events published in the meantime pile up.
+     */
+    private static CountDownLatch blockCallbackThread() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        publishProgress(new ProgressListener() {
+            @Override
+            public void progressChanged(ProgressEvent progressEvent) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, ProgressEventType.CLIENT_REQUEST_STARTED_EVENT);
+        return latch;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void waitTillCompletion() throws Exception {
+        SDKProgressPublisher.waitTillCompletion();
+    }
+
+    private static class RecordingListener implements ProgressListener {
+        private final List<ProgressEvent> events = new ArrayList<ProgressEvent>();
+
+        @Override
+        public synchronized void progressChanged(ProgressEvent progressEvent) {
+            events.add(progressEvent);
+        }
+
+        synchronized List<ProgressEvent> getEvents() {
+            return new ArrayList<ProgressEvent>(events);
+        }
+    }
+}
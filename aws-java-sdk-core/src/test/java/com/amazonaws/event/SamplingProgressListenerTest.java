@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.event;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class SamplingProgressListenerTest {
+
+    private final List<ProgressEvent> events = new ArrayList<ProgressEvent>();
+    private final ProgressListener recorder = new SyncProgressListener() {
+        @Override
+        public void progressChanged(ProgressEvent progressEvent) {
+            events.add(progressEvent);
+        }
+    };
+
+    @Test
+    public void forwardsFirstBytesThenHoldsThemUntilInterval() {
+        SamplingProgressListener listener = new SamplingProgressListener(recorder, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 100; i++) {
+            SDKProgressPublisher.publishRequestBytesTransferred(listener, 1);
+        }
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getBytes());
+
+        SDKProgressPublisher.publishResponseBytesTransferred(listener, 7);
+        SDKProgressPublisher.publishProgress(listener, ProgressEventType.TRANSFER_COMPLETED_EVENT);
+        assertEquals(4, events.size());
+        assertEquals(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, events.get(1).getEventType());
+        assertEquals(99, events.get(1).getBytes());
+        assertEquals(ProgressEventType.RESPONSE_BYTE_TRANSFER_EVENT, events.get(2).getEventType());
+        assertEquals(7, events.get(2).getBytes());
+        assertEquals(ProgressEventType.TRANSFER_COMPLETED_EVENT, events.get(3).getEventType());
+    }
+
+    @Test
+    public void forwardsEveryEventWithZeroInterval() {
+        SamplingProgressListener listener = new SamplingProgressListener(recorder, 0, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 10; i++) {
+            SDKProgressPublisher.publishRequestBytesTransferred(listener, 1);
+        }
+        assertEquals(10, events.size());
+    }
+
+    @Test
+    public void flushForwardsHeldBytes() {
+        SamplingProgressListener listener = new SamplingProgressListener(recorder, 1, TimeUnit.HOURS);
+        listener.progressChanged(new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, 5));
+        listener.progressChanged(new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, 6));
+        listener.flush();
+        listener.flush();
+        assertEquals(2, events.size());
+        assertEquals(6, events.get(1).getBytes());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.net.URI;
+
+import org.junit.Test;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.auth.AWS4Signer;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.auth.Signer;
+import com.amazonaws.http.response.DummyResponseHandler;
+import com.amazonaws.http.response.NullErrorResponseHandler;
+import com.amazonaws.http.server.MockServer;
+import com.amazonaws.internal.SdkByteArrayInputStream;
+import com.amazonaws.internal.StaticCredentialsProvider;
+
+/**
+ * Tests that request content held in memory is hashed for AWS4 signing without
+ * being read again when sent through {@link AmazonHttpClient}.
+ */
+public class AmazonHttpClientContentHashTest extends MockServerTestBase {
+
+    @Override
+    protected MockServer buildMockServer() {
+        return new MockServer(MockServer.DummyResponseServerBehavior.build(200, "OK", "{}"));
+    }
+
+    @Test
+    public void byteArrayContent_IsReadOnlyOnceWhenSigned() throws Exception {
+        byte[] content = "{\"TableName\": \"foo\"}".getBytes("UTF-8");
+        ReadCountingInputStream stream = new ReadCountingInputStream(content);
+
+        Request<?> request = new DefaultRequest<Object>("demo");
+        request.setEndpoint(URI.create(server.getEndpoint()));
+        request.setHttpMethod(HttpMethodName.POST);
+        request.addHeader("Content-Length", String.valueOf(content.length));
+        request.setContent(stream);
+
+        final AWS4Signer signer = new AWS4Signer();
+        signer.setServiceName("demo");
+        signer.setRegionName("us-east-1");
+        ExecutionContext context = new ExecutionContext() {
+            @Override
+            public Signer getSignerByURI(URI uri) {
+                return signer;
+            }
+        };
+        context.setCredentialsProvider(new StaticCredentialsProvider(
+                new BasicAWSCredentials("access", "secret")));
+
+        AmazonHttpClient httpClient = new AmazonHttpClient(new ClientConfiguration());
+        try {
+            httpClient.execute(request, new DummyResponseHandler(),
+                    new NullErrorResponseHandler(), context);
+        } finally {
+            httpClient.shutdown();
+        }
+
+        assertNotNull(request.getHeaders().get("Authorization"));
+        // Only sending the content reads it; the hash comes from the array
+        assertEquals(content.length, stream.bytesRead);
+    }
+
+    private static class ReadCountingInputStream extends SdkByteArrayInputStream {
+        private int bytesRead;
+
+        private ReadCountingInputStream(byte[] content) {
+            super(content, 0, content.length);
+        }
+
+        @Override
+        public synchronized int read() {
+            int b = super.read();
+            if (b != -1)
+                bytesRead++;
+            return b;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int n = super.read(b, off, len);
+            if (n > 0)
+                bytesRead += n;
+            return n;
+        }
+    }
+}
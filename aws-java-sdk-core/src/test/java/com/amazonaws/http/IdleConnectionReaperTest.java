@@ -22,7 +22,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.conn.ClientConnectionRequest;
@@ -72,12 +74,88 @@ public class IdleConnectionReaperTest {
         }
     }
 
+    @Test
+    public void registerTwice() throws Exception {
+        ClientConnectionManager m = new TestClientConnectionManager();
+        assertTrue(IdleConnectionReaper.registerConnectionManager(m));
+        assertFalse(IdleConnectionReaper.registerConnectionManager(m));
+        assertEquals(1, IdleConnectionReaper.size());
+        assertTrue(IdleConnectionReaper.removeConnectionManager(m));
+        assertFalse(IdleConnectionReaper.removeConnectionManager(m));
+        assertEquals(0, IdleConnectionReaper.size());
+    }
+
+    @Test
+    public void reapsWithConfiguredIdleTime() throws Exception {
+        TestClientConnectionManager m = new TestClientConnectionManager();
+        assertTrue(IdleConnectionReaper.registerConnectionManager(m, 500));
+        try {
+            Thread.sleep(1500);
+            assertTrue(m.idleChecks.get() > 0);
+            assertEquals(500, m.lastIdleTimeMillis);
+        } finally {
+            IdleConnectionReaper.removeConnectionManager(m);
+        }
+    }
+
+    @Test
+    public void concurrentRegisterAndRemove() throws Exception {
+        final int threadCount = 8;
+        final TestClientConnectionManager[] kept = new TestClientConnectionManager[threadCount];
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 200; j++) {
+                        ClientConnectionManager m = new TestClientConnectionManager();
+                        IdleConnectionReaper.registerConnectionManager(m, 500);
+                        IdleConnectionReaper.removeConnectionManager(m);
+                    }
+                    // Registered while the other threads may still be
+                    // removing the last connection manager
+                    kept[index] = new TestClientConnectionManager();
+                    IdleConnectionReaper.registerConnectionManager(kept[index], 500);
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        try {
+            assertEquals(threadCount, IdleConnectionReaper.size());
+            Thread.sleep(1500);
+            for (TestClientConnectionManager m : kept) {
+                assertTrue(m.idleChecks.get() > 0);
+            }
+        } finally {
+            for (TestClientConnectionManager m : kept) {
+                IdleConnectionReaper.removeConnectionManager(m);
+            }
+        }
+    }
+
     private static class TestClientConnectionManager implements ClientConnectionManager {
+        private final AtomicInteger idleChecks = new AtomicInteger();
+        private volatile long lastIdleTimeMillis;
+
         @Override public void shutdown() {}
         @Override public ClientConnectionRequest requestConnection(HttpRoute route, Object state) { return null; }
         @Override public void releaseConnection(ManagedClientConnection conn, long validDuration, TimeUnit timeUnit) { }
         @Override public SchemeRegistry getSchemeRegistry() { return null; }
-        @Override public void closeIdleConnections(long idletime, TimeUnit tunit) {}
+        @Override public void closeIdleConnections(long idletime, TimeUnit tunit) {
+            lastIdleTimeMillis = tunit.toMillis(idletime);
+            idleChecks.incrementAndGet();
+        }
         @Override public void closeExpiredConnections() { }
     }
 }
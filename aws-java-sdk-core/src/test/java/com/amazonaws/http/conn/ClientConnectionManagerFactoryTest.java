@@ -14,15 +14,18 @@
  */
 package com.amazonaws.http.conn;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.TimeUnit;
 
+import org.apache.http.HttpHost;
 import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.conn.ClientConnectionRequest;
 import org.apache.http.conn.ManagedClientConnection;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
 import org.junit.Test;
 
 public class ClientConnectionManagerFactoryTest {
@@ -65,4 +68,32 @@ public class ClientConnectionManagerFactoryTest {
         ClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(noop);
         ClientConnectionManagerFactory.wrap(wrapped);
     }
+
+    @Test
+    public void wrappedPoolReportsMetrics() {
+        ClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(
+                new PoolingClientConnectionManager());
+        assertTrue(wrapped instanceof ConnectionPoolMetricsSource);
+        ConnectionPoolMetrics metrics = ((ConnectionPoolMetricsSource) wrapped).getConnectionPoolMetrics();
+        assertEquals(0, metrics.getLeases());
+        assertEquals(0, metrics.getLeased());
+        assertTrue(metrics.getRoutes().isEmpty());
+    }
+
+    @Test
+    public void unmeteredLeasesAreNotCounted() throws Exception {
+        ClientConnectionManager wrapped = ClientConnectionManagerFactory.wrap(
+                new PoolingClientConnectionManager());
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", 80));
+        ManagedClientConnection conn = ((ConnectionPoolMetricsSource) wrapped)
+                .requestUnmeteredConnection(route, null).getConnection(1, TimeUnit.SECONDS);
+        wrapped.releaseConnection(conn, 0, TimeUnit.MILLISECONDS);
+        assertEquals(0, ((ConnectionPoolMetricsSource) wrapped).getConnectionPoolMetrics().getLeases());
+
+        conn = wrapped.requestConnection(route, null).getConnection(1, TimeUnit.SECONDS);
+        wrapped.releaseConnection(conn, 0, TimeUnit.MILLISECONDS);
+        ConnectionPoolMetricsCollector.clearCurrentLease();
+        assertEquals(1, ((ConnectionPoolMetricsSource) wrapped).getConnectionPoolMetrics().getLeases());
+        wrapped.shutdown();
+    }
 }
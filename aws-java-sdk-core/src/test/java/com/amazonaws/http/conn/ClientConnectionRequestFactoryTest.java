@@ -14,16 +14,22 @@
  */
 package com.amazonaws.http.conn;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.TimeUnit;
 
+import org.apache.http.HttpHost;
 import org.apache.http.conn.ClientConnectionRequest;
 import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.junit.Test;
 
 public class ClientConnectionRequestFactoryTest {
+    ConnectionPoolMetricsCollector collector = new ConnectionPoolMetricsCollector();
     ClientConnectionRequest noop = new ClientConnectionRequest() {
         @Override
         public ManagedClientConnection getConnection(long timeout, TimeUnit tunit)
@@ -38,13 +44,69 @@ public class ClientConnectionRequestFactoryTest {
 
     @Test
     public void wrapOnce() {
-        ClientConnectionRequest wrapped = ClientConnectionRequestFactory.wrap(noop);
+        ClientConnectionRequest wrapped = ClientConnectionRequestFactory.wrap(noop, collector, null);
         assertTrue(wrapped instanceof Wrapped);
     }
 
     @Test(expected=IllegalArgumentException.class)
     public void wrapTwice() {
-        ClientConnectionRequest wrapped = ClientConnectionRequestFactory.wrap(noop);
-        ClientConnectionRequestFactory.wrap(wrapped);
+        ClientConnectionRequest wrapped = ClientConnectionRequestFactory.wrap(noop, collector, null);
+        ClientConnectionRequestFactory.wrap(wrapped, collector, null);
+    }
+
+    @Test
+    public void leasesAreCounted() throws Exception {
+        ClientConnectionRequest wrapped = ClientConnectionRequestFactory.wrap(noop, collector, null);
+        wrapped.getConnection(0, TimeUnit.MILLISECONDS);
+        wrapped.getConnection(0, TimeUnit.MILLISECONDS);
+        ConnectionPoolMetrics metrics = collector.getMetrics(new PoolingClientConnectionManager());
+        assertEquals(2, metrics.getLeases());
+        assertEquals(0, metrics.getReusedLeases());
+        assertEquals(0, metrics.getLeaseTimeouts());
+    }
+
+    @Test
+    public void leaseTimeoutsAreCounted() throws Exception {
+        ClientConnectionRequest timingOut = new ClientConnectionRequest() {
+            @Override
+            public ManagedClientConnection getConnection(long timeout, TimeUnit tunit)
+                    throws InterruptedException, ConnectionPoolTimeoutException {
+                throw new ConnectionPoolTimeoutException();
+            }
+
+            @Override
+            public void abortRequest() {
+            }
+        };
+        ClientConnectionRequest wrapped = ClientConnectionRequestFactory.wrap(timingOut, collector, null);
+        try {
+            wrapped.getConnection(0, TimeUnit.MILLISECONDS);
+        } catch (ConnectionPoolTimeoutException expected) {
+        }
+        ConnectionPoolMetrics metrics = collector.getMetrics(new PoolingClientConnectionManager());
+        assertEquals(0, metrics.getLeases());
+        assertEquals(1, metrics.getLeaseTimeouts());
+    }
+
+    @Test
+    public void routesWithoutConnectionsAreDropped() {
+        collector.leased(new HttpRoute(new HttpHost("foo.amazonaws.com")), System.nanoTime(), false);
+        PoolingClientConnectionManager pool = new PoolingClientConnectionManager();
+        assertTrue(collector.getMetrics(pool).getRoutes().isEmpty());
+        assertEquals(1, collector.getMetrics(pool).getLeases());
+    }
+
+    @Test
+    public void routesAreBounded() {
+        for (int i = 0; i <= ConnectionPoolMetricsCollector.MAX_ROUTES; i++) {
+            collector.leased(new HttpRoute(new HttpHost("host" + i)), System.nanoTime(), false);
+        }
+        PoolingClientConnectionManager pool = new PoolingClientConnectionManager() {
+            @Override
+            public PoolStats getStats(HttpRoute route) {
+                return new PoolStats(1, 0, 0, 1);
+            }
+        };
+        assertEquals(ConnectionPoolMetricsCollector.MAX_ROUTES, collector.getMetrics(pool).getRoutes().size());
     }
 }
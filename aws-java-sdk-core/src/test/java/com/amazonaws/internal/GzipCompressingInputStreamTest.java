@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.amazonaws.util.IOUtils;
+
+public class GzipCompressingInputStreamTest {
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            // Compressible, but not trivially
+            content[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return content;
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        for (int size : new int[] { 0, 1, 1000, 100 * 1024 }) {
+            byte[] content = content(size);
+            byte[] compressed = IOUtils.toByteArray(
+                    new GzipCompressingInputStream(new ByteArrayInputStream(content)));
+            assertArrayEquals(content, IOUtils.toByteArray(
+                    new GZIPInputStream(new ByteArrayInputStream(compressed))));
+            if (size > 1000) {
+                assertTrue(compressed.length < size / 2);
+            }
+        }
+    }
+
+    @Test
+    public void singleByteReads() throws IOException {
+        byte[] content = content(5000);
+        InputStream in = new GzipCompressingInputStream(new ByteArrayInputStream(content));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            out.write(b);
+        }
+        assertArrayEquals(content, IOUtils.toByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    public void resetToStart() throws IOException {
+        byte[] content = content(50 * 1024);
+        InputStream in = new GzipCompressingInputStream(new ByteArrayInputStream(content));
+        assertTrue(in.markSupported());
+        in.mark(-1);
+        byte[] first = IOUtils.toByteArray(in);
+        in.reset();
+        byte[] partial = new byte[100];
+        assertTrue(in.read(partial) > 0);
+        in.reset();
+        byte[] second = IOUtils.toByteArray(in);
+        assertArrayEquals(first, second);
+        assertArrayEquals(content, IOUtils.toByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(second))));
+    }
+
+    @Test
+    public void resetToLaterMark() throws IOException {
+        byte[] content = content(50 * 1024);
+        byte[] compressed = IOUtils.toByteArray(
+                new GzipCompressingInputStream(new ByteArrayInputStream(content)));
+        byte[] tail = Arrays.copyOfRange(compressed, 100, compressed.length);
+
+        InputStream in = new GzipCompressingInputStream(new ByteArrayInputStream(content));
+        in.mark(-1);
+        new DataInputStream(in).readFully(new byte[100]);
+        in.mark(-1);
+        assertTrue(in.read(new byte[1000]) > 0);
+        in.reset();
+        assertArrayEquals(tail, IOUtils.toByteArray(in));
+
+        // The later mark stays in place across resets
+        in.reset();
+        assertArrayEquals(tail, IOUtils.toByteArray(in));
+    }
+
+    @Test(expected = IOException.class)
+    public void resetToMarkAfterStart() throws IOException {
+        InputStream in = new GzipCompressingInputStream(new ByteArrayInputStream(content(1000)));
+        in.read();
+        in.mark(-1);
+        in.read();
+        in.reset();
+    }
+}
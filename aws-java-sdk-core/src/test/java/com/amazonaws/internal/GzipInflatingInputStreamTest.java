@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.Test;
+
+import com.amazonaws.util.IOUtils;
+
+public class GzipInflatingInputStreamTest {
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(content);
+        gzip.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void inflate() throws IOException {
+        for (int size : new int[] { 0, 1, 1000, 100 * 1024 }) {
+            byte[] content = new byte[size];
+            for (int i = 0; i < size; i++) {
+                content[i] = (byte) (i % 251);
+            }
+            assertArrayEquals(content, IOUtils.toByteArray(
+                    new GzipInflatingInputStream(new ByteArrayInputStream(gzip(content)))));
+        }
+    }
+
+    @Test
+    public void headerWithFileName() throws IOException {
+        byte[] content = "hello, world".getBytes("UTF-8");
+        byte[] compressed = gzip(content);
+        // Set FNAME and insert a file name right after the fixed size header
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(compressed, 0, 10);
+        out.write("file.txt\0".getBytes("UTF-8"));
+        out.write(compressed, 10, compressed.length - 10);
+        byte[] withName = out.toByteArray();
+        withName[3] = 8;
+        assertArrayEquals(content, IOUtils.toByteArray(
+                new GzipInflatingInputStream(new ByteArrayInputStream(withName))));
+    }
+
+    @Test(expected = ZipException.class)
+    public void corruptTrailer() throws IOException {
+        byte[] compressed = gzip("hello, world".getBytes("UTF-8"));
+        compressed[compressed.length - 8] ^= 1;
+        IOUtils.toByteArray(new GzipInflatingInputStream(new ByteArrayInputStream(compressed)));
+    }
+
+    @Test(expected = ZipException.class)
+    public void notGzip() throws IOException {
+        new GzipInflatingInputStream(new ByteArrayInputStream("hello, world".getBytes("UTF-8")));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.partitions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.partitions.model.Endpoint;
+import com.amazonaws.partitions.model.Partition;
+import com.amazonaws.partitions.model.Partitions;
+import com.amazonaws.partitions.model.Service;
+import com.amazonaws.regions.Region;
+import com.amazonaws.util.StringUtils;
+import com.fasterxml.jackson.core.JsonParseException;
+
+public class PartitionsJsonParserTest {
+
+    private static final String PARTITIONS = "{"
+            + "\"version\": 3, // comments are allowed\n"
+            + "\"partitions\": [{"
+            + "  \"partition\": \"aws\","
+            + "  \"partitionName\": \"AWS Standard\","
+            + "  \"dnsSuffix\": \"amazonaws.com\","
+            + "  \"regionRegex\": \"^(us|eu)\\\\-\\\\w+\\\\-\\\\d+$\","
+            + "  \"unknownField\": {\"nested\": [1, 2, {\"x\": null}]},"
+            + "  \"defaults\": {\"hostname\": \"{service}.{region}.{dnsSuffix}\", \"protocols\": [\"https\"]},"
+            + "  \"regions\": {\"us-east-1\": {\"description\": \"US East\"}, \"eu-west-1\": {\"description\": \"EU\"}},"
+            + "  \"services\": {"
+            + "    \"iam\": {\"partitionEndpoint\": \"aws-global\", \"isRegionalized\": false,"
+            + "      \"endpoints\": {\"aws-global\": {\"hostname\": \"iam.amazonaws.com\","
+            + "        \"credentialScope\": {\"region\": \"us-east-1\"}}}},"
+            + "    \"sqs\": {\"defaults\": {\"protocols\": [\"http\", \"https\"]},"
+            + "      \"endpoints\": {\"us-east-1\": {\"sslCommonName\": \"queue.{dnsSuffix}\"}, \"eu-west-1\": {}}},"
+            + "    \"broken\": {\"endpoints\": [\"not\", \"an\", \"object\"]}"
+            + "  }"
+            + "}]}";
+
+    private static Partitions parse(String json) throws IOException {
+        return PartitionsJsonParser.parse(json.getBytes(StringUtils.UTF8));
+    }
+
+    @Test
+    public void parsesPartitionMetadata() throws IOException {
+        Partitions partitions = parse(PARTITIONS);
+        assertEquals("3", partitions.getVersion());
+        assertEquals(1, partitions.getPartitions().size());
+
+        Partition p = partitions.getPartitions().get(0);
+        assertEquals("aws", p.getPartition());
+        assertEquals("AWS Standard", p.getPartitionName());
+        assertEquals("amazonaws.com", p.getDnsSuffix());
+        assertEquals("{service}.{region}.{dnsSuffix}", p.getDefaults().getHostName());
+        assertEquals(Arrays.asList("us-east-1", "eu-west-1"),
+                Arrays.asList(p.getRegions().keySet().toArray()));
+        assertEquals("US East", p.getRegions().get("us-east-1").getDescription());
+        assertEquals(new HashSet<String>(Arrays.asList("iam", "sqs", "broken")),
+                p.getServices().keySet());
+    }
+
+    @Test
+    public void servicesAreParsedOnLookupAndCached() throws IOException {
+        Partition p = parse(PARTITIONS).getPartitions().get(0);
+
+        Service iam = p.getServices().get("iam");
+        assertTrue(iam.isPartitionWideEndpointAvailable());
+        assertFalse(iam.isRegionalized());
+        Endpoint global = iam.getEndpoints().get("aws-global");
+        assertEquals("iam.amazonaws.com", global.getHostName());
+        assertEquals("us-east-1", global.getCredentialScope().getRegion());
+        assertSame(iam, p.getServices().get("iam"));
+
+        Service sqs = p.getServices().get("sqs");
+        assertEquals(new HashSet<String>(Arrays.asList("http", "https")),
+                sqs.getDefaults().getProtocols());
+        assertEquals("queue.{dnsSuffix}", sqs.getEndpoints().get("us-east-1").getSslCommonName());
+        assertNull(sqs.getEndpoints().get("eu-west-1").getHostName());
+
+        assertNull(p.getServices().get("unknown"));
+        assertFalse(p.getServices().containsKey("unknown"));
+    }
+
+    @Test(expected = AmazonClientException.class)
+    public void malformedServiceFailsOnLookup() throws IOException {
+        Partition p = parse(PARTITIONS).getPartitions().get(0);
+        p.getServices().get("broken");
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void malformedPartitionsFailOnParse() throws IOException {
+        parse("{\"version\": 3, \"partitions\": {}}");
+    }
+
+    @Test
+    public void resolvesEndpointsThroughMetadataProvider() {
+        PartitionMetadataProvider provider = new PartitionsLoader().build();
+        Region region = provider.getRegion("us-west-2");
+        assertEquals("s3-us-west-2.amazonaws.com", region.getServiceEndpoint("s3"));
+        assertEquals("sqs.us-west-2.amazonaws.com", region.getServiceEndpoint("sqs"));
+        assertTrue(region.isServiceSupported("dynamodb"));
+        assertTrue(region.hasHttpsEndpoint("dynamodb"));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Collections;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+
+import org.junit.Test;
+
+import com.amazonaws.transform.SimpleTypeStaxUnmarshallers.StringStaxUnmarshaller;
+
+public class StaxCursorUnmarshallerContextTest {
+
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+
+    private static final String XML =
+            "<?xml version=\"1.0\"?>"
+            + "<DescribeResponse xmlns=\"urn:test\">"
+            + "<requestId>request-id</requestId>"
+            + "<reservationSet>"
+            + "<item><reservationId>r-1</reservationId><groupSet/></item>"
+            + "<item><reservationId>r-2</reservationId></item>"
+            + "</reservationSet>"
+            + "</DescribeResponse>";
+
+    @Test
+    public void tokensMatchEventContext() throws Exception {
+        StaxUnmarshallerContext events = eventContext(XML);
+        StaxUnmarshallerContext cursor = cursorContext(XML);
+
+        assertTrue(cursor.isStartOfDocument());
+        while (true) {
+            int expected = events.nextToken();
+            assertEquals(expected, cursor.nextToken());
+            assertFalse(cursor.isStartOfDocument());
+            assertEquals(events.getCurrentDepth(), cursor.getCurrentDepth());
+            for (String expression : new String[] { "requestId", "item/reservationId", "reservationSet/item" }) {
+                for (int depth = 0; depth < 4; depth++) {
+                    assertEquals(events.testExpression(expression, depth),
+                            cursor.testExpression(expression, depth));
+                }
+                assertEquals(events.testExpression(expression), cursor.testExpression(expression));
+            }
+            if (expected == XMLStreamConstants.END_DOCUMENT) break;
+        }
+    }
+
+    @Test
+    public void readText_JoinsAllTextOfElement() throws Exception {
+        StaxUnmarshallerContext context = cursorContext(
+                "<a><b>one &amp; <![CDATA[two]]> &lt;three&gt;</b><c>four</c></a>");
+        assertEquals("one & two <three>", readElement(context, "a/b"));
+        assertEquals(XMLStreamConstants.END_ELEMENT, context.nextToken());
+        assertEquals(1, context.getCurrentDepth());
+        assertEquals("four", readElement(context, "a/c"));
+    }
+
+    @Test
+    public void readText_EmptyElement() throws Exception {
+        StaxUnmarshallerContext context = cursorContext("<a><b/><c>x</c></a>");
+        assertEquals("", readElement(context, "a/b"));
+        assertEquals("x", readElement(context, "a/c"));
+    }
+
+    @Test
+    public void attributesAreReportedAfterStartElement() throws Exception {
+        StaxUnmarshallerContext context = cursorContext("<a><b id=\"1\" name=\"n\"><c>x</c></b></a>");
+        advanceTo(context, "a/b");
+
+        assertEquals(XMLStreamConstants.ATTRIBUTE, context.nextToken());
+        assertTrue(context.testExpression("b/@id", 2));
+        assertEquals("1", context.readText());
+        assertEquals(XMLStreamConstants.ATTRIBUTE, context.nextToken());
+        assertTrue(context.testExpression("b/@name", 2));
+        assertEquals("n", context.readText());
+
+        assertEquals(XMLStreamConstants.START_ELEMENT, context.nextToken());
+        assertTrue(context.testExpression("a/b/c"));
+        assertEquals(3, context.getCurrentDepth());
+    }
+
+    @Test
+    public void metadataIsCollected() throws Exception {
+        StaxUnmarshallerContext context = cursorContext(XML);
+        context.registerMetadataExpression("requestId", 2, "id");
+        new VoidStaxUnmarshaller<Object>().unmarshall(context);
+        assertEquals("request-id", context.getMetadata().get("id"));
+
+        context = cursorContext(XML);
+        context.registerMetadataExpression("requestId", 2, "id");
+        assertEquals("request-id", readElement(context, "requestId"));
+        assertEquals("request-id", context.getMetadata().get("id"));
+    }
+
+    @Test
+    public void readText_InsideResponseHeader() throws Exception {
+        StaxUnmarshallerContext context = new StaxCursorUnmarshallerContext(
+                FACTORY.createXMLStreamReader(new StringReader(XML)),
+                Collections.singletonMap("x-amz-header", "value"));
+        context.setCurrentHeader("x-amz-header");
+        assertEquals("value", StringStaxUnmarshaller.getInstance().unmarshall(context));
+    }
+
+    @Test
+    public void nextEvent_IsStillSupported() throws Exception {
+        StaxUnmarshallerContext context = cursorContext("<a id=\"1\">x</a>");
+        assertTrue(context.nextEvent().isStartDocument());
+        assertEquals("a", context.nextEvent().asStartElement().getName().getLocalPart());
+        assertTrue(context.nextEvent().isAttribute());
+        assertEquals("x", context.nextEvent().asCharacters().getData());
+        assertTrue(context.nextEvent().isEndElement());
+        assertTrue(context.nextEvent().isEndDocument());
+    }
+
+    private static String readElement(StaxUnmarshallerContext context, String expression) throws Exception {
+        advanceTo(context, expression);
+        return StringStaxUnmarshaller.getInstance().unmarshall(context);
+    }
+
+    private static void advanceTo(StaxUnmarshallerContext context, String expression) throws Exception {
+        while (true) {
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) {
+                throw new AssertionError("No element matching " + expression);
+            }
+            if (token == XMLStreamConstants.START_ELEMENT && context.testExpression(expression)) {
+                return;
+            }
+        }
+    }
+
+    private static StaxUnmarshallerContext eventContext(String xml) throws Exception {
+        return new StaxUnmarshallerContext(FACTORY.createXMLEventReader(new StringReader(xml)));
+    }
+
+    private static StaxUnmarshallerContext cursorContext(String xml) throws Exception {
+        return new StaxCursorUnmarshallerContext(FACTORY.createXMLStreamReader(new StringReader(xml)));
+    }
+}
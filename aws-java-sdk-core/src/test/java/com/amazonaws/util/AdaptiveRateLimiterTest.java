@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the behavior of the {@link AdaptiveRateLimiter}
+ */
+public class AdaptiveRateLimiterTest {
+
+    /**
+     * Tests that requests are not delayed until a throttling error is seen.
+     */
+    @Test
+    public void notLimitingUntilThrottled() throws InterruptedException {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(0, limiter.acquire());
+        }
+        limiter.onSuccess();
+        Assert.assertFalse(limiter.isLimiting());
+        Assert.assertTrue(limiter.getSendRate() < 0);
+    }
+
+    /**
+     * Tests that the send rate is cut below the measured rate on the first
+     * throttling error and cut further on each following one.
+     */
+    @Test
+    public void throttlingCutsSendRate() throws InterruptedException {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire();
+        }
+        limiter.onThrottle();
+        Assert.assertTrue(limiter.isLimiting());
+        double rate = limiter.getSendRate();
+        Assert.assertTrue(rate > 1);
+
+        limiter.onThrottle();
+        Assert.assertEquals(rate * 0.7, limiter.getSendRate(), rate * 0.01);
+    }
+
+    /**
+     * Tests that the send rate never drops below the minimum rate.
+     */
+    @Test
+    public void sendRateHasFloor() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottle();
+        }
+        Assert.assertEquals(0.5, limiter.getSendRate(), 0.0);
+    }
+
+    /**
+     * Tests that limiting stops once the allowed rate is well above the rate
+     * requests are being sent at.
+     */
+    @Test
+    public void stopsLimitingOnceRecovered() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        limiter.onThrottle();
+        Assert.assertTrue(limiter.isLimiting());
+        limiter.onSuccess();
+        Assert.assertFalse(limiter.isLimiting());
+    }
+}
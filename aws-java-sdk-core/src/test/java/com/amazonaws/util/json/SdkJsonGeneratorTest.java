@@ -15,6 +15,7 @@
 package com.amazonaws.util.json;
 
 import com.amazonaws.util.Base64;
+import com.amazonaws.util.IOUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Before;
@@ -24,6 +25,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Date;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -132,6 +134,16 @@ public class SdkJsonGeneratorTest {
         assertEquals(3, node.size());
     }
 
+    @Test
+    public void contentStream_MatchesBytes() throws IOException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName("stringProp").writeValue("stringVal");
+        jsonGenerator.writeEndObject();
+        byte[] bytes = jsonGenerator.getBytes();
+        assertEquals(bytes.length, jsonGenerator.getContentLength());
+        assertArrayEquals(bytes, IOUtils.toByteArray(jsonGenerator.getContentStream()));
+    }
+
     private JsonNode toJsonNode() throws IOException {
         return MAPPER.readTree(jsonGenerator.getBytes());
     }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import static com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.applyBatchOperationUserAgent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchPipeline;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+
+/**
+ * Pipelined implementation of {@link DynamoDBMapper#batchLoad}. The items
+ * returned by each request are handed to a {@link ResponseHandler} on the
+ * executor thread that sent it, and its unprocessed keys are put back into
+ * later batches; only when a request gets no items back at all are its keys
+ * held back with an exponential backoff, and the load fails after too many
+ * such requests in a row, as for sequential batch loads.
+ */
+final class BatchLoadPipelineTask extends BatchPipelineTask<Map<String, AttributeValue>, BatchGetItemResult> {
+
+    /** The max number of keys allowed in a BatchGetItem request */
+    static final int MAX_KEYS_PER_BATCH = 100;
+
+    /**
+     * Handles the items returned by a BatchGetItem request. Called
+     * concurrently by the threads sending the requests.
+     */
+    interface ResponseHandler {
+        void handle(Map<String, List<Map<String, AttributeValue>>> responses);
+    }
+
+    private static final Random random = new Random();
+
+    private final AmazonDynamoDB db;
+    private final boolean consistentReads;
+    private final RequestMetricCollector requestMetricCollector;
+    private final ResponseHandler responseHandler;
+
+    /** The number of consecutive requests which returned no items. */
+    private int requestsWithoutItems;
+
+    BatchLoadPipelineTask(AmazonDynamoDB db, BatchPipeline pipeline, boolean consistentReads,
+            RequestMetricCollector requestMetricCollector, ResponseHandler responseHandler) {
+        super(pipeline, MAX_KEYS_PER_BATCH);
+        this.db = db;
+        this.consistentReads = consistentReads;
+        this.requestMetricCollector = requestMetricCollector;
+        this.responseHandler = responseHandler;
+    }
+
+    /**
+     * Loads the items with the given keys, by table name.
+     */
+    void load(Map<String, List<Map<String, AttributeValue>>> keys) {
+        for (Entry<String, List<Map<String, AttributeValue>>> tableKeys : keys.entrySet()) {
+            enqueue(tableKeys.getKey(), tableKeys.getValue());
+        }
+        run();
+    }
+
+    @Override
+    protected BatchGetItemResult send(Map<String, List<Map<String, AttributeValue>>> batch) {
+        BatchGetItemRequest request = new BatchGetItemRequest()
+                .withRequestMetricCollector(requestMetricCollector);
+        for (Entry<String, List<Map<String, AttributeValue>>> tableKeys : batch.entrySet()) {
+            request.addRequestItemsEntry(tableKeys.getKey(),
+                    new KeysAndAttributes().withConsistentRead(consistentReads).withKeys(tableKeys.getValue()));
+        }
+        BatchGetItemResult result = db.batchGetItem(applyBatchOperationUserAgent(request));
+        if (result.getResponses() != null) {
+            responseHandler.handle(result.getResponses());
+        }
+        return result;
+    }
+
+    @Override
+    protected void complete(Map<String, List<Map<String, AttributeValue>>> batch, BatchGetItemResult result) {
+        Map<String, KeysAndAttributes> unprocessedKeys = result.getUnprocessedKeys();
+        if (unprocessedKeys == null || unprocessedKeys.isEmpty()) {
+            requestsWithoutItems = 0;
+            return;
+        }
+
+        long delay = 0;
+        if (countItems(result) == 0) {
+            if (++requestsWithoutItems > DynamoDBMapper.BATCH_GET_MAX_RETRY_COUNT_ALL_KEYS) {
+                throw new AmazonClientException(
+                        "Batch Get Item request to server hasn't received any data. "
+                        + "Please try again later.");
+            }
+            delay = backoff(requestsWithoutItems);
+        } else {
+            requestsWithoutItems = 0;
+        }
+        for (Entry<String, KeysAndAttributes> tableKeys : unprocessedKeys.entrySet()) {
+            enqueueLater(tableKeys.getKey(), tableKeys.getValue().getKeys(), delay);
+        }
+    }
+
+    private static int countItems(BatchGetItemResult result) {
+        int count = 0;
+        if (result.getResponses() != null) {
+            for (List<Map<String, AttributeValue>> tableItems : result.getResponses().values()) {
+                count += tableItems.size();
+            }
+        }
+        return count;
+    }
+
+    private static long backoff(int retries) {
+        long scaleFactor = 500 + random.nextInt(100);
+        long delay = (long) (Math.pow(2, retries) * scaleFactor);
+        return Math.min(delay, DynamoDBMapper.MAX_BACKOFF_IN_MILLISECONDS);
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchPipeline;
+
+/**
+ * Sends the items of a batch operation in batch requests of bounded size,
+ * keeping up to {@link BatchPipeline#getMaxBatchesInFlight()} requests in
+ * flight on the pipeline's executor. The calling thread assembles and submits
+ * the batches and handles their results; items which have to be resent are
+ * put back into later batches, optionally after a delay, rather than holding
+ * up the batches behind them.
+ *
+ * @param <T>
+ *            The type of the items sent in the batches.
+ * @param <R>
+ *            The type of the result of sending a batch.
+ */
+abstract class BatchPipelineTask<T, R> {
+
+    private final BatchPipeline pipeline;
+    private final int maxItemsPerBatch;
+
+    /** The items ready to be sent, by table name. */
+    private final Map<String, LinkedList<T>> pending = new LinkedHashMap<String, LinkedList<T>>();
+
+    /** The items to be sent once their delay has elapsed. */
+    private final PriorityQueue<DelayedItems<T>> delayed = new PriorityQueue<DelayedItems<T>>(11,
+            new Comparator<DelayedItems<T>>() {
+                @Override
+                public int compare(DelayedItems<T> a, DelayedItems<T> b) {
+                    return a.readyNanos < b.readyNanos ? -1 : (a.readyNanos == b.readyNanos ? 0 : 1);
+                }
+            });
+
+    /** The time before which no batch is submitted. */
+    private long pausedUntilNanos = System.nanoTime();
+
+    BatchPipelineTask(BatchPipeline pipeline, int maxItemsPerBatch) {
+        this.pipeline = pipeline;
+        this.maxItemsPerBatch = maxItemsPerBatch;
+    }
+
+    /**
+     * Sends the given batch. Called concurrently on the pipeline's executor.
+     */
+    protected abstract R send(Map<String, List<T>> batch) throws Exception;
+
+    /**
+     * Handles the result of sending the given batch, typically by failing or
+     * re-queueing the items which were not processed. Called on the thread
+     * running the pipeline, one batch at a time.
+     */
+    protected abstract void complete(Map<String, List<T>> batch, R result);
+
+    /**
+     * Called on the thread running the pipeline right before the given batch
+     * is submitted.
+     */
+    protected void beforeSend(Map<String, List<T>> batch) throws InterruptedException {
+    }
+
+    /**
+     * Queues the given items to be sent in the next batches.
+     */
+    protected final void enqueue(String tableName, Collection<T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        LinkedList<T> tableItems = pending.get(tableName);
+        if (tableItems == null) {
+            tableItems = new LinkedList<T>();
+            pending.put(tableName, tableItems);
+        }
+        tableItems.addAll(items);
+    }
+
+    /**
+     * Queues the given items to be sent once the given delay has elapsed.
+     * Other batches are sent in the meantime.
+     */
+    protected final void enqueueLater(String tableName, Collection<T> items, long delayMillis) {
+        if (delayMillis <= 0) {
+            enqueue(tableName, items);
+        } else if (!items.isEmpty()) {
+            delayed.add(new DelayedItems<T>(tableName, items,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+        }
+    }
+
+    /**
+     * Stops submitting new batches for the given time, while the batches in
+     * flight complete.
+     */
+    protected final void pause(long millis) {
+        pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Sends all the queued items, returning once every batch has been
+     * completed. Any exception thrown when sending or completing a batch is
+     * rethrown once the batches in flight have been cancelled.
+     */
+    protected final void run() {
+        CompletionService<R> completionService = new ExecutorCompletionService<R>(pipeline.getExecutor());
+        Map<Future<R>, Map<String, List<T>>> inFlight = new HashMap<Future<R>, Map<String, List<T>>>();
+        boolean completed = false;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                while (!delayed.isEmpty() && delayed.peek().readyNanos <= now) {
+                    DelayedItems<T> ready = delayed.poll();
+                    enqueue(ready.tableName, ready.items);
+                }
+                while (inFlight.size() < pipeline.getMaxBatchesInFlight()
+                        && !pending.isEmpty() && now >= pausedUntilNanos) {
+                    final Map<String, List<T>> batch = nextBatch();
+                    beforeSend(batch);
+                    Future<R> future = completionService.submit(new Callable<R>() {
+                        @Override
+                        public R call() throws Exception {
+                            return send(batch);
+                        }
+                    });
+                    inFlight.put(future, batch);
+                }
+
+                if (inFlight.isEmpty() && pending.isEmpty() && delayed.isEmpty()) {
+                    break;
+                }
+
+                Future<R> done;
+                long waitNanos = nanosUntilSubmission(now);
+                if (waitNanos < 0) {
+                    done = completionService.take();
+                } else if (inFlight.isEmpty()) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    continue;
+                } else {
+                    done = completionService.poll(waitNanos, TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        continue;
+                    }
+                }
+                complete(inFlight.remove(done), getResult(done));
+            }
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException(e.getMessage(), e);
+        } finally {
+            if (!completed) {
+                for (Future<R> future : inFlight.keySet()) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how long to wait before more batches may be submitted, or a
+     * negative value if no batch will be submitted until one in flight
+     * completes.
+     */
+    private long nanosUntilSubmission(long now) {
+        long readyNanos;
+        if (!pending.isEmpty() && now < pausedUntilNanos) {
+            readyNanos = pausedUntilNanos;
+        } else if (!delayed.isEmpty()) {
+            readyNanos = Math.max(delayed.peek().readyNanos, pausedUntilNanos);
+        } else {
+            return -1;
+        }
+        return Math.max(readyNanos - now, 0);
+    }
+
+    /**
+     * Removes the next batch of at most {@code maxItemsPerBatch} items from
+     * the pending ones, filling it from one table after the other.
+     */
+    private Map<String, List<T>> nextBatch() {
+        Map<String, List<T>> batch = new HashMap<String, List<T>>();
+        int size = 0;
+        Iterator<Entry<String, LinkedList<T>>> tables = pending.entrySet().iterator();
+        while (tables.hasNext() && size < maxItemsPerBatch) {
+            Entry<String, LinkedList<T>> table = tables.next();
+            LinkedList<T> tableItems = table.getValue();
+            List<T> batchItems = new ArrayList<T>(Math.min(tableItems.size(), maxItemsPerBatch - size));
+            while (!tableItems.isEmpty() && size < maxItemsPerBatch) {
+                batchItems.add(tableItems.removeFirst());
+                size++;
+            }
+            batch.put(table.getKey(), batchItems);
+            if (tableItems.isEmpty()) {
+                tables.remove();
+            }
+        }
+        return batch;
+    }
+
+    private R getResult(Future<R> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AmazonClientException(cause.getMessage(), cause);
+        }
+    }
+
+    private static final class DelayedItems<T> {
+        private final String tableName;
+        private final Collection<T> items;
+        private final long readyNanos;
+
+        DelayedItems(String tableName, Collection<T> items, long readyNanos) {
+            this.tableName = tableName;
+            this.items = items;
+            this.readyNanos = readyNanos;
+        }
+    }
+}
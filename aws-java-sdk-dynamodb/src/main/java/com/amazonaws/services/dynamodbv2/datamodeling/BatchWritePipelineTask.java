@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import static com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.applyBatchOperationUserAgent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchPipeline;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchWriteRetryStrategy;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+/**
+ * Pipelined implementation of {@link DynamoDBMapper#batchWrite}. Unprocessed
+ * items are retried as configured by the {@link BatchWriteRetryStrategy}, each
+ * item on its own count of retries, in later batches; a batch which is too
+ * large is split in halves, and a batch failing with a throttling error pauses
+ * the pipeline, as for sequential batch writes.
+ */
+final class BatchWritePipelineTask extends BatchPipelineTask<WriteRequest, BatchWritePipelineTask.Outcome> {
+
+    /** How long to stop sending batches after a throttling error. */
+    private static final long THROTTLED_PAUSE_MILLIS = 1000 * 2;
+
+    private final AmazonDynamoDB db;
+    private final BatchWriteRetryStrategy retryStrategy;
+    private final WriteCapacityThrottle throttle;
+
+    /**
+     * The number of times each unprocessed item has been resent. Items are
+     * compared by value, as the unprocessed items are returned by the service
+     * as new objects.
+     */
+    private final Map<WriteRequest, Integer> retries = new HashMap<WriteRequest, Integer>();
+
+    private final List<FailedBatch> failedBatches = new LinkedList<FailedBatch>();
+
+    BatchWritePipelineTask(AmazonDynamoDB db, BatchPipeline pipeline, BatchWriteRetryStrategy retryStrategy) {
+        super(pipeline, DynamoDBMapper.MAX_ITEMS_PER_BATCH);
+        this.db = db;
+        this.retryStrategy = retryStrategy;
+        this.throttle = pipeline.getWriteCapacityThrottle();
+    }
+
+    /**
+     * Writes the given items, and returns the batches which could not be
+     * written.
+     */
+    List<FailedBatch> write(Map<String, List<WriteRequest>> requestItems) {
+        for (Entry<String, List<WriteRequest>> tableItems : requestItems.entrySet()) {
+            enqueue(tableItems.getKey(), tableItems.getValue());
+        }
+        run();
+        return failedBatches;
+    }
+
+    @Override
+    protected void beforeSend(Map<String, List<WriteRequest>> batch) throws InterruptedException {
+        if (throttle != null) {
+            for (Entry<String, List<WriteRequest>> tableItems : batch.entrySet()) {
+                throttle.acquire(tableItems.getKey(), tableItems.getValue().size());
+            }
+        }
+    }
+
+    @Override
+    protected Outcome send(Map<String, List<WriteRequest>> batch) {
+        Outcome outcome = new Outcome();
+        write(batch, outcome);
+        return outcome;
+    }
+
+    /**
+     * Writes the given batch, dividing it if it is too large.
+     */
+    private void write(Map<String, List<WriteRequest>> batch, Outcome outcome) {
+        BatchWriteItemRequest request = new BatchWriteItemRequest().withRequestItems(batch);
+        if (throttle != null) {
+            request.setReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        }
+        BatchWriteItemResult result;
+        try {
+            result = db.batchWriteItem(applyBatchOperationUserAgent(request));
+        } catch (Exception e) {
+            if (e instanceof AmazonServiceException
+                    && RetryUtils.isRequestEntityTooLargeException((AmazonServiceException) e)
+                    && countItems(batch) > 1) {
+                // Divide by item count rather than table by table, so that
+                // both halves are smaller whatever the tables hold
+                Map<String, List<WriteRequest>> firstHalf = new HashMap<String, List<WriteRequest>>();
+                Map<String, List<WriteRequest>> secondHalf = new HashMap<String, List<WriteRequest>>();
+                int firstHalfSize = countItems(batch) / 2;
+                for (Entry<String, List<WriteRequest>> tableItems : batch.entrySet()) {
+                    for (WriteRequest item : tableItems.getValue()) {
+                        add(firstHalfSize-- > 0 ? firstHalf : secondHalf, tableItems.getKey(), item);
+                    }
+                }
+                write(firstHalf, outcome);
+                write(secondHalf, outcome);
+            } else {
+                FailedBatch failedBatch = new FailedBatch();
+                failedBatch.setUnprocessedItems(batch);
+                failedBatch.setException(e);
+                outcome.failedBatches.add(failedBatch);
+            }
+            return;
+        }
+        if (result.getUnprocessedItems() != null) {
+            outcome.unprocessedItems.add(result.getUnprocessedItems());
+        }
+        if (result.getConsumedCapacity() != null) {
+            outcome.consumedCapacity.addAll(result.getConsumedCapacity());
+        }
+    }
+
+    @Override
+    protected void complete(Map<String, List<WriteRequest>> batch, Outcome outcome) {
+        if (throttle != null) {
+            // Each item was counted as one unit when sent
+            for (ConsumedCapacity consumed : outcome.consumedCapacity) {
+                List<WriteRequest> sent = batch.get(consumed.getTableName());
+                if (consumed.getCapacityUnits() != null && sent != null) {
+                    throttle.adjust(consumed.getTableName(), consumed.getCapacityUnits() - sent.size());
+                }
+            }
+        }
+
+        for (FailedBatch failedBatch : outcome.failedBatches) {
+            failedBatches.add(failedBatch);
+            Exception e = failedBatch.getException();
+            if (e instanceof AmazonServiceException
+                    && RetryUtils.isThrottlingException((AmazonServiceException) e)) {
+                pause(THROTTLED_PAUSE_MILLIS);
+            }
+        }
+
+        int maxRetries = retryStrategy.getMaxRetryOnUnprocessedItems(Collections.unmodifiableMap(batch));
+        for (Map<String, List<WriteRequest>> unprocessedItems : outcome.unprocessedItems) {
+            Map<String, List<WriteRequest>> exhausted = new HashMap<String, List<WriteRequest>>();
+            for (Entry<String, List<WriteRequest>> tableItems : unprocessedItems.entrySet()) {
+                List<WriteRequest> retried = new ArrayList<WriteRequest>();
+                int retriesAttempted = 0;
+                for (WriteRequest item : tableItems.getValue()) {
+                    Integer itemRetries = retries.get(item);
+                    int attempted = itemRetries == null ? 0 : itemRetries;
+                    if (maxRetries >= 0 && attempted >= maxRetries) {
+                        retries.remove(item);
+                        add(exhausted, tableItems.getKey(), item);
+                    } else {
+                        retries.put(item, attempted + 1);
+                        retried.add(item);
+                        retriesAttempted = Math.max(retriesAttempted, attempted);
+                    }
+                }
+                if (!retried.isEmpty()) {
+                    long delay = retryStrategy.getDelayBeforeRetryUnprocessedItems(
+                            Collections.singletonMap(tableItems.getKey(), Collections.unmodifiableList(retried)),
+                            retriesAttempted);
+                    enqueueLater(tableItems.getKey(), retried, delay);
+                }
+            }
+            if (!exhausted.isEmpty()) {
+                FailedBatch failedBatch = new FailedBatch();
+                failedBatch.setUnprocessedItems(exhausted);
+                failedBatch.setException(null);
+                failedBatches.add(failedBatch);
+            }
+        }
+    }
+
+    private static void add(Map<String, List<WriteRequest>> items, String tableName, WriteRequest item) {
+        List<WriteRequest> tableItems = items.get(tableName);
+        if (tableItems == null) {
+            tableItems = new LinkedList<WriteRequest>();
+            items.put(tableName, tableItems);
+        }
+        tableItems.add(item);
+    }
+
+    private static int countItems(Map<String, List<WriteRequest>> batch) {
+        int count = 0;
+        for (List<WriteRequest> tableItems : batch.values()) {
+            count += tableItems.size();
+        }
+        return count;
+    }
+
+    /**
+     * The result of sending one batch, which may have been divided into
+     * several requests.
+     */
+    static final class Outcome {
+        private final List<Map<String, List<WriteRequest>>> unprocessedItems =
+                new ArrayList<Map<String, List<WriteRequest>>>();
+        private final List<ConsumedCapacity> consumedCapacity = new ArrayList<ConsumedCapacity>();
+        private final List<FailedBatch> failedBatches = new ArrayList<FailedBatch>();
+    }
+}
@@ -29,6 +29,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -158,24 +160,90 @@ public final class ConversionSchemas {
 
     static final ConversionSchema DEFAULT = V2_COMPATIBLE;
 
+    /**
+     * The pre-binding variants of the pre-defined schemas. A mapper keeps one
+     * converter per pre-bound schema instance, so there must only ever be one
+     * instance of each.
+     */
+    private static final ConversionSchema V1_PREBOUND = bind(V1);
+    private static final ConversionSchema V2_COMPATIBLE_PREBOUND = bind(V2_COMPATIBLE);
+    private static final ConversionSchema V2_PREBOUND = bind(V2);
+
+    /**
+     * Returns a conversion schema that maps Java types to DynamoDB types
+     * exactly like the given pre-defined schema, but binds the marshaller and
+     * unmarshaller of each mapped property the first time the property is
+     * converted and reuses them afterwards. This removes the per-attribute
+     * type dispatch from {@link DynamoDBMapper#marshallIntoObject(Class, Map)},
+     * {@link DynamoDBMapper#marshallIntoObjects(Class, java.util.List)} and
+     * saves, at the cost of holding one converter per mapper for the lifetime
+     * of the mapper.
+     *
+     * @param schema one of {@link #V1}, {@link #V2_COMPATIBLE} or {@link #V2}
+     * @return the pre-binding variant of the given schema
+     * @throws IllegalArgumentException if the schema is not a pre-defined one
+     */
+    public static ConversionSchema preBound(ConversionSchema schema) {
+        if (schema == V1) {
+            return V1_PREBOUND;
+        } else if (schema == V2_COMPATIBLE) {
+            return V2_COMPATIBLE_PREBOUND;
+        } else if (schema == V2) {
+            return V2_PREBOUND;
+        } else if (isPreBound(schema)) {
+            return schema;
+        }
+        throw new IllegalArgumentException(
+                "Only the pre-defined conversion schemas can be pre-bound: "
+                + schema);
+    }
+
+    private static ConversionSchema bind(ConversionSchema schema) {
+        StandardConversionSchema standard = (StandardConversionSchema) schema;
+        return new StandardConversionSchema(standard.name + "PreBound",
+                standard.marshallers, standard.unmarshallers, true);
+    }
+
+    /**
+     * Returns true if converters created by the given schema cache their
+     * bindings, and so should be created once and reused.
+     */
+    static boolean isPreBound(ConversionSchema schema) {
+        return schema instanceof StandardConversionSchema
+                && ((StandardConversionSchema) schema).preBound;
+    }
+
 
     static class StandardConversionSchema implements ConversionSchema {
 
         private final String name;
         private final MarshallerSet marshallers;
         private final UnmarshallerSet unmarshallers;
+        private final boolean preBound;
 
         public StandardConversionSchema(
                 String name,
                 MarshallerSet marshallers,
                 UnmarshallerSet unmarshallers) {
 
-            this.name = name;
-            this.marshallers = new CachingMarshallerSet(
-                    new AnnotationAwareMarshallerSet(marshallers));
+            this(name,
+                 new CachingMarshallerSet(
+                         new AnnotationAwareMarshallerSet(marshallers)),
+                 new CachingUnmarshallerSet(
+                         new AnnotationAwareUnmarshallerSet(unmarshallers)),
+                 false);
+        }
+
+        private StandardConversionSchema(
+                String name,
+                MarshallerSet marshallers,
+                UnmarshallerSet unmarshallers,
+                boolean preBound) {
 
-            this.unmarshallers = new CachingUnmarshallerSet(
-                    new AnnotationAwareUnmarshallerSet(unmarshallers));
+            this.name = name;
+            this.marshallers = marshallers;
+            this.unmarshallers = unmarshallers;
+            this.preBound = preBound;
         }
 
         @Override
@@ -187,7 +255,8 @@ public final class ConversionSchemas {
                     marshallers,
                     unmarshallers,
                     DynamoDBMappingsRegistry.instance(),
-                    s3cc);
+                    s3cc,
+                    preBound);
         }
 
         @Override
@@ -204,16 +273,40 @@ public final class ConversionSchemas {
         private final DynamoDBMappingsRegistry registry;
         private final S3ClientCache s3cc;
 
+        /**
+         * The fully resolved marshaller of each getter and unmarshaller of
+         * each setter; or null if this converter resolves them on every call.
+         */
+        private final ConcurrentMap<Method, ArgumentMarshaller> boundMarshallers;
+        private final ConcurrentMap<Method, ArgumentUnmarshaller> boundUnmarshallers;
+
         public StandardItemConverter(
                 MarshallerSet marshallerSet,
                 UnmarshallerSet unmarshallerSet,
                 DynamoDBMappingsRegistry registry,
                 S3ClientCache s3cc) {
 
+            this(marshallerSet, unmarshallerSet, registry, s3cc, false);
+        }
+
+        public StandardItemConverter(
+                MarshallerSet marshallerSet,
+                UnmarshallerSet unmarshallerSet,
+                DynamoDBMappingsRegistry registry,
+                S3ClientCache s3cc,
+                boolean preBound) {
+
             this.marshallerSet = marshallerSet;
             this.unmarshallerSet = unmarshallerSet;
             this.registry = registry;
             this.s3cc = s3cc;
+            if (preBound) {
+                this.boundMarshallers = new ConcurrentHashMap<Method, ArgumentMarshaller>();
+                this.boundUnmarshallers = new ConcurrentHashMap<Method, ArgumentUnmarshaller>();
+            } else {
+                this.boundMarshallers = null;
+                this.boundUnmarshallers = null;
+            }
         }
 
         @Override
@@ -287,11 +380,21 @@ public final class ConversionSchemas {
         }
 
         private ArgumentMarshaller getMarshaller(Method getter) {
+            if (boundMarshallers != null) {
+                ArgumentMarshaller bound = boundMarshallers.get(getter);
+                if (bound != null) {
+                    return bound;
+                }
+            }
+
             ArgumentMarshaller marshaller =
                     marshallerSet.getMarshaller(getter);
 
             marshaller = augment(getter.getGenericReturnType(), marshaller);
 
+            if (boundMarshallers != null && marshaller != null) {
+                boundMarshallers.putIfAbsent(getter, marshaller);
+            }
             return marshaller;
         }
 
@@ -435,13 +538,24 @@ public final class ConversionSchemas {
                 Method getter,
                 Method setter) {
 
+            if (boundUnmarshallers != null) {
+                ArgumentUnmarshaller bound = boundUnmarshallers.get(setter);
+                if (bound != null) {
+                    return bound;
+                }
+            }
+
             ArgumentUnmarshaller unmarshaller =
                     unmarshallerSet.getUnmarshaller(getter, setter);
 
             unmarshaller = augment(
                     setter.getGenericParameterTypes()[0], unmarshaller);
 
-            return new NullableUnmarshaller(unmarshaller);
+            unmarshaller = new NullableUnmarshaller(unmarshaller);
+            if (boundUnmarshallers != null) {
+                boundUnmarshallers.putIfAbsent(setter, unmarshaller);
+            }
+            return unmarshaller;
         }
 
         private ArgumentUnmarshaller getMemberUnmarshaller(Type type) {
@@ -1286,11 +1400,11 @@ public final class ConversionSchemas {
 
     static class CachingMarshallerSet implements MarshallerSet {
 
-        private final Map<Method, ArgumentMarshaller> cache =
-                new HashMap<Method, ArgumentMarshaller>();
+        private final ConcurrentMap<Method, ArgumentMarshaller> cache =
+                new ConcurrentHashMap<Method, ArgumentMarshaller>();
 
-        private final Map<Type, ArgumentMarshaller> memberCache =
-                new HashMap<Type, ArgumentMarshaller>();
+        private final ConcurrentMap<Type, ArgumentMarshaller> memberCache =
+                new ConcurrentHashMap<Type, ArgumentMarshaller>();
 
         private final MarshallerSet wrapped;
 
@@ -1300,40 +1414,42 @@ public final class ConversionSchemas {
 
         @Override
         public ArgumentMarshaller getMarshaller(Method getter) {
-            synchronized (cache) {
-                ArgumentMarshaller marshaler = cache.get(getter);
-                if (marshaler != null) {
-                    return marshaler;
-                }
-
-                marshaler = wrapped.getMarshaller(getter);
-                cache.put(getter, marshaler);
+            ArgumentMarshaller marshaler = cache.get(getter);
+            if (marshaler != null) {
                 return marshaler;
             }
+
+            marshaler = wrapped.getMarshaller(getter);
+            if (marshaler == null) {
+                return null;
+            }
+            ArgumentMarshaller existing = cache.putIfAbsent(getter, marshaler);
+            return existing == null ? marshaler : existing;
         }
 
         @Override
         public ArgumentMarshaller getMemberMarshaller(Type memberType) {
-            synchronized (memberCache) {
-                ArgumentMarshaller marshaller = memberCache.get(memberType);
-                if (marshaller != null) {
-                    return marshaller;
-                }
-
-                marshaller = wrapped.getMemberMarshaller(memberType);
-                memberCache.put(memberType, marshaller);
+            ArgumentMarshaller marshaller = memberCache.get(memberType);
+            if (marshaller != null) {
                 return marshaller;
             }
+
+            marshaller = wrapped.getMemberMarshaller(memberType);
+            if (marshaller == null) {
+                return null;
+            }
+            ArgumentMarshaller existing = memberCache.putIfAbsent(memberType, marshaller);
+            return existing == null ? marshaller : existing;
         }
     }
 
     static class CachingUnmarshallerSet implements UnmarshallerSet {
 
-        private final Map<Method, ArgumentUnmarshaller> cache =
-                new HashMap<Method, ArgumentUnmarshaller>();
+        private final ConcurrentMap<Method, ArgumentUnmarshaller> cache =
+                new ConcurrentHashMap<Method, ArgumentUnmarshaller>();
 
-        private final Map<Type, ArgumentUnmarshaller> memberCache =
-                new HashMap<Type, ArgumentUnmarshaller>();
+        private final ConcurrentMap<Type, ArgumentUnmarshaller> memberCache =
+                new ConcurrentHashMap<Type, ArgumentUnmarshaller>();
 
         private final UnmarshallerSet wrapped;
 
@@ -1346,30 +1462,32 @@ public final class ConversionSchemas {
                 Method getter,
                 Method setter) {
 
-            synchronized (cache) {
-                ArgumentUnmarshaller unmarshaler = cache.get(getter);
-                if (unmarshaler != null) {
-                    return unmarshaler;
-                }
-
-                unmarshaler = wrapped.getUnmarshaller(getter, setter);
-                cache.put(getter, unmarshaler);
+            ArgumentUnmarshaller unmarshaler = cache.get(getter);
+            if (unmarshaler != null) {
                 return unmarshaler;
             }
+
+            unmarshaler = wrapped.getUnmarshaller(getter, setter);
+            if (unmarshaler == null) {
+                return null;
+            }
+            ArgumentUnmarshaller existing = cache.putIfAbsent(getter, unmarshaler);
+            return existing == null ? unmarshaler : existing;
         }
 
         @Override
         public ArgumentUnmarshaller getMemberUnmarshaller(Type memberType) {
-            synchronized (memberCache) {
-                ArgumentUnmarshaller unmarshaller = memberCache.get(memberType);
-                if (unmarshaller != null) {
-                    return unmarshaller;
-                }
-
-                unmarshaller = wrapped.getMemberUnmarshaller(memberType);
-                memberCache.put(memberType, unmarshaller);
+            ArgumentUnmarshaller unmarshaller = memberCache.get(memberType);
+            if (unmarshaller != null) {
                 return unmarshaller;
             }
+
+            unmarshaller = wrapped.getMemberUnmarshaller(memberType);
+            if (unmarshaller == null) {
+                return null;
+            }
+            ArgumentUnmarshaller existing = memberCache.putIfAbsent(memberType, unmarshaller);
+            return existing == null ? unmarshaller : existing;
         }
     }
 
@@ -28,6 +28,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,6 +40,7 @@ import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.retry.RetryUtils;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchPipeline;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchWriteRetryStrategy;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.ConsistentReads;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
@@ -192,6 +195,15 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
 
     private final AttributeTransformer transformer;
 
+    /**
+     * Converters of pre-bound conversion schemas, which are reused for the
+     * lifetime of this mapper.
+     *
+     * @see ConversionSchemas#preBound(ConversionSchema)
+     */
+    private final ConcurrentMap<ConversionSchema, ItemConverter> preBoundConverters =
+            new ConcurrentHashMap<ConversionSchema, ItemConverter>();
+
     /**
      * The max back off time for batch get. The configuration for batch write
      * has been moved to DynamoDBMapperConfig
@@ -1383,6 +1395,16 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
                     new WriteRequest().withDeleteRequest(new DeleteRequest().withKey(key)));
         }
 
+        BatchPipeline pipeline = config.getBatchPipeline();
+        if ( pipeline != null ) {
+            totalFailedBatches.addAll(new BatchWritePipelineTask(
+                    db, pipeline, config.getBatchWriteRetryStrategy()).write(requestItems));
+            for ( ValueUpdate update : inMemoryUpdates ) {
+                update.apply();
+            }
+            return totalFailedBatches;
+        }
+
         // Break into chunks of 25 items and make service requests to DynamoDB
         while ( !requestItems.isEmpty() ) {
 
@@ -1604,6 +1626,10 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
 
         ItemConverter converter = getConverter(config);
 
+        if ( config.getBatchPipeline() != null ) {
+            return pipelinedBatchLoad(itemsToGet, config, converter);
+        }
+
         for ( Object keyObject : itemsToGet ) {
             Class<?> clazz = keyObject.getClass();
 
@@ -1696,28 +1722,96 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
             batchGetItemResult = db.batchGetItem(
                     applyBatchOperationUserAgent(batchGetItemRequest));
 
-            Map<String, List<Map<String, AttributeValue>>> responses = batchGetItemResult.getResponses();
-            for ( String tableName : responses.keySet() ) {
-                List<Object> objects = null;
-                if ( resultSet.get(tableName) != null ) {
-                    objects = resultSet.get(tableName);
-                } else {
-                    objects = new LinkedList<Object>();
-                }
+            addBatchGetResponses(batchGetItemResult.getResponses(), classesByTableName, resultSet, config, converter);
+            // To see whether there are unprocessed keys.
+        } while ( batchGetItemResult.getUnprocessedKeys() != null && batchGetItemResult.getUnprocessedKeys().size() > 0 );
 
-                Class<?> clazz = classesByTableName.get(tableName);
+    }
 
-                for ( Map<String, AttributeValue> item : responses.get(tableName) ) {
-                    AttributeTransformer.Parameters<?> parameters =
-                        toParameters(item, clazz, tableName, config);
-                    objects.add(privateMarshallIntoObject(converter, parameters));
-                }
+    /**
+     * Marshalls the items returned by a BatchGetItem request into objects, and
+     * adds them to the given result set.
+     */
+    private void addBatchGetResponses(
+            final Map<String, List<Map<String, AttributeValue>>> responses,
+            final Map<String, Class<?>> classesByTableName,
+            final Map<String, List<Object>> resultSet,
+            final DynamoDBMapperConfig config,
+            final ItemConverter converter) {
 
-                resultSet.put(tableName, objects);
+        for ( String tableName : responses.keySet() ) {
+            List<Object> objects = null;
+            if ( resultSet.get(tableName) != null ) {
+                objects = resultSet.get(tableName);
+            } else {
+                objects = new LinkedList<Object>();
+            }
+
+            Class<?> clazz = classesByTableName.get(tableName);
+
+            for ( Map<String, AttributeValue> item : responses.get(tableName) ) {
+                AttributeTransformer.Parameters<?> parameters =
+                    toParameters(item, clazz, tableName, config);
+                objects.add(privateMarshallIntoObject(converter, parameters));
             }
-            // To see whether there are unprocessed keys.
-        } while ( batchGetItemResult.getUnprocessedKeys() != null && batchGetItemResult.getUnprocessedKeys().size() > 0 );
 
+            resultSet.put(tableName, objects);
+        }
+    }
+
+    /**
+     * Loads the given items with the {@link BatchPipeline} of the given
+     * config. The returned items are marshalled into objects by the threads
+     * which loaded them, and then merged into the result set.
+     *
+     * @param config never null
+     */
+    private Map<String, List<Object>> pipelinedBatchLoad(
+            final Iterable<? extends Object> itemsToGet,
+            final DynamoDBMapperConfig config,
+            final ItemConverter converter) {
+
+        final Map<String, Class<?>> classesByTableName = new HashMap<String, Class<?>>();
+        final Map<String, List<Object>> resultSet = new HashMap<String, List<Object>>();
+        Map<String, List<Map<String, AttributeValue>>> keys =
+                new HashMap<String, List<Map<String, AttributeValue>>>();
+
+        for ( Object keyObject : itemsToGet ) {
+            Class<?> clazz = keyObject.getClass();
+
+            String tableName = getTableName(clazz, keyObject, config);
+            classesByTableName.put(tableName, clazz);
+
+            if ( !keys.containsKey(tableName) ) {
+                keys.put(tableName, new ArrayList<Map<String, AttributeValue>>());
+            }
+            keys.get(tableName).add(getKey(converter, keyObject));
+        }
+
+        new BatchLoadPipelineTask(
+                db,
+                config.getBatchPipeline(),
+                config.getConsistentReads() == ConsistentReads.CONSISTENT,
+                config.getRequestMetricCollector(),
+                new BatchLoadPipelineTask.ResponseHandler() {
+                    @Override
+                    public void handle(Map<String, List<Map<String, AttributeValue>>> responses) {
+                        Map<String, List<Object>> loaded = new HashMap<String, List<Object>>();
+                        addBatchGetResponses(responses, classesByTableName, loaded, config, converter);
+                        synchronized (resultSet) {
+                            for ( Entry<String, List<Object>> tableObjects : loaded.entrySet() ) {
+                                List<Object> objects = resultSet.get(tableObjects.getKey());
+                                if ( objects == null ) {
+                                    resultSet.put(tableObjects.getKey(), tableObjects.getValue());
+                                } else {
+                                    objects.addAll(tableObjects.getValue());
+                                }
+                            }
+                        }
+                    }
+                }).load(keys);
+
+        return resultSet;
     }
 
     private final class ValueUpdate {
@@ -1802,7 +1896,8 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
 
         // Create hard copies of the original scan request with difference segment number.
         List<ScanRequest> parallelScanRequests = createParallelScanRequestsFromExpression(clazz, scanExpression, totalSegments, config);
-        ParallelScanTask parallelScanTask = new ParallelScanTask(db, parallelScanRequests);
+        ParallelScanTask parallelScanTask = new ParallelScanTask(db, parallelScanRequests,
+                config.getParallelScanExecutor());
 
         return new PaginatedParallelScanList<T>(this, clazz, db, parallelScanTask, config.getPaginationLoadingStrategy(), config);
     }
@@ -2506,6 +2601,21 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
     private ItemConverter getConverter(DynamoDBMapperConfig config) {
         ConversionSchema schema = config.getConversionSchema();
 
+        if (ConversionSchemas.isPreBound(schema)) {
+            ItemConverter converter = preBoundConverters.get(schema);
+            if (converter == null) {
+                converter = newConverter(schema);
+                ItemConverter existing = preBoundConverters.putIfAbsent(schema, converter);
+                if (existing != null) {
+                    converter = existing;
+                }
+            }
+            return converter;
+        }
+        return newConverter(schema);
+    }
+
+    private ItemConverter newConverter(ConversionSchema schema) {
         ConversionSchema.Dependencies params = new ConversionSchema.Dependencies()
                 .with(S3ClientCache.class, s3cc);
 
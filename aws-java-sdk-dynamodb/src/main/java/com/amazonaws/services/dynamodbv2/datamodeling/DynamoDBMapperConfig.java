@@ -17,6 +17,7 @@ package com.amazonaws.services.dynamodbv2.datamodeling;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
 
 import com.amazonaws.metrics.RequestMetricCollector;
 import com.amazonaws.services.dynamodbv2.model.WriteRequest;
@@ -56,6 +57,8 @@ public class DynamoDBMapperConfig {
         private RequestMetricCollector requestMetricCollector;
         private ConversionSchema conversionSchema;
         private BatchWriteRetryStrategy batchWriteRetryStrategy;
+        private ExecutorService parallelScanExecutor;
+        private BatchPipeline batchPipeline;
 
         /**
          * Creates a new builder initialized with the {@link #DEFAULT} values.
@@ -70,6 +73,8 @@ public class DynamoDBMapperConfig {
             requestMetricCollector = DEFAULT.getRequestMetricCollector();
             conversionSchema = DEFAULT.getConversionSchema();
             batchWriteRetryStrategy = DEFAULT.getBatchWriteRetryStrategy();
+            parallelScanExecutor = DEFAULT.getParallelScanExecutor();
+            batchPipeline = DEFAULT.getBatchPipeline();
         }
 
         /**
@@ -291,6 +296,52 @@ public class DynamoDBMapperConfig {
             return this;
         }
 
+        /**
+         * @return the currently-configured parallel scan executor
+         */
+        public ExecutorService getParallelScanExecutor() {
+            return parallelScanExecutor;
+        }
+
+        /**
+         * @param value the new parallel scan executor
+         */
+        public void setParallelScanExecutor(ExecutorService value) {
+            this.parallelScanExecutor = value;
+        }
+
+        /**
+         * @param value the new parallel scan executor
+         * @return this builder
+         */
+        public Builder withParallelScanExecutor(ExecutorService value) {
+            setParallelScanExecutor(value);
+            return this;
+        }
+
+        /**
+         * @return the currently-configured batch pipeline
+         */
+        public BatchPipeline getBatchPipeline() {
+            return batchPipeline;
+        }
+
+        /**
+         * @param value the new batch pipeline
+         */
+        public void setBatchPipeline(BatchPipeline value) {
+            this.batchPipeline = value;
+        }
+
+        /**
+         * @param value the new batch pipeline
+         * @return this builder
+         */
+        public Builder withBatchPipeline(BatchPipeline value) {
+            setBatchPipeline(value);
+            return this;
+        }
+
 
         /**
          * Builds a new {@code DynamoDBMapperConfig} object.
@@ -307,7 +358,9 @@ public class DynamoDBMapperConfig {
                     paginationLoadingStrategy,
                     requestMetricCollector,
                     conversionSchema,
-                    batchWriteRetryStrategy);
+                    batchWriteRetryStrategy,
+                    parallelScanExecutor,
+                    batchPipeline);
         }
     }
 
@@ -634,6 +687,86 @@ public class DynamoDBMapperConfig {
 
     }
 
+    /**
+     * Pipelining of the batch requests made by
+     * {@link DynamoDBMapper#batchWrite} and {@link DynamoDBMapper#batchLoad}.
+     * By default these operations send one BatchWriteItem or BatchGetItem
+     * request at a time, and wait out the backoff before resending the
+     * unprocessed items or keys of a request. With a pipeline, up to
+     * {@link #getMaxBatchesInFlight()} requests run concurrently on the given
+     * executor, and unprocessed items or keys are put back into later batches
+     * once their backoff has elapsed, while other batches proceed.
+     * <p>
+     * As the batches of one call are written concurrently, writes of the same
+     * item in one {@code batchWrite} call may be applied in any order.
+     */
+    public static final class BatchPipeline {
+
+        private final ExecutorService executor;
+        private final int maxBatchesInFlight;
+        private final WriteCapacityThrottle writeCapacityThrottle;
+
+        /**
+         * @param executor
+         *            The executor to send the batch requests on, which is
+         *            never shut down by the mapper.
+         * @param maxBatchesInFlight
+         *            The maximum number of batch requests in flight for a
+         *            single batch operation.
+         */
+        public BatchPipeline(ExecutorService executor, int maxBatchesInFlight) {
+            this(executor, maxBatchesInFlight, null);
+        }
+
+        /**
+         * @param executor
+         *            The executor to send the batch requests on, which is
+         *            never shut down by the mapper.
+         * @param maxBatchesInFlight
+         *            The maximum number of batch requests in flight for a
+         *            single batch operation.
+         * @param writeCapacityThrottle
+         *            The throttle limiting the write capacity consumed by
+         *            batch writes, which may be shared by several mappers and
+         *            configurations; or null for no limit.
+         */
+        public BatchPipeline(ExecutorService executor, int maxBatchesInFlight,
+                WriteCapacityThrottle writeCapacityThrottle) {
+            if (executor == null) {
+                throw new IllegalArgumentException("executor must not be null");
+            }
+            if (maxBatchesInFlight < 1) {
+                throw new IllegalArgumentException("maxBatchesInFlight must be positive");
+            }
+            this.executor = executor;
+            this.maxBatchesInFlight = maxBatchesInFlight;
+            this.writeCapacityThrottle = writeCapacityThrottle;
+        }
+
+        /**
+         * Returns the executor the batch requests are sent on.
+         */
+        public ExecutorService getExecutor() {
+            return executor;
+        }
+
+        /**
+         * Returns the maximum number of batch requests in flight for a single
+         * batch operation.
+         */
+        public int getMaxBatchesInFlight() {
+            return maxBatchesInFlight;
+        }
+
+        /**
+         * Returns the throttle limiting the write capacity consumed by batch
+         * writes, or null if there is no limit.
+         */
+        public WriteCapacityThrottle getWriteCapacityThrottle() {
+            return writeCapacityThrottle;
+        }
+    }
+
     private final SaveBehavior saveBehavior;
     private final ConsistentReads consistentReads;
     private final TableNameOverride tableNameOverride;
@@ -643,6 +776,8 @@ public class DynamoDBMapperConfig {
     private final RequestMetricCollector requestMetricCollector;
     private final ConversionSchema conversionSchema;
     private final BatchWriteRetryStrategy batchWriteRetryStrategy;
+    private final ExecutorService parallelScanExecutor;
+    private final BatchPipeline batchPipeline;
 
     /**
      * Legacy constructor, using default PaginationLoadingStrategy
@@ -713,7 +848,9 @@ public class DynamoDBMapperConfig {
                 paginationLoadingStrategy,
                 requestMetricCollector,
                 ConversionSchemas.DEFAULT,
-                new DefaultBatchWriteRetryStrategy());
+                new DefaultBatchWriteRetryStrategy(),
+                null,
+                null);
     }
 
     private DynamoDBMapperConfig(
@@ -725,7 +862,9 @@ public class DynamoDBMapperConfig {
             PaginationLoadingStrategy paginationLoadingStrategy,
             RequestMetricCollector requestMetricCollector,
             ConversionSchema conversionSchema,
-            BatchWriteRetryStrategy batchWriteRetryStrategy) {
+            BatchWriteRetryStrategy batchWriteRetryStrategy,
+            ExecutorService parallelScanExecutor,
+            BatchPipeline batchPipeline) {
 
         this.saveBehavior = saveBehavior;
         this.consistentReads = consistentReads;
@@ -736,6 +875,8 @@ public class DynamoDBMapperConfig {
         this.requestMetricCollector = requestMetricCollector;
         this.conversionSchema = conversionSchema;
         this.batchWriteRetryStrategy = batchWriteRetryStrategy;
+        this.parallelScanExecutor = parallelScanExecutor;
+        this.batchPipeline = batchPipeline;
     }
 
     /**
@@ -743,7 +884,7 @@ public class DynamoDBMapperConfig {
      */
     public DynamoDBMapperConfig(SaveBehavior saveBehavior) {
         this(saveBehavior, null, null, null, null, null, null,
-                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy());
+                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy(), null, null);
     }
 
     /**
@@ -752,7 +893,7 @@ public class DynamoDBMapperConfig {
      */
     public DynamoDBMapperConfig(ConsistentReads consistentReads) {
         this(null, consistentReads, null, null, null, null, null,
-                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy());
+                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy(), null, null);
     }
 
     /**
@@ -760,7 +901,7 @@ public class DynamoDBMapperConfig {
      */
     public DynamoDBMapperConfig(TableNameOverride tableNameOverride) {
         this(null, null, tableNameOverride, null, null, null, null,
-                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy());
+                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy(), null, null);
     }
 
     /**
@@ -768,7 +909,7 @@ public class DynamoDBMapperConfig {
      */
     public DynamoDBMapperConfig(TableNameResolver tableNameResolver) {
         this(null, null, null, tableNameResolver, null, null, null,
-                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy());
+                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy(), null, null);
     }
 
     /**
@@ -776,7 +917,7 @@ public class DynamoDBMapperConfig {
      */
     public DynamoDBMapperConfig(ObjectTableNameResolver objectTableNameResolver) {
         this(null, null, null, null, objectTableNameResolver, null, null,
-                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy());
+                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy(), null, null);
     }
 
     /**
@@ -784,7 +925,7 @@ public class DynamoDBMapperConfig {
      */
     public DynamoDBMapperConfig(TableNameResolver tableNameResolver, ObjectTableNameResolver objectTableNameResolver) {
         this(null, null, null, tableNameResolver, objectTableNameResolver, null, null,
-                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy());
+                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy(), null, null);
     }
 
     /**
@@ -795,14 +936,15 @@ public class DynamoDBMapperConfig {
             PaginationLoadingStrategy paginationLoadingStrategy) {
 
         this(null, null, null, null, null, paginationLoadingStrategy, null,
-                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy());
+                ConversionSchemas.DEFAULT, new DefaultBatchWriteRetryStrategy(), null, null);
     }
 
     /**
      * Constructs a new configuration object with the conversion schema given.
      */
     public DynamoDBMapperConfig(ConversionSchema conversionSchema) {
-        this(null, null, null, null, null, null, null, conversionSchema, new DefaultBatchWriteRetryStrategy());
+        this(null, null, null, null, null, null, null, conversionSchema, new DefaultBatchWriteRetryStrategy(),
+                null, null);
     }
 
     /**
@@ -835,6 +977,8 @@ public class DynamoDBMapperConfig {
             this.requestMetricCollector = defaults.getRequestMetricCollector();
             this.conversionSchema = defaults.getConversionSchema();
             this.batchWriteRetryStrategy = defaults.getBatchWriteRetryStrategy();
+            this.parallelScanExecutor = defaults.getParallelScanExecutor();
+            this.batchPipeline = defaults.getBatchPipeline();
 
         } else {
 
@@ -876,6 +1020,14 @@ public class DynamoDBMapperConfig {
                     ? defaults.getBatchWriteRetryStrategy()
                     : overrides.getBatchWriteRetryStrategy();
 
+            this.parallelScanExecutor = (overrides.getParallelScanExecutor() == null)
+                    ? defaults.getParallelScanExecutor()
+                    : overrides.getParallelScanExecutor();
+
+            this.batchPipeline = (overrides.getBatchPipeline() == null)
+                    ? defaults.getBatchPipeline()
+                    : overrides.getBatchPipeline();
+
         }
     }
 
@@ -959,6 +1111,27 @@ public class DynamoDBMapperConfig {
         return batchWriteRetryStrategy;
     }
 
+    /**
+     * Returns the executor that runs the segment scans of
+     * {@link DynamoDBMapper#parallelScan}, or null if each parallel scan uses
+     * a thread pool of its own. The executor is shared by every parallel scan
+     * using this configuration and is never shut down by the mapper; bounding
+     * its size bounds the number of threads used by concurrent parallel
+     * scans.
+     */
+    public ExecutorService getParallelScanExecutor() {
+        return parallelScanExecutor;
+    }
+
+    /**
+     * Returns how {@link DynamoDBMapper#batchWrite} and
+     * {@link DynamoDBMapper#batchLoad} pipeline their batch requests, or null
+     * if they send one batch request at a time.
+     */
+    public BatchPipeline getBatchPipeline() {
+        return batchPipeline;
+    }
+
     /**
      * Default configuration uses UPDATE behavior for saves and EVENTUALly
      * consistent reads, with no table name override and lazy-loading strategy.
@@ -972,5 +1145,7 @@ public class DynamoDBMapperConfig {
             PaginationLoadingStrategy.LAZY_LOADING,
             null,  // RequestMetricCollector
             ConversionSchemas.DEFAULT,
-            new DefaultBatchWriteRetryStrategy());
+            new DefaultBatchWriteRetryStrategy(),
+            null,  // ParallelScanExecutor
+            null); // BatchPipeline
 }
@@ -87,10 +87,13 @@ final class DynamoDBMappingsRegistry {
      * @return The mapping definition.
      */
     final Mappings mappingsOf(final Class<?> clazz) {
-        if (!mappings.containsKey(clazz)) {
-            mappings.putIfAbsent(clazz, new Mappings(clazz, this));
+        final Mappings existing = mappings.get(clazz);
+        if (existing != null) {
+            return existing;
         }
-        return mappings.get(clazz);
+        final Mappings created = new Mappings(clazz, this);
+        final Mappings raced = mappings.putIfAbsent(clazz, created);
+        return raced == null ? created : raced;
     }
 
     /**
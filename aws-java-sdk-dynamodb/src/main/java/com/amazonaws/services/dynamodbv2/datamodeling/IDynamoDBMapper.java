@@ -356,8 +356,9 @@ public interface IDynamoDBMapper {
      *            as required by the {@link AmazonDynamoDB#batchWriteItem(BatchWriteItemRequest)}
      *            API.
      * @param config
-     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()} and
-     *            {@link DynamoDBMapperConfig#getBatchWriteRetryStrategy()} are considered. If
+     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()},
+     *            {@link DynamoDBMapperConfig#getBatchWriteRetryStrategy()} and
+     *            {@link DynamoDBMapperConfig#getBatchPipeline()} are considered. If
      *            TableNameOverride is specified, all objects in the two parameter lists will be
      *            considered to belong to the given table override. In particular, this method
      *            <b>always acts as if SaveBehavior.CLOBBER was specified</b> regardless of the
@@ -394,8 +395,9 @@ public interface IDynamoDBMapper {
      *            as required by the {@link AmazonDynamoDB#batchWriteItem(BatchWriteItemRequest)}
      *            API.
      * @param config
-     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()} and
-     *            {@link DynamoDBMapperConfig#getBatchWriteRetryStrategy()} are considered. If
+     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()},
+     *            {@link DynamoDBMapperConfig#getBatchWriteRetryStrategy()} and
+     *            {@link DynamoDBMapperConfig#getBatchPipeline()} are considered. If
      *            TableNameOverride is specified, all objects in the two parameter lists will be
      *            considered to belong to the given table override. In particular, this method
      *            <b>always acts as if SaveBehavior.CLOBBER was specified</b> regardless of the
@@ -438,8 +440,9 @@ public interface IDynamoDBMapper {
      *            Key objects, corresponding to the class to fetch, with their primary key values
      *            set.
      * @param config
-     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()} and
-     *            {@link DynamoDBMapperConfig#getConsistentReads()} are considered.
+     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()},
+     *            {@link DynamoDBMapperConfig#getConsistentReads()} and
+     *            {@link DynamoDBMapperConfig#getBatchPipeline()} are considered.
      * @return A map of the loaded objects. Each key in the map is the name of a DynamoDB table.
      *         Each value in the map is a list of objects that have been loaded from that table. All
      *         objects for each table can be cast to the associated user defined type that is
@@ -454,8 +457,9 @@ public interface IDynamoDBMapper {
      *            Key objects, corresponding to the class to fetch, with their primary key values
      *            set.
      * @param config
-     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()} and
-     *            {@link DynamoDBMapperConfig#getConsistentReads()} are considered.
+     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()},
+     *            {@link DynamoDBMapperConfig#getConsistentReads()} and
+     *            {@link DynamoDBMapperConfig#getBatchPipeline()} are considered.
      * @return A map of the loaded objects. Each key in the map is the name of a DynamoDB table.
      *         Each value in the map is a list of objects that have been loaded from that table. All
      *         objects for each table can be cast to the associated user defined type that is
@@ -484,8 +488,9 @@ public interface IDynamoDBMapper {
      * @param itemsToGet
      *            Map from class to load to list of primary key attributes.
      * @param config
-     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()} and
-     *            {@link DynamoDBMapperConfig#getConsistentReads()} are considered.
+     *            Only {@link DynamoDBMapperConfig#getTableNameOverride()},
+     *            {@link DynamoDBMapperConfig#getConsistentReads()} and
+     *            {@link DynamoDBMapperConfig#getBatchPipeline()} are considered.
      * @return A map of the loaded objects. Each key in the map is the name of a DynamoDB table.
      *         Each value in the map is a list of objects that have been loaded from that table. All
      *         objects for each table can be cast to the associated user defined type that is
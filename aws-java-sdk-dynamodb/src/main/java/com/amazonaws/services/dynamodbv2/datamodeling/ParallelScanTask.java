@@ -18,19 +18,32 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
 import com.amazonaws.services.dynamodbv2.model.ScanResult;
 
 public class ParallelScanTask {
 
+    /**
+     * The maximum number of attempts to scan a page of a segment that exceeds
+     * the table's provisioned throughput.
+     */
+    private static final int MAX_THROTTLED_ATTEMPTS = 5;
+
+    private static final long MAX_THROTTLED_BACKOFF_IN_MILLISECONDS = 1000 * 3;
+
+    private static final Random random = new Random();
+
     /**
      * The list of hard copies of ScanRequest with different segment number.
      */
@@ -57,18 +70,54 @@ public class ParallelScanTask {
 
     private ExecutorService executorService;
 
+    /**
+     * Whether the executor was created for this scan and must be shut down
+     * once all segments have been scanned.
+     */
+    private final boolean ownsExecutorService;
+
     private final AmazonDynamoDB dynamo;
 
+    /**
+     * The time, in milliseconds since the epoch, before which no segment
+     * starts scanning a new page because the table's provisioned throughput
+     * was recently exceeded.
+     */
+    private volatile long throttledUntil;
+
+    /**
+     * The number of consecutive page scans that exceeded the table's
+     * provisioned throughput, across all segments.
+     */
+    private final AtomicInteger consecutiveThrottles = new AtomicInteger();
+
     @Deprecated
     public ParallelScanTask(DynamoDBMapper mapper, AmazonDynamoDB dynamo, List<ScanRequest> parallelScanRequests) {
         this(dynamo, parallelScanRequests);
     }
 
     ParallelScanTask(AmazonDynamoDB dynamo, List<ScanRequest> parallelScanRequests) {
+        this(dynamo, parallelScanRequests, null);
+    }
+
+    /**
+     * @param executorService
+     *            The executor to run the segment scans on, which is left
+     *            running once the scan completes; or null to use a thread pool
+     *            owned by this scan.
+     */
+    ParallelScanTask(AmazonDynamoDB dynamo, List<ScanRequest> parallelScanRequests,
+            ExecutorService executorService) {
         this.dynamo = dynamo;
         this.parallelScanRequests = parallelScanRequests;
         this.totalSegments = parallelScanRequests.size();
-        executorService = Executors.newCachedThreadPool();
+        if (executorService == null) {
+            this.executorService = Executors.newCachedThreadPool();
+            this.ownsExecutorService = true;
+        } else {
+            this.executorService = executorService;
+            this.ownsExecutorService = false;
+        }
 
         // Create synchronized views of the list to guarantee any changes are visible across all threads.
         segmentScanFutureTasks = Collections.synchronizedList(new ArrayList<Future<ScanResult>>(totalSegments));
@@ -89,7 +138,9 @@ public class ParallelScanTask {
                     return false;
             }
             // Shut down if all data have been scanned and loaded.
-            executorService.shutdown();
+            if (ownsExecutorService) {
+                executorService.shutdown();
+            }
             return true;
         }
     }
@@ -220,7 +271,7 @@ public class ParallelScanTask {
         } else {
             segmentScanRequest.setExclusiveStartKey(null);
         }
-        ScanResult scanResult = dynamo.scan(DynamoDBMapper.applyUserAgent(segmentScanRequest));
+        ScanResult scanResult = scanWithThrottling(segmentScanRequest);
 
         /**
          * Cache the scan result in segmentScanResults.
@@ -241,6 +292,45 @@ public class ParallelScanTask {
         return scanResult;
     }
 
+    /**
+     * Scans a page of a segment. When the table's provisioned throughput is
+     * exceeded even after the client's own retries, every segment of this
+     * scan holds off starting new pages for an exponentially growing delay,
+     * and the page is retried up to {@link #MAX_THROTTLED_ATTEMPTS} times.
+     */
+    private ScanResult scanWithThrottling(ScanRequest segmentScanRequest) {
+        for (int attempt = 1;; attempt++) {
+            pauseWhileThrottled();
+            try {
+                ScanResult scanResult = dynamo.scan(DynamoDBMapper.applyUserAgent(segmentScanRequest));
+                consecutiveThrottles.set(0);
+                return scanResult;
+            } catch (ProvisionedThroughputExceededException e) {
+                if (attempt >= MAX_THROTTLED_ATTEMPTS) {
+                    throw e;
+                }
+                int throttles = consecutiveThrottles.incrementAndGet();
+                long delay = Math.min(
+                        (long) (Math.pow(2, throttles) * (100 + random.nextInt(50))),
+                        MAX_THROTTLED_BACKOFF_IN_MILLISECONDS);
+                throttledUntil = Math.max(throttledUntil, System.currentTimeMillis() + delay);
+            }
+        }
+    }
+
+    private void pauseWhileThrottled() {
+        long delay = throttledUntil - System.currentTimeMillis();
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Parallel scan interrupted by other thread.", e);
+        }
+    }
+
     private void initSegmentScanStates() {
         for (int segment = 0; segment < totalSegments; segment++) {
             segmentScanFutureTasks.add(null);
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Limits the rate at which the batch writes of {@link DynamoDBMapper} consume
+ * the write capacity of the tables they write to, so that bulk loads stay
+ * within the capacity provisioned for them instead of being throttled by the
+ * service. Limits are set per table, in write capacity units per second;
+ * writes to tables without a limit are not throttled.
+ * <p>
+ * Each write request is counted as one unit, the least it can consume, when
+ * its batch is sent; the count is then corrected with the capacity the
+ * service reports as actually consumed. One throttle is meant to be shared by
+ * all the mappers and threads writing to the same tables.
+ *
+ * @see DynamoDBMapperConfig.BatchPipeline
+ */
+@ThreadSafe
+public class WriteCapacityThrottle {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, TokenBucket> buckets =
+            new ConcurrentHashMap<String, TokenBucket>();
+
+    /**
+     * Sets the write capacity, in units per second, that batch writes may
+     * consume on the given table.
+     *
+     * @param tableName
+     *            The name of the table, after any table name override.
+     * @param writeCapacityUnitsPerSecond
+     *            The write capacity, or a non-positive value to remove the
+     *            limit.
+     */
+    public void setWriteCapacity(String tableName, double writeCapacityUnitsPerSecond) {
+        if (writeCapacityUnitsPerSecond > 0) {
+            buckets.put(tableName, new TokenBucket(writeCapacityUnitsPerSecond));
+        } else {
+            buckets.remove(tableName);
+        }
+    }
+
+    /**
+     * Sets the write capacity, in units per second, that batch writes may
+     * consume on the given table.
+     *
+     * @return this throttle
+     * @see #setWriteCapacity(String, double)
+     */
+    public WriteCapacityThrottle withWriteCapacity(String tableName, double writeCapacityUnitsPerSecond) {
+        setWriteCapacity(tableName, writeCapacityUnitsPerSecond);
+        return this;
+    }
+
+    /**
+     * Returns the write capacity, in units per second, that batch writes may
+     * consume on the given table, or a negative value if there is no limit.
+     */
+    public double getWriteCapacity(String tableName) {
+        TokenBucket bucket = buckets.get(tableName);
+        return bucket == null ? -1 : bucket.fillRate;
+    }
+
+    /**
+     * Waits until the given number of write capacity units may be consumed on
+     * the given table.
+     *
+     * @return The time waited, in milliseconds.
+     * @throws InterruptedException
+     *             If interrupted while waiting.
+     */
+    public long acquire(String tableName, double units) throws InterruptedException {
+        TokenBucket bucket = buckets.get(tableName);
+        if (bucket == null) {
+            return 0;
+        }
+        long waitNanos = bucket.take(units);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    /**
+     * Corrects the units acquired on the given table once the capacity
+     * actually consumed is known: a positive adjustment is taken from the
+     * capacity available to later writes, a negative one is given back.
+     */
+    public void adjust(String tableName, double units) {
+        TokenBucket bucket = buckets.get(tableName);
+        if (bucket != null) {
+            bucket.take(units);
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double fillRate;
+        /** Available units. Negative while callers are waiting for units. */
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+
+        TokenBucket(double fillRate) {
+            this.fillRate = fillRate;
+            this.tokens = fillRate;
+        }
+
+        /**
+         * Takes the given units, and returns how long the caller has to wait
+         * for them to be available.
+         */
+        synchronized long take(double units) {
+            long now = System.nanoTime();
+            // Allow bursts of up to one second worth of capacity
+            tokens = Math.min(fillRate, tokens + (now - lastRefillNanos) / NANOS_PER_SECOND * fillRate);
+            lastRefillNanos = now;
+            tokens -= units;
+            return tokens >= 0 ? 0 : (long) (-tokens / fillRate * NANOS_PER_SECOND);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchPipeline;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchWriteRetryStrategy;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+public class BatchPipelineTest {
+
+    private static final String TABLE_NAME = "pipelineTable";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Leaves the last item of every other request unprocessed, records the
+     * items written and loaded, and the highest number of concurrent
+     * requests.
+     */
+    private static class StubClient extends AmazonDynamoDBClient {
+
+        private final Set<String> written = Collections.synchronizedSet(new HashSet<String>());
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger concurrentRequests = new AtomicInteger();
+        private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+        private final boolean alwaysUnprocessed;
+
+        StubClient(boolean alwaysUnprocessed) {
+            super(new BasicAWSCredentials("akid", "skid"));
+            this.alwaysUnprocessed = alwaysUnprocessed;
+        }
+
+        @Override
+        public BatchWriteItemResult batchWriteItem(BatchWriteItemRequest request) {
+            enter();
+            try {
+                List<WriteRequest> items = request.getRequestItems().get(TABLE_NAME);
+                assertTrue(items.size() <= DynamoDBMapper.MAX_ITEMS_PER_BATCH);
+                int processed = unprocessed() ? items.size() - 1 : items.size();
+                for (WriteRequest item : items.subList(0, processed)) {
+                    written.add(item.getPutRequest().getItem().get("hash").getS());
+                }
+                Map<String, List<WriteRequest>> unprocessedItems = new HashMap<String, List<WriteRequest>>();
+                if (processed < items.size()) {
+                    unprocessedItems.put(TABLE_NAME, new ArrayList<WriteRequest>(items.subList(processed, items.size())));
+                }
+                return new BatchWriteItemResult().withUnprocessedItems(unprocessedItems);
+            } finally {
+                concurrentRequests.decrementAndGet();
+            }
+        }
+
+        @Override
+        public BatchGetItemResult batchGetItem(BatchGetItemRequest request) {
+            enter();
+            try {
+                List<Map<String, AttributeValue>> keys = request.getRequestItems().get(TABLE_NAME).getKeys();
+                assertTrue(keys.size() <= BatchLoadPipelineTask.MAX_KEYS_PER_BATCH);
+                int processed = unprocessed() ? keys.size() - 1 : keys.size();
+                BatchGetItemResult result = new BatchGetItemResult()
+                        .withResponses(Collections.singletonMap(TABLE_NAME, keys.subList(0, processed)));
+                if (processed < keys.size()) {
+                    result.setUnprocessedKeys(Collections.singletonMap(TABLE_NAME,
+                            new KeysAndAttributes().withKeys(keys.subList(processed, keys.size()))));
+                }
+                return result;
+            } finally {
+                concurrentRequests.decrementAndGet();
+            }
+        }
+
+        private void enter() {
+            int concurrent = concurrentRequests.incrementAndGet();
+            for (int max = maxConcurrentRequests.get(); concurrent > max; max = maxConcurrentRequests.get()) {
+                if (maxConcurrentRequests.compareAndSet(max, concurrent)) {
+                    break;
+                }
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private boolean unprocessed() {
+            return alwaysUnprocessed || requests.incrementAndGet() % 2 == 0;
+        }
+    }
+
+    @Test
+    public void testPipelinedBatchSaveRequeuesUnprocessedItems() {
+        StubClient client = new StubClient(false);
+        DynamoDBMapper mapper = new DynamoDBMapper(client, config(3, -1));
+
+        List<FailedBatch> failedBatches = mapper.batchSave(items(500));
+
+        assertEquals(0, failedBatches.size());
+        assertEquals(500, client.written.size());
+        assertTrue(client.maxConcurrentRequests.get() > 1);
+        assertTrue(client.maxConcurrentRequests.get() <= 3);
+    }
+
+    @Test
+    public void testPipelinedBatchSaveFailsItemsAfterMaxRetries() {
+        StubClient client = new StubClient(true);
+        DynamoDBMapper mapper = new DynamoDBMapper(client, config(2, 2));
+
+        List<FailedBatch> failedBatches = mapper.batchSave(items(50));
+
+        // The last item of each batch is never processed
+        int failedItems = 0;
+        for (FailedBatch failedBatch : failedBatches) {
+            assertNull(failedBatch.getException());
+            failedItems += failedBatch.getUnprocessedItems().get(TABLE_NAME).size();
+        }
+        assertEquals(50, client.written.size() + failedItems);
+        assertTrue(failedItems > 0);
+    }
+
+    @Test
+    public void testPipelinedBatchLoadRequeuesUnprocessedKeys() {
+        StubClient client = new StubClient(false);
+        DynamoDBMapper mapper = new DynamoDBMapper(client, config(3, -1));
+
+        Map<String, List<Object>> loaded = mapper.batchLoad(items(1000));
+
+        List<Object> objects = loaded.get(TABLE_NAME);
+        assertEquals(1000, objects.size());
+        Set<String> hashes = new HashSet<String>();
+        for (Object object : objects) {
+            hashes.add(((Item) object).getHash());
+        }
+        assertEquals(1000, hashes.size());
+        assertTrue(client.maxConcurrentRequests.get() <= 3);
+    }
+
+    @Test
+    public void testWriteCapacityThrottleLimitsRate() throws InterruptedException {
+        WriteCapacityThrottle throttle = new WriteCapacityThrottle().withWriteCapacity(TABLE_NAME, 100);
+        assertEquals(100, throttle.getWriteCapacity(TABLE_NAME), 0);
+        assertEquals(-1, throttle.getWriteCapacity("unlimited"), 0);
+
+        // The first second worth of capacity is available right away
+        assertEquals(0, throttle.acquire(TABLE_NAME, 100));
+        long start = System.nanoTime();
+        throttle.acquire(TABLE_NAME, 20);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+        assertEquals(0, throttle.acquire("unlimited", 1000));
+    }
+
+    private DynamoDBMapperConfig config(int maxBatchesInFlight, final int maxRetries) {
+        return new DynamoDBMapperConfig.Builder()
+                .withBatchPipeline(new BatchPipeline(executor, maxBatchesInFlight))
+                .withBatchWriteRetryStrategy(new BatchWriteRetryStrategy() {
+                    @Override
+                    public int getMaxRetryOnUnprocessedItems(Map<String, List<WriteRequest>> batchWriteItemInput) {
+                        return maxRetries;
+                    }
+
+                    @Override
+                    public long getDelayBeforeRetryUnprocessedItems(
+                            Map<String, List<WriteRequest>> unprocessedItems, int retriesAttempted) {
+                        return 1;
+                    }
+                })
+                .build();
+    }
+
+    private static List<Item> items(int count) {
+        List<Item> items = new ArrayList<Item>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("hash-" + i));
+        }
+        return items;
+    }
+
+    @DynamoDBTable(tableName = TABLE_NAME)
+    public static class Item {
+
+        private String hash;
+
+        public Item() {
+        }
+
+        public Item(String hash) {
+            this.hash = hash;
+        }
+
+        @DynamoDBHashKey
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+
+public class ParallelScanTaskTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fails the given number of scans with a throttling error before
+     * returning empty, final pages.
+     */
+    private static class ThrottlingClient extends AmazonDynamoDBClient {
+
+        private final AtomicInteger scans = new AtomicInteger();
+        private final int throttledScans;
+
+        ThrottlingClient(int throttledScans) {
+            super(new BasicAWSCredentials("akid", "skid"));
+            this.throttledScans = throttledScans;
+        }
+
+        @Override
+        public ScanResult scan(ScanRequest scanRequest) {
+            if (scans.incrementAndGet() <= throttledScans) {
+                throw new ProvisionedThroughputExceededException("throttled");
+            }
+            return new ScanResult().withCount(0);
+        }
+    }
+
+    @Test
+    public void testSharedExecutorIsNotShutDown() {
+        ThrottlingClient client = new ThrottlingClient(0);
+        ParallelScanTask task = new ParallelScanTask(client, requests(3), executor);
+
+        List<ScanResult> results = task.getNextBatchOfScanResults();
+
+        assertEquals(3, results.size());
+        assertTrue(task.isAllSegmentScanFinished());
+        assertFalse(executor.isShutdown());
+    }
+
+    @Test
+    public void testThrottledSegmentIsRetried() {
+        ThrottlingClient client = new ThrottlingClient(2);
+        ParallelScanTask task = new ParallelScanTask(client, requests(2), executor);
+
+        List<ScanResult> results = task.getNextBatchOfScanResults();
+
+        assertEquals(2, results.size());
+        assertEquals(4, client.scans.get());
+    }
+
+    @Test(expected = ProvisionedThroughputExceededException.class)
+    public void testThrottledSegmentFailsAfterMaxAttempts() {
+        ThrottlingClient client = new ThrottlingClient(Integer.MAX_VALUE);
+        ParallelScanTask task = new ParallelScanTask(client, requests(1), executor);
+
+        task.getNextBatchOfScanResults();
+    }
+
+    private static List<ScanRequest> requests(int totalSegments) {
+        ScanRequest[] requests = new ScanRequest[totalSegments];
+        for (int segment = 0; segment < totalSegments; segment++) {
+            requests[segment] = new ScanRequest("table")
+                    .withSegment(segment)
+                    .withTotalSegments(totalSegments);
+        }
+        return Arrays.asList(requests);
+    }
+}
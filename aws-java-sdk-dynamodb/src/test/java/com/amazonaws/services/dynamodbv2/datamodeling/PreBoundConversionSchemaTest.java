@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+public class PreBoundConversionSchemaTest {
+
+    private static final ItemConverter STANDARD = ConversionSchemas
+            .V2
+            .getConverter(new ConversionSchema.Dependencies());
+
+    private static final ItemConverter PRE_BOUND = ConversionSchemas
+            .preBound(ConversionSchemas.V2)
+            .getConverter(new ConversionSchema.Dependencies());
+
+    @Test
+    public void testPreBound() {
+        ConversionSchema schema = ConversionSchemas.preBound(ConversionSchemas.V2);
+        assertTrue(ConversionSchemas.isPreBound(schema));
+        assertSame(schema, ConversionSchemas.preBound(schema));
+        assertFalse(ConversionSchemas.isPreBound(ConversionSchemas.V2));
+    }
+
+    @Test
+    public void testPreBoundIsCanonical() {
+        ConversionSchema[] schemas = {
+                ConversionSchemas.V1,
+                ConversionSchemas.V2_COMPATIBLE,
+                ConversionSchemas.V2 };
+        for (ConversionSchema schema : schemas) {
+            assertSame(ConversionSchemas.preBound(schema),
+                    ConversionSchemas.preBound(schema));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPreBoundCustomSchema() {
+        ConversionSchemas.preBound(new ConversionSchema() {
+            @Override
+            public ItemConverter getConverter(Dependencies dependencies) {
+                return STANDARD;
+            }
+        });
+    }
+
+    @Test
+    public void testConvertMatchesStandard() throws Exception {
+        assertConvertsLikeStandard("getNativeBoolean", true);
+        assertConvertsLikeStandard("getString", "abc");
+        assertConvertsLikeStandard("getList", Arrays.asList("a", "b"));
+        assertConvertsLikeStandard("getSetMap",
+                Collections.singletonMap("a", Collections.singleton("b")));
+    }
+
+    @Test
+    public void testUnconvertMatchesStandard() throws Exception {
+        AttributeValue list = new AttributeValue().withL(
+                new AttributeValue("a"), new AttributeValue("b"));
+
+        Method getter = TestClass.class.getMethod("getList");
+        Method setter = TestClass.class.getMethod("setList", List.class);
+
+        assertEquals(STANDARD.unconvert(getter, setter, list),
+                PRE_BOUND.unconvert(getter, setter, list));
+        assertEquals(STANDARD.unconvert(getter, setter, list),
+                PRE_BOUND.unconvert(getter, setter, list));
+    }
+
+    private static void assertConvertsLikeStandard(String method, Object value)
+            throws Exception {
+
+        Method getter = TestClass.class.getMethod(method);
+        AttributeValue expected = STANDARD.convert(getter, value);
+
+        // Once to bind the marshaller, once more to use the bound one.
+        assertEquals(expected, PRE_BOUND.convert(getter, value));
+        assertEquals(expected, PRE_BOUND.convert(getter, value));
+    }
+}
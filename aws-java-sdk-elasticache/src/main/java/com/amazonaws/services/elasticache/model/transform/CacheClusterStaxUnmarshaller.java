@@ -18,7 +18,7 @@ package com.amazonaws.services.elasticache.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.elasticache.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class CacheClusterStaxUnmarshaller implements Unmarshaller<CacheCluster,
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return cacheCluster;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return cacheCluster;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("CacheClusterId", targetDepth)) {
                     cacheCluster.setCacheClusterId(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -133,7 +134,7 @@ public class CacheClusterStaxUnmarshaller implements Unmarshaller<CacheCluster,
                     cacheCluster.setSnapshotWindow(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return cacheCluster;
                 }
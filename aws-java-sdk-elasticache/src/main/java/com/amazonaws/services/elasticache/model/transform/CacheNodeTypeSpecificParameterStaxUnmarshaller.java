@@ -18,7 +18,7 @@ package com.amazonaws.services.elasticache.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.elasticache.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class CacheNodeTypeSpecificParameterStaxUnmarshaller implements Unmarshal
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return cacheNodeTypeSpecificParameter;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return cacheNodeTypeSpecificParameter;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("ParameterName", targetDepth)) {
                     cacheNodeTypeSpecificParameter.setParameterName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -75,7 +76,7 @@ public class CacheNodeTypeSpecificParameterStaxUnmarshaller implements Unmarshal
                     cacheNodeTypeSpecificParameter.getCacheNodeTypeSpecificValues().add(CacheNodeTypeSpecificValueStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return cacheNodeTypeSpecificParameter;
                 }
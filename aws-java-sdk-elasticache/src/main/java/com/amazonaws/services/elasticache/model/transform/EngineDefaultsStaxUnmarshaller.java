@@ -18,7 +18,7 @@ package com.amazonaws.services.elasticache.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.elasticache.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class EngineDefaultsStaxUnmarshaller implements Unmarshaller<EngineDefaul
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return engineDefaults;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return engineDefaults;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("CacheParameterGroupFamily", targetDepth)) {
                     engineDefaults.setCacheParameterGroupFamily(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -61,7 +62,7 @@ public class EngineDefaultsStaxUnmarshaller implements Unmarshaller<EngineDefaul
                     engineDefaults.getCacheNodeTypeSpecificParameters().add(CacheNodeTypeSpecificParameterStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return engineDefaults;
                 }
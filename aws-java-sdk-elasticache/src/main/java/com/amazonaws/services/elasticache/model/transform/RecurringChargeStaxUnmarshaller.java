@@ -18,7 +18,7 @@ package com.amazonaws.services.elasticache.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.elasticache.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class RecurringChargeStaxUnmarshaller implements Unmarshaller<RecurringCh
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return recurringCharge;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return recurringCharge;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("RecurringChargeAmount", targetDepth)) {
                     recurringCharge.setRecurringChargeAmount(DoubleStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -53,7 +54,7 @@ public class RecurringChargeStaxUnmarshaller implements Unmarshaller<RecurringCh
                     recurringCharge.setRecurringChargeFrequency(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return recurringCharge;
                 }
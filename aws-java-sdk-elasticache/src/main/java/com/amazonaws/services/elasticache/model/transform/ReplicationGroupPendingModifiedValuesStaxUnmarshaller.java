@@ -18,7 +18,7 @@ package com.amazonaws.services.elasticache.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.elasticache.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class ReplicationGroupPendingModifiedValuesStaxUnmarshaller implements Un
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return replicationGroupPendingModifiedValues;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return replicationGroupPendingModifiedValues;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("PrimaryClusterId", targetDepth)) {
                     replicationGroupPendingModifiedValues.setPrimaryClusterId(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -51,7 +52,7 @@ public class ReplicationGroupPendingModifiedValuesStaxUnmarshaller implements Un
                     replicationGroupPendingModifiedValues.setAutomaticFailoverStatus(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return replicationGroupPendingModifiedValues;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.elasticache.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.elasticache.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class ReservedCacheNodeStaxUnmarshaller implements Unmarshaller<ReservedC
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return reservedCacheNode;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return reservedCacheNode;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("ReservedCacheNodeId", targetDepth)) {
                     reservedCacheNode.setReservedCacheNodeId(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -93,7 +94,7 @@ public class ReservedCacheNodeStaxUnmarshaller implements Unmarshaller<ReservedC
                     reservedCacheNode.getRecurringCharges().add(RecurringChargeStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return reservedCacheNode;
                 }
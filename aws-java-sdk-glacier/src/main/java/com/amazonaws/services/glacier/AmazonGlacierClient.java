@@ -28,6 +28,7 @@ import com.amazonaws.handlers.*;
 import com.amazonaws.http.*;
 import com.amazonaws.regions.*;
 import com.amazonaws.internal.*;
+import com.amazonaws.internal.http.JsonErrorCodeParser;
 import com.amazonaws.metrics.*;
 import com.amazonaws.transform.*;
 import com.amazonaws.util.*;
@@ -101,10 +102,16 @@ public class AmazonGlacierClient extends AmazonWebServiceClient implements Amazo
 
     private static final Log log = LogFactory.getLog(AmazonGlacier.class);
 
+    /**
+     * Glacier sends the error code in the "code" field of the error response
+     * content, instead of the commonly-used "__type".
+     */
+    private static final JsonErrorCodeParser ERROR_CODE_PARSER = new JsonErrorCodeParser("code");
+
     /**
      * List of exception unmarshallers for all AmazonGlacier exceptions.
      */
-    protected List<GlacierErrorUnmarshaller> jsonErrorUnmarshallers;
+    protected List<JsonErrorUnmarshallerV2> jsonErrorUnmarshallers;
 
     /**
      * Constructs a new client to invoke service methods on
@@ -252,16 +259,16 @@ public class AmazonGlacierClient extends AmazonWebServiceClient implements Amazo
     }
 
     private void init() {
-        jsonErrorUnmarshallers = new ArrayList<GlacierErrorUnmarshaller>();
-        jsonErrorUnmarshallers.add(new InvalidParameterValueExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new LimitExceededExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new MissingParameterValueExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new PolicyEnforcedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new RequestTimeoutExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new ServiceUnavailableExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new ResourceNotFoundExceptionUnmarshaller());
+        jsonErrorUnmarshallers = new ArrayList<JsonErrorUnmarshallerV2>();
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(InvalidParameterValueException.class, "InvalidParameterValueException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(LimitExceededException.class, "LimitExceededException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(MissingParameterValueException.class, "MissingParameterValueException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(PolicyEnforcedException.class, "PolicyEnforcedException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(RequestTimeoutException.class, "RequestTimeoutException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(ServiceUnavailableException.class, "ServiceUnavailableException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(ResourceNotFoundException.class, "ResourceNotFoundException"));
         
-        jsonErrorUnmarshallers.add(new GlacierErrorUnmarshaller());
+        jsonErrorUnmarshallers.add(JsonErrorUnmarshallerV2.DEFAULT_UNMARSHALLER);
         
         // calling this.setEndPoint(...) will also modify the signer accordingly
         this.setEndpoint("glacier.us-east-1.amazonaws.com");
@@ -2966,7 +2973,7 @@ public class AmazonGlacierClient extends AmazonWebServiceClient implements Amazo
         }
 
         executionContext.setCredentials(credentials);
-        JsonErrorResponseHandler errorResponseHandler = new JsonErrorResponseHandler(jsonErrorUnmarshallers);
+        JsonErrorResponseHandlerV2 errorResponseHandler = new JsonErrorResponseHandlerV2(jsonErrorUnmarshallers, ERROR_CODE_PARSER);
         Response<X> result = client.execute(request, responseHandler,
                 errorResponseHandler, executionContext);
         return result;
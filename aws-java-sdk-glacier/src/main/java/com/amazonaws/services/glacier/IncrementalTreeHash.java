@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.glacier;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.annotation.NotThreadSafe;
+
+/**
+ * Computes a tree hash incrementally as data is fed to it.
+ * <p>
+ * Data is hashed in one megabyte chunks as it arrives, and the chunk hashes
+ * are folded into the tree as soon as they pair up, so only one pending hash
+ * per level of the tree is kept: computing the tree hash of a terabyte takes
+ * about twenty hashes worth of memory. Data can be given as byte arrays or as
+ * {@link ByteBuffer}s, including memory-mapped regions of a file.
+ * <p>
+ * To hash a large input in parallel, split it into adjacent ranges that are
+ * all the same power-of-two number of megabytes long (except for the last one,
+ * which may be shorter), compute the tree hash of each range with its own
+ * instance, and combine the range hashes in order with
+ * {@link TreeHashGenerator#calculateTreeHash(java.util.List)}.
+ */
+@NotThreadSafe
+public class IncrementalTreeHash {
+
+    private static final int MB = 1024 * 1024;
+
+    /** Digest of the current one megabyte chunk. */
+    private final MessageDigest chunkDigest;
+
+    /** Digest used to combine pairs of hashes. */
+    private final MessageDigest nodeDigest;
+
+    /**
+     * Pending hash for each level of the tree, or null. The hash at index n
+     * covers 2^n chunks.
+     */
+    private byte[][] levels = new byte[16][];
+
+    /** Number of bytes of the current chunk hashed so far. */
+    private int chunkBytes;
+
+    private long length;
+
+    public IncrementalTreeHash() {
+        chunkDigest = newDigest();
+        nodeDigest = newDigest();
+    }
+
+    /**
+     * Hashes the given bytes.
+     *
+     * @return This object, for chaining.
+     */
+    public IncrementalTreeHash update(byte[] bytes) {
+        return update(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Hashes the specified range of the given bytes.
+     *
+     * @return This object, for chaining.
+     */
+    public IncrementalTreeHash update(byte[] bytes, int offset, int len) {
+        while (len > 0) {
+            int n = Math.min(len, MB - chunkBytes);
+            chunkDigest.update(bytes, offset, n);
+            offset += n;
+            len -= n;
+            hashed(n);
+        }
+        return this;
+    }
+
+    /**
+     * Hashes the remaining bytes of the given buffer, leaving its position at
+     * its limit.
+     *
+     * @return This object, for chaining.
+     */
+    public IncrementalTreeHash update(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        while (buffer.hasRemaining()) {
+            int n = Math.min(buffer.remaining(), MB - chunkBytes);
+            buffer.limit(buffer.position() + n);
+            chunkDigest.update(buffer);
+            buffer.limit(limit);
+            hashed(n);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes hashed since this object was created or
+     * last reset.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Completes the computation and returns the binary tree hash of all the
+     * bytes hashed so far, then resets this object so it can be reused.
+     */
+    public byte[] digest() {
+        byte[] result = null;
+        if (chunkBytes > 0 || length == 0) {
+            result = chunkDigest.digest();
+        }
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != null) {
+                result = result == null ? levels[i] : combine(levels[i], result);
+                levels[i] = null;
+            }
+        }
+        chunkBytes = 0;
+        length = 0;
+        return result;
+    }
+
+    /**
+     * Discards everything hashed so far.
+     */
+    public void reset() {
+        chunkDigest.reset();
+        Arrays.fill(levels, null);
+        chunkBytes = 0;
+        length = 0;
+    }
+
+    private void hashed(int n) {
+        chunkBytes += n;
+        length += n;
+        if (chunkBytes == MB) {
+            addChunkHash(chunkDigest.digest());
+            chunkBytes = 0;
+        }
+    }
+
+    private void addChunkHash(byte[] hash) {
+        int level = 0;
+        while (level < levels.length && levels[level] != null) {
+            hash = combine(levels[level], hash);
+            levels[level] = null;
+            level++;
+        }
+        if (level == levels.length) {
+            levels = Arrays.copyOf(levels, levels.length * 2);
+        }
+        levels[level] = hash;
+    }
+
+    private byte[] combine(byte[] left, byte[] right) {
+        nodeDigest.update(left);
+        nodeDigest.update(right);
+        return nodeDigest.digest();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AmazonClientException("Unable to compute hash", e);
+        }
+    }
+}
@@ -14,19 +14,22 @@
  */
 package com.amazonaws.services.glacier;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.internal.ResettableInputStream;
-import com.amazonaws.services.glacier.internal.TreeHashInputStream;
 import com.amazonaws.util.BinaryUtils;
 
 /**
@@ -37,6 +40,17 @@ import com.amazonaws.util.BinaryUtils;
  */
 public class TreeHashGenerator {
 
+    private static final long MB = 1024L * 1024;
+
+    /** Size of the buffers used to read data to hash. */
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /** Smallest range of a file hashed by one task when hashing in parallel. */
+    private static final long MIN_PARALLEL_RANGE_SIZE = 16 * MB;
+
+    /** Number of ranges a file is split into, at most, when hashing in parallel. */
+    private static final int MAX_PARALLEL_RANGES = 256;
+
 	/**
 	 * Calculates a hex encoded binary hash using a tree hashing algorithm for
 	 * the data in the specified file.
@@ -84,18 +98,119 @@ public class TreeHashGenerator {
     public static String calculateTreeHash(InputStream input)
             throws AmazonClientException {
         try {
-            TreeHashInputStream treeHashInputStream =
-                new TreeHashInputStream(input);
-            byte[] buffer = new byte[1024];
-            while (treeHashInputStream.read(buffer, 0, buffer.length) != -1);
-            // closing is currently required to compute the checksum 
-            treeHashInputStream.close();
-            return calculateTreeHash(treeHashInputStream.getChecksums());
+            IncrementalTreeHash treeHash = new IncrementalTreeHash();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = input.read(buffer, 0, buffer.length)) != -1) {
+                treeHash.update(buffer, 0, bytesRead);
+            }
+            input.close();
+            return BinaryUtils.toHex(treeHash.digest());
         } catch (Exception e) {
             throw new AmazonClientException("Unable to compute hash", e);
         }
     }
 
+	/**
+	 * Calculates a hex encoded binary hash using a tree hashing algorithm for
+	 * the data in the specified file, hashing ranges of the file in parallel
+	 * on the given executor.
+	 * 
+	 * @param file
+	 *            The file containing the data to hash.
+	 * @param executor
+	 *            The executor used to hash ranges of the file in parallel.
+	 *            It is not shut down by this method.
+	 * 
+	 * @return The hex encoded binary tree hash for the data in the specified
+	 *         file.
+	 * 
+	 * @throws AmazonClientException
+	 *             If any problems were encountered reading the data or
+	 *             computing the hash.
+	 */
+    public static String calculateTreeHash(File file, ExecutorService executor)
+            throws AmazonClientException {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            final FileChannel channel = raf.getChannel();
+            final long length = channel.size();
+
+            // Ranges are the same power-of-two number of megabytes long, so
+            // that their hashes combine into the tree hash of the file.
+            long rangeSize = MIN_PARALLEL_RANGE_SIZE;
+            while (rangeSize * MAX_PARALLEL_RANGES < length) {
+                rangeSize *= 2;
+            }
+            if (length <= rangeSize) {
+                return BinaryUtils.toHex(hashRange(channel, 0, length));
+            }
+
+            List<Future<byte[]>> futures = new ArrayList<Future<byte[]>>();
+            try {
+                for (long position = 0; position < length; position += rangeSize) {
+                    final long start = position;
+                    final long end = Math.min(position + rangeSize, length);
+                    futures.add(executor.submit(new Callable<byte[]>() {
+                        public byte[] call() throws IOException {
+                            return hashRange(channel, start, end);
+                        }
+                    }));
+                }
+                List<byte[]> rangeHashes = new ArrayList<byte[]>(futures.size());
+                for (Future<byte[]> future : futures) {
+                    rangeHashes.add(future.get());
+                }
+                return calculateTreeHash(rangeHashes);
+            } finally {
+                for (Future<byte[]> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new AmazonClientException("Unable to compute hash for file: "
+                    + file.getAbsolutePath(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while computing hash for file: "
+                    + file.getAbsolutePath(), e);
+        } catch (IOException e) {
+            throw new AmazonClientException("Unable to compute hash for file: "
+                    + file.getAbsolutePath(), e);
+        } finally {
+            if (raf != null) {
+                try { raf.close(); } catch ( Exception e ) {}
+            }
+        }
+    }
+
+    /**
+     * Returns the binary tree hash of the bytes of the given channel between
+     * the given start (inclusive) and end (exclusive) positions. Uses
+     * positional reads, so several ranges of the same channel can be hashed
+     * concurrently.
+     */
+    private static byte[] hashRange(FileChannel channel, long start, long end) throws IOException {
+        IncrementalTreeHash treeHash = new IncrementalTreeHash();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = start;
+        while (position < end) {
+            buffer.clear();
+            if (end - position < buffer.capacity()) {
+                buffer.limit((int) (end - position));
+            }
+            int bytesRead = channel.read(buffer, position);
+            if (bytesRead < 0) {
+                throw new IOException("Unexpected end of file at position " + position);
+            }
+            position += bytesRead;
+            buffer.flip();
+            treeHash.update(buffer);
+        }
+        return treeHash.digest();
+    }
+
 	/**
 	 * Returns the hex encoded binary tree hash for the individual checksums
 	 * given. The sums are assumed to have been generated from sequential 1MB
@@ -118,44 +233,27 @@ public class TreeHashGenerator {
          * one element. Any final odd-numbered parts at each step are carried
          * over to the next iteration as-is.
          */
-        List<byte[]> hashes = new ArrayList<byte[]>();
-        hashes.addAll(checksums);
-        while ( hashes.size() > 1 ) {
-            List<byte[]> treeHashes = new ArrayList<byte[]>();
-            for ( int i = 0; i < hashes.size() / 2; i++ ) {
-                byte[] firstPart = hashes.get(2 * i);
-                byte[] secondPart = hashes.get(2 * i + 1);
-                byte[] concatenation = new byte[firstPart.length + secondPart.length];
-                System.arraycopy(firstPart, 0, concatenation, 0, firstPart.length);
-                System.arraycopy(secondPart, 0, concatenation, firstPart.length, secondPart.length);
-                try {
-					treeHashes.add(computeSHA256Hash(concatenation));
-				} catch (Exception e) {
-					throw new AmazonClientException("Unable to compute hash", e);
-				}
+        if (checksums.isEmpty()) {
+            throw new AmazonClientException("Unable to compute hash: no checksums given");
+        }
+        byte[][] hashes = checksums.toArray(new byte[checksums.size()][]);
+        MessageDigest messageDigest = IncrementalTreeHash.newDigest();
+        int count = hashes.length;
+        while ( count > 1 ) {
+            int pairs = count / 2;
+            for ( int i = 0; i < pairs; i++ ) {
+                messageDigest.update(hashes[2 * i]);
+                messageDigest.update(hashes[2 * i + 1]);
+                hashes[i] = messageDigest.digest();
             }
-            if ( hashes.size() % 2 == 1 ) {
-                treeHashes.add(hashes.get(hashes.size() - 1));
+            if ( count % 2 == 1 ) {
+                hashes[pairs] = hashes[count - 1];
+                count = pairs + 1;
+            } else {
+                count = pairs;
             }
-            hashes = treeHashes;
         }
 
-        return BinaryUtils.toHex(hashes.get(0));
-    }
-    
-
-    private static byte[] computeSHA256Hash(byte[] data) throws NoSuchAlgorithmException, IOException {
-        BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(data));
-        try {
-            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-            byte[] buffer = new byte[16384];
-            int bytesRead = -1;
-            while ( (bytesRead = bis.read(buffer, 0, buffer.length)) != -1 ) {
-                messageDigest.update(buffer, 0, bytesRead);
-            }
-            return messageDigest.digest();
-        } finally {
-            try { bis.close(); } catch ( Exception e ) {}
-        }
+        return BinaryUtils.toHex(hashes[0]);
     }
 }
@@ -24,8 +24,10 @@ import com.amazonaws.AmazonServiceException;
 public class InvalidParameterValueException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("type")
     private String type;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("code")
     private String code;
     
     /**
@@ -26,8 +26,10 @@ import com.amazonaws.AmazonServiceException;
 public class PolicyEnforcedException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("type")
     private String type;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("code")
     private String code;
     
     /**
@@ -27,9 +27,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.NoSuchAlgorithmException;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -39,8 +46,11 @@ import com.amazonaws.AmazonServiceException;
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.event.DeliveryMode;
+import com.amazonaws.event.ProgressEvent;
 import com.amazonaws.event.ProgressEventType;
 import com.amazonaws.event.ProgressListener;
+import com.amazonaws.event.SyncProgressListener;
 import com.amazonaws.internal.ResettableInputStream;
 import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.services.glacier.AmazonGlacier;
@@ -69,6 +79,15 @@ import com.amazonaws.util.BinaryUtils;
 
 /**
  * Utilities for uploading and downloading data to and from AWS Glacier.
+ * <p>
+ * When constructed with an executor, the parts of a multipart upload and the
+ * chunks of a download are transferred concurrently, and the progress events
+ * of a transfer are published from the executor threads. Progress listeners
+ * are still called one event at a time: listeners are by default called back
+ * on the single thread of {@link com.amazonaws.event.SDKProgressPublisher},
+ * and calls to listeners that are safe to be called synchronously (see
+ * {@link DeliveryMode}) are serialized by this manager. The byte transfer
+ * events of the different parts or chunks are interleaved.
  */
 public class ArchiveTransferManager {
 
@@ -98,6 +117,12 @@ public class ArchiveTransferManager {
 
     private final AmazonSNSClient sns;
 
+    /**
+     * Executor used to upload parts and download chunks concurrently, or null
+     * to transfer them one at a time on the calling thread.
+     */
+    private final ExecutorService executorService;
+
     private static final Log log = LogFactory.getLog(ArchiveTransferManager.class);
 
     /**
@@ -163,11 +188,43 @@ public class ArchiveTransferManager {
      *            timeouts.
      */
     public ArchiveTransferManager(AmazonGlacierClient glacier, AWSCredentialsProvider credentialsProvider, ClientConfiguration clientConfiguration) {
+        this(glacier, credentialsProvider, clientConfiguration, null);
+    }
+
+    /**
+     * Constructs a new ArchiveTransferManager, using the specified Amazon
+     * Glacier client, AWS credentials provider and client configuration, and
+     * the specified executor to upload the parts of multipart uploads and to
+     * download the chunks of job output concurrently.
+     * <p>
+     * The executor is not shut down by this ArchiveTransferManager; callers
+     * remain responsible for shutting it down. The number of connections
+     * allowed by the client configuration of the Glacier client should be at
+     * least the number of threads of the executor.
+     * <p>
+     * Progress events are published from the threads of the executor, but a
+     * progress listener is never called concurrently; see
+     * {@link ArchiveTransferManager}.
+     *
+     * @param glacier
+     *            The client for working with Amazon Glacier.
+     * @param credentialsProvider
+     *            The AWS credentials provider used to authenticate requests.
+     * @param clientConfiguration
+     *            Client specific options, such as proxy settings, retries, and
+     *            timeouts.
+     * @param executorService
+     *            The executor used to transfer parts and chunks concurrently,
+     *            or null to transfer them one at a time on the calling thread.
+     */
+    public ArchiveTransferManager(AmazonGlacierClient glacier, AWSCredentialsProvider credentialsProvider,
+            ClientConfiguration clientConfiguration, ExecutorService executorService) {
         this.credentialsProvider = credentialsProvider;
         this.clientConfiguration = clientConfiguration;
         this.glacier = glacier;
         this.sns = null;
         this.sqs = null;
+        this.executorService = executorService;
     }
 
     /**
@@ -190,11 +247,45 @@ public class ArchiveTransferManager {
      *            retrieval job status.
      */
     public ArchiveTransferManager(AmazonGlacierClient glacier, AmazonSQSClient sqs, AmazonSNSClient sns) {
+        this(glacier, sqs, sns, null);
+    }
+
+    /**
+     * Constructs a new ArchiveTransferManager, using the specified Amazon
+     * Glacier client, the specified Amazon SQS and Amazon SNS clients for
+     * polling download job status, and the specified executor to upload the
+     * parts of multipart uploads and to download the chunks of job output
+     * concurrently.
+     * <p>
+     * The executor is not shut down by this ArchiveTransferManager; callers
+     * remain responsible for shutting it down. The number of connections
+     * allowed by the client configuration of the Glacier client should be at
+     * least the number of threads of the executor.
+     * <p>
+     * Progress events are published from the threads of the executor, but a
+     * progress listener is never called concurrently; see
+     * {@link ArchiveTransferManager}.
+     *
+     * @param glacier
+     *            The client for working with Amazon Glacier.
+     * @param sqs
+     *            The client for working with Amazon SQS when polling archive
+     *            retrieval job status.
+     * @param sns
+     *            The client for working with Amazon SNS when polling archive
+     *            retrieval job status.
+     * @param executorService
+     *            The executor used to transfer parts and chunks concurrently,
+     *            or null to transfer them one at a time on the calling thread.
+     */
+    public ArchiveTransferManager(AmazonGlacierClient glacier, AmazonSQSClient sqs, AmazonSNSClient sns,
+            ExecutorService executorService) {
         this.credentialsProvider = null;
         this.clientConfiguration = null;
         this.glacier = glacier;
         this.sqs = sqs;
         this.sns = sns;
+        this.executorService = executorService;
     }
 
     /**
@@ -460,8 +551,9 @@ public class ArchiveTransferManager {
      * Downloads the job output for the specified job (which must be ready to
      * download already, and must be a complete archive retrieval, not a partial
      * range retrieval), into the specified file. This method will request
-     * individual chunks of the data, one at a time, in order to handle any
-     * transient errors along the way.
+     * individual chunks of the data, concurrently if this manager was
+     * constructed with an executor, in order to handle any transient errors
+     * along the way.
      *
      * @param accountId
      *            The account ID containing the job output to download (or null
@@ -482,8 +574,9 @@ public class ArchiveTransferManager {
      * Downloads the job output for the specified job (which must be ready to
      * download already, and must be a complete archive retrieval, not a partial
      * range retrieval), into the specified file. This method will request
-     * individual chunks of the data, one at a time, in order to handle any
-     * transient errors along the way. You can also add an optional progress
+     * individual chunks of the data, concurrently if this manager was
+     * constructed with an executor, in order to handle any transient errors
+     * along the way. You can also add an optional progress
      * listener for receiving updates about the download status.
      *
      * @param accountId
@@ -502,6 +595,7 @@ public class ArchiveTransferManager {
      */
     public void downloadJobOutput(String accountId, String vaultName,
             String jobId, File file, ProgressListener progressListener) {
+        progressListener = serialized(progressListener);
         long archiveSize = 0;
         long chunkSize = DEFAULT_DOWNLOAD_CHUNK_SIZE;
         long currentPosition = 0;
@@ -533,22 +627,37 @@ public class ArchiveTransferManager {
 
         try {
             publishProgress(progressListener, ProgressEventType.TRANSFER_STARTED_EVENT);
-            while (currentPosition < archiveSize) {
-                if (currentPosition + chunkSize > archiveSize) {
-                    endPosition = archiveSize - 1;
-                } else {
-                    endPosition = currentPosition + chunkSize - 1;
-                }
-    
-                // Download the chunk
-                try {
-                    downloadOneChunk(accountId, vaultName, jobId, output,
-                            currentPosition, endPosition, progressListener);
-                } catch (Throwable t) {
-                    publishProgress(progressListener, ProgressEventType.TRANSFER_FAILED_EVENT);
-                    throw failure(t);
+            final FileChannel channel = output.getChannel();
+            List<Future<Void>> chunks = new ArrayList<Future<Void>>();
+            try {
+                while (currentPosition < archiveSize) {
+                    if (currentPosition + chunkSize > archiveSize) {
+                        endPosition = archiveSize - 1;
+                    } else {
+                        endPosition = currentPosition + chunkSize - 1;
+                    }
+
+                    // Download the chunk
+                    final String chunkAccountId = accountId;
+                    final String chunkVaultName = vaultName;
+                    final String chunkJobId = jobId;
+                    final long chunkStart = currentPosition;
+                    final long chunkEnd = endPosition;
+                    final ProgressListener chunkListener = progressListener;
+                    chunks.add(submit(new Callable<Void>() {
+                        public Void call() {
+                            downloadOneChunk(chunkAccountId, chunkVaultName, chunkJobId, channel,
+                                    chunkStart, chunkEnd, chunkListener);
+                            return null;
+                        }
+                    }));
+                    currentPosition += chunkSize;
                 }
-                currentPosition += chunkSize;
+                waitForAll(chunks);
+            } catch (Throwable t) {
+                cancelAll(chunks);
+                publishProgress(progressListener, ProgressEventType.TRANSFER_FAILED_EVENT);
+                throw failure(t);
             }
             publishProgress(progressListener, ProgressEventType.TRANSFER_COMPLETED_EVENT);
         } finally {
@@ -572,7 +681,7 @@ public class ArchiveTransferManager {
      * errors are encountered while streaming the data from Amazon Glacier.
      */
     private void downloadOneChunk(String accountId, String vaultName,
-            String jobId, RandomAccessFile output, long currentPosition,
+            String jobId, FileChannel output, long currentPosition,
             long endPosition, ProgressListener progressListener) {
         final long chunkSize = endPosition - currentPosition + 1;
         TreeHashInputStream input = null;
@@ -589,7 +698,7 @@ public class ArchiveTransferManager {
                 GetJobOutputResult jobOutputResult = glacier.getJobOutput(req);
                 try {
                     input = new TreeHashInputStream(new BufferedInputStream(jobOutputResult.getBody()));
-                    appendToFile(output, input);
+                    writeToFile(output, input, currentPosition);
                 } catch (NoSuchAlgorithmException e) {
                     throw failure(e, "Unable to compute hash for data integrity");
                 } finally {
@@ -624,11 +733,6 @@ public class ArchiveTransferManager {
                                 + currentPosition + " endPosition="
                                 + endPosition);
                     }
-                    try {
-                        output.seek(currentPosition);
-                    } catch (IOException e) {
-                        throw new AmazonClientException("Unable to download the archive: " + ioe.getMessage(), e);
-                    }
                 } else {
                     throw new AmazonClientException("Unable to download the archive: " + ioe.getMessage(), ioe);
                 }
@@ -637,9 +741,11 @@ public class ArchiveTransferManager {
     }
 
     /**
-     * Writes the data from the given input stream to the given output stream.
+     * Writes the data from the given input stream to the given file channel,
+     * starting at the given position. Positional writes leave the position of
+     * the channel alone, so chunks can be written concurrently.
      */
-    private void appendToFile(RandomAccessFile output, InputStream input)
+    private void writeToFile(FileChannel output, InputStream input, long position)
             throws IOException {
         byte[] buffer = new byte[1024 * 1024];
         int bytesRead = 0;
@@ -647,11 +753,76 @@ public class ArchiveTransferManager {
             bytesRead = input.read(buffer);
             if (bytesRead < 0)
                 break;
-            output.write(buffer, 0, bytesRead);
+            ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, bytesRead);
+            while (bytes.hasRemaining()) {
+                position += output.write(bytes, position);
+            }
         } while (bytesRead > 0);
         return;
     }
 
+    /**
+     * Returns a listener that delivers the events to the given listener one at
+     * a time if the listener is called synchronously from the threads of the
+     * executor of this manager; or the given listener itself otherwise, since
+     * the asynchronous callbacks of {@link com.amazonaws.event.SDKProgressPublisher}
+     * are already made sequentially on a single thread.
+     */
+    private ProgressListener serialized(ProgressListener listener) {
+        if (executorService == null || listener == null
+                || !DeliveryMode.Check.isSyncCallSafe(listener)) {
+            return listener;
+        }
+        return new SerializedProgressListener(listener);
+    }
+
+    /**
+     * Runs the given task on the executor of this manager, or right away on
+     * the calling thread if there is none, in which case a failure of the task
+     * is rethrown right away.
+     */
+    private <T> Future<T> submit(Callable<T> task) throws Throwable {
+        if (executorService != null) {
+            return executorService.submit(task);
+        }
+        FutureTask<T> future = new FutureTask<T>(task);
+        future.run();
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+        return future;
+    }
+
+    /**
+     * Waits for all the given tasks to complete and returns their results in
+     * order. If any task fails, the remaining tasks are cancelled and the
+     * failure is rethrown.
+     */
+    private <T> List<T> waitForAll(List<Future<T>> futures) throws Throwable {
+        List<T> results = new ArrayList<T>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        return results;
+    }
+
+    private void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
     /**
      * Calculates the part size to use when uploading an archive of the
      * specified size using Glacier's multipart upload APIs. Because of the tree
@@ -677,6 +848,7 @@ public class ArchiveTransferManager {
     private UploadResult uploadInMultipleParts(final String accountId,
             final String vaultName, final String archiveDescription,
             final File file, ProgressListener progressListener) {
+        progressListener = serialized(progressListener);
         final long partSize = calculatePartSize(file.length());
         String partSizeString = Long.toString(partSize);
 
@@ -697,53 +869,32 @@ public class ArchiveTransferManager {
         final String fileNotFoundMsg = "Unable to find file '"
                 + file.getAbsolutePath() + "'";
         try {
-            List<byte[]> binaryChecksums = new LinkedList<byte[]>();
-
-            long currentPosition = 0;
-            while (currentPosition < file.length()) {
-                long length = partSize;
-                if (currentPosition + partSize > file.length()) {
-                    length = file.length() - currentPosition;
-                }
+            List<Future<byte[]>> parts = new ArrayList<Future<byte[]>>();
+            try {
+                long currentPosition = 0;
+                while (currentPosition < file.length()) {
+                    long length = partSize;
+                    if (currentPosition + partSize > file.length()) {
+                        length = file.length() - currentPosition;
+                    }
 
-                Exception failedException = null;
-                boolean completed = false;
-                int tries = 0;
-                    while (!completed && tries < 5){
-                        tries++;
-                        InputSubstream inputSubStream = null;
-                        try {
-                            inputSubStream = new InputSubstream(
-                                    newResettableInputStream(file, fileNotFoundMsg)
-                                        .disableClose(), // requires explicit release
-                                    currentPosition, length, true);
-                            String checksum = TreeHashGenerator.calculateTreeHash(inputSubStream);
-                            byte[] binaryChecksum = BinaryUtils.fromHex(checksum);
-                            inputSubStream.reset();
-                            UploadMultipartPartRequest req = new UploadMultipartPartRequest()
-                                .withAccountId(accountId)
-                                .withChecksum(checksum)
-                                .withBody(inputSubStream)
-                                .withRange("bytes " + currentPosition + "-" + (currentPosition + length - 1) + "/*")
-                                .withUploadId(uploadId)
-                                .withVaultName(vaultName)
-                                .withGeneralProgressListener(progressListener)
-                                ;
-                            
-                            glacier.uploadMultipartPart(req);
-                            completed = true;
-                            binaryChecksums.add(binaryChecksum);
-                        } catch (Exception e){
-                            failedException = e;
-                        } finally {
-                            // We opened the file underneath; so need to release it
-                            release(inputSubStream, log);
+                    final String partUploadId = uploadId;
+                    final long partStart = currentPosition;
+                    final long partLength = length;
+                    final ProgressListener partListener = progressListener;
+                    parts.add(submit(new Callable<byte[]>() {
+                        public byte[] call() throws Exception {
+                            return uploadOnePart(accountId, vaultName, partUploadId, file,
+                                    fileNotFoundMsg, partStart, partLength, partListener);
                         }
-                    } // end inner while
-                if (!completed && failedException!=null)
-                    throw failedException;
-                currentPosition += partSize;
-            } // end outer while
+                    }));
+                    currentPosition += partSize;
+                }
+            } catch (Throwable t) {
+                cancelAll(parts);
+                throw t;
+            }
+            List<byte[]> binaryChecksums = waitForAll(parts);
 
             String checksum = TreeHashGenerator.calculateTreeHash(binaryChecksums);
 
@@ -766,10 +917,59 @@ public class ArchiveTransferManager {
         }
     }
 
+    /**
+     * Uploads one part of a multipart upload, computing the tree hash of the
+     * part on the calling thread and retrying the part up to 5 times.
+     *
+     * @return The binary tree hash of the part.
+     */
+    private byte[] uploadOnePart(String accountId, String vaultName, String uploadId,
+            File file, String fileNotFoundMsg, long currentPosition, long length,
+            ProgressListener progressListener) throws Exception {
+        Exception failedException = null;
+        int tries = 0;
+        while (tries < 5) {
+            tries++;
+            InputSubstream inputSubStream = null;
+            try {
+                inputSubStream = new InputSubstream(
+                        newResettableInputStream(file, fileNotFoundMsg)
+                            .disableClose(), // requires explicit release
+                        currentPosition, length, true);
+                String checksum = TreeHashGenerator.calculateTreeHash(inputSubStream);
+                byte[] binaryChecksum = BinaryUtils.fromHex(checksum);
+                inputSubStream.reset();
+                UploadMultipartPartRequest req = new UploadMultipartPartRequest()
+                    .withAccountId(accountId)
+                    .withChecksum(checksum)
+                    .withBody(inputSubStream)
+                    .withRange("bytes " + currentPosition + "-" + (currentPosition + length - 1) + "/*")
+                    .withUploadId(uploadId)
+                    .withVaultName(vaultName)
+                    .withGeneralProgressListener(progressListener)
+                    ;
+
+                glacier.uploadMultipartPart(req);
+                return binaryChecksum;
+            } catch (Exception e){
+                failedException = e;
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+            } finally {
+                // We opened the file underneath; so need to release it
+                release(inputSubStream, log);
+            }
+        }
+        throw failedException;
+    }
+
     private UploadResult uploadInSinglePart(final String accountId,
             final String vaultName, final String archiveDescription,
             final File file, ProgressListener progressListener) {
-        String checksum = TreeHashGenerator.calculateTreeHash(file);
+        String checksum = executorService == null
+                ? TreeHashGenerator.calculateTreeHash(file)
+                : TreeHashGenerator.calculateTreeHash(file, executorService);
         ResettableInputStream is = newResettableInputStream(file);
         try {
             publishProgress(progressListener, ProgressEventType.TRANSFER_STARTED_EVENT);
@@ -794,4 +994,21 @@ public class ArchiveTransferManager {
             is.release();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Synchronous progress listener that calls the wrapped listener with one
+     * event at a time.
+     */
+    private static final class SerializedProgressListener extends SyncProgressListener {
+        private final ProgressListener listener;
+
+        SerializedProgressListener(ProgressListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public synchronized void progressChanged(ProgressEvent progressEvent) {
+            listener.progressChanged(progressEvent);
+        }
+    }
+}
@@ -1,43 +0,0 @@
-/*
- * Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
- *
- * Licensed under the Apache License, Version 2.0 (the "License").
- * You may not use this file except in compliance with the License.
- * A copy of the License is located at
- *
- *  http://aws.amazon.com/apache2.0
- *
- * or in the "license" file accompanying this file. This file is distributed
- * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
- * express or implied. See the License for the specific language governing
- * permissions and limitations under the License.
- */
-package com.amazonaws.transform;
-
-import com.amazonaws.AmazonServiceException;
-import com.amazonaws.transform.JsonErrorUnmarshaller;
-import com.amazonaws.util.json.JSONObject;
-
-public class GlacierErrorUnmarshaller extends JsonErrorUnmarshaller {
-
-    public GlacierErrorUnmarshaller() {}
-
-    protected GlacierErrorUnmarshaller(Class<? extends AmazonServiceException> exceptionClass) {
-        super(exceptionClass);
-    }
-
-    /**
-     * Different from other JSON services that return error code in the response content,
-     * Glacier uses "code" as the JSON field key, instead of the commonly-used "__type".
-     */
-    @Override
-    public String parseErrorCode(JSONObject json) throws Exception {
-        if (json.has("code")) {
-            String type = json.getString("code");
-            int separator = type.lastIndexOf("#");
-            return type.substring(separator + 1);
-        }
-
-        return null;
-    }
-}
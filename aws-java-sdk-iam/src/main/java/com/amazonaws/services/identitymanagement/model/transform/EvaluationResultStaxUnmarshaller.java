@@ -21,7 +21,7 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.identitymanagement.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -47,11 +47,12 @@ public class EvaluationResultStaxUnmarshaller implements
             MapEntry<String, String> entry = new MapEntry<String, String>();
 
             while (true) {
-                XMLEvent xmlEvent = context.nextEvent();
-                if (xmlEvent.isEndDocument())
+                int token = context.nextToken();
+                if (token == XMLStreamConstants.END_DOCUMENT)
                     return entry;
 
-                if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+                if (token == XMLStreamConstants.ATTRIBUTE
+                        || token == XMLStreamConstants.START_ELEMENT) {
                     if (context.testExpression("key", targetDepth)) {
                         entry.setKey(StringStaxUnmarshaller.getInstance()
                                 .unmarshall(context));
@@ -62,7 +63,7 @@ public class EvaluationResultStaxUnmarshaller implements
                                 .unmarshall(context));
                         continue;
                     }
-                } else if (xmlEvent.isEndElement()) {
+                } else if (token == XMLStreamConstants.END_ELEMENT) {
                     if (context.getCurrentDepth() < originalDepth)
                         return entry;
                 }
@@ -89,11 +90,12 @@ public class EvaluationResultStaxUnmarshaller implements
             targetDepth += 1;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument())
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT)
                 return evaluationResult;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
 
                 if (context.testExpression("EvalActionName", targetDepth)) {
                     evaluationResult.setEvalActionName(StringStaxUnmarshaller
@@ -146,7 +148,7 @@ public class EvaluationResultStaxUnmarshaller implements
                     continue;
                 }
 
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return evaluationResult;
                 }
@@ -21,7 +21,7 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.identitymanagement.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -47,11 +47,12 @@ public class GetAccountSummaryResultStaxUnmarshaller implements
             MapEntry<String, Integer> entry = new MapEntry<String, Integer>();
 
             while (true) {
-                XMLEvent xmlEvent = context.nextEvent();
-                if (xmlEvent.isEndDocument())
+                int token = context.nextToken();
+                if (token == XMLStreamConstants.END_DOCUMENT)
                     return entry;
 
-                if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+                if (token == XMLStreamConstants.ATTRIBUTE
+                        || token == XMLStreamConstants.START_ELEMENT) {
                     if (context.testExpression("key", targetDepth)) {
                         entry.setKey(StringStaxUnmarshaller.getInstance()
                                 .unmarshall(context));
@@ -62,7 +63,7 @@ public class GetAccountSummaryResultStaxUnmarshaller implements
                                 .unmarshall(context));
                         continue;
                     }
-                } else if (xmlEvent.isEndElement()) {
+                } else if (token == XMLStreamConstants.END_ELEMENT) {
                     if (context.getCurrentDepth() < originalDepth)
                         return entry;
                 }
@@ -89,11 +90,12 @@ public class GetAccountSummaryResultStaxUnmarshaller implements
             targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument())
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT)
                 return getAccountSummaryResult;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
 
                 if (context.testExpression("SummaryMap/entry", targetDepth)) {
                     Entry<String, Integer> entry = SummaryMapMapEntryUnmarshaller
@@ -103,7 +105,7 @@ public class GetAccountSummaryResultStaxUnmarshaller implements
                     continue;
                 }
 
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return getAccountSummaryResult;
                 }
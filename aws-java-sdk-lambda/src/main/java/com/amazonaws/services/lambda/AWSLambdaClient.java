@@ -63,7 +63,7 @@ public class AWSLambdaClient extends AmazonWebServiceClient implements AWSLambda
     /**
      * List of exception unmarshallers for all AWSLambda exceptions.
      */
-    protected List<JsonErrorUnmarshaller> jsonErrorUnmarshallers;
+    protected List<JsonErrorUnmarshallerV2> jsonErrorUnmarshallers;
 
     /**
      * Constructs a new client to invoke service methods on
@@ -211,26 +211,26 @@ public class AWSLambdaClient extends AmazonWebServiceClient implements AWSLambda
     }
 
     private void init() {
-        jsonErrorUnmarshallers = new ArrayList<JsonErrorUnmarshaller>();
-        jsonErrorUnmarshallers.add(new InvalidSubnetIDExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new ServiceExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new RequestTooLargeExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new EC2AccessDeniedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new UnsupportedMediaTypeExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new EC2UnexpectedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new CodeStorageExceededExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new TooManyRequestsExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new InvalidRequestContentExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new InvalidParameterValueExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new SubnetIPAddressLimitReachedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new EC2ThrottledExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new ResourceNotFoundExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new PolicyLengthExceededExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new InvalidSecurityGroupIDExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new ResourceConflictExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new ENILimitReachedExceptionUnmarshaller());
+        jsonErrorUnmarshallers = new ArrayList<JsonErrorUnmarshallerV2>();
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(InvalidSubnetIDException.class, "InvalidSubnetIDException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(ServiceException.class, "ServiceException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(RequestTooLargeException.class, "RequestTooLargeException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(EC2AccessDeniedException.class, "EC2AccessDeniedException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(UnsupportedMediaTypeException.class, "UnsupportedMediaTypeException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(EC2UnexpectedException.class, "EC2UnexpectedException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(CodeStorageExceededException.class, "CodeStorageExceededException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(TooManyRequestsException.class, "TooManyRequestsException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(InvalidRequestContentException.class, "InvalidRequestContentException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(InvalidParameterValueException.class, "InvalidParameterValueException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(SubnetIPAddressLimitReachedException.class, "SubnetIPAddressLimitReachedException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(EC2ThrottledException.class, "EC2ThrottledException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(ResourceNotFoundException.class, "ResourceNotFoundException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(PolicyLengthExceededException.class, "PolicyLengthExceededException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(InvalidSecurityGroupIDException.class, "InvalidSecurityGroupIDException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(ResourceConflictException.class, "ResourceConflictException"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(ENILimitReachedException.class, "ENILimitReachedException"));
         
-        jsonErrorUnmarshallers.add(new JsonErrorUnmarshaller());
+        jsonErrorUnmarshallers.add(JsonErrorUnmarshallerV2.DEFAULT_UNMARSHALLER);
         
         // calling this.setEndPoint(...) will also modify the signer accordingly
         this.setEndpoint("lambda.us-east-1.amazonaws.com/");
@@ -2028,7 +2028,7 @@ public class AWSLambdaClient extends AmazonWebServiceClient implements AWSLambda
         }
 
         executionContext.setCredentials(credentials);
-        JsonErrorResponseHandler errorResponseHandler = new JsonErrorResponseHandler(jsonErrorUnmarshallers);
+        JsonErrorResponseHandlerV2 errorResponseHandler = SdkJsonProtocolFactory.createErrorResponseHandler(jsonErrorUnmarshallers, false);
         Response<X> result = client.execute(request, responseHandler,
                 errorResponseHandler, executionContext);
         return result;
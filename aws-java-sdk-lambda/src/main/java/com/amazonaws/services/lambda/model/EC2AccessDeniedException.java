@@ -22,6 +22,7 @@ import com.amazonaws.AmazonServiceException;
 public class EC2AccessDeniedException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("Type")
     private String type;
     
     /**
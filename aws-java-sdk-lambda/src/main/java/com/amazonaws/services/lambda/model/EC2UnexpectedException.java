@@ -25,8 +25,10 @@ import com.amazonaws.AmazonServiceException;
 public class EC2UnexpectedException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("Type")
     private String type;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("EC2ErrorCode")
     private String eC2ErrorCode;
     
     /**
@@ -28,6 +28,7 @@ import com.amazonaws.AmazonServiceException;
 public class InvalidParameterValueException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("Type")
     private String type;
     
     /**
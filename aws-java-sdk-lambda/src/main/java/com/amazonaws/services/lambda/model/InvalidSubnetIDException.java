@@ -25,6 +25,7 @@ import com.amazonaws.AmazonServiceException;
 public class InvalidSubnetIDException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("Type")
     private String type;
     
     /**
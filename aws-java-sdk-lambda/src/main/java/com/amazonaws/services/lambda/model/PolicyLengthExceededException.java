@@ -24,6 +24,7 @@ import com.amazonaws.AmazonServiceException;
 public class PolicyLengthExceededException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("Type")
     private String type;
     
     /**
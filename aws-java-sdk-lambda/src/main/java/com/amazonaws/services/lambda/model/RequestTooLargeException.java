@@ -27,6 +27,7 @@ import com.amazonaws.AmazonServiceException;
 public class RequestTooLargeException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("Type")
     private String type;
     
     /**
@@ -22,8 +22,10 @@ import com.amazonaws.AmazonServiceException;
 public class TooManyRequestsException extends AmazonServiceException {
     private static final long serialVersionUID = 1L;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("retryAfterSeconds")
     private String retryAfterSeconds;
     
+    @com.fasterxml.jackson.annotation.JsonProperty("Type")
     private String type;
     
     /**
@@ -18,7 +18,7 @@ package com.amazonaws.services.rds.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.rds.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class AccountQuotaStaxUnmarshaller implements Unmarshaller<AccountQuota,
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return accountQuota;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return accountQuota;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("AccountQuotaName", targetDepth)) {
                     accountQuota.setAccountQuotaName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -57,7 +58,7 @@ public class AccountQuotaStaxUnmarshaller implements Unmarshaller<AccountQuota,
                     accountQuota.setMax(LongStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return accountQuota;
                 }
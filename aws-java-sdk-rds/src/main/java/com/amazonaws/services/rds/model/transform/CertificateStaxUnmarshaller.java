@@ -18,7 +18,7 @@ package com.amazonaws.services.rds.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.rds.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class CertificateStaxUnmarshaller implements Unmarshaller<Certificate, St
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return certificate;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return certificate;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("CertificateIdentifier", targetDepth)) {
                     certificate.setCertificateIdentifier(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -65,7 +66,7 @@ public class CertificateStaxUnmarshaller implements Unmarshaller<Certificate, St
                     certificate.setValidTill(DateStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return certificate;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.rds.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.rds.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class DomainMembershipStaxUnmarshaller implements Unmarshaller<DomainMemb
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return domainMembership;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return domainMembership;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Domain", targetDepth)) {
                     domainMembership.setDomain(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -59,7 +60,7 @@ public class DomainMembershipStaxUnmarshaller implements Unmarshaller<DomainMemb
                     domainMembership.setIAMRoleName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return domainMembership;
                 }
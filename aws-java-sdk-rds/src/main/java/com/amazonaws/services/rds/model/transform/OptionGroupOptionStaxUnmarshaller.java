@@ -18,7 +18,7 @@ package com.amazonaws.services.rds.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.rds.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class OptionGroupOptionStaxUnmarshaller implements Unmarshaller<OptionGro
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return optionGroupOption;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return optionGroupOption;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Name", targetDepth)) {
                     optionGroupOption.setName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -87,7 +88,7 @@ public class OptionGroupOptionStaxUnmarshaller implements Unmarshaller<OptionGro
                     optionGroupOption.getOptionGroupOptionSettings().add(OptionGroupOptionSettingStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return optionGroupOption;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.rds.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.rds.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class ResourcePendingMaintenanceActionsStaxUnmarshaller implements Unmars
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return resourcePendingMaintenanceActions;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return resourcePendingMaintenanceActions;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("ResourceIdentifier", targetDepth)) {
                     resourcePendingMaintenanceActions.setResourceIdentifier(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -53,7 +54,7 @@ public class ResourcePendingMaintenanceActionsStaxUnmarshaller implements Unmars
                     resourcePendingMaintenanceActions.getPendingMaintenanceActionDetails().add(PendingMaintenanceActionStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return resourcePendingMaintenanceActions;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.redshift.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.redshift.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -39,10 +39,11 @@ public class ClusterIamRoleStaxUnmarshaller implements Unmarshaller<ClusterIamRo
         if (context.isStartOfDocument()) targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return clusterIamRole;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return clusterIamRole;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("IamRoleArn", targetDepth)) {
                     clusterIamRole.setIamRoleArn(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -51,7 +52,7 @@ public class ClusterIamRoleStaxUnmarshaller implements Unmarshaller<ClusterIamRo
                     clusterIamRole.setApplyStatus(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return clusterIamRole;
                 }
@@ -18,7 +18,7 @@ package com.amazonaws.services.redshift.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.redshift.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class HsmConfigurationStaxUnmarshaller implements Unmarshaller<HsmConfigu
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return hsmConfiguration;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return hsmConfiguration;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("HsmConfigurationIdentifier", targetDepth)) {
                     hsmConfiguration.setHsmConfigurationIdentifier(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -65,7 +66,7 @@ public class HsmConfigurationStaxUnmarshaller implements Unmarshaller<HsmConfigu
                     hsmConfiguration.getTags().add(TagStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return hsmConfiguration;
                 }
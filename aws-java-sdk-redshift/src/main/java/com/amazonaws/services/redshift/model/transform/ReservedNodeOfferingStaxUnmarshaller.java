@@ -18,7 +18,7 @@ package com.amazonaws.services.redshift.model.transform;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.redshift.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -41,10 +41,11 @@ public class ReservedNodeOfferingStaxUnmarshaller implements Unmarshaller<Reserv
         if (context.isStartOfDocument()) targetDepth++;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return reservedNodeOffering;
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) return reservedNodeOffering;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("ReservedNodeOfferingId", targetDepth)) {
                     reservedNodeOffering.setReservedNodeOfferingId(StringStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -77,7 +78,7 @@ public class ReservedNodeOfferingStaxUnmarshaller implements Unmarshaller<Reserv
                     reservedNodeOffering.getRecurringCharges().add(RecurringChargeStaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return reservedNodeOffering;
                 }
@@ -659,6 +659,12 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * hitting the limit and will only resume when the in-flight uploads catch
      * up by releasing the temporary disk space upon successful uploads of the
      * completed parts</li>
+     * <li>the maximum memory to be used for buffering ciphertext parts; By
+     * default, no memory is used and every part is written to a temporary
+     * file. Otherwise, parts are encrypted into a bounded pool of reusable
+     * memory buffers, each of which is recycled once its part has been
+     * uploaded, and are only written to disk when all the buffers are in
+     * use</li>
      * <li>the configuration of your own {@link MultiFileOutputStream} for
      * custom pipeline behavior</li>
      * <li>the configuration of your own {@link UploadObjectObserver} for custom
@@ -720,7 +726,8 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
             mfos = new MultiFileOutputStream();
         try {
             // initialize the multi-file output stream
-            mfos.init(observer, req.getPartSize(), req.getDiskLimit());
+            mfos.init(observer, req.getPartSize(), req.getDiskLimit(),
+                    req.getMemoryLimit());
             // Kicks off the encryption-upload pipeline;
             // Note mfos is automatically closed upon method completion.
             crypto.putLocalObjectSecurely(req, uploadId, mfos);
@@ -15,6 +15,7 @@
 package com.amazonaws.services.s3;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -118,17 +119,22 @@ public class UploadObjectObserver {
     }
 
     /**
-     * Notified from {@link MultiFileOutputStream#fos()} when a part ready for
-     * upload has been successfully created on disk. By default, this method
-     * performs the following:
+     * Notified from {@link MultiFileOutputStream} when a part ready for upload
+     * has been successfully created on disk or in memory, which is when a
+     * write fills the current part or when the stream is closed. By default,
+     * this method performs the following:
      * <ol>
-     * <li>calls {@link #newUploadPartRequest(PartCreationEvent, File)} to
-     * create an upload-part request for the newly created ciphertext file</li>
+     * <li>calls {@link #newUploadPartRequest(PartCreationEvent, File)} (or
+     * {@link #newUploadPartRequest(PartCreationEvent, InputStream)} for an
+     * in-memory part) to create an upload-part request for the newly created
+     * ciphertext part</li>
      * <li>call {@link #appendUserAgent(AmazonWebServiceRequest, String)} to
      * append the necessary user agent string to the request</li>
      * <li>and finally submit a concurrent task, which calls the method
      * {@link #uploadPart(UploadPartRequest)}, to be performed</li>
      * </ol>
+     * Once uploaded, a ciphertext file is deleted, whereas the buffer of an
+     * in-memory part is returned to the pool for reuse.
      * <p>
      * To enable parallel uploads, implementation of this method should never
      * block.
@@ -137,7 +143,23 @@ public class UploadObjectObserver {
      *            to represent the completion of a ciphertext file creation
      *            which is ready for multipart upload to S3.
      */
-    public void onPartCreate(PartCreationEvent event) {
+    public void onPartCreate(final PartCreationEvent event) {
+        if (event.isInMemory()) {
+            final UploadPartRequest reqUploadPart =
+                newUploadPartRequest(event, event.getPartInputStream());
+            appendUserAgent(reqUploadPart, AmazonS3EncryptionClient.USER_AGENT);
+            futures.add(es.submit(new Callable<UploadPartResult>() {
+                @Override public UploadPartResult call() {
+                    try {
+                        return uploadPart(reqUploadPart);
+                    } finally {
+                        // recycle the buffer of the part already uploaded
+                        event.releasePartBuffer();
+                    }
+                }
+            }));
+            return;
+        }
         final File part = event.getPart();
         final UploadPartRequest reqUploadPart =
             newUploadPartRequest(event, part);
@@ -226,6 +248,31 @@ public class UploadObjectObserver {
         return reqUploadPart;
     }
 
+    /**
+     * Creates and returns an upload-part request corresponding to an in-memory
+     * ciphertext part upon a part-creation event.
+     * 
+     * @param event
+     *            the part-creation event of the in-memory ciphertext part.
+     * @param part
+     *            an input stream over the content of the in-memory ciphertext
+     *            part corresponding to the upload-part
+     */
+    protected UploadPartRequest newUploadPartRequest(PartCreationEvent event,
+            final InputStream part) {
+        final UploadPartRequest reqUploadPart = new UploadPartRequest()
+            .withBucketName(req.getBucketName())
+            .withInputStream(part)
+            .withKey(req.getKey())
+            .withPartNumber(event.getPartNumber())
+            .withPartSize(event.getPartSize())
+            .withLastPart(event.isLastPart())
+            .withUploadId(uploadId)
+            .withObjectMetadata(req.getUploadPartMetadata())
+            ;
+        return reqUploadPart;
+    }
+
     /**
      * Uploads the ciphertext via the non-encrypting s3 client.
      * @param reqUploadPart part upload request
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.amazonaws.internal.SdkFilterInputStream;
+
+/**
+ * Input stream that replaces every carriage return (0x0D) byte of the
+ * wrapped UTF-8 encoded XML document with the equivalent character entity,
+ * as the document is read. This keeps the SAX parser from normalizing
+ * carriage returns in object keys to line feeds, without first having to
+ * buffer the whole document in memory.
+ * <p>
+ * Operating on bytes is safe because in UTF-8 the byte 0x0D only ever
+ * encodes the carriage return character; it never occurs inside a multi-byte
+ * sequence.
+ * <p>
+ * This class does not support mark and reset.
+ */
+public class CarriageReturnEscapingInputStream extends SdkFilterInputStream {
+
+    private static final int CARRIAGE_RETURN = '\r';
+    private static final byte[] ESCAPED_CARRIAGE_RETURN = {
+        '&', '#', '0', '1', '3', ';'
+    };
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Raw bytes read from the wrapped stream but not yet returned. */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPosition;
+    private int bufferLimit;
+
+    /**
+     * Position within {@link #ESCAPED_CARRIAGE_RETURN} of the next byte to
+     * return; equal to its length when no escape sequence is pending.
+     */
+    private int escapePosition = ESCAPED_CARRIAGE_RETURN.length;
+
+    public CarriageReturnEscapingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        abortIfNeeded();
+        while (true) {
+            if (escapePosition < ESCAPED_CARRIAGE_RETURN.length) {
+                return ESCAPED_CARRIAGE_RETURN[escapePosition++];
+            }
+            if (bufferPosition < bufferLimit) {
+                byte next = buffer[bufferPosition++];
+                if (next != CARRIAGE_RETURN) {
+                    return next & 0xFF;
+                }
+                escapePosition = 0;
+            } else if (!fillBuffer()) {
+                return -1;
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        abortIfNeeded();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len) {
+            if (escapePosition < ESCAPED_CARRIAGE_RETURN.length) {
+                b[off + count++] = ESCAPED_CARRIAGE_RETURN[escapePosition++];
+            } else if (bufferPosition < bufferLimit) {
+                byte next = buffer[bufferPosition++];
+                if (next == CARRIAGE_RETURN) {
+                    escapePosition = 0;
+                } else {
+                    b[off + count++] = next;
+                }
+            } else if (count > 0) {
+                // Return what is available rather than block for more
+                break;
+            } else if (!fillBuffer()) {
+                return -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the next chunk of the wrapped stream into the buffer; returns
+     * false at the end of the stream.
+     */
+    private boolean fillBuffer() throws IOException {
+        int read = in.read(buffer, 0, BUFFER_SIZE);
+        if (read == -1) {
+            return false;
+        }
+        bufferPosition = 0;
+        bufferLimit = read;
+        return true;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        abortIfNeeded();
+        if (n <= 0) {
+            return 0;
+        }
+        byte[] skipBuffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(skipBuffer, 0, (int) Math.min(n - skipped, skipBuffer.length));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        abortIfNeeded();
+        return (ESCAPED_CARRIAGE_RETURN.length - escapePosition)
+                + (bufferLimit - bufferPosition)
+                + in.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
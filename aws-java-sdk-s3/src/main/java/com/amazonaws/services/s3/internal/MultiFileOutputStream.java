@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.UUID;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.LogFactory;
 import org.joda.time.DateTime;
@@ -31,18 +32,26 @@ import com.amazonaws.services.s3.UploadObjectObserver;
 
 /**
  * Used to split an output stream into multiple files for purposes such as
- * parallel uploads.
+ * parallel uploads. When a memory limit is specified, parts are held in a
+ * bounded pool of reusable memory buffers instead, and are only written to
+ * files when all the buffers are in use.
  */
 public class MultiFileOutputStream extends OutputStream implements OnFileDelete {
     static final int DEFAULT_PART_SIZE = 5 << 20; // 5MB
+    /**
+     * How long to wait for disk space at a time, before checking again
+     * whether a memory buffer has been released meanwhile.
+     */
+    private static final long DISK_WAIT_MILLIS = 100;
     private final File root;
     private final String namePrefix;
     private int filesCreated;
     private long partSize = DEFAULT_PART_SIZE;
     private long diskLimit = Long.MAX_VALUE;
+    private long memoryLimit;
     private UploadObjectObserver observer;
     /**
-     * Number of bytes that have been written to the current file.
+     * Number of bytes that have been written to the current part.
      */
     private int currFileBytesWritten;
     /**
@@ -50,10 +59,14 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
      */
     private long totalBytesWritten;
     private FileOutputStream os;
+    /** The in-memory buffer of the current part; or null if none. */
+    private byte[] buf;
     private boolean closed;
 
     /** null means no blocking necessary. */
     private Semaphore diskPermits;
+    /** null means parts are always written to files. */
+    private PartBufferPool bufferPool;
 
     /**
      * Construct an instance to use the default temporary directory and temp
@@ -100,6 +113,30 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
      */
     public MultiFileOutputStream init(UploadObjectObserver observer,
             long partSize, long diskLimit) {
+        return init(observer, partSize, diskLimit, 0);
+    }
+
+    /**
+     * Used to initialized this stream. This method is an SPI (service provider
+     * interface) that is called from <code>AmazonS3EncryptionClient</code>.
+     * <p>
+     * Implementation of this method should never block.
+     * 
+     * @param observer
+     *            the upload object observer
+     * @param partSize
+     *            part size for multi-part upload
+     * @param diskLimit
+     *            the maximum disk space to be used for this multi-part upload
+     * @param memoryLimit
+     *            the maximum memory to be used for buffering parts of this
+     *            multi-part upload; or zero if parts are always to be written
+     *            to files
+     * 
+     * @return this object
+     */
+    public MultiFileOutputStream init(UploadObjectObserver observer,
+            long partSize, long diskLimit, long memoryLimit) {
         if (observer == null)
             throw new IllegalArgumentException("Observer must be specified");
         this.observer = observer;
@@ -112,6 +149,13 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
         this.diskLimit = diskLimit;
         final int max = (int)(diskLimit/partSize);
         this.diskPermits = max < 0 ? null : new Semaphore(max);
+        this.memoryLimit = memoryLimit;
+        final long maxBuffers = memoryLimit / partSize;
+        // a part must fit in a single array to be held in memory
+        this.bufferPool = maxBuffers <= 0 || partSize > Integer.MAX_VALUE - 8
+                        ? null
+                        : new PartBufferPool((int)partSize,
+                              (int)Math.min(maxBuffers, Integer.MAX_VALUE));
         return this;
     }
 
@@ -122,7 +166,11 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
      */
     @Override
     public void write(int b) throws IOException {
-        fos().write(b);
+        nextPartIfNecessary();
+        if (buf == null)
+            os.write(b);
+        else
+            buf[currFileBytesWritten] = (byte)b;
         currFileBytesWritten++;
         totalBytesWritten++;
     }
@@ -134,11 +182,7 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
      */
     @Override
     public void write(byte[] b) throws IOException {
-        if (b.length == 0)
-            return;
-        fos().write(b);
-        currFileBytesWritten += b.length;
-        totalBytesWritten += b.length;
+        write(b, 0, b.length);
     }
 
     /**
@@ -150,35 +194,66 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
     public void write(byte[] b, int off, int len) throws IOException {
         if (b.length == 0)
             return;
-        fos().write(b, off, len);
-        currFileBytesWritten += len;
-        totalBytesWritten += len;
+        do {
+            nextPartIfNecessary();
+            if (buf == null) {
+                os.write(b, off, len);
+                currFileBytesWritten += len;
+                totalBytesWritten += len;
+                return;
+            }
+            // an in-memory part is split exactly at the part size
+            final int n = Math.min(len, buf.length - currFileBytesWritten);
+            System.arraycopy(b, off, buf, currFileBytesWritten, n);
+            currFileBytesWritten += n;
+            totalBytesWritten += n;
+            off += n;
+            len -= n;
+        } while (len > 0);
     }
 
     /**
-     * Returns the file output stream to be used for writing, blocking if
-     * necessary if running out of disk space.
+     * Starts a new part if there is no current part or the current part is
+     * full, notifying the observer about the completed part. The new part is
+     * held in memory if a buffer is available; otherwise it is written to a
+     * file, blocking if necessary if running out of disk space.
      * 
-     * @throws InterruptedException if the running thread was interrupted
+     * @throws AbortedException if the running thread was interrupted
      */
-    private FileOutputStream fos() throws IOException {
+    private void nextPartIfNecessary() throws IOException {
         if (closed)
             throw new IOException("Output stream is already closed");
-        if (os == null || currFileBytesWritten >= partSize) {
-            if (os != null) {
-                os.close();
-                // notify about the new file ready for processing
-                observer.onPartCreate(new PartCreationEvent(
-                        getFile(filesCreated), filesCreated, false, this));
+        if (filesCreated == 0 || currFileBytesWritten >= partSize) {
+            if (filesCreated > 0) {
+                // notify about the new part ready for processing
+                notifyPartCreated(false);
             }
             currFileBytesWritten = 0;
             filesCreated++;
-            blockIfNecessary();
-            final File file = getFile(filesCreated);
-            file.deleteOnExit();
-            os = new FileOutputStream(file);
+            buf = bufferPool == null ? null : bufferPool.tryAcquire();
+            if (buf == null) {
+                buf = blockIfNecessary();
+            }
+            if (buf == null) {
+                final File file = getFile(filesCreated);
+                file.deleteOnExit();
+                os = new FileOutputStream(file);
+            }
+        }
+    }
+
+    private void notifyPartCreated(boolean isLastPart) throws IOException {
+        if (buf != null) {
+            final byte[] part = buf;
+            buf = null;
+            observer.onPartCreate(new PartCreationEvent(part,
+                    currFileBytesWritten, filesCreated, isLastPart, bufferPool));
+        } else {
+            os.close();
+            os = null;
+            observer.onPartCreate(new PartCreationEvent(
+                    getFile(filesCreated), filesCreated, isLastPart, this));
         }
-        return os;
     }
 
     @Override
@@ -188,17 +263,32 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
     }
 
     /**
-     * Blocks the running thread if running out of disk space.
+     * Blocks the running thread if running out of disk space. While blocked,
+     * a memory buffer released by the upload of a previous part is taken
+     * instead of the disk space, so parts are only written to files when
+     * memory is exhausted.
      * 
+     * @return a memory buffer for the new part; or null if the new part is to
+     *         be written to a file
      * @throws AbortedException
      *             if the running thread is interrupted while acquiring a
      *             semaphore
      */
-    private void blockIfNecessary() {
+    private byte[] blockIfNecessary() {
         if (diskPermits == null || diskLimit == Long.MAX_VALUE)
-            return;
+            return null;
         try {
-            diskPermits.acquire();
+            if (bufferPool == null) {
+                diskPermits.acquire();
+                return null;
+            }
+            for (;;) {
+                byte[] b = bufferPool.tryAcquire();
+                if (b != null)
+                    return b;
+                if (diskPermits.tryAcquire(DISK_WAIT_MILLIS, TimeUnit.MILLISECONDS))
+                    return null;
+            }
         } catch (InterruptedException e) {
             // don't want to re-interrupt so it won't cause SDK stream to be
             // closed in case the thread is reused for a different request
@@ -217,7 +307,14 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
         if (closed)
             return;
         closed = true;
-        if (os != null) {
+        if (buf != null) {
+            if (currFileBytesWritten == 0) {
+                bufferPool.release(buf);
+                buf = null;
+            } else {
+                notifyPartCreated(true);
+            }
+        } else if (os != null) {
             os.close();
             File lastPart = getFile(filesCreated);
             if (lastPart.length() == 0) {
@@ -246,8 +343,9 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
     }
 
     /**
-     * @return the number of files written with the specified prefix with the
-     *         part number as the file extension.
+     * @return the number of parts created, whether written to files with the
+     *         specified prefix with the part number as the file extension or
+     *         held in memory.
      */
     public int getNumFilesWritten() {
         return filesCreated;
@@ -284,4 +382,8 @@ public class MultiFileOutputStream extends OutputStream implements OnFileDelete
     public long getDiskLimit() {
         return diskLimit;
     }
+
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
 }
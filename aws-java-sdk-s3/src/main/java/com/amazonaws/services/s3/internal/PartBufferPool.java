@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A bounded pool of reusable in-memory part buffers used by
+ * {@link MultiFileOutputStream}. Buffers are allocated lazily, up to the
+ * maximum number allowed, and are recycled once the part they hold has been
+ * uploaded.
+ */
+class PartBufferPool {
+    private final int bufferSize;
+    private final Semaphore permits;
+    private final Queue<byte[]> free = new ConcurrentLinkedQueue<byte[]>();
+
+    PartBufferPool(int bufferSize, int maxBuffers) {
+        this.bufferSize = bufferSize;
+        this.permits = new Semaphore(maxBuffers);
+    }
+
+    /**
+     * Returns a buffer from the pool without blocking; or null if all buffers
+     * are currently in use.
+     */
+    byte[] tryAcquire() {
+        if (!permits.tryAcquire())
+            return null;
+        byte[] buf = free.poll();
+        return buf == null ? new byte[bufferSize] : buf;
+    }
+
+    /**
+     * Returns the given buffer, previously obtained via {@link #tryAcquire()},
+     * to the pool.
+     */
+    void release(byte[] buf) {
+        free.offer(buf);
+        permits.release();
+    }
+}
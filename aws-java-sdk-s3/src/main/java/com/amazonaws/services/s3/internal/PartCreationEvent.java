@@ -14,7 +14,10 @@
  */
 package com.amazonaws.services.s3.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.amazonaws.services.s3.OnFileDelete;
 
@@ -23,6 +26,11 @@ public class PartCreationEvent {
     private final int partNumber;
     private final boolean isLastPart;
     private final OnFileDelete fileDeleteObserver;
+    /** The in-memory part; or null if the part has been written to a file. */
+    private final byte[] buffer;
+    private final int bufferLength;
+    private final PartBufferPool bufferPool;
+    private final AtomicBoolean bufferReleased = new AtomicBoolean();
 
     PartCreationEvent(File part, int partNumber, boolean isLastPart,
             OnFileDelete fileDeleteObserver) {
@@ -32,15 +40,71 @@ public class PartCreationEvent {
         this.partNumber = partNumber;
         this.isLastPart = isLastPart;
         this.fileDeleteObserver = fileDeleteObserver;
+        this.buffer = null;
+        this.bufferLength = 0;
+        this.bufferPool = null;
+    }
+
+    PartCreationEvent(byte[] buffer, int bufferLength, int partNumber,
+            boolean isLastPart, PartBufferPool bufferPool) {
+        if (buffer == null)
+            throw new IllegalArgumentException("buffer must be specified");
+        this.part = null;
+        this.partNumber = partNumber;
+        this.isLastPart = isLastPart;
+        this.fileDeleteObserver = null;
+        this.buffer = buffer;
+        this.bufferLength = bufferLength;
+        this.bufferPool = bufferPool;
     }
 
     /**
-     * Returns a non-null part (in the form of a file) for multi-part upload.
+     * Returns the part (in the form of a file) for multi-part upload; or null
+     * if the part is held in memory.
+     *
+     * @see #isInMemory()
      */
     public File getPart() {
         return part;
     }
 
+    /**
+     * Returns true if the part is held in a memory buffer rather than in a
+     * file; false otherwise.
+     */
+    public boolean isInMemory() {
+        return buffer != null;
+    }
+
+    /**
+     * Returns a new input stream over the content of an in-memory part; or
+     * null if the part is held in a file.
+     */
+    public InputStream getPartInputStream() {
+        return buffer == null ? null
+             : new ByteArrayInputStream(buffer, 0, bufferLength);
+    }
+
+    /**
+     * Returns the size of the part in bytes.
+     */
+    public long getPartSize() {
+        return buffer == null ? part.length() : bufferLength;
+    }
+
+    /**
+     * Returns the buffer of an in-memory part to the pool it was taken from, so
+     * it can be reused for a subsequent part. Must be called once the part has
+     * been uploaded, or its upload abandoned. This method has no effect for
+     * parts held in files, or if the buffer has already been released.
+     */
+    public void releasePartBuffer() {
+        if (buffer != null && bufferPool != null
+                && bufferReleased.compareAndSet(false, true)) {
+            bufferPool.release(buffer);
+        }
+    }
+
     public int getPartNumber() {
         return partNumber;
     }
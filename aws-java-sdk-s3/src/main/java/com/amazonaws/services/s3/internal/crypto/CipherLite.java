@@ -41,6 +41,10 @@ import javax.crypto.SecretKey;
  * cannot be reused after the {@link #doFinal()} methods have been invoked. In
  * other words, it is NOT true that, upon finishing, the doFinal method will
  * reset the cipher lite object to the state it was in when first constructed.
+ * <p>
+ * A cipher lite created via {@link ContentCryptoScheme} may be
+ * {@link #release() released} once it is no longer needed, so that the
+ * underlying cipher can be reused by a subsequent cipher lite.
  * 
  * @author Hanson Char
  * 
@@ -65,12 +69,27 @@ class CipherLite {
     private final ContentCryptoScheme scheme;
     private final SecretKey secreteKey;
     private final int cipherMode;
+    /**
+     * The IV of the underlying cipher, captured upon construction as the
+     * cipher may be re-initialized by another owner once released.
+     */
+    private final byte[] iv;
+    /**
+     * The key of the pool the underlying cipher is to be released to; or null
+     * if the cipher is not pooled.
+     */
+    private CipherPool.Key poolKey;
+    /**
+     * True if the underlying cipher has been released; false otherwise.
+     */
+    private boolean released;
 
     private CipherLite() {
         this.cipher = new NullCipher();
         this.scheme = null;
         this.secreteKey = null;
         this.cipherMode = -1;
+        this.iv = null;
     }
 
     CipherLite(Cipher cipher, ContentCryptoScheme scheme,
@@ -79,13 +98,54 @@ class CipherLite {
         this.scheme = scheme;
         this.secreteKey = secreteKey;
         this.cipherMode = cipherMode;
+        this.iv = cipher.getIV();
+    }
+
+    /**
+     * Marks the underlying cipher as having been acquired from the cipher pool
+     * of the given key.
+     * 
+     * @return this object
+     */
+    final CipherLite pooledBy(CipherPool.Key poolKey) {
+        this.poolKey = poolKey;
+        return this;
+    }
+
+    /**
+     * Releases the underlying cipher back to the pool it was acquired from, if
+     * any. This cipher lite must no longer be used for any encryption or
+     * decryption afterwards, although it can still be used to create other
+     * cipher lites such as via {@link #recreate()} or
+     * {@link #createAuxiliary(long)}. Calling this method more than once has no
+     * further effect.
+     */
+    final void release() {
+        if (poolKey != null && !released) {
+            released = true;
+            CipherPool.release(poolKey, cipher);
+        }
+    }
+
+    /**
+     * Returns true if the underlying cipher has been released; false
+     * otherwise.
+     */
+    final boolean isReleased() {
+        return released;
+    }
+
+    private Cipher cipher() {
+        if (released)
+            throw new IllegalStateException("Cipher has already been released");
+        return cipher;
     }
 
     /**
      * Recreates a new instance of CipherLite from the current one.
      */
     CipherLite recreate() {
-        return scheme.createCipherLite(secreteKey, cipher.getIV(),
+        return scheme.createCipherLite(secreteKey, getIV(),
                 this.cipherMode, cipher.getProvider());
     }
 
@@ -110,7 +170,7 @@ class CipherLite {
             throws InvalidKeyException, NoSuchAlgorithmException,
             NoSuchProviderException, NoSuchPaddingException,
             InvalidAlgorithmParameterException {
-        return scheme.createAuxillaryCipher(secreteKey, cipher.getIV(),
+        return scheme.createAuxillaryCipher(secreteKey, getIV(),
                 cipherMode, cipher.getProvider(), startingBytePos);
     }
 
@@ -127,7 +187,7 @@ class CipherLite {
             inversedMode = Cipher.DECRYPT_MODE;
         else
             throw new UnsupportedOperationException();
-        return scheme.createCipherLite(secreteKey, cipher.getIV(),
+        return scheme.createCipherLite(secreteKey, getIV(),
                 inversedMode, cipher.getProvider());
     }
 
@@ -169,7 +229,7 @@ class CipherLite {
      */
     byte[] doFinal() throws IllegalBlockSizeException,
             BadPaddingException {
-        return cipher.doFinal();
+        return cipher().doFinal();
     }
 
     /**
@@ -213,7 +273,7 @@ class CipherLite {
      */
     byte[] doFinal(byte[] input) throws IllegalBlockSizeException,
             BadPaddingException {
-        return cipher.doFinal(input);
+        return cipher().doFinal(input);
     }
 
     /**
@@ -262,7 +322,7 @@ class CipherLite {
      */
     byte[] doFinal(byte[] input, int inputOffset, int inputLen)
             throws IllegalBlockSizeException, BadPaddingException {
-        return cipher.doFinal(input, inputOffset, inputLen);
+        return cipher().doFinal(input, inputOffset, inputLen);
     }
 
     /**
@@ -294,7 +354,7 @@ class CipherLite {
      *                not been initialized)
      */
     byte[] update(byte[] input, int inputOffset, int inputLen) {
-        return cipher.update(input, inputOffset, inputLen);
+        return cipher().update(input, inputOffset, inputLen);
     }
 
     /**
@@ -347,7 +407,7 @@ class CipherLite {
      * been set.
      */
     final byte[] getIV() {
-        return cipher.getIV();
+        return iv == null ? cipher.getIV() : iv.clone();
     }
 
     /**
@@ -417,6 +477,6 @@ class CipherLite {
     }
 
     int getOutputSize(int inputLen) {
-        return cipher.getOutputSize(inputLen);
+        return cipher().getOutputSize(inputLen);
     }
 }
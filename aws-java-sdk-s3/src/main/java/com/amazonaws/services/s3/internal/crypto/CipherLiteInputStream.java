@@ -23,6 +23,10 @@ import javax.crypto.IllegalBlockSizeException;
 import com.amazonaws.internal.SdkFilterInputStream;
 
 /**
+ * Unless involved in a multipart upload, the underlying cipher of the cipher
+ * lite is released for reuse once the final block has been processed, or
+ * when this input stream is closed.
+ * 
  * @author Hanson Char
  * 
  * @see CipherLite
@@ -155,7 +159,8 @@ public class CipherLiteInputStream extends SdkFilterInputStream {
         // methods, since we cann't tell if the close is due to error or normal
         // completion.
         if (!multipart) {
-            if (!S3CryptoScheme.isAesGcm(cipherLite.getCipherAlgorithm())) {
+            if (!cipherLite.isReleased()
+            &&  !S3CryptoScheme.isAesGcm(cipherLite.getCipherAlgorithm())) {
                 try {
                     // simulate the RI: throw away the unprocessed data
                     cipherLite.doFinal();
@@ -163,6 +168,7 @@ public class CipherLiteInputStream extends SdkFilterInputStream {
                 } catch (IllegalBlockSizeException ex) {
                 }
             }
+            cipherLite.release();
         }
         curr_pos = max_pos = 0;
         abortIfNeeded();
@@ -223,6 +229,8 @@ public class CipherLiteInputStream extends SdkFilterInputStream {
             if (!multipart || lastMultiPart) {
                 try {
                     bufout = cipherLite.doFinal();
+                    if (!multipart)
+                        cipherLite.release();
                     if (bufout == null) {
                         // bufout can be null, for example, when it was the
                         // javax.crypto.NullCipher 
@@ -245,6 +253,9 @@ public class CipherLiteInputStream extends SdkFilterInputStream {
     }
 
     void renewCipherLite() {
-        cipherLite = cipherLite.recreate();
+        final CipherLite old = cipherLite;
+        cipherLite = old.recreate();
+        if (!multipart)
+            old.release();
     }
 }
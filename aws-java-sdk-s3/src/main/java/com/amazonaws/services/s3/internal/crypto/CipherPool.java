@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal.crypto;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.Provider;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+
+/**
+ * A pool of {@link Cipher} instances keyed by cipher algorithm and security
+ * provider, used to avoid the cost of {@link Cipher#getInstance(String)} for
+ * every cipher lite created. A cipher acquired from the pool is always
+ * re-initialized by the caller before use, and must only be released back to
+ * the pool once it will no longer be used by its current owner.
+ */
+final class CipherPool {
+    /**
+     * The maximum number of idle ciphers retained per algorithm and provider.
+     */
+    static final int MAX_IDLE_CIPHERS_PER_KEY = 64;
+    private static final ConcurrentMap<Key, BlockingQueue<Cipher>> pools =
+            new ConcurrentHashMap<Key, BlockingQueue<Cipher>>();
+
+    private CipherPool() {}
+
+    /**
+     * Returns an idle cipher of the given key from the pool, or a newly
+     * created one if there is none.
+     */
+    static Cipher acquire(Key key) throws NoSuchAlgorithmException,
+            NoSuchProviderException, NoSuchPaddingException {
+        BlockingQueue<Cipher> idle = pools.get(key);
+        Cipher cipher = idle == null ? null : idle.poll();
+        if (cipher != null)
+            return cipher;
+        if (key.providerName != null)
+            return Cipher.getInstance(key.algorithm, key.providerName);
+        if (key.provider != null)
+            return Cipher.getInstance(key.algorithm, key.provider);
+        return Cipher.getInstance(key.algorithm);
+    }
+
+    /**
+     * Returns the given cipher, previously acquired with the given key, to the
+     * pool; the cipher is simply dropped if the pool is already full.
+     */
+    static void release(Key key, Cipher cipher) {
+        BlockingQueue<Cipher> idle = pools.get(key);
+        if (idle == null) {
+            idle = new LinkedBlockingQueue<Cipher>(MAX_IDLE_CIPHERS_PER_KEY);
+            BlockingQueue<Cipher> prev = pools.putIfAbsent(key, idle);
+            if (prev != null)
+                idle = prev;
+        }
+        idle.offer(cipher);
+    }
+
+    /**
+     * Identifies the ciphers that can be used interchangeably: those of the
+     * same algorithm obtained from the same named provider, from the same
+     * provider instance, or from the default provider.
+     */
+    static final class Key {
+        private final String algorithm;
+        private final String providerName;
+        private final Provider provider;
+
+        /**
+         * @param algorithm
+         *            the cipher algorithm
+         * @param providerName
+         *            the name of the security provider; or null if not
+         *            specified
+         * @param provider
+         *            the security provider to be used if no provider name is
+         *            specified; or null for the default provider
+         */
+        Key(String algorithm, String providerName, Provider provider) {
+            if (algorithm == null)
+                throw new IllegalArgumentException();
+            this.algorithm = algorithm;
+            this.providerName = providerName;
+            this.provider = providerName == null ? provider : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key that = (Key) o;
+            return algorithm.equals(that.algorithm)
+                && (providerName == null
+                    ? that.providerName == null
+                    : providerName.equals(that.providerName))
+                && provider == that.provider;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = algorithm.hashCode();
+            h = 31 * h + (providerName == null ? 0 : providerName.hashCode());
+            h = 31 * h + (provider == null ? 0 : System.identityHashCode(provider));
+            return h;
+        }
+
+        @Override
+        public String toString() {
+            return "algorithm=" + algorithm + ", provider="
+                    + (providerName != null ? providerName : provider);
+        }
+    }
+}
@@ -174,18 +174,14 @@ abstract class ContentCryptoScheme {
      */
     CipherLite createCipherLite(SecretKey cek, byte[] iv, int cipherMode,
             Provider securityProvider) {
-        String specificProvider = getSpecificCipherProvider();
-        Cipher cipher;
+        // use the specific provider if defined; otherwise the one optionally
+        // specified in the input; or else the default provider
+        CipherPool.Key poolKey = new CipherPool.Key(getCipherAlgorithm(),
+                getSpecificCipherProvider(), securityProvider);
         try {
-            if (specificProvider != null) { // use the specific provider if defined
-                    cipher = Cipher.getInstance(getCipherAlgorithm(), specificProvider);
-            } else if (securityProvider != null) { // use the one optionally specified in the input
-                cipher = Cipher.getInstance(getCipherAlgorithm(), securityProvider);
-            } else { // use the default provider
-                cipher = Cipher.getInstance(getCipherAlgorithm());
-            }
+            Cipher cipher = CipherPool.acquire(poolKey);
             cipher.init(cipherMode, cek, new IvParameterSpec(iv));
-            return newCipherLite(cipher, cek, cipherMode);
+            return newCipherLite(cipher, cek, cipherMode).pooledBy(poolKey);
         } catch (Exception e) {
             throw e instanceof RuntimeException
                 ? (RuntimeException) e
@@ -94,7 +94,6 @@ import com.amazonaws.util.json.Jackson;
 public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
         extends S3CryptoModule<T> {
     private static final boolean IS_MULTI_PART = true;
-    protected static final int DEFAULT_BUFFER_SIZE = 1024*2;    // 2K
     protected final EncryptionMaterialsProvider kekMaterialsProvider;
     protected final Log log = LogFactory.getLog(getClass());
     protected final S3CryptoScheme cryptoScheme;
@@ -362,10 +361,10 @@ public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
                     req.isLastPart());
             return cipherLite.markSupported()
                  ? new CipherLiteInputStream(isCurr, cipherLite,
-                       DEFAULT_BUFFER_SIZE,
+                       cryptoConfig.getCipherBufferSize(),
                        IS_MULTI_PART, req.isLastPart())
                  : new RenewableCipherLiteInputStream(isCurr, cipherLite,
-                        DEFAULT_BUFFER_SIZE,
+                        cryptoConfig.getCipherBufferSize(),
                         IS_MULTI_PART, req.isLastPart());
         } catch (Exception e) {
             cleanupDataSource(req, fileOrig, isOrig, isCurr, log);
@@ -664,10 +663,10 @@ public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
 
             if (cipherLite.markSupported()) {
                 return new CipherLiteInputStream(isCurr, cipherLite,
-                        DEFAULT_BUFFER_SIZE);
+                        cryptoConfig.getCipherBufferSize());
             } else {
                 return new RenewableCipherLiteInputStream(isCurr, cipherLite,
-                        DEFAULT_BUFFER_SIZE);
+                        cryptoConfig.getCipherBufferSize());
             }
         } catch (Exception e) {
             cleanupDataSource(req, fileOrig, isOrig, isCurr, log);
@@ -32,6 +32,17 @@ public class CryptoConfiguration implements Cloneable,Serializable {
 
     private static final long serialVersionUID = -8646831898339939580L;
 
+    /**
+     * The default size in bytes of the buffer used for feeding data to the
+     * content cipher.
+     */
+    public static final int DEFAULT_CIPHER_BUFFER_SIZE = 16 * 1024;
+    /**
+     * The size of the cipher buffer must be a multiple of this number of bytes,
+     * which is itself a multiple of the AES (and therefore AES/GCM) block size.
+     */
+    public static final int CIPHER_BUFFER_SIZE_ALIGNMENT = 512;
+
     private CryptoMode cryptoMode;
     private CryptoStorageMode storageMode;
     private Provider cryptoProvider;
@@ -48,6 +59,11 @@ public class CryptoConfiguration implements Cloneable,Serializable {
      * null if no explicit KMS region is specified.
      */
     private transient com.amazonaws.regions.Region awskmsRegion;
+    /**
+     * Size in bytes of the buffer used for feeding data to the content
+     * cipher during encryption and decryption.
+     */
+    private int cipherBufferSize = DEFAULT_CIPHER_BUFFER_SIZE;
 
     /**
      * Creates a new CryptoConfiguration object with default storage mode and
@@ -224,6 +240,53 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         return this;
     }
 
+    /**
+     * Returns the size in bytes of the buffer used for feeding data to the
+     * content cipher during encryption and decryption. Default is
+     * {@value #DEFAULT_CIPHER_BUFFER_SIZE}.
+     */
+    public int getCipherBufferSize() {
+        // zero if deserialized from a version that predates this property
+        return cipherBufferSize == 0 ? DEFAULT_CIPHER_BUFFER_SIZE : cipherBufferSize;
+    }
+
+    /**
+     * Sets the size in bytes of the buffer used for feeding data to the
+     * content cipher during encryption and decryption. Larger buffers allow
+     * the cost of each call to the cipher to be amortized over more blocks,
+     * which improves throughput especially with hardware accelerated AES.
+     * <p>
+     * Note that when an upload is retried, the amount of data that can be
+     * re-read from a request input stream is limited by the read limit of the
+     * request (see
+     * {@link com.amazonaws.RequestClientOptions#setReadLimit(int)}), which
+     * should therefore be larger than the cipher buffer size.
+     * 
+     * @param cipherBufferSize
+     *            a positive multiple of
+     *            {@value #CIPHER_BUFFER_SIZE_ALIGNMENT}
+     */
+    public void setCipherBufferSize(int cipherBufferSize) {
+        if (cipherBufferSize <= 0
+        ||  cipherBufferSize % CIPHER_BUFFER_SIZE_ALIGNMENT != 0) {
+            throw new IllegalArgumentException("cipherBufferSize ("
+                    + cipherBufferSize + ") must be a positive multiple of "
+                    + CIPHER_BUFFER_SIZE_ALIGNMENT);
+        }
+        this.cipherBufferSize = cipherBufferSize;
+    }
+
+    /**
+     * Fluent API to set the size in bytes of the buffer used for feeding data
+     * to the content cipher.
+     * 
+     * @see #setCipherBufferSize(int)
+     */
+    public CryptoConfiguration withCipherBufferSize(int cipherBufferSize) {
+        setCipherBufferSize(cipherBufferSize);
+        return this;
+    }
+
     /**
      * Checks if the crypto mode is supported by the runtime.
      * 
@@ -288,6 +351,12 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         @Override public CryptoConfiguration withKmsRegion(Regions kmsRegion) {
             throw new UnsupportedOperationException();
         }
+        @Override public void setCipherBufferSize(int cipherBufferSize) {
+            throw new UnsupportedOperationException();
+        }
+        @Override public CryptoConfiguration withCipherBufferSize(int cipherBufferSize) {
+            throw new UnsupportedOperationException();
+        }
     }
 
     /**
@@ -310,6 +379,7 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         that.cryptoProvider = this.cryptoProvider;
         that.ignoreMissingInstructionFile = this.ignoreMissingInstructionFile;
         that.awskmsRegion = this.awskmsRegion;
+        that.cipherBufferSize = this.cipherBufferSize;
         return that;
     }
 
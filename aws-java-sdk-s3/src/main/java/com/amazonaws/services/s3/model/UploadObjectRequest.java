@@ -72,6 +72,13 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
      * {@link #partSize}. The default is {@value Long#MAX_VALUE}.
      */
     private long diskLimit = Long.MAX_VALUE;
+    /**
+     * Limitation (in bytes) on the memory used for buffering ciphertext parts
+     * for this request. Parts are only written to temporary files on disk when
+     * this memory is exhausted. The default is zero, meaning every part is
+     * written to a temporary file.
+     */
+    private long memoryLimit;
 
     public UploadObjectRequest(String bucketName, String key, File file) {
         super(bucketName, key, file);
@@ -127,6 +134,32 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
         return this;
     }
 
+    /**
+     * Returns the maximum size (in bytes) of memory that will be used for
+     * buffering ciphertext parts for this request; or zero if every part is
+     * written to a temporary file.
+     */
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    /**
+     * Configured the maximum memory (in bytes) that will be used for buffering
+     * ciphertext parts for this request. Up to
+     * <code>memoryLimit/partSize</code> part buffers are allocated and reused
+     * across parts, so that the encryption of a part can proceed while previous
+     * parts are being uploaded; parts are only written to temporary files on
+     * disk when all the buffers are in use.
+     *
+     * @return this object for method chaining purposes
+     */
+    public UploadObjectRequest withMemoryLimit(long memoryLimit) {
+        if (memoryLimit < 0)
+            throw new IllegalArgumentException("memoryLimit must not be negative");
+        this.memoryLimit = memoryLimit;
+        return this;
+    }
+
     /**
      * Returns a custom executor service for concurrent uploads; or null there
      * is no customization.
@@ -253,6 +286,7 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
                     : new HashMap<String, String>(materialsDescription))
                 .withDiskLimit(getDiskLimit())
                 .withExecutorService(getExecutorService())
+                .withMemoryLimit(getMemoryLimit())
                 .withMultiFileOutputStream(getMultiFileOutputStream())
                 .withPartSize(getPartSize())
                 .withUploadObjectObserver(getUploadObjectObserver())
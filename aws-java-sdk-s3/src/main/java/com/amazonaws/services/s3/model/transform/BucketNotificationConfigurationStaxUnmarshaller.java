@@ -18,10 +18,11 @@ import java.io.InputStream;
 import java.util.Map.Entry;
 
 import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.s3.model.BucketNotificationConfiguration;
 import com.amazonaws.services.s3.model.NotificationConfiguration;
+import com.amazonaws.transform.StaxCursorUnmarshallerContext;
 import com.amazonaws.transform.StaxUnmarshallerContext;
 import com.amazonaws.transform.Unmarshaller;
 
@@ -43,7 +44,7 @@ public class BucketNotificationConfigurationStaxUnmarshaller implements
     public BucketNotificationConfiguration unmarshall(InputStream inputStream) throws Exception {
         StaxUnmarshallerContext context;
         synchronized (inputFactory) {
-            context = new StaxUnmarshallerContext(inputFactory.createXMLEventReader(inputStream));
+            context = new StaxCursorUnmarshallerContext(inputFactory.createXMLStreamReader(inputStream));
         }
         int originalDepth = context.getCurrentDepth();
         int targetDepth = originalDepth + 1;
@@ -55,11 +56,12 @@ public class BucketNotificationConfigurationStaxUnmarshaller implements
         BucketNotificationConfiguration config = new BucketNotificationConfiguration();
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) {
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) {
                 return config;
             }
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("TopicConfiguration", targetDepth)) {
                     Entry<String, NotificationConfiguration> entry = TopicConfigurationStaxUnmarshaller.getInstance()
                             .unmarshall(context);
@@ -73,7 +75,7 @@ public class BucketNotificationConfigurationStaxUnmarshaller implements
                             .unmarshall(context);
                     config.addConfiguration(entry.getKey(), entry.getValue());
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return config;
                 }
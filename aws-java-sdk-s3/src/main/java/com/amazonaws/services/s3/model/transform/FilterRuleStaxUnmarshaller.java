@@ -14,7 +14,7 @@
  */
 package com.amazonaws.services.s3.model.transform;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.s3.model.FilterRule;
 import com.amazonaws.transform.StaxUnmarshallerContext;
@@ -44,17 +44,18 @@ class FilterRuleStaxUnmarshaller implements Unmarshaller<FilterRule, StaxUnmarsh
         FilterRule filter = new FilterRule();
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) {
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) {
                 return filter;
             }
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Name", targetDepth)) {
                     filter.setName(StringStaxUnmarshaller.getInstance().unmarshall(context));
                 } else if (context.testExpression("Value", targetDepth)) {
                     filter.setValue(StringStaxUnmarshaller.getInstance().unmarshall(context));
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return filter;
                 }
@@ -19,7 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.s3.model.CloudFunctionConfiguration;
 import com.amazonaws.services.s3.model.Filter;
@@ -65,12 +65,13 @@ class LambdaConfigurationStaxUnmarshaller implements
         String invocationRole = null;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) {
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) {
                 return createLambdaConfig(id, events, functionArn, invocationRole, filter);
             }
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("Id", targetDepth)) {
                     id = StringStaxUnmarshaller.getInstance().unmarshall(context);
                 } else if (context.testExpression("Event", targetDepth)) {
@@ -82,7 +83,7 @@ class LambdaConfigurationStaxUnmarshaller implements
                 } else if (context.testExpression("InvocationRole", targetDepth)) {
                     invocationRole = StringStaxUnmarshaller.getInstance().unmarshall(context);
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return createLambdaConfig(id, events, functionArn, invocationRole, filter);
                 }
@@ -14,7 +14,7 @@
  */
 package com.amazonaws.services.s3.model.transform;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.s3.model.S3KeyFilter;
 import com.amazonaws.transform.StaxUnmarshallerContext;
@@ -43,16 +43,17 @@ class S3KeyFilterStaxUnmarshaller implements Unmarshaller<S3KeyFilter, StaxUnmar
         S3KeyFilter filter = new S3KeyFilter();
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) {
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT) {
                 return filter;
             }
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
                 if (context.testExpression("FilterRule", targetDepth)) {
                     filter.addFilterRule(FilterRuleStaxUnmarshaller.getInstance().unmarshall(context));
                 }
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return filter;
                 }
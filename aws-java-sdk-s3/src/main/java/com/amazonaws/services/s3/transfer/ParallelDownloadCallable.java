@@ -0,0 +1,386 @@
+/*
+ * Copyright 2016 Amazon Technologies, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.internal.FileLocks;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.transfer.Transfer.TransferState;
+import com.amazonaws.services.s3.transfer.exception.FileLockException;
+import com.amazonaws.services.s3.transfer.internal.DownloadImpl;
+
+/**
+ * Downloads an object into a file by fetching fixed size byte ranges of the
+ * object concurrently, writing each range at its offset in the file.
+ * <p>
+ * The callable itself only opens the file and submits one task per byte range
+ * to the transfer manager's thread pool; it never blocks waiting for those
+ * tasks, so a pool sized smaller than the number of ranges cannot deadlock.
+ * The last range to finish completes the future returned by
+ * {@link #getFuture()}, which is the future monitored by the download.
+ */
+final class ParallelDownloadCallable implements Callable<File> {
+    private static final Log log = LogFactory.getLog(ParallelDownloadCallable.class);
+
+    /** Maximum number of attempts to fetch a single byte range. */
+    private static final int MAX_PART_ATTEMPTS = 3;
+
+    private final AmazonS3 s3;
+    private final CountDownLatch latch;
+    private final GetObjectRequest req;
+    private final DownloadImpl download;
+    private final File dstfile;
+    private final long startingByte;
+    private final long lastByte;
+    private final long partSize;
+    private final String eTag;
+    private final boolean resumeExistingDownload;
+    private final long timeout;
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService timedExecutor;
+
+    private final DownloadFuture result = new DownloadFuture();
+    private final List<Future<?>> partFutures = new ArrayList<Future<?>>();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private AtomicInteger remainingParts;
+    private FileChannel channel;
+
+    ParallelDownloadCallable(AmazonS3 s3, CountDownLatch latch,
+            GetObjectRequest req, DownloadImpl download, File dstfile,
+            long startingByte, long lastByte, long partSize, String eTag,
+            boolean resumeExistingDownload, long timeout,
+            ExecutorService executorService,
+            ScheduledExecutorService timedExecutor) {
+        if (s3 == null || latch == null || req == null || dstfile == null
+                || download == null || partSize <= 0)
+            throw new IllegalArgumentException();
+        this.s3 = s3;
+        this.latch = latch;
+        this.req = req;
+        this.download = download;
+        this.dstfile = dstfile;
+        this.startingByte = startingByte;
+        this.lastByte = lastByte;
+        this.partSize = partSize;
+        this.eTag = eTag;
+        this.resumeExistingDownload = resumeExistingDownload;
+        this.timeout = timeout;
+        this.executorService = executorService;
+        this.timedExecutor = timedExecutor;
+    }
+
+    /**
+     * Returns the future that completes with the downloaded file once every
+     * byte range has been written, or fails with the first error encountered.
+     */
+    Future<File> getFuture() {
+        return result;
+    }
+
+    /**
+     * Returns the number of byte ranges the given number of bytes is split
+     * into.
+     */
+    static int getNumberOfParts(long totalBytes, long partSize) {
+        return (int) ((totalBytes + partSize - 1) / partSize);
+    }
+
+    @Override
+    public File call() throws Exception {
+        try {
+            latch.await();
+
+            if (timeout > 0) {
+                timedExecutor.schedule(new Runnable() {
+                    public void run() {
+                        try {
+                            if (download.getState() != TransferState.Completed) {
+                                download.abort();
+                            }
+                        } catch(Exception e) {
+                            throw new AmazonClientException(
+                                    "Unable to abort download after timeout", e);
+                        }
+                    }
+                }, timeout, TimeUnit.MILLISECONDS);
+            }
+            download.setState(TransferState.InProgress);
+            openFile();
+            if (finished.get()) {
+                // Canceled while the file was being opened
+                closeFile();
+                return dstfile;
+            }
+
+            final int numberOfParts = getNumberOfParts(
+                    lastByte - startingByte + 1, partSize);
+            List<Integer> parts = new ArrayList<Integer>(numberOfParts);
+            for (int part = 0; part < numberOfParts; part++) {
+                if (!download.isPartCompleted(part)) {
+                    parts.add(part);
+                }
+            }
+            if (parts.isEmpty()) {
+                complete();
+                return dstfile;
+            }
+            remainingParts = new AtomicInteger(parts.size());
+            synchronized (partFutures) {
+                for (final int part : parts) {
+                    if (result.isDone()) {
+                        break;
+                    }
+                    partFutures.add(executorService.submit(new Runnable() {
+                        public void run() {
+                            downloadPart(part);
+                        }
+                    }));
+                }
+            }
+            return dstfile;
+        } catch (Throwable t) {
+            fail(t);
+            if (t instanceof Exception)
+                throw (Exception) t;
+            else
+                throw (Error) t;
+        }
+    }
+
+    private void openFile() throws IOException {
+        File parentDirectory = dstfile.getParentFile();
+        if (parentDirectory != null && !parentDirectory.exists()) {
+            if (!(parentDirectory.mkdirs())) {
+                throw new AmazonClientException(
+                        "Unable to create directory in the path"
+                                + parentDirectory.getAbsolutePath());
+            }
+        }
+        if (!FileLocks.lock(dstfile)) {
+            throw new FileLockException("Fail to lock " + dstfile
+                    + " for parallel download");
+        }
+        RandomAccessFile file = new RandomAccessFile(dstfile, "rw");
+        if (!resumeExistingDownload) {
+            file.setLength(0);
+        }
+        channel = file.getChannel();
+    }
+
+    private void downloadPart(int part) {
+        final long partStart = startingByte + part * partSize;
+        final long partEnd = Math.min(partStart + partSize - 1, lastByte);
+        try {
+            for (int attempt = 1;; attempt++) {
+                try {
+                    if (!downloadRange(partStart, partEnd)) {
+                        // The object has changed since the download started
+                        cancel();
+                        return;
+                    }
+                    break;
+                } catch (IOException e) {
+                    if (result.isDone() || attempt >= MAX_PART_ATTEMPTS) {
+                        throw new AmazonClientException(
+                                "Unable to store object contents to disk: "
+                                        + e.getMessage(), e);
+                    }
+                    logRetry(partStart, partEnd, e);
+                } catch (AmazonClientException e) {
+                    if (result.isDone() || !e.isRetryable()
+                            || attempt >= MAX_PART_ATTEMPTS) {
+                        throw e;
+                    }
+                    logRetry(partStart, partEnd, e);
+                }
+            }
+            download.partCompleted(part);
+            if (remainingParts.decrementAndGet() == 0) {
+                complete();
+            }
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    /**
+     * Writes the given byte range of the object to the file. Returns false,
+     * without retrying, if the object no longer matches the ETag of the
+     * download.
+     */
+    private boolean downloadRange(long partStart, long partEnd) throws IOException {
+        GetObjectRequest partRequest = (GetObjectRequest) req.clone();
+        partRequest.setRange(partStart, partEnd);
+        if (eTag != null) {
+            partRequest.setMatchingETagConstraints(Arrays.asList(eTag));
+        }
+        S3Object s3Object = s3.getObject(partRequest);
+        if (s3Object == null) {
+            return false;
+        }
+        try {
+            InputStream in = s3Object.getObjectContent();
+            byte[] buffer = new byte[1024*10];
+            long position = partStart - startingByte;
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) > -1) {
+                ByteBuffer src = ByteBuffer.wrap(buffer, 0, bytesRead);
+                while (src.hasRemaining()) {
+                    position += channel.write(src, position);
+                }
+            }
+        } finally {
+            s3Object.getObjectContent().abort();
+        }
+        return true;
+    }
+
+    private void logRetry(long partStart, long partEnd, Exception e) {
+        log.info("Retry the download of bytes " + partStart + "-" + partEnd
+                + " of object " + req.getKey() + " (bucket "
+                + req.getBucketName() + ")", e);
+    }
+
+    private void complete() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            closeFile();
+        } catch (Throwable t) {
+            download.setState(TransferState.Failed);
+            result.setException(t);
+            return;
+        }
+        download.setState(TransferState.Completed);
+        result.set(dstfile);
+    }
+
+    /**
+     * Cancels the download, as a download over a single connection is when
+     * the constraints of its request are not met.
+     */
+    private void cancel() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        cancelParts();
+        try {
+            closeFile();
+        } catch (IOException e) {
+            log.debug("Unable to close " + dstfile, e);
+        }
+        download.setState(TransferState.Canceled);
+        result.set(dstfile);
+    }
+
+    private void fail(Throwable t) {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        cancelParts();
+        try {
+            closeFile();
+        } catch (IOException e) {
+            log.debug("Unable to close " + dstfile, e);
+        }
+        // Downloads aren't allowed to move from canceled to failed
+        if (download.getState() != TransferState.Canceled) {
+            download.setState(TransferState.Failed);
+        }
+        result.setException(t);
+    }
+
+    private void cancelParts() {
+        synchronized (partFutures) {
+            for (Future<?> future : partFutures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private void closeFile() throws IOException {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            FileLocks.unlock(dstfile);
+        }
+    }
+
+    /**
+     * The future of the whole download, completed by the byte range tasks
+     * rather than by running a task of its own. Canceling it cancels all
+     * outstanding byte ranges and releases the file.
+     */
+    private final class DownloadFuture extends FutureTask<File> {
+        DownloadFuture() {
+            super(new Callable<File>() {
+                public File call() {
+                    throw new IllegalStateException();
+                }
+            });
+        }
+
+        @Override
+        protected void set(File file) {
+            super.set(file);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            super.setException(t);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean canceled = super.cancel(mayInterruptIfRunning);
+            if (canceled && finished.compareAndSet(false, true)) {
+                cancelParts();
+                try {
+                    closeFile();
+                } catch (IOException e) {
+                    log.debug("Unable to close " + dstfile, e);
+                }
+            }
+            return canceled;
+        }
+    }
+}
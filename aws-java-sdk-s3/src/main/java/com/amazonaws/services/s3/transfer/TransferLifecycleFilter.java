@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer;
+
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventFilter;
+
+/**
+ * Used to filter out the transfer events of the GetObject requests of the
+ * byte ranges of a parallel download, so that the download as a whole only
+ * reports a single start and a single outcome.
+ */
+final class TransferLifecycleFilter implements ProgressEventFilter {
+    @Override
+    public ProgressEvent filter(ProgressEvent progressEvent) {
+        // Block the STARTED, COMPLETED, FAILED and CANCELED events of each
+        // byte range, but keep the BytesTransferred
+        return progressEvent.getEventType().isTransferEvent()
+             ? null // discard this event
+             : progressEvent
+             ;
+    }
+}
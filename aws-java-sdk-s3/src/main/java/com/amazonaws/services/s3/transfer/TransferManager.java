@@ -46,6 +46,7 @@ import com.amazonaws.event.ProgressListener;
 import com.amazonaws.event.ProgressListenerChain;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.AmazonS3Encryption;
 import com.amazonaws.services.s3.internal.FileLocks;
 import com.amazonaws.services.s3.internal.Mimetypes;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
@@ -59,6 +60,7 @@ import com.amazonaws.services.s3.model.MultipartUploadListing;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.exception.FileLockException;
@@ -898,6 +900,24 @@ public class TransferManager {
             final S3ProgressListener s3progressListener,
             final boolean resumeExistingDownload,
             final long timeoutMillis)
+    {
+        return doDownload(getObjectRequest, file, stateListener,
+                s3progressListener, resumeExistingDownload, timeoutMillis, 0,
+                null, null);
+    }
+
+    /**
+     * Same as above, but resumes a parallel download of byte ranges of the
+     * given size when partSize is non-zero, skipping the ranges with the
+     * given indexes. The ETag, if not null, is the one the object had when the
+     * download was started, which every byte range must still match.
+     */
+    private Download doDownload(final GetObjectRequest getObjectRequest,
+            final File file, final TransferStateChangeListener stateListener,
+            final S3ProgressListener s3progressListener,
+            final boolean resumeExistingDownload,
+            final long timeoutMillis, long partSize,
+            final int[] completedParts, String eTag)
     {
         assertParameterNotNull(getObjectRequest,
                 "A valid GetObjectRequest must be provided to initiate download");
@@ -914,41 +934,85 @@ public class TransferManager {
             new TransferProgressUpdatingListener(transferProgress),
             getObjectRequest.getGeneralProgressListener(),
             s3progressListener);           // Listeners included in the original request
-        // The listener chain used by the low-level GetObject request.
-        // This listener chain ignores any COMPLETE event, so that we could
-        // delay firing the signal until the high-level download fully finishes.
-        getObjectRequest.setGeneralProgressListener(
-            new ProgressListenerChain(
-                new TransferCompletionFilter(), listenerChain));
 
         long startingByte = 0;
         long lastByte;
+        ObjectMetadata objectMetadata = null;
 
         long[] range = getObjectRequest.getRange();
         if (range != null
                 && range.length == 2) {
             startingByte = range[0];
             lastByte = range[1];
+            if (eTag == null && (partSize > 0
+                    || isParallelDownload(lastByte - startingByte + 1))) {
+                // every byte range must come from the same object version
+                objectMetadata = getObjectMetadata(getObjectRequest);
+                eTag = objectMetadata.getETag();
+            }
         } else {
-            GetObjectMetadataRequest getObjectMetadataRequest = new GetObjectMetadataRequest(
-                    getObjectRequest.getBucketName(), getObjectRequest.getKey());
-            if (getObjectRequest.getSSECustomerKey() != null)
-                getObjectMetadataRequest.setSSECustomerKey(getObjectRequest.getSSECustomerKey());
-            if (getObjectRequest.getVersionId() != null)
-                getObjectMetadataRequest.setVersionId(getObjectRequest.getVersionId());
-            final ObjectMetadata objectMetadata = s3.getObjectMetadata(getObjectMetadataRequest);
+            objectMetadata = getObjectMetadata(getObjectRequest);
 
             lastByte = objectMetadata.getContentLength() - 1;
+            if (eTag == null)
+                eTag = objectMetadata.getETag();
         }
         final long origStartingByte = startingByte;
+        long totalBytesToDownload = lastByte - startingByte + 1;
+
+        if (partSize == 0 && isParallelDownload(totalBytesToDownload)) {
+            partSize = configuration.getParallelDownloadPartSize();
+        }
+        // The listener chain used by the low-level GetObject request.
+        // This listener chain ignores any COMPLETE event, so that we could
+        // delay firing the signal until the high-level download fully finishes.
+        // The byte ranges of a parallel download ignore every transfer event,
+        // which the download fires itself.
+        getObjectRequest.setGeneralProgressListener(
+            new ProgressListenerChain(
+                partSize > 0 ? new TransferLifecycleFilter()
+                             : new TransferCompletionFilter(),
+                listenerChain));
+        S3Object s3Object = null;
+        if (partSize > 0) {
+            // No single GetObject response describes a parallel download, so
+            // describe the object by its metadata instead
+            if (objectMetadata == null) {
+                objectMetadata = getObjectMetadata(getObjectRequest);
+            }
+            s3Object = new S3Object();
+            s3Object.setBucketName(getObjectRequest.getBucketName());
+            s3Object.setKey(getObjectRequest.getKey());
+            s3Object.setObjectMetadata(objectMetadata);
+        }
         // We still pass the unfiltered listener chain into DownloadImpl
         final DownloadImpl download = new DownloadImpl(description,
-                transferProgress, listenerChain, null, stateListener,
-                getObjectRequest, file);
+                transferProgress, listenerChain, s3Object, stateListener,
+                getObjectRequest, file, partSize, completedParts, eTag);
 
-        long totalBytesToDownload = lastByte - startingByte + 1;
         transferProgress.setTotalBytesToTransfer(totalBytesToDownload);
 
+        if (partSize > 0) {
+            if (resumeExistingDownload && completedParts != null) {
+                long completedBytes = 0;
+                for (int part : completedParts) {
+                    long partStart = part * partSize;
+                    completedBytes += Math.min(partSize,
+                            totalBytesToDownload - partStart);
+                }
+                transferProgress.updateProgress(completedBytes);
+            }
+            final CountDownLatch latch = new CountDownLatch(1);
+            ParallelDownloadCallable callable = new ParallelDownloadCallable(
+                    s3, latch, getObjectRequest, download, file, startingByte,
+                    lastByte, partSize, eTag, resumeExistingDownload,
+                    timeoutMillis, executorService, timedThreadPool);
+            download.setMonitor(new DownloadMonitor(download, callable.getFuture()));
+            executorService.submit(callable);
+            latch.countDown();
+            return download;
+        }
+
         long fileLength = -1;
         if (resumeExistingDownload) {
             if (!FileLocks.lock(file)) {
@@ -1706,7 +1770,34 @@ public class TransferManager {
         request.setResponseHeaders(persistableDownload.getResponseHeaders());
 
         return doDownload(request, new File(persistableDownload.getFile()), null, null,
-                APPEND_MODE, 0);
+                APPEND_MODE, 0, persistableDownload.getPartSize(),
+                persistableDownload.getCompletedParts(),
+                persistableDownload.getETag());
+    }
+
+    /**
+     * Returns the metadata of the object to be retrieved by the given request.
+     */
+    private ObjectMetadata getObjectMetadata(GetObjectRequest getObjectRequest) {
+        GetObjectMetadataRequest getObjectMetadataRequest = new GetObjectMetadataRequest(
+                getObjectRequest.getBucketName(), getObjectRequest.getKey());
+        if (getObjectRequest.getSSECustomerKey() != null)
+            getObjectMetadataRequest.setSSECustomerKey(getObjectRequest.getSSECustomerKey());
+        if (getObjectRequest.getVersionId() != null)
+            getObjectMetadataRequest.setVersionId(getObjectRequest.getVersionId());
+        return s3.getObjectMetadata(getObjectMetadataRequest);
+    }
+
+    /**
+     * Returns true if an object of the given size should be downloaded as
+     * concurrent ranged GETs rather than over a single connection. Objects
+     * read through the encryption client are always downloaded over a single
+     * connection, since decrypting requires the object to be read in order.
+     */
+    private boolean isParallelDownload(long totalBytesToDownload) {
+        return !(s3 instanceof AmazonS3Encryption)
+                && totalBytesToDownload >= configuration.getParallelDownloadThreshold()
+                && totalBytesToDownload > configuration.getParallelDownloadPartSize();
     }
 
     /**
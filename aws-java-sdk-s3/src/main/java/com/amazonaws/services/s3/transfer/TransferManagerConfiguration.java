@@ -39,6 +39,12 @@ public class TransferManagerConfiguration {
     /** Default minimum size of each part for multi-part copy. */
     private static final long DEFAULT_MINIMUM_COPY_PART_SIZE = 100 * MB;
 
+    /** Default size threshold for parallel downloads; disabled by default. */
+    private static final long DEFAULT_PARALLEL_DOWNLOAD_THRESHOLD = Long.MAX_VALUE;
+
+    /** Default size of each byte range of a parallel download. */
+    private static final long DEFAULT_PARALLEL_DOWNLOAD_PART_SIZE = 16 * MB;
+
     /**
      * The minimum part size for upload parts. Decreasing the minimum part size
      * will cause multipart uploads to be split into a larger number of smaller
@@ -77,6 +83,21 @@ public class TransferManagerConfiguration {
      */
     private long multipartCopyPartSize = DEFAULT_MINIMUM_COPY_PART_SIZE;
 
+    /**
+     * The size threshold, in bytes, for when to use parallel downloads.
+     * Downloads of this size or larger are split into byte ranges of
+     * {@link #parallelDownloadPartSize} that are fetched concurrently and
+     * written directly to their position in the destination file; smaller
+     * downloads use a single connection. Parallel downloads are disabled by
+     * default.
+     */
+    private long parallelDownloadThreshold = DEFAULT_PARALLEL_DOWNLOAD_THRESHOLD;
+
+    /**
+     * The size in bytes of each byte range fetched by a parallel download.
+     */
+    private long parallelDownloadPartSize = DEFAULT_PARALLEL_DOWNLOAD_PART_SIZE;
+
     /**
      * Returns the minimum part size for upload parts.
      * Decreasing the minimum part size causes
@@ -193,6 +214,60 @@ public class TransferManagerConfiguration {
         this.multipartCopyThreshold = multipartCopyThreshold;
     }
 
+    /**
+     * Returns the size threshold in bytes for when to use parallel downloads.
+     * Downloads of this size or larger are split into byte ranges that are
+     * fetched concurrently on the transfer manager's thread pool, while
+     * smaller downloads use a single connection. Defaults to
+     * {@link Long#MAX_VALUE}, i.e. parallel downloads are disabled.
+     * <p>
+     * Parallel downloads are not used with the Amazon S3 encryption client.
+     *
+     * @return The size threshold in bytes for when to use parallel downloads.
+     */
+    public long getParallelDownloadThreshold() {
+        return parallelDownloadThreshold;
+    }
+
+    /**
+     * Sets the size threshold in bytes for when to use parallel downloads.
+     * Downloads of this size or larger are split into byte ranges that are
+     * fetched concurrently on the transfer manager's thread pool, while
+     * smaller downloads use a single connection.
+     * <p>
+     * Parallel downloads are not used with the Amazon S3 encryption client.
+     *
+     * @param parallelDownloadThreshold
+     *            The size threshold in bytes for when to use parallel
+     *            downloads.
+     */
+    public void setParallelDownloadThreshold(long parallelDownloadThreshold) {
+        this.parallelDownloadThreshold = parallelDownloadThreshold;
+    }
+
+    /**
+     * Returns the size in bytes of each byte range fetched by a parallel
+     * download.
+     *
+     * @return The size in bytes of each byte range of a parallel download.
+     */
+    public long getParallelDownloadPartSize() {
+        return parallelDownloadPartSize;
+    }
+
+    /**
+     * Sets the size in bytes of each byte range fetched by a parallel
+     * download. Each range is fetched with its own GET request and retried
+     * independently, so smaller ranges lose less work on a failure at the
+     * expense of more requests.
+     *
+     * @param parallelDownloadPartSize
+     *            The size in bytes of each byte range of a parallel download.
+     */
+    public void setParallelDownloadPartSize(long parallelDownloadPartSize) {
+        this.parallelDownloadPartSize = parallelDownloadPartSize;
+    }
+
     /**
      * Sets the size threshold in bytes for when to use multipart uploads.
      * Uploads over this size will automatically use a multipart upload
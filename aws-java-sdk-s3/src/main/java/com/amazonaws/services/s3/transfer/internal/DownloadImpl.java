@@ -16,6 +16,8 @@ package com.amazonaws.services.s3.transfer.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import com.amazonaws.event.ProgressEventType;
 import com.amazonaws.event.ProgressListenerChain;
@@ -35,12 +37,57 @@ public class DownloadImpl extends AbstractTransfer implements Download {
      */
     private final PersistableDownload persistableDownload;
 
+    /**
+     * Size of each byte range of a parallel download; or zero if the download
+     * uses a single connection.
+     */
+    private final long partSize;
+
+    /**
+     * Indexes of the byte ranges of a parallel download that have been
+     * written to the file.
+     */
+    private final SortedSet<Integer> completedParts = new TreeSet<Integer>();
+
+    /**
+     * ETag that every byte range of a parallel download must match; or null
+     * if not known.
+     */
+    private final String eTag;
+
+    private final GetObjectRequest getObjectRequest;
+    private final File file;
+
     public DownloadImpl(String description, TransferProgress transferProgress,
             ProgressListenerChain progressListenerChain, S3Object s3Object,
             TransferStateChangeListener listener,
             GetObjectRequest getObjectRequest, File file) {
+        this(description, transferProgress, progressListenerChain, s3Object,
+                listener, getObjectRequest, file, 0, null, null);
+    }
+
+    /**
+     * Constructs a download whose byte ranges of the given size are fetched in
+     * parallel, all of which must match the given ETag; the ranges with the
+     * given indexes have already been written to the file by a previous,
+     * paused download.
+     */
+    public DownloadImpl(String description, TransferProgress transferProgress,
+            ProgressListenerChain progressListenerChain, S3Object s3Object,
+            TransferStateChangeListener listener,
+            GetObjectRequest getObjectRequest, File file,
+            long partSize, int[] completedParts, String eTag) {
         super(description, transferProgress, progressListenerChain, listener);
         this.s3Object = s3Object;
+        this.partSize = partSize;
+        this.getObjectRequest = getObjectRequest;
+        this.file = file;
+        this.eTag = eTag;
+        if (completedParts != null) {
+            for (int part : completedParts) {
+                this.completedParts.add(part);
+            }
+        }
         this.persistableDownload = captureDownloadState(getObjectRequest, file);
         S3ProgressPublisher.publishTransferPersistable(progressListenerChain,
                 persistableDownload);
@@ -82,7 +129,7 @@ public class DownloadImpl extends AbstractTransfer implements Download {
 
         this.monitor.getFuture().cancel(true);
 
-        if ( s3Object != null ) {
+        if ( s3Object != null && s3Object.getObjectContent() != null ) {
               s3Object.getObjectContent().abort();
         }
         setState(TransferState.Canceled);
@@ -98,6 +145,26 @@ public class DownloadImpl extends AbstractTransfer implements Download {
         this.state = TransferState.Canceled;
     }
 
+    /**
+     * Records that the byte range with the given index of a parallel download
+     * has been completely written to the file.
+     */
+    public void partCompleted(int part) {
+        synchronized (completedParts) {
+            completedParts.add(part);
+        }
+    }
+
+    /**
+     * Returns whether the byte range with the given index of a parallel
+     * download has already been written to the file.
+     */
+    public boolean isPartCompleted(int part) {
+        synchronized (completedParts) {
+            return completedParts.contains(part);
+        }
+    }
+
     /**
      *  Set the S3 object to download.
      */
@@ -107,7 +174,9 @@ public class DownloadImpl extends AbstractTransfer implements Download {
 
     /**
      * This method is also responsible for firing COMPLETED signal to the
-     * listeners.
+     * listeners. For a parallel download, whose byte range requests don't
+     * report any transfer event, it also fires the STARTED, FAILED and
+     * CANCELED signals.
      */
     @Override
     public void setState(TransferState state) {
@@ -115,6 +184,14 @@ public class DownloadImpl extends AbstractTransfer implements Download {
 
         if (state == TransferState.Completed) {
             fireProgressEvent(ProgressEventType.TRANSFER_COMPLETED_EVENT);
+        } else if (partSize > 0) {
+            if (state == TransferState.InProgress) {
+                fireProgressEvent(ProgressEventType.TRANSFER_STARTED_EVENT);
+            } else if (state == TransferState.Failed) {
+                fireProgressEvent(ProgressEventType.TRANSFER_FAILED_EVENT);
+            } else if (state == TransferState.Canceled) {
+                fireProgressEvent(ProgressEventType.TRANSFER_CANCELED_EVENT);
+            }
         }
     }
 
@@ -130,11 +207,35 @@ public class DownloadImpl extends AbstractTransfer implements Download {
                     getObjectRequest.getKey(), getObjectRequest.getVersionId(),
                     getObjectRequest.getRange(),
                     getObjectRequest.getResponseHeaders(),
-                    getObjectRequest.isRequesterPays(), file.getAbsolutePath());
+                    getObjectRequest.isRequesterPays(), file.getAbsolutePath(),
+                    partSize, getCompletedParts(), eTag);
         }
         return null;
     }
 
+    /**
+     * Returns the state of a paused download. For a parallel download this
+     * includes the byte ranges written so far, so that only the remaining
+     * ranges are fetched on resume.
+     */
+    private PersistableDownload currentDownloadState() {
+        if (persistableDownload == null || partSize == 0) {
+            return persistableDownload;
+        }
+        return captureDownloadState(getObjectRequest, file);
+    }
+
+    private int[] getCompletedParts() {
+        synchronized (completedParts) {
+            int[] parts = new int[completedParts.size()];
+            int i = 0;
+            for (Integer part : completedParts) {
+                parts[i++] = part;
+            }
+            return parts;
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -150,6 +251,6 @@ public class DownloadImpl extends AbstractTransfer implements Download {
             throw new PauseException(TransferManagerUtils.determinePauseStatus(
                     currentState, forceCancel));
         }
-        return persistableDownload;
+        return currentDownloadState();
     }
 }
\ No newline at end of file
@@ -21,7 +21,7 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import com.amazonaws.services.simpleemail.model.*;
 import com.amazonaws.transform.Unmarshaller;
@@ -48,11 +48,12 @@ public class GetIdentityDkimAttributesResultStaxUnmarshaller implements
             MapEntry<String, IdentityDkimAttributes> entry = new MapEntry<String, IdentityDkimAttributes>();
 
             while (true) {
-                XMLEvent xmlEvent = context.nextEvent();
-                if (xmlEvent.isEndDocument())
+                int token = context.nextToken();
+                if (token == XMLStreamConstants.END_DOCUMENT)
                     return entry;
 
-                if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+                if (token == XMLStreamConstants.ATTRIBUTE
+                        || token == XMLStreamConstants.START_ELEMENT) {
                     if (context.testExpression("key", targetDepth)) {
                         entry.setKey(StringStaxUnmarshaller.getInstance()
                                 .unmarshall(context));
@@ -63,7 +64,7 @@ public class GetIdentityDkimAttributesResultStaxUnmarshaller implements
                                 .getInstance().unmarshall(context));
                         continue;
                     }
-                } else if (xmlEvent.isEndElement()) {
+                } else if (token == XMLStreamConstants.END_ELEMENT) {
                     if (context.getCurrentDepth() < originalDepth)
                         return entry;
                 }
@@ -90,11 +91,12 @@ public class GetIdentityDkimAttributesResultStaxUnmarshaller implements
             targetDepth += 2;
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument())
+            int token = context.nextToken();
+            if (token == XMLStreamConstants.END_DOCUMENT)
                 return getIdentityDkimAttributesResult;
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (token == XMLStreamConstants.ATTRIBUTE
+                    || token == XMLStreamConstants.START_ELEMENT) {
 
                 if (context.testExpression("DkimAttributes/entry", targetDepth)) {
                     Entry<String, IdentityDkimAttributes> entry = DkimAttributesMapEntryUnmarshaller
@@ -104,7 +106,7 @@ public class GetIdentityDkimAttributesResultStaxUnmarshaller implements
                     continue;
                 }
 
-            } else if (xmlEvent.isEndElement()) {
+            } else if (token == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return getIdentityDkimAttributesResult;
                 }
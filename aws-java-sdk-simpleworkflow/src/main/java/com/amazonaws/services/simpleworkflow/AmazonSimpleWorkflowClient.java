@@ -71,7 +71,7 @@ public class AmazonSimpleWorkflowClient extends AmazonWebServiceClient implement
     /**
      * List of exception unmarshallers for all AmazonSimpleWorkflow exceptions.
      */
-    protected List<JsonErrorUnmarshaller> jsonErrorUnmarshallers;
+    protected List<JsonErrorUnmarshallerV2> jsonErrorUnmarshallers;
 
     /**
      * Constructs a new client to invoke service methods on
@@ -219,18 +219,18 @@ public class AmazonSimpleWorkflowClient extends AmazonWebServiceClient implement
     }
 
     private void init() {
-        jsonErrorUnmarshallers = new ArrayList<JsonErrorUnmarshaller>();
-        jsonErrorUnmarshallers.add(new LimitExceededExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new DomainAlreadyExistsExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new DomainDeprecatedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new DefaultUndefinedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new WorkflowExecutionAlreadyStartedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new TypeDeprecatedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new OperationNotPermittedExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new UnknownResourceExceptionUnmarshaller());
-        jsonErrorUnmarshallers.add(new TypeAlreadyExistsExceptionUnmarshaller());
+        jsonErrorUnmarshallers = new ArrayList<JsonErrorUnmarshallerV2>();
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(LimitExceededException.class, "LimitExceededFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(DomainAlreadyExistsException.class, "DomainAlreadyExistsFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(DomainDeprecatedException.class, "DomainDeprecatedFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(DefaultUndefinedException.class, "DefaultUndefinedFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(WorkflowExecutionAlreadyStartedException.class, "WorkflowExecutionAlreadyStartedFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(TypeDeprecatedException.class, "TypeDeprecatedFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(OperationNotPermittedException.class, "OperationNotPermittedFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(UnknownResourceException.class, "UnknownResourceFault"));
+        jsonErrorUnmarshallers.add(new JsonErrorUnmarshallerV2(TypeAlreadyExistsException.class, "TypeAlreadyExistsFault"));
         
-        jsonErrorUnmarshallers.add(new JsonErrorUnmarshaller());
+        jsonErrorUnmarshallers.add(JsonErrorUnmarshallerV2.DEFAULT_UNMARSHALLER);
         
         // calling this.setEndPoint(...) will also modify the signer accordingly
         this.setEndpoint("swf.us-east-1.amazonaws.com");
@@ -3092,7 +3092,7 @@ public class AmazonSimpleWorkflowClient extends AmazonWebServiceClient implement
         }
 
         executionContext.setCredentials(credentials);
-        JsonErrorResponseHandler errorResponseHandler = new JsonErrorResponseHandler(jsonErrorUnmarshallers);
+        JsonErrorResponseHandlerV2 errorResponseHandler = SdkJsonProtocolFactory.createErrorResponseHandler(jsonErrorUnmarshallers, false);
         Response<X> result = client.execute(request, responseHandler,
                 errorResponseHandler, executionContext);
         return result;
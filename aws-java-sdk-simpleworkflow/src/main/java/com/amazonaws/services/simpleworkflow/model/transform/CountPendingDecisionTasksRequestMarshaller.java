@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,33 +54,30 @@ public class CountPendingDecisionTasksRequestMarshaller implements Marshaller<Re
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (countPendingDecisionTasksRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(countPendingDecisionTasksRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(countPendingDecisionTasksRequest.getDomain());
             }
             TaskList taskList = countPendingDecisionTasksRequest.getTaskList();
             if (taskList != null) {
 
-                jsonWriter.key("taskList");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("taskList");
+                jsonGenerator.writeStartObject();
 
                 if (taskList.getName() != null) {
-                    jsonWriter.key("name").value(taskList.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(taskList.getName());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
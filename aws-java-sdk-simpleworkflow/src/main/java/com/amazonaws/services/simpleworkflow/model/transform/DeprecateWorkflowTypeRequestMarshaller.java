@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,36 +54,33 @@ public class DeprecateWorkflowTypeRequestMarshaller implements Marshaller<Reques
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (deprecateWorkflowTypeRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(deprecateWorkflowTypeRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(deprecateWorkflowTypeRequest.getDomain());
             }
             WorkflowType workflowType = deprecateWorkflowTypeRequest.getWorkflowType();
             if (workflowType != null) {
 
-                jsonWriter.key("workflowType");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("workflowType");
+                jsonGenerator.writeStartObject();
 
                 if (workflowType.getName() != null) {
-                    jsonWriter.key("name").value(workflowType.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(workflowType.getName());
                 }
                 if (workflowType.getVersion() != null) {
-                    jsonWriter.key("version").value(workflowType.getVersion());
+                    jsonGenerator.writeFieldName("version").writeValue(workflowType.getVersion());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
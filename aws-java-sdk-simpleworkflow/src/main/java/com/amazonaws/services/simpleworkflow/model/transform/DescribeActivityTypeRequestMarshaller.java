@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,36 +54,33 @@ public class DescribeActivityTypeRequestMarshaller implements Marshaller<Request
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (describeActivityTypeRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(describeActivityTypeRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(describeActivityTypeRequest.getDomain());
             }
             ActivityType activityType = describeActivityTypeRequest.getActivityType();
             if (activityType != null) {
 
-                jsonWriter.key("activityType");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("activityType");
+                jsonGenerator.writeStartObject();
 
                 if (activityType.getName() != null) {
-                    jsonWriter.key("name").value(activityType.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(activityType.getName());
                 }
                 if (activityType.getVersion() != null) {
-                    jsonWriter.key("version").value(activityType.getVersion());
+                    jsonGenerator.writeFieldName("version").writeValue(activityType.getVersion());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,45 +54,42 @@ public class GetWorkflowExecutionHistoryRequestMarshaller implements Marshaller<
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (getWorkflowExecutionHistoryRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(getWorkflowExecutionHistoryRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(getWorkflowExecutionHistoryRequest.getDomain());
             }
             WorkflowExecution execution = getWorkflowExecutionHistoryRequest.getExecution();
             if (execution != null) {
 
-                jsonWriter.key("execution");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("execution");
+                jsonGenerator.writeStartObject();
 
                 if (execution.getWorkflowId() != null) {
-                    jsonWriter.key("workflowId").value(execution.getWorkflowId());
+                    jsonGenerator.writeFieldName("workflowId").writeValue(execution.getWorkflowId());
                 }
                 if (execution.getRunId() != null) {
-                    jsonWriter.key("runId").value(execution.getRunId());
+                    jsonGenerator.writeFieldName("runId").writeValue(execution.getRunId());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             if (getWorkflowExecutionHistoryRequest.getNextPageToken() != null) {
-                jsonWriter.key("nextPageToken").value(getWorkflowExecutionHistoryRequest.getNextPageToken());
+                jsonGenerator.writeFieldName("nextPageToken").writeValue(getWorkflowExecutionHistoryRequest.getNextPageToken());
             }
             if (getWorkflowExecutionHistoryRequest.getMaximumPageSize() != null) {
-                jsonWriter.key("maximumPageSize").value(getWorkflowExecutionHistoryRequest.getMaximumPageSize());
+                jsonGenerator.writeFieldName("maximumPageSize").writeValue(getWorkflowExecutionHistoryRequest.getMaximumPageSize());
             }
             if (getWorkflowExecutionHistoryRequest.isReverseOrder() != null) {
-                jsonWriter.key("reverseOrder").value(getWorkflowExecutionHistoryRequest.isReverseOrder());
+                jsonGenerator.writeFieldName("reverseOrder").writeValue(getWorkflowExecutionHistoryRequest.isReverseOrder());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
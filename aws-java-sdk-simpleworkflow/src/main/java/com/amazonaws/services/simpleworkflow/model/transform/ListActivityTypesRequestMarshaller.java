@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,37 +54,34 @@ public class ListActivityTypesRequestMarshaller implements Marshaller<Request<Li
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (listActivityTypesRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(listActivityTypesRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(listActivityTypesRequest.getDomain());
             }
             if (listActivityTypesRequest.getName() != null) {
-                jsonWriter.key("name").value(listActivityTypesRequest.getName());
+                jsonGenerator.writeFieldName("name").writeValue(listActivityTypesRequest.getName());
             }
             if (listActivityTypesRequest.getRegistrationStatus() != null) {
-                jsonWriter.key("registrationStatus").value(listActivityTypesRequest.getRegistrationStatus());
+                jsonGenerator.writeFieldName("registrationStatus").writeValue(listActivityTypesRequest.getRegistrationStatus());
             }
             if (listActivityTypesRequest.getNextPageToken() != null) {
-                jsonWriter.key("nextPageToken").value(listActivityTypesRequest.getNextPageToken());
+                jsonGenerator.writeFieldName("nextPageToken").writeValue(listActivityTypesRequest.getNextPageToken());
             }
             if (listActivityTypesRequest.getMaximumPageSize() != null) {
-                jsonWriter.key("maximumPageSize").value(listActivityTypesRequest.getMaximumPageSize());
+                jsonGenerator.writeFieldName("maximumPageSize").writeValue(listActivityTypesRequest.getMaximumPageSize());
             }
             if (listActivityTypesRequest.isReverseOrder() != null) {
-                jsonWriter.key("reverseOrder").value(listActivityTypesRequest.isReverseOrder());
+                jsonGenerator.writeFieldName("reverseOrder").writeValue(listActivityTypesRequest.isReverseOrder());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
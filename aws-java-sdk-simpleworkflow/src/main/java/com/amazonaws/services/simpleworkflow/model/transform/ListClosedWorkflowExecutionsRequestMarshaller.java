@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,106 +54,103 @@ public class ListClosedWorkflowExecutionsRequestMarshaller implements Marshaller
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (listClosedWorkflowExecutionsRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(listClosedWorkflowExecutionsRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(listClosedWorkflowExecutionsRequest.getDomain());
             }
             ExecutionTimeFilter startTimeFilter = listClosedWorkflowExecutionsRequest.getStartTimeFilter();
             if (startTimeFilter != null) {
 
-                jsonWriter.key("startTimeFilter");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("startTimeFilter");
+                jsonGenerator.writeStartObject();
 
                 if (startTimeFilter.getOldestDate() != null) {
-                    jsonWriter.key("oldestDate").value(startTimeFilter.getOldestDate());
+                    jsonGenerator.writeFieldName("oldestDate").writeValue(startTimeFilter.getOldestDate());
                 }
                 if (startTimeFilter.getLatestDate() != null) {
-                    jsonWriter.key("latestDate").value(startTimeFilter.getLatestDate());
+                    jsonGenerator.writeFieldName("latestDate").writeValue(startTimeFilter.getLatestDate());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             ExecutionTimeFilter closeTimeFilter = listClosedWorkflowExecutionsRequest.getCloseTimeFilter();
             if (closeTimeFilter != null) {
 
-                jsonWriter.key("closeTimeFilter");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("closeTimeFilter");
+                jsonGenerator.writeStartObject();
 
                 if (closeTimeFilter.getOldestDate() != null) {
-                    jsonWriter.key("oldestDate").value(closeTimeFilter.getOldestDate());
+                    jsonGenerator.writeFieldName("oldestDate").writeValue(closeTimeFilter.getOldestDate());
                 }
                 if (closeTimeFilter.getLatestDate() != null) {
-                    jsonWriter.key("latestDate").value(closeTimeFilter.getLatestDate());
+                    jsonGenerator.writeFieldName("latestDate").writeValue(closeTimeFilter.getLatestDate());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             WorkflowExecutionFilter executionFilter = listClosedWorkflowExecutionsRequest.getExecutionFilter();
             if (executionFilter != null) {
 
-                jsonWriter.key("executionFilter");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("executionFilter");
+                jsonGenerator.writeStartObject();
 
                 if (executionFilter.getWorkflowId() != null) {
-                    jsonWriter.key("workflowId").value(executionFilter.getWorkflowId());
+                    jsonGenerator.writeFieldName("workflowId").writeValue(executionFilter.getWorkflowId());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             CloseStatusFilter closeStatusFilter = listClosedWorkflowExecutionsRequest.getCloseStatusFilter();
             if (closeStatusFilter != null) {
 
-                jsonWriter.key("closeStatusFilter");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("closeStatusFilter");
+                jsonGenerator.writeStartObject();
 
                 if (closeStatusFilter.getStatus() != null) {
-                    jsonWriter.key("status").value(closeStatusFilter.getStatus());
+                    jsonGenerator.writeFieldName("status").writeValue(closeStatusFilter.getStatus());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             WorkflowTypeFilter typeFilter = listClosedWorkflowExecutionsRequest.getTypeFilter();
             if (typeFilter != null) {
 
-                jsonWriter.key("typeFilter");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("typeFilter");
+                jsonGenerator.writeStartObject();
 
                 if (typeFilter.getName() != null) {
-                    jsonWriter.key("name").value(typeFilter.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(typeFilter.getName());
                 }
                 if (typeFilter.getVersion() != null) {
-                    jsonWriter.key("version").value(typeFilter.getVersion());
+                    jsonGenerator.writeFieldName("version").writeValue(typeFilter.getVersion());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             TagFilter tagFilter = listClosedWorkflowExecutionsRequest.getTagFilter();
             if (tagFilter != null) {
 
-                jsonWriter.key("tagFilter");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("tagFilter");
+                jsonGenerator.writeStartObject();
 
                 if (tagFilter.getTag() != null) {
-                    jsonWriter.key("tag").value(tagFilter.getTag());
+                    jsonGenerator.writeFieldName("tag").writeValue(tagFilter.getTag());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             if (listClosedWorkflowExecutionsRequest.getNextPageToken() != null) {
-                jsonWriter.key("nextPageToken").value(listClosedWorkflowExecutionsRequest.getNextPageToken());
+                jsonGenerator.writeFieldName("nextPageToken").writeValue(listClosedWorkflowExecutionsRequest.getNextPageToken());
             }
             if (listClosedWorkflowExecutionsRequest.getMaximumPageSize() != null) {
-                jsonWriter.key("maximumPageSize").value(listClosedWorkflowExecutionsRequest.getMaximumPageSize());
+                jsonGenerator.writeFieldName("maximumPageSize").writeValue(listClosedWorkflowExecutionsRequest.getMaximumPageSize());
             }
             if (listClosedWorkflowExecutionsRequest.isReverseOrder() != null) {
-                jsonWriter.key("reverseOrder").value(listClosedWorkflowExecutionsRequest.isReverseOrder());
+                jsonGenerator.writeFieldName("reverseOrder").writeValue(listClosedWorkflowExecutionsRequest.isReverseOrder());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,31 +54,28 @@ public class ListDomainsRequestMarshaller implements Marshaller<Request<ListDoma
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (listDomainsRequest.getNextPageToken() != null) {
-                jsonWriter.key("nextPageToken").value(listDomainsRequest.getNextPageToken());
+                jsonGenerator.writeFieldName("nextPageToken").writeValue(listDomainsRequest.getNextPageToken());
             }
             if (listDomainsRequest.getRegistrationStatus() != null) {
-                jsonWriter.key("registrationStatus").value(listDomainsRequest.getRegistrationStatus());
+                jsonGenerator.writeFieldName("registrationStatus").writeValue(listDomainsRequest.getRegistrationStatus());
             }
             if (listDomainsRequest.getMaximumPageSize() != null) {
-                jsonWriter.key("maximumPageSize").value(listDomainsRequest.getMaximumPageSize());
+                jsonGenerator.writeFieldName("maximumPageSize").writeValue(listDomainsRequest.getMaximumPageSize());
             }
             if (listDomainsRequest.isReverseOrder() != null) {
-                jsonWriter.key("reverseOrder").value(listDomainsRequest.isReverseOrder());
+                jsonGenerator.writeFieldName("reverseOrder").writeValue(listDomainsRequest.isReverseOrder());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,37 +54,34 @@ public class ListWorkflowTypesRequestMarshaller implements Marshaller<Request<Li
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (listWorkflowTypesRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(listWorkflowTypesRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(listWorkflowTypesRequest.getDomain());
             }
             if (listWorkflowTypesRequest.getName() != null) {
-                jsonWriter.key("name").value(listWorkflowTypesRequest.getName());
+                jsonGenerator.writeFieldName("name").writeValue(listWorkflowTypesRequest.getName());
             }
             if (listWorkflowTypesRequest.getRegistrationStatus() != null) {
-                jsonWriter.key("registrationStatus").value(listWorkflowTypesRequest.getRegistrationStatus());
+                jsonGenerator.writeFieldName("registrationStatus").writeValue(listWorkflowTypesRequest.getRegistrationStatus());
             }
             if (listWorkflowTypesRequest.getNextPageToken() != null) {
-                jsonWriter.key("nextPageToken").value(listWorkflowTypesRequest.getNextPageToken());
+                jsonGenerator.writeFieldName("nextPageToken").writeValue(listWorkflowTypesRequest.getNextPageToken());
             }
             if (listWorkflowTypesRequest.getMaximumPageSize() != null) {
-                jsonWriter.key("maximumPageSize").value(listWorkflowTypesRequest.getMaximumPageSize());
+                jsonGenerator.writeFieldName("maximumPageSize").writeValue(listWorkflowTypesRequest.getMaximumPageSize());
             }
             if (listWorkflowTypesRequest.isReverseOrder() != null) {
-                jsonWriter.key("reverseOrder").value(listWorkflowTypesRequest.isReverseOrder());
+                jsonGenerator.writeFieldName("reverseOrder").writeValue(listWorkflowTypesRequest.isReverseOrder());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,57 +54,54 @@ public class RegisterActivityTypeRequestMarshaller implements Marshaller<Request
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (registerActivityTypeRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(registerActivityTypeRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(registerActivityTypeRequest.getDomain());
             }
             if (registerActivityTypeRequest.getName() != null) {
-                jsonWriter.key("name").value(registerActivityTypeRequest.getName());
+                jsonGenerator.writeFieldName("name").writeValue(registerActivityTypeRequest.getName());
             }
             if (registerActivityTypeRequest.getVersion() != null) {
-                jsonWriter.key("version").value(registerActivityTypeRequest.getVersion());
+                jsonGenerator.writeFieldName("version").writeValue(registerActivityTypeRequest.getVersion());
             }
             if (registerActivityTypeRequest.getDescription() != null) {
-                jsonWriter.key("description").value(registerActivityTypeRequest.getDescription());
+                jsonGenerator.writeFieldName("description").writeValue(registerActivityTypeRequest.getDescription());
             }
             if (registerActivityTypeRequest.getDefaultTaskStartToCloseTimeout() != null) {
-                jsonWriter.key("defaultTaskStartToCloseTimeout").value(registerActivityTypeRequest.getDefaultTaskStartToCloseTimeout());
+                jsonGenerator.writeFieldName("defaultTaskStartToCloseTimeout").writeValue(registerActivityTypeRequest.getDefaultTaskStartToCloseTimeout());
             }
             if (registerActivityTypeRequest.getDefaultTaskHeartbeatTimeout() != null) {
-                jsonWriter.key("defaultTaskHeartbeatTimeout").value(registerActivityTypeRequest.getDefaultTaskHeartbeatTimeout());
+                jsonGenerator.writeFieldName("defaultTaskHeartbeatTimeout").writeValue(registerActivityTypeRequest.getDefaultTaskHeartbeatTimeout());
             }
             TaskList defaultTaskList = registerActivityTypeRequest.getDefaultTaskList();
             if (defaultTaskList != null) {
 
-                jsonWriter.key("defaultTaskList");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("defaultTaskList");
+                jsonGenerator.writeStartObject();
 
                 if (defaultTaskList.getName() != null) {
-                    jsonWriter.key("name").value(defaultTaskList.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(defaultTaskList.getName());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             if (registerActivityTypeRequest.getDefaultTaskPriority() != null) {
-                jsonWriter.key("defaultTaskPriority").value(registerActivityTypeRequest.getDefaultTaskPriority());
+                jsonGenerator.writeFieldName("defaultTaskPriority").writeValue(registerActivityTypeRequest.getDefaultTaskPriority());
             }
             if (registerActivityTypeRequest.getDefaultTaskScheduleToStartTimeout() != null) {
-                jsonWriter.key("defaultTaskScheduleToStartTimeout").value(registerActivityTypeRequest.getDefaultTaskScheduleToStartTimeout());
+                jsonGenerator.writeFieldName("defaultTaskScheduleToStartTimeout").writeValue(registerActivityTypeRequest.getDefaultTaskScheduleToStartTimeout());
             }
             if (registerActivityTypeRequest.getDefaultTaskScheduleToCloseTimeout() != null) {
-                jsonWriter.key("defaultTaskScheduleToCloseTimeout").value(registerActivityTypeRequest.getDefaultTaskScheduleToCloseTimeout());
+                jsonGenerator.writeFieldName("defaultTaskScheduleToCloseTimeout").writeValue(registerActivityTypeRequest.getDefaultTaskScheduleToCloseTimeout());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,57 +54,54 @@ public class RegisterWorkflowTypeRequestMarshaller implements Marshaller<Request
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (registerWorkflowTypeRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(registerWorkflowTypeRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(registerWorkflowTypeRequest.getDomain());
             }
             if (registerWorkflowTypeRequest.getName() != null) {
-                jsonWriter.key("name").value(registerWorkflowTypeRequest.getName());
+                jsonGenerator.writeFieldName("name").writeValue(registerWorkflowTypeRequest.getName());
             }
             if (registerWorkflowTypeRequest.getVersion() != null) {
-                jsonWriter.key("version").value(registerWorkflowTypeRequest.getVersion());
+                jsonGenerator.writeFieldName("version").writeValue(registerWorkflowTypeRequest.getVersion());
             }
             if (registerWorkflowTypeRequest.getDescription() != null) {
-                jsonWriter.key("description").value(registerWorkflowTypeRequest.getDescription());
+                jsonGenerator.writeFieldName("description").writeValue(registerWorkflowTypeRequest.getDescription());
             }
             if (registerWorkflowTypeRequest.getDefaultTaskStartToCloseTimeout() != null) {
-                jsonWriter.key("defaultTaskStartToCloseTimeout").value(registerWorkflowTypeRequest.getDefaultTaskStartToCloseTimeout());
+                jsonGenerator.writeFieldName("defaultTaskStartToCloseTimeout").writeValue(registerWorkflowTypeRequest.getDefaultTaskStartToCloseTimeout());
             }
             if (registerWorkflowTypeRequest.getDefaultExecutionStartToCloseTimeout() != null) {
-                jsonWriter.key("defaultExecutionStartToCloseTimeout").value(registerWorkflowTypeRequest.getDefaultExecutionStartToCloseTimeout());
+                jsonGenerator.writeFieldName("defaultExecutionStartToCloseTimeout").writeValue(registerWorkflowTypeRequest.getDefaultExecutionStartToCloseTimeout());
             }
             TaskList defaultTaskList = registerWorkflowTypeRequest.getDefaultTaskList();
             if (defaultTaskList != null) {
 
-                jsonWriter.key("defaultTaskList");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("defaultTaskList");
+                jsonGenerator.writeStartObject();
 
                 if (defaultTaskList.getName() != null) {
-                    jsonWriter.key("name").value(defaultTaskList.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(defaultTaskList.getName());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             if (registerWorkflowTypeRequest.getDefaultTaskPriority() != null) {
-                jsonWriter.key("defaultTaskPriority").value(registerWorkflowTypeRequest.getDefaultTaskPriority());
+                jsonGenerator.writeFieldName("defaultTaskPriority").writeValue(registerWorkflowTypeRequest.getDefaultTaskPriority());
             }
             if (registerWorkflowTypeRequest.getDefaultChildPolicy() != null) {
-                jsonWriter.key("defaultChildPolicy").value(registerWorkflowTypeRequest.getDefaultChildPolicy());
+                jsonGenerator.writeFieldName("defaultChildPolicy").writeValue(registerWorkflowTypeRequest.getDefaultChildPolicy());
             }
             if (registerWorkflowTypeRequest.getDefaultLambdaRole() != null) {
-                jsonWriter.key("defaultLambdaRole").value(registerWorkflowTypeRequest.getDefaultLambdaRole());
+                jsonGenerator.writeFieldName("defaultLambdaRole").writeValue(registerWorkflowTypeRequest.getDefaultLambdaRole());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,28 +54,25 @@ public class RespondActivityTaskFailedRequestMarshaller implements Marshaller<Re
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (respondActivityTaskFailedRequest.getTaskToken() != null) {
-                jsonWriter.key("taskToken").value(respondActivityTaskFailedRequest.getTaskToken());
+                jsonGenerator.writeFieldName("taskToken").writeValue(respondActivityTaskFailedRequest.getTaskToken());
             }
             if (respondActivityTaskFailedRequest.getReason() != null) {
-                jsonWriter.key("reason").value(respondActivityTaskFailedRequest.getReason());
+                jsonGenerator.writeFieldName("reason").writeValue(respondActivityTaskFailedRequest.getReason());
             }
             if (respondActivityTaskFailedRequest.getDetails() != null) {
-                jsonWriter.key("details").value(respondActivityTaskFailedRequest.getDetails());
+                jsonGenerator.writeFieldName("details").writeValue(respondActivityTaskFailedRequest.getDetails());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
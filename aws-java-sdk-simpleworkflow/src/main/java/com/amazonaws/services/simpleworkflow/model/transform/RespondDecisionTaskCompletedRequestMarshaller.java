@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,374 +54,371 @@ public class RespondDecisionTaskCompletedRequestMarshaller implements Marshaller
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (respondDecisionTaskCompletedRequest.getTaskToken() != null) {
-                jsonWriter.key("taskToken").value(respondDecisionTaskCompletedRequest.getTaskToken());
+                jsonGenerator.writeFieldName("taskToken").writeValue(respondDecisionTaskCompletedRequest.getTaskToken());
             }
 
             com.amazonaws.internal.ListWithAutoConstructFlag<Decision> decisionsList = (com.amazonaws.internal.ListWithAutoConstructFlag<Decision>)(respondDecisionTaskCompletedRequest.getDecisions());
             if (decisionsList != null && !(decisionsList.isAutoConstruct() && decisionsList.isEmpty())) {
 
-                jsonWriter.key("decisions");
-                jsonWriter.array();
+                jsonGenerator.writeFieldName("decisions");
+                jsonGenerator.writeStartArray();
 
                 for (Decision decisionsListValue : decisionsList) {
                     if (decisionsListValue != null) {
-                        jsonWriter.object();
+                        jsonGenerator.writeStartObject();
                         if (decisionsListValue.getDecisionType() != null) {
-                            jsonWriter.key("decisionType").value(decisionsListValue.getDecisionType());
+                            jsonGenerator.writeFieldName("decisionType").writeValue(decisionsListValue.getDecisionType());
                         }
                         ScheduleActivityTaskDecisionAttributes scheduleActivityTaskDecisionAttributes = decisionsListValue.getScheduleActivityTaskDecisionAttributes();
                         if (scheduleActivityTaskDecisionAttributes != null) {
 
-                            jsonWriter.key("scheduleActivityTaskDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("scheduleActivityTaskDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             ActivityType activityType = scheduleActivityTaskDecisionAttributes.getActivityType();
                             if (activityType != null) {
 
-                                jsonWriter.key("activityType");
-                                jsonWriter.object();
+                                jsonGenerator.writeFieldName("activityType");
+                                jsonGenerator.writeStartObject();
 
                                 if (activityType.getName() != null) {
-                                    jsonWriter.key("name").value(activityType.getName());
+                                    jsonGenerator.writeFieldName("name").writeValue(activityType.getName());
                                 }
                                 if (activityType.getVersion() != null) {
-                                    jsonWriter.key("version").value(activityType.getVersion());
+                                    jsonGenerator.writeFieldName("version").writeValue(activityType.getVersion());
                                 }
-                                jsonWriter.endObject();
+                                jsonGenerator.writeEndObject();
                             }
                             if (scheduleActivityTaskDecisionAttributes.getActivityId() != null) {
-                                jsonWriter.key("activityId").value(scheduleActivityTaskDecisionAttributes.getActivityId());
+                                jsonGenerator.writeFieldName("activityId").writeValue(scheduleActivityTaskDecisionAttributes.getActivityId());
                             }
                             if (scheduleActivityTaskDecisionAttributes.getControl() != null) {
-                                jsonWriter.key("control").value(scheduleActivityTaskDecisionAttributes.getControl());
+                                jsonGenerator.writeFieldName("control").writeValue(scheduleActivityTaskDecisionAttributes.getControl());
                             }
                             if (scheduleActivityTaskDecisionAttributes.getInput() != null) {
-                                jsonWriter.key("input").value(scheduleActivityTaskDecisionAttributes.getInput());
+                                jsonGenerator.writeFieldName("input").writeValue(scheduleActivityTaskDecisionAttributes.getInput());
                             }
                             if (scheduleActivityTaskDecisionAttributes.getScheduleToCloseTimeout() != null) {
-                                jsonWriter.key("scheduleToCloseTimeout").value(scheduleActivityTaskDecisionAttributes.getScheduleToCloseTimeout());
+                                jsonGenerator.writeFieldName("scheduleToCloseTimeout").writeValue(scheduleActivityTaskDecisionAttributes.getScheduleToCloseTimeout());
                             }
                             TaskList taskList = scheduleActivityTaskDecisionAttributes.getTaskList();
                             if (taskList != null) {
 
-                                jsonWriter.key("taskList");
-                                jsonWriter.object();
+                                jsonGenerator.writeFieldName("taskList");
+                                jsonGenerator.writeStartObject();
 
                                 if (taskList.getName() != null) {
-                                    jsonWriter.key("name").value(taskList.getName());
+                                    jsonGenerator.writeFieldName("name").writeValue(taskList.getName());
                                 }
-                                jsonWriter.endObject();
+                                jsonGenerator.writeEndObject();
                             }
                             if (scheduleActivityTaskDecisionAttributes.getTaskPriority() != null) {
-                                jsonWriter.key("taskPriority").value(scheduleActivityTaskDecisionAttributes.getTaskPriority());
+                                jsonGenerator.writeFieldName("taskPriority").writeValue(scheduleActivityTaskDecisionAttributes.getTaskPriority());
                             }
                             if (scheduleActivityTaskDecisionAttributes.getScheduleToStartTimeout() != null) {
-                                jsonWriter.key("scheduleToStartTimeout").value(scheduleActivityTaskDecisionAttributes.getScheduleToStartTimeout());
+                                jsonGenerator.writeFieldName("scheduleToStartTimeout").writeValue(scheduleActivityTaskDecisionAttributes.getScheduleToStartTimeout());
                             }
                             if (scheduleActivityTaskDecisionAttributes.getStartToCloseTimeout() != null) {
-                                jsonWriter.key("startToCloseTimeout").value(scheduleActivityTaskDecisionAttributes.getStartToCloseTimeout());
+                                jsonGenerator.writeFieldName("startToCloseTimeout").writeValue(scheduleActivityTaskDecisionAttributes.getStartToCloseTimeout());
                             }
                             if (scheduleActivityTaskDecisionAttributes.getHeartbeatTimeout() != null) {
-                                jsonWriter.key("heartbeatTimeout").value(scheduleActivityTaskDecisionAttributes.getHeartbeatTimeout());
+                                jsonGenerator.writeFieldName("heartbeatTimeout").writeValue(scheduleActivityTaskDecisionAttributes.getHeartbeatTimeout());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         RequestCancelActivityTaskDecisionAttributes requestCancelActivityTaskDecisionAttributes = decisionsListValue.getRequestCancelActivityTaskDecisionAttributes();
                         if (requestCancelActivityTaskDecisionAttributes != null) {
 
-                            jsonWriter.key("requestCancelActivityTaskDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("requestCancelActivityTaskDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (requestCancelActivityTaskDecisionAttributes.getActivityId() != null) {
-                                jsonWriter.key("activityId").value(requestCancelActivityTaskDecisionAttributes.getActivityId());
+                                jsonGenerator.writeFieldName("activityId").writeValue(requestCancelActivityTaskDecisionAttributes.getActivityId());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         CompleteWorkflowExecutionDecisionAttributes completeWorkflowExecutionDecisionAttributes = decisionsListValue.getCompleteWorkflowExecutionDecisionAttributes();
                         if (completeWorkflowExecutionDecisionAttributes != null) {
 
-                            jsonWriter.key("completeWorkflowExecutionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("completeWorkflowExecutionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (completeWorkflowExecutionDecisionAttributes.getResult() != null) {
-                                jsonWriter.key("result").value(completeWorkflowExecutionDecisionAttributes.getResult());
+                                jsonGenerator.writeFieldName("result").writeValue(completeWorkflowExecutionDecisionAttributes.getResult());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         FailWorkflowExecutionDecisionAttributes failWorkflowExecutionDecisionAttributes = decisionsListValue.getFailWorkflowExecutionDecisionAttributes();
                         if (failWorkflowExecutionDecisionAttributes != null) {
 
-                            jsonWriter.key("failWorkflowExecutionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("failWorkflowExecutionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (failWorkflowExecutionDecisionAttributes.getReason() != null) {
-                                jsonWriter.key("reason").value(failWorkflowExecutionDecisionAttributes.getReason());
+                                jsonGenerator.writeFieldName("reason").writeValue(failWorkflowExecutionDecisionAttributes.getReason());
                             }
                             if (failWorkflowExecutionDecisionAttributes.getDetails() != null) {
-                                jsonWriter.key("details").value(failWorkflowExecutionDecisionAttributes.getDetails());
+                                jsonGenerator.writeFieldName("details").writeValue(failWorkflowExecutionDecisionAttributes.getDetails());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         CancelWorkflowExecutionDecisionAttributes cancelWorkflowExecutionDecisionAttributes = decisionsListValue.getCancelWorkflowExecutionDecisionAttributes();
                         if (cancelWorkflowExecutionDecisionAttributes != null) {
 
-                            jsonWriter.key("cancelWorkflowExecutionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("cancelWorkflowExecutionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (cancelWorkflowExecutionDecisionAttributes.getDetails() != null) {
-                                jsonWriter.key("details").value(cancelWorkflowExecutionDecisionAttributes.getDetails());
+                                jsonGenerator.writeFieldName("details").writeValue(cancelWorkflowExecutionDecisionAttributes.getDetails());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         ContinueAsNewWorkflowExecutionDecisionAttributes continueAsNewWorkflowExecutionDecisionAttributes = decisionsListValue.getContinueAsNewWorkflowExecutionDecisionAttributes();
                         if (continueAsNewWorkflowExecutionDecisionAttributes != null) {
 
-                            jsonWriter.key("continueAsNewWorkflowExecutionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("continueAsNewWorkflowExecutionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (continueAsNewWorkflowExecutionDecisionAttributes.getInput() != null) {
-                                jsonWriter.key("input").value(continueAsNewWorkflowExecutionDecisionAttributes.getInput());
+                                jsonGenerator.writeFieldName("input").writeValue(continueAsNewWorkflowExecutionDecisionAttributes.getInput());
                             }
                             if (continueAsNewWorkflowExecutionDecisionAttributes.getExecutionStartToCloseTimeout() != null) {
-                                jsonWriter.key("executionStartToCloseTimeout").value(continueAsNewWorkflowExecutionDecisionAttributes.getExecutionStartToCloseTimeout());
+                                jsonGenerator.writeFieldName("executionStartToCloseTimeout").writeValue(continueAsNewWorkflowExecutionDecisionAttributes.getExecutionStartToCloseTimeout());
                             }
                             TaskList taskList = continueAsNewWorkflowExecutionDecisionAttributes.getTaskList();
                             if (taskList != null) {
 
-                                jsonWriter.key("taskList");
-                                jsonWriter.object();
+                                jsonGenerator.writeFieldName("taskList");
+                                jsonGenerator.writeStartObject();
 
                                 if (taskList.getName() != null) {
-                                    jsonWriter.key("name").value(taskList.getName());
+                                    jsonGenerator.writeFieldName("name").writeValue(taskList.getName());
                                 }
-                                jsonWriter.endObject();
+                                jsonGenerator.writeEndObject();
                             }
                             if (continueAsNewWorkflowExecutionDecisionAttributes.getTaskPriority() != null) {
-                                jsonWriter.key("taskPriority").value(continueAsNewWorkflowExecutionDecisionAttributes.getTaskPriority());
+                                jsonGenerator.writeFieldName("taskPriority").writeValue(continueAsNewWorkflowExecutionDecisionAttributes.getTaskPriority());
                             }
                             if (continueAsNewWorkflowExecutionDecisionAttributes.getTaskStartToCloseTimeout() != null) {
-                                jsonWriter.key("taskStartToCloseTimeout").value(continueAsNewWorkflowExecutionDecisionAttributes.getTaskStartToCloseTimeout());
+                                jsonGenerator.writeFieldName("taskStartToCloseTimeout").writeValue(continueAsNewWorkflowExecutionDecisionAttributes.getTaskStartToCloseTimeout());
                             }
                             if (continueAsNewWorkflowExecutionDecisionAttributes.getChildPolicy() != null) {
-                                jsonWriter.key("childPolicy").value(continueAsNewWorkflowExecutionDecisionAttributes.getChildPolicy());
+                                jsonGenerator.writeFieldName("childPolicy").writeValue(continueAsNewWorkflowExecutionDecisionAttributes.getChildPolicy());
                             }
 
                             com.amazonaws.internal.ListWithAutoConstructFlag<String> tagListList = (com.amazonaws.internal.ListWithAutoConstructFlag<String>)(continueAsNewWorkflowExecutionDecisionAttributes.getTagList());
                             if (tagListList != null && !(tagListList.isAutoConstruct() && tagListList.isEmpty())) {
 
-                                jsonWriter.key("tagList");
-                                jsonWriter.array();
+                                jsonGenerator.writeFieldName("tagList");
+                                jsonGenerator.writeStartArray();
 
                                 for (String tagListListValue : tagListList) {
                                     if (tagListListValue != null) {
-                                        jsonWriter.value(tagListListValue);
+                                        jsonGenerator.writeValue(tagListListValue);
                                     }
                                 }
-                                jsonWriter.endArray();
+                                jsonGenerator.writeEndArray();
                             }
                             if (continueAsNewWorkflowExecutionDecisionAttributes.getWorkflowTypeVersion() != null) {
-                                jsonWriter.key("workflowTypeVersion").value(continueAsNewWorkflowExecutionDecisionAttributes.getWorkflowTypeVersion());
+                                jsonGenerator.writeFieldName("workflowTypeVersion").writeValue(continueAsNewWorkflowExecutionDecisionAttributes.getWorkflowTypeVersion());
                             }
                             if (continueAsNewWorkflowExecutionDecisionAttributes.getLambdaRole() != null) {
-                                jsonWriter.key("lambdaRole").value(continueAsNewWorkflowExecutionDecisionAttributes.getLambdaRole());
+                                jsonGenerator.writeFieldName("lambdaRole").writeValue(continueAsNewWorkflowExecutionDecisionAttributes.getLambdaRole());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         RecordMarkerDecisionAttributes recordMarkerDecisionAttributes = decisionsListValue.getRecordMarkerDecisionAttributes();
                         if (recordMarkerDecisionAttributes != null) {
 
-                            jsonWriter.key("recordMarkerDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("recordMarkerDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (recordMarkerDecisionAttributes.getMarkerName() != null) {
-                                jsonWriter.key("markerName").value(recordMarkerDecisionAttributes.getMarkerName());
+                                jsonGenerator.writeFieldName("markerName").writeValue(recordMarkerDecisionAttributes.getMarkerName());
                             }
                             if (recordMarkerDecisionAttributes.getDetails() != null) {
-                                jsonWriter.key("details").value(recordMarkerDecisionAttributes.getDetails());
+                                jsonGenerator.writeFieldName("details").writeValue(recordMarkerDecisionAttributes.getDetails());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         StartTimerDecisionAttributes startTimerDecisionAttributes = decisionsListValue.getStartTimerDecisionAttributes();
                         if (startTimerDecisionAttributes != null) {
 
-                            jsonWriter.key("startTimerDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("startTimerDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (startTimerDecisionAttributes.getTimerId() != null) {
-                                jsonWriter.key("timerId").value(startTimerDecisionAttributes.getTimerId());
+                                jsonGenerator.writeFieldName("timerId").writeValue(startTimerDecisionAttributes.getTimerId());
                             }
                             if (startTimerDecisionAttributes.getControl() != null) {
-                                jsonWriter.key("control").value(startTimerDecisionAttributes.getControl());
+                                jsonGenerator.writeFieldName("control").writeValue(startTimerDecisionAttributes.getControl());
                             }
                             if (startTimerDecisionAttributes.getStartToFireTimeout() != null) {
-                                jsonWriter.key("startToFireTimeout").value(startTimerDecisionAttributes.getStartToFireTimeout());
+                                jsonGenerator.writeFieldName("startToFireTimeout").writeValue(startTimerDecisionAttributes.getStartToFireTimeout());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         CancelTimerDecisionAttributes cancelTimerDecisionAttributes = decisionsListValue.getCancelTimerDecisionAttributes();
                         if (cancelTimerDecisionAttributes != null) {
 
-                            jsonWriter.key("cancelTimerDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("cancelTimerDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (cancelTimerDecisionAttributes.getTimerId() != null) {
-                                jsonWriter.key("timerId").value(cancelTimerDecisionAttributes.getTimerId());
+                                jsonGenerator.writeFieldName("timerId").writeValue(cancelTimerDecisionAttributes.getTimerId());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         SignalExternalWorkflowExecutionDecisionAttributes signalExternalWorkflowExecutionDecisionAttributes = decisionsListValue.getSignalExternalWorkflowExecutionDecisionAttributes();
                         if (signalExternalWorkflowExecutionDecisionAttributes != null) {
 
-                            jsonWriter.key("signalExternalWorkflowExecutionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("signalExternalWorkflowExecutionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (signalExternalWorkflowExecutionDecisionAttributes.getWorkflowId() != null) {
-                                jsonWriter.key("workflowId").value(signalExternalWorkflowExecutionDecisionAttributes.getWorkflowId());
+                                jsonGenerator.writeFieldName("workflowId").writeValue(signalExternalWorkflowExecutionDecisionAttributes.getWorkflowId());
                             }
                             if (signalExternalWorkflowExecutionDecisionAttributes.getRunId() != null) {
-                                jsonWriter.key("runId").value(signalExternalWorkflowExecutionDecisionAttributes.getRunId());
+                                jsonGenerator.writeFieldName("runId").writeValue(signalExternalWorkflowExecutionDecisionAttributes.getRunId());
                             }
                             if (signalExternalWorkflowExecutionDecisionAttributes.getSignalName() != null) {
-                                jsonWriter.key("signalName").value(signalExternalWorkflowExecutionDecisionAttributes.getSignalName());
+                                jsonGenerator.writeFieldName("signalName").writeValue(signalExternalWorkflowExecutionDecisionAttributes.getSignalName());
                             }
                             if (signalExternalWorkflowExecutionDecisionAttributes.getInput() != null) {
-                                jsonWriter.key("input").value(signalExternalWorkflowExecutionDecisionAttributes.getInput());
+                                jsonGenerator.writeFieldName("input").writeValue(signalExternalWorkflowExecutionDecisionAttributes.getInput());
                             }
                             if (signalExternalWorkflowExecutionDecisionAttributes.getControl() != null) {
-                                jsonWriter.key("control").value(signalExternalWorkflowExecutionDecisionAttributes.getControl());
+                                jsonGenerator.writeFieldName("control").writeValue(signalExternalWorkflowExecutionDecisionAttributes.getControl());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         RequestCancelExternalWorkflowExecutionDecisionAttributes requestCancelExternalWorkflowExecutionDecisionAttributes = decisionsListValue.getRequestCancelExternalWorkflowExecutionDecisionAttributes();
                         if (requestCancelExternalWorkflowExecutionDecisionAttributes != null) {
 
-                            jsonWriter.key("requestCancelExternalWorkflowExecutionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("requestCancelExternalWorkflowExecutionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (requestCancelExternalWorkflowExecutionDecisionAttributes.getWorkflowId() != null) {
-                                jsonWriter.key("workflowId").value(requestCancelExternalWorkflowExecutionDecisionAttributes.getWorkflowId());
+                                jsonGenerator.writeFieldName("workflowId").writeValue(requestCancelExternalWorkflowExecutionDecisionAttributes.getWorkflowId());
                             }
                             if (requestCancelExternalWorkflowExecutionDecisionAttributes.getRunId() != null) {
-                                jsonWriter.key("runId").value(requestCancelExternalWorkflowExecutionDecisionAttributes.getRunId());
+                                jsonGenerator.writeFieldName("runId").writeValue(requestCancelExternalWorkflowExecutionDecisionAttributes.getRunId());
                             }
                             if (requestCancelExternalWorkflowExecutionDecisionAttributes.getControl() != null) {
-                                jsonWriter.key("control").value(requestCancelExternalWorkflowExecutionDecisionAttributes.getControl());
+                                jsonGenerator.writeFieldName("control").writeValue(requestCancelExternalWorkflowExecutionDecisionAttributes.getControl());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         StartChildWorkflowExecutionDecisionAttributes startChildWorkflowExecutionDecisionAttributes = decisionsListValue.getStartChildWorkflowExecutionDecisionAttributes();
                         if (startChildWorkflowExecutionDecisionAttributes != null) {
 
-                            jsonWriter.key("startChildWorkflowExecutionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("startChildWorkflowExecutionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             WorkflowType workflowType = startChildWorkflowExecutionDecisionAttributes.getWorkflowType();
                             if (workflowType != null) {
 
-                                jsonWriter.key("workflowType");
-                                jsonWriter.object();
+                                jsonGenerator.writeFieldName("workflowType");
+                                jsonGenerator.writeStartObject();
 
                                 if (workflowType.getName() != null) {
-                                    jsonWriter.key("name").value(workflowType.getName());
+                                    jsonGenerator.writeFieldName("name").writeValue(workflowType.getName());
                                 }
                                 if (workflowType.getVersion() != null) {
-                                    jsonWriter.key("version").value(workflowType.getVersion());
+                                    jsonGenerator.writeFieldName("version").writeValue(workflowType.getVersion());
                                 }
-                                jsonWriter.endObject();
+                                jsonGenerator.writeEndObject();
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getWorkflowId() != null) {
-                                jsonWriter.key("workflowId").value(startChildWorkflowExecutionDecisionAttributes.getWorkflowId());
+                                jsonGenerator.writeFieldName("workflowId").writeValue(startChildWorkflowExecutionDecisionAttributes.getWorkflowId());
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getControl() != null) {
-                                jsonWriter.key("control").value(startChildWorkflowExecutionDecisionAttributes.getControl());
+                                jsonGenerator.writeFieldName("control").writeValue(startChildWorkflowExecutionDecisionAttributes.getControl());
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getInput() != null) {
-                                jsonWriter.key("input").value(startChildWorkflowExecutionDecisionAttributes.getInput());
+                                jsonGenerator.writeFieldName("input").writeValue(startChildWorkflowExecutionDecisionAttributes.getInput());
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getExecutionStartToCloseTimeout() != null) {
-                                jsonWriter.key("executionStartToCloseTimeout").value(startChildWorkflowExecutionDecisionAttributes.getExecutionStartToCloseTimeout());
+                                jsonGenerator.writeFieldName("executionStartToCloseTimeout").writeValue(startChildWorkflowExecutionDecisionAttributes.getExecutionStartToCloseTimeout());
                             }
                             TaskList taskList = startChildWorkflowExecutionDecisionAttributes.getTaskList();
                             if (taskList != null) {
 
-                                jsonWriter.key("taskList");
-                                jsonWriter.object();
+                                jsonGenerator.writeFieldName("taskList");
+                                jsonGenerator.writeStartObject();
 
                                 if (taskList.getName() != null) {
-                                    jsonWriter.key("name").value(taskList.getName());
+                                    jsonGenerator.writeFieldName("name").writeValue(taskList.getName());
                                 }
-                                jsonWriter.endObject();
+                                jsonGenerator.writeEndObject();
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getTaskPriority() != null) {
-                                jsonWriter.key("taskPriority").value(startChildWorkflowExecutionDecisionAttributes.getTaskPriority());
+                                jsonGenerator.writeFieldName("taskPriority").writeValue(startChildWorkflowExecutionDecisionAttributes.getTaskPriority());
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getTaskStartToCloseTimeout() != null) {
-                                jsonWriter.key("taskStartToCloseTimeout").value(startChildWorkflowExecutionDecisionAttributes.getTaskStartToCloseTimeout());
+                                jsonGenerator.writeFieldName("taskStartToCloseTimeout").writeValue(startChildWorkflowExecutionDecisionAttributes.getTaskStartToCloseTimeout());
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getChildPolicy() != null) {
-                                jsonWriter.key("childPolicy").value(startChildWorkflowExecutionDecisionAttributes.getChildPolicy());
+                                jsonGenerator.writeFieldName("childPolicy").writeValue(startChildWorkflowExecutionDecisionAttributes.getChildPolicy());
                             }
 
                             com.amazonaws.internal.ListWithAutoConstructFlag<String> tagListList = (com.amazonaws.internal.ListWithAutoConstructFlag<String>)(startChildWorkflowExecutionDecisionAttributes.getTagList());
                             if (tagListList != null && !(tagListList.isAutoConstruct() && tagListList.isEmpty())) {
 
-                                jsonWriter.key("tagList");
-                                jsonWriter.array();
+                                jsonGenerator.writeFieldName("tagList");
+                                jsonGenerator.writeStartArray();
 
                                 for (String tagListListValue : tagListList) {
                                     if (tagListListValue != null) {
-                                        jsonWriter.value(tagListListValue);
+                                        jsonGenerator.writeValue(tagListListValue);
                                     }
                                 }
-                                jsonWriter.endArray();
+                                jsonGenerator.writeEndArray();
                             }
                             if (startChildWorkflowExecutionDecisionAttributes.getLambdaRole() != null) {
-                                jsonWriter.key("lambdaRole").value(startChildWorkflowExecutionDecisionAttributes.getLambdaRole());
+                                jsonGenerator.writeFieldName("lambdaRole").writeValue(startChildWorkflowExecutionDecisionAttributes.getLambdaRole());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
                         ScheduleLambdaFunctionDecisionAttributes scheduleLambdaFunctionDecisionAttributes = decisionsListValue.getScheduleLambdaFunctionDecisionAttributes();
                         if (scheduleLambdaFunctionDecisionAttributes != null) {
 
-                            jsonWriter.key("scheduleLambdaFunctionDecisionAttributes");
-                            jsonWriter.object();
+                            jsonGenerator.writeFieldName("scheduleLambdaFunctionDecisionAttributes");
+                            jsonGenerator.writeStartObject();
 
                             if (scheduleLambdaFunctionDecisionAttributes.getId() != null) {
-                                jsonWriter.key("id").value(scheduleLambdaFunctionDecisionAttributes.getId());
+                                jsonGenerator.writeFieldName("id").writeValue(scheduleLambdaFunctionDecisionAttributes.getId());
                             }
                             if (scheduleLambdaFunctionDecisionAttributes.getName() != null) {
-                                jsonWriter.key("name").value(scheduleLambdaFunctionDecisionAttributes.getName());
+                                jsonGenerator.writeFieldName("name").writeValue(scheduleLambdaFunctionDecisionAttributes.getName());
                             }
                             if (scheduleLambdaFunctionDecisionAttributes.getInput() != null) {
-                                jsonWriter.key("input").value(scheduleLambdaFunctionDecisionAttributes.getInput());
+                                jsonGenerator.writeFieldName("input").writeValue(scheduleLambdaFunctionDecisionAttributes.getInput());
                             }
                             if (scheduleLambdaFunctionDecisionAttributes.getStartToCloseTimeout() != null) {
-                                jsonWriter.key("startToCloseTimeout").value(scheduleLambdaFunctionDecisionAttributes.getStartToCloseTimeout());
+                                jsonGenerator.writeFieldName("startToCloseTimeout").writeValue(scheduleLambdaFunctionDecisionAttributes.getStartToCloseTimeout());
                             }
-                            jsonWriter.endObject();
+                            jsonGenerator.writeEndObject();
                         }
-                        jsonWriter.endObject();
+                        jsonGenerator.writeEndObject();
                     }
                 }
-                jsonWriter.endArray();
+                jsonGenerator.writeEndArray();
             }
             if (respondDecisionTaskCompletedRequest.getExecutionContext() != null) {
-                jsonWriter.key("executionContext").value(respondDecisionTaskCompletedRequest.getExecutionContext());
+                jsonGenerator.writeFieldName("executionContext").writeValue(respondDecisionTaskCompletedRequest.getExecutionContext());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
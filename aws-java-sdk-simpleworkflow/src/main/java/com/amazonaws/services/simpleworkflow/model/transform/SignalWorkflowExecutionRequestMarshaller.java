@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,34 +54,31 @@ public class SignalWorkflowExecutionRequestMarshaller implements Marshaller<Requ
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (signalWorkflowExecutionRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(signalWorkflowExecutionRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(signalWorkflowExecutionRequest.getDomain());
             }
             if (signalWorkflowExecutionRequest.getWorkflowId() != null) {
-                jsonWriter.key("workflowId").value(signalWorkflowExecutionRequest.getWorkflowId());
+                jsonGenerator.writeFieldName("workflowId").writeValue(signalWorkflowExecutionRequest.getWorkflowId());
             }
             if (signalWorkflowExecutionRequest.getRunId() != null) {
-                jsonWriter.key("runId").value(signalWorkflowExecutionRequest.getRunId());
+                jsonGenerator.writeFieldName("runId").writeValue(signalWorkflowExecutionRequest.getRunId());
             }
             if (signalWorkflowExecutionRequest.getSignalName() != null) {
-                jsonWriter.key("signalName").value(signalWorkflowExecutionRequest.getSignalName());
+                jsonGenerator.writeFieldName("signalName").writeValue(signalWorkflowExecutionRequest.getSignalName());
             }
             if (signalWorkflowExecutionRequest.getInput() != null) {
-                jsonWriter.key("input").value(signalWorkflowExecutionRequest.getInput());
+                jsonGenerator.writeFieldName("input").writeValue(signalWorkflowExecutionRequest.getInput());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,82 +54,79 @@ public class StartWorkflowExecutionRequestMarshaller implements Marshaller<Reque
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (startWorkflowExecutionRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(startWorkflowExecutionRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(startWorkflowExecutionRequest.getDomain());
             }
             if (startWorkflowExecutionRequest.getWorkflowId() != null) {
-                jsonWriter.key("workflowId").value(startWorkflowExecutionRequest.getWorkflowId());
+                jsonGenerator.writeFieldName("workflowId").writeValue(startWorkflowExecutionRequest.getWorkflowId());
             }
             WorkflowType workflowType = startWorkflowExecutionRequest.getWorkflowType();
             if (workflowType != null) {
 
-                jsonWriter.key("workflowType");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("workflowType");
+                jsonGenerator.writeStartObject();
 
                 if (workflowType.getName() != null) {
-                    jsonWriter.key("name").value(workflowType.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(workflowType.getName());
                 }
                 if (workflowType.getVersion() != null) {
-                    jsonWriter.key("version").value(workflowType.getVersion());
+                    jsonGenerator.writeFieldName("version").writeValue(workflowType.getVersion());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             TaskList taskList = startWorkflowExecutionRequest.getTaskList();
             if (taskList != null) {
 
-                jsonWriter.key("taskList");
-                jsonWriter.object();
+                jsonGenerator.writeFieldName("taskList");
+                jsonGenerator.writeStartObject();
 
                 if (taskList.getName() != null) {
-                    jsonWriter.key("name").value(taskList.getName());
+                    jsonGenerator.writeFieldName("name").writeValue(taskList.getName());
                 }
-                jsonWriter.endObject();
+                jsonGenerator.writeEndObject();
             }
             if (startWorkflowExecutionRequest.getTaskPriority() != null) {
-                jsonWriter.key("taskPriority").value(startWorkflowExecutionRequest.getTaskPriority());
+                jsonGenerator.writeFieldName("taskPriority").writeValue(startWorkflowExecutionRequest.getTaskPriority());
             }
             if (startWorkflowExecutionRequest.getInput() != null) {
-                jsonWriter.key("input").value(startWorkflowExecutionRequest.getInput());
+                jsonGenerator.writeFieldName("input").writeValue(startWorkflowExecutionRequest.getInput());
             }
             if (startWorkflowExecutionRequest.getExecutionStartToCloseTimeout() != null) {
-                jsonWriter.key("executionStartToCloseTimeout").value(startWorkflowExecutionRequest.getExecutionStartToCloseTimeout());
+                jsonGenerator.writeFieldName("executionStartToCloseTimeout").writeValue(startWorkflowExecutionRequest.getExecutionStartToCloseTimeout());
             }
 
             com.amazonaws.internal.ListWithAutoConstructFlag<String> tagListList = (com.amazonaws.internal.ListWithAutoConstructFlag<String>)(startWorkflowExecutionRequest.getTagList());
             if (tagListList != null && !(tagListList.isAutoConstruct() && tagListList.isEmpty())) {
 
-                jsonWriter.key("tagList");
-                jsonWriter.array();
+                jsonGenerator.writeFieldName("tagList");
+                jsonGenerator.writeStartArray();
 
                 for (String tagListListValue : tagListList) {
                     if (tagListListValue != null) {
-                        jsonWriter.value(tagListListValue);
+                        jsonGenerator.writeValue(tagListListValue);
                     }
                 }
-                jsonWriter.endArray();
+                jsonGenerator.writeEndArray();
             }
             if (startWorkflowExecutionRequest.getTaskStartToCloseTimeout() != null) {
-                jsonWriter.key("taskStartToCloseTimeout").value(startWorkflowExecutionRequest.getTaskStartToCloseTimeout());
+                jsonGenerator.writeFieldName("taskStartToCloseTimeout").writeValue(startWorkflowExecutionRequest.getTaskStartToCloseTimeout());
             }
             if (startWorkflowExecutionRequest.getChildPolicy() != null) {
-                jsonWriter.key("childPolicy").value(startWorkflowExecutionRequest.getChildPolicy());
+                jsonGenerator.writeFieldName("childPolicy").writeValue(startWorkflowExecutionRequest.getChildPolicy());
             }
             if (startWorkflowExecutionRequest.getLambdaRole() != null) {
-                jsonWriter.key("lambdaRole").value(startWorkflowExecutionRequest.getLambdaRole());
+                jsonGenerator.writeFieldName("lambdaRole").writeValue(startWorkflowExecutionRequest.getLambdaRole());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
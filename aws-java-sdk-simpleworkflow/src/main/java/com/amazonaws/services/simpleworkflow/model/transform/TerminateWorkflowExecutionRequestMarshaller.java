@@ -14,12 +14,10 @@
  */
 package com.amazonaws.services.simpleworkflow.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import static com.amazonaws.util.StringUtils.COMMA_SEPARATOR;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,37 +54,34 @@ public class TerminateWorkflowExecutionRequestMarshaller implements Marshaller<R
         request.setResourcePath("");
         
         try {
-          StringWriter stringWriter = new StringWriter();
-          JSONWriter jsonWriter = new JSONWriter(stringWriter);
+          final StructuredJsonGenerator jsonGenerator = SdkJsonProtocolFactory.createWriter(false, "1.0");
 
-          jsonWriter.object();
+          jsonGenerator.writeStartObject();
           
             if (terminateWorkflowExecutionRequest.getDomain() != null) {
-                jsonWriter.key("domain").value(terminateWorkflowExecutionRequest.getDomain());
+                jsonGenerator.writeFieldName("domain").writeValue(terminateWorkflowExecutionRequest.getDomain());
             }
             if (terminateWorkflowExecutionRequest.getWorkflowId() != null) {
-                jsonWriter.key("workflowId").value(terminateWorkflowExecutionRequest.getWorkflowId());
+                jsonGenerator.writeFieldName("workflowId").writeValue(terminateWorkflowExecutionRequest.getWorkflowId());
             }
             if (terminateWorkflowExecutionRequest.getRunId() != null) {
-                jsonWriter.key("runId").value(terminateWorkflowExecutionRequest.getRunId());
+                jsonGenerator.writeFieldName("runId").writeValue(terminateWorkflowExecutionRequest.getRunId());
             }
             if (terminateWorkflowExecutionRequest.getReason() != null) {
-                jsonWriter.key("reason").value(terminateWorkflowExecutionRequest.getReason());
+                jsonGenerator.writeFieldName("reason").writeValue(terminateWorkflowExecutionRequest.getReason());
             }
             if (terminateWorkflowExecutionRequest.getDetails() != null) {
-                jsonWriter.key("details").value(terminateWorkflowExecutionRequest.getDetails());
+                jsonGenerator.writeFieldName("details").writeValue(terminateWorkflowExecutionRequest.getDetails());
             }
             if (terminateWorkflowExecutionRequest.getChildPolicy() != null) {
-                jsonWriter.key("childPolicy").value(terminateWorkflowExecutionRequest.getChildPolicy());
+                jsonGenerator.writeFieldName("childPolicy").writeValue(terminateWorkflowExecutionRequest.getChildPolicy());
             }
 
-          jsonWriter.endObject();
+          jsonGenerator.writeEndObject();
 
-          String snippet = stringWriter.toString();
-          byte[] content = snippet.getBytes(UTF8);
-          request.setContent(new StringInputStream(snippet));
-          request.addHeader("Content-Length", Integer.toString(content.length));
-          request.addHeader("Content-Type", "application/x-amz-json-1.0");
+          request.setContent(jsonGenerator.getContentStream());
+          request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
+          request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
         }
@@ -14,11 +14,10 @@
  */
 package com.amazonaws.services.sqs;
 
-import static com.amazonaws.util.StringUtils.UTF8;
-
-import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.security.DigestException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -42,7 +41,6 @@ import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import com.amazonaws.util.BinaryUtils;
-import com.amazonaws.util.Md5Utils;
 import com.amazonaws.util.TimingInfo;
 
 /**
@@ -70,6 +68,19 @@ public class MessageMD5ChecksumHandler extends AbstractRequestHandler {
 
     private static final Log log = LogFactory.getLog(MessageMD5ChecksumHandler.class);
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Per-thread MD5 calculator, so that checksums can be verified without looking up the digest
+     * or allocating buffers for every message.
+     */
+    private static final ThreadLocal<Md5Calculator> CALCULATOR = new ThreadLocal<Md5Calculator>() {
+        @Override
+        protected Md5Calculator initialValue() {
+            return new Md5Calculator();
+        }
+    };
+
     @Override
     public void afterResponse(Request<?> request, Object response, TimingInfo timingInfo) {
         if (request != null && response != null) {
@@ -104,22 +115,14 @@ public class MessageMD5ChecksumHandler extends AbstractRequestHandler {
      */
     private static void sendMessageOperationMd5Check(SendMessageRequest sendMessageRequest,
                                                      SendMessageResult sendMessageResult) {
-        String messageBodySent = sendMessageRequest.getMessageBody();
-        String bodyMd5Returned = sendMessageResult.getMD5OfMessageBody();
-        String clientSideBodyMd5 = calculateMessageBodyMd5(messageBodySent);
-        if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
-            throw new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_BODY, clientSideBodyMd5,
-                    bodyMd5Returned));
-        }
+        Md5Calculator calculator = CALCULATOR.get();
+        checkMessageBodyMd5(calculator, null, sendMessageRequest.getMessageBody(),
+                sendMessageResult.getMD5OfMessageBody());
 
         Map<String, MessageAttributeValue> messageAttrSent = sendMessageRequest.getMessageAttributes();
         if (messageAttrSent != null && !messageAttrSent.isEmpty()) {
-            String clientSideAttrMd5 = calculateMessageAttributesMd5(messageAttrSent);
-            String attrMd5Returned = sendMessageResult.getMD5OfMessageAttributes();
-            if (!clientSideAttrMd5.equals(attrMd5Returned)) {
-                throw new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_ATTRIBUTES,
-                        clientSideAttrMd5, attrMd5Returned));
-            }
+            checkMessageAttributesMd5(calculator, null, messageAttrSent,
+                    sendMessageResult.getMD5OfMessageAttributes());
         }
     }
 
@@ -129,23 +132,14 @@ public class MessageMD5ChecksumHandler extends AbstractRequestHandler {
      */
     private static void receiveMessageResultMd5Check(ReceiveMessageResult receiveMessageResult) {
         if (receiveMessageResult.getMessages() != null) {
+            Md5Calculator calculator = CALCULATOR.get();
             for (Message messageReceived : receiveMessageResult.getMessages()) {
-                String messageBody = messageReceived.getBody();
-                String bodyMd5Returned = messageReceived.getMD5OfBody();
-                String clientSideBodyMd5 = calculateMessageBodyMd5(messageBody);
-                if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
-                    throw new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_BODY,
-                            clientSideBodyMd5, bodyMd5Returned));
-                }
+                checkMessageBodyMd5(calculator, null, messageReceived.getBody(), messageReceived.getMD5OfBody());
 
                 Map<String, MessageAttributeValue> messageAttr = messageReceived.getMessageAttributes();
                 if (messageAttr != null && !messageAttr.isEmpty()) {
-                    String attrMd5Returned = messageReceived.getMD5OfMessageAttributes();
-                    String clientSideAttrMd5 = calculateMessageAttributesMd5(messageAttr);
-                    if (!clientSideAttrMd5.equals(attrMd5Returned)) {
-                        throw new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_ATTRIBUTES,
-                                clientSideAttrMd5, attrMd5Returned));
-                    }
+                    checkMessageAttributesMd5(calculator, null, messageAttr,
+                            messageReceived.getMD5OfMessageAttributes());
                 }
             }
         }
@@ -165,123 +159,278 @@ public class MessageMD5ChecksumHandler extends AbstractRequestHandler {
         }
 
         if (sendMessageBatchResult.getSuccessful() != null) {
+            Md5Calculator calculator = CALCULATOR.get();
             for (SendMessageBatchResultEntry entry : sendMessageBatchResult.getSuccessful()) {
-                String messageBody = idToRequestEntryMap.get(entry.getId()).getMessageBody();
-                String bodyMd5Returned = entry.getMD5OfMessageBody();
-                String clientSideBodyMd5 = calculateMessageBodyMd5(messageBody);
-                if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
-                    throw new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE_WITH_ID, MESSAGE_BODY,
-                            entry.getId(), clientSideBodyMd5, bodyMd5Returned));
-                }
+                SendMessageBatchRequestEntry requestEntry = idToRequestEntryMap.get(entry.getId());
+                checkMessageBodyMd5(calculator, entry.getId(), requestEntry.getMessageBody(),
+                        entry.getMD5OfMessageBody());
 
-                Map<String, MessageAttributeValue> messageAttr = idToRequestEntryMap.get(entry.getId())
-                        .getMessageAttributes();
+                Map<String, MessageAttributeValue> messageAttr = requestEntry.getMessageAttributes();
                 if (messageAttr != null && !messageAttr.isEmpty()) {
-                    String attrMd5Returned = entry.getMD5OfMessageAttributes();
-                    String clientSideAttrMd5 = calculateMessageAttributesMd5(messageAttr);
-                    if (!clientSideAttrMd5.equals(attrMd5Returned)) {
-                        throw new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE_WITH_ID,
-                                MESSAGE_ATTRIBUTES, entry.getId(), clientSideAttrMd5, attrMd5Returned));
-                    }
+                    checkMessageAttributesMd5(calculator, entry.getId(), messageAttr,
+                            entry.getMD5OfMessageAttributes());
                 }
             }
         }
     }
 
     /**
-     * Returns the hex-encoded MD5 hash String of the given message body.
+     * Throw an exception if the given MD5 checksum returned by SQS does not match the client-side
+     * calculation on the given message body.
+     *
+     * @param messageId
+     *            The id to report in the error message, or null.
      */
-    private static String calculateMessageBodyMd5(String messageBody) {
+    private static void checkMessageBodyMd5(Md5Calculator calculator, String messageId, String messageBody,
+                                            String bodyMd5Returned) {
         if (log.isDebugEnabled()) {
             log.debug("Message body: " + messageBody);
         }
         byte[] expectedMd5;
         try {
-            expectedMd5 = Md5Utils.computeMD5Hash(messageBody.getBytes(UTF8));
+            expectedMd5 = calculator.messageBodyMd5(messageBody);
         } catch (Exception e) {
             throw new AmazonClientException("Unable to calculate the MD5 hash of the message body. " + e.getMessage(),
                     e);
         }
-        String expectedMd5Hex = BinaryUtils.toHex(expectedMd5);
         if (log.isDebugEnabled()) {
-            log.debug("Expected  MD5 of message body: " + expectedMd5Hex);
+            log.debug("Expected  MD5 of message body: " + BinaryUtils.toHex(expectedMd5));
+        }
+        if (!hexEquals(expectedMd5, bodyMd5Returned)) {
+            throw md5MismatchException(messageId, MESSAGE_BODY, expectedMd5, bodyMd5Returned);
         }
-        return expectedMd5Hex;
     }
 
     /**
-     * Returns the hex-encoded MD5 hash String of the given message attributes.
+     * Throw an exception if the given MD5 checksum returned by SQS does not match the client-side
+     * calculation on the given message attributes.
+     *
+     * @param messageId
+     *            The id to report in the error message, or null.
      */
-    private static String calculateMessageAttributesMd5(final Map<String, MessageAttributeValue> messageAttributes) {
+    private static void checkMessageAttributesMd5(Md5Calculator calculator, String messageId,
+                                                  Map<String, MessageAttributeValue> messageAttributes,
+                                                  String attrMd5Returned) {
         if (log.isDebugEnabled()) {
             log.debug("Message attribtues: " + messageAttributes);
         }
-        List<String> sortedAttributeNames = new ArrayList<String>(messageAttributes.keySet());
-        Collections.sort(sortedAttributeNames);
-
-        MessageDigest md5Digest = null;
+        byte[] expectedMd5;
         try {
-            md5Digest = MessageDigest.getInstance("MD5");
-
-            for (String attrName : sortedAttributeNames) {
-                MessageAttributeValue attrValue = messageAttributes.get(attrName);
-
-                // Encoded Name
-                updateLengthAndBytes(md5Digest, attrName);
-                // Encoded Type
-                updateLengthAndBytes(md5Digest, attrValue.getDataType());
-
-                // Encoded Value
-                if (attrValue.getStringValue() != null) {
-                    md5Digest.update(STRING_TYPE_FIELD_INDEX);
-                    updateLengthAndBytes(md5Digest, attrValue.getStringValue());
-                } else if (attrValue.getBinaryValue() != null) {
-                    md5Digest.update(BINARY_TYPE_FIELD_INDEX);
-                    updateLengthAndBytes(md5Digest, attrValue.getBinaryValue());
-                } else if (attrValue.getStringListValues().size() > 0) {
-                    md5Digest.update(STRING_LIST_TYPE_FIELD_INDEX);
-                    for (String strListMember : attrValue.getStringListValues()) {
-                        updateLengthAndBytes(md5Digest, strListMember);
-                    }
-                } else if (attrValue.getBinaryListValues().size() > 0) {
-                    md5Digest.update(BINARY_LIST_TYPE_FIELD_INDEX);
-                    for (ByteBuffer byteListMember : attrValue.getBinaryListValues()) {
-                        updateLengthAndBytes(md5Digest, byteListMember);
-                    }
-                }
-            }
+            expectedMd5 = calculator.messageAttributesMd5(messageAttributes);
         } catch (Exception e) {
             throw new AmazonClientException("Unable to calculate the MD5 hash of the message attributes. "
                     + e.getMessage(), e);
         }
-
-        String expectedMd5Hex = BinaryUtils.toHex(md5Digest.digest());
         if (log.isDebugEnabled()) {
-            log.debug("Expected  MD5 of message attributes: " + expectedMd5Hex);
+            log.debug("Expected  MD5 of message attributes: " + BinaryUtils.toHex(expectedMd5));
+        }
+        if (!hexEquals(expectedMd5, attrMd5Returned)) {
+            throw md5MismatchException(messageId, MESSAGE_ATTRIBUTES, expectedMd5, attrMd5Returned);
         }
-        return expectedMd5Hex;
+    }
+
+    private static AmazonClientException md5MismatchException(String messageId, String checksummed,
+                                                               byte[] expectedMd5, String md5Returned) {
+        String expectedMd5Hex = BinaryUtils.toHex(expectedMd5);
+        if (messageId == null) {
+            return new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE, checksummed,
+                    expectedMd5Hex, md5Returned));
+        }
+        return new AmazonClientException(String.format(MD5_MISMATCH_ERROR_MESSAGE_WITH_ID, messageId,
+                checksummed, expectedMd5Hex, md5Returned));
     }
 
     /**
-     * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of the
-     * input String and the actual utf8-encoded byte values.
+     * Returns true if the given hex string, as returned by SQS, is exactly the lowercase hex
+     * encoding of the given bytes produced by {@link BinaryUtils#toHex(byte[])}; compared without
+     * decoding the string or encoding the bytes.
      */
-    private static void updateLengthAndBytes(MessageDigest digest, String str) throws UnsupportedEncodingException {
-        byte[] utf8Encoded = str.getBytes(UTF8);
-        ByteBuffer lengthBytes = ByteBuffer.allocate(INTEGER_SIZE_IN_BYTES).putInt(utf8Encoded.length);
-        digest.update(lengthBytes.array());
-        digest.update(utf8Encoded);
+    private static boolean hexEquals(byte[] bytes, String hex) {
+        if (hex == null || hex.length() != bytes.length * 2) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (hex.charAt(2 * i) != HEX_DIGITS[(bytes[i] >> 4) & 0xf]
+                    || hex.charAt(2 * i + 1) != HEX_DIGITS[bytes[i] & 0xf]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of the
-     * input ByteBuffer and all the bytes it contains.
+     * Per-thread state to calculate MD5 checksums: the digest itself, a fixed size buffer that
+     * strings are UTF-8 encoded into chunk by chunk, and scratch space for sorting the attribute
+     * names.
      */
-    private static void updateLengthAndBytes(MessageDigest digest, ByteBuffer binaryValue) {
-        ByteBuffer readOnlyBuffer = binaryValue.asReadOnlyBuffer();
-        int size = readOnlyBuffer.remaining();
-        ByteBuffer lengthBytes = ByteBuffer.allocate(INTEGER_SIZE_IN_BYTES).putInt(size);
-        digest.update(lengthBytes.array());
-        digest.update(readOnlyBuffer);
+    private static final class Md5Calculator {
+        private static final int BUFFER_SIZE = 4 * 1024;
+        /** Most bytes a single character can take once encoded. */
+        private static final int MAX_BYTES_PER_CHAR = 4;
+
+        private final MessageDigest digest;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] md5 = new byte[16];
+        private final List<String> sortedAttributeNames = new ArrayList<String>();
+
+        Md5Calculator() {
+            try {
+                digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new AmazonClientException("Unable to get MD5 Function: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Returns the MD5 hash of the given message body. The returned array is reused by the
+         * next calculation.
+         */
+        byte[] messageBodyMd5(String messageBody) throws DigestException {
+            digest.reset();
+            updateUtf8(messageBody);
+            digest.digest(md5, 0, md5.length);
+            return md5;
+        }
+
+        /**
+         * Returns the MD5 hash of the given message attributes. The returned array is reused by
+         * the next calculation.
+         */
+        byte[] messageAttributesMd5(Map<String, MessageAttributeValue> messageAttributes)
+                throws DigestException {
+            digest.reset();
+            sortedAttributeNames.addAll(messageAttributes.keySet());
+            try {
+                Collections.sort(sortedAttributeNames);
+                for (String attrName : sortedAttributeNames) {
+                    MessageAttributeValue attrValue = messageAttributes.get(attrName);
+
+                    // Encoded Name
+                    updateLengthAndBytes(attrName);
+                    // Encoded Type
+                    updateLengthAndBytes(attrValue.getDataType());
+
+                    // Encoded Value
+                    if (attrValue.getStringValue() != null) {
+                        digest.update(STRING_TYPE_FIELD_INDEX);
+                        updateLengthAndBytes(attrValue.getStringValue());
+                    } else if (attrValue.getBinaryValue() != null) {
+                        digest.update(BINARY_TYPE_FIELD_INDEX);
+                        updateLengthAndBytes(attrValue.getBinaryValue());
+                    } else if (attrValue.getStringListValues().size() > 0) {
+                        digest.update(STRING_LIST_TYPE_FIELD_INDEX);
+                        for (String strListMember : attrValue.getStringListValues()) {
+                            updateLengthAndBytes(strListMember);
+                        }
+                    } else if (attrValue.getBinaryListValues().size() > 0) {
+                        digest.update(BINARY_LIST_TYPE_FIELD_INDEX);
+                        for (ByteBuffer byteListMember : attrValue.getBinaryListValues()) {
+                            updateLengthAndBytes(byteListMember);
+                        }
+                    }
+                }
+            } finally {
+                sortedAttributeNames.clear();
+            }
+            digest.digest(md5, 0, md5.length);
+            return md5;
+        }
+
+        /**
+         * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of
+         * the input String and the actual utf8-encoded byte values.
+         */
+        private void updateLength(int length) {
+            buffer[0] = (byte) (length >>> 24);
+            buffer[1] = (byte) (length >>> 16);
+            buffer[2] = (byte) (length >>> 8);
+            buffer[3] = (byte) length;
+            digest.update(buffer, 0, INTEGER_SIZE_IN_BYTES);
+        }
+
+        private void updateLengthAndBytes(String str) {
+            updateLength(utf8Length(str));
+            updateUtf8(str);
+        }
+
+        /**
+         * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of
+         * the input ByteBuffer and all the bytes it contains.
+         */
+        private void updateLengthAndBytes(ByteBuffer binaryValue) {
+            updateLength(binaryValue.remaining());
+            if (binaryValue.hasArray()) {
+                digest.update(binaryValue.array(), binaryValue.arrayOffset() + binaryValue.position(),
+                        binaryValue.remaining());
+            } else {
+                digest.update(binaryValue.asReadOnlyBuffer());
+            }
+        }
+
+        /**
+         * Updates the digest with the UTF-8 encoding of the given string, encoding it chunk by
+         * chunk into the buffer. Unpaired surrogates are encoded as '?', as
+         * {@link String#getBytes(java.nio.charset.Charset)} does.
+         */
+        private void updateUtf8(String str) {
+            int length = str.length();
+            int position = 0;
+            for (int i = 0; i < length; i++) {
+                if (position > BUFFER_SIZE - MAX_BYTES_PER_CHAR) {
+                    digest.update(buffer, 0, position);
+                    position = 0;
+                }
+                char c = str.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xc0 | (c >> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3f));
+                } else if (!isSurrogate(c)) {
+                    buffer[position++] = (byte) (0xe0 | (c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                    buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    buffer[position++] = (byte) '?';
+                }
+            }
+            digest.update(buffer, 0, position);
+        }
+
+        /**
+         * Returns the length of the UTF-8 encoding of the given string, as produced by
+         * {@link #updateUtf8(String)}.
+         */
+        private static int utf8Length(String str) {
+            int length = str.length();
+            int utf8Length = length;
+            for (int i = 0; i < length; i++) {
+                char c = str.charAt(i);
+                if (c >= 0x80) {
+                    if (c < 0x800) {
+                        utf8Length += 1;
+                    } else if (!isSurrogate(c)) {
+                        utf8Length += 2;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < length
+                            && Character.isLowSurrogate(str.charAt(i + 1))) {
+                        // Two chars, four bytes
+                        utf8Length += 2;
+                        i++;
+                    }
+                }
+            }
+            return utf8Length;
+        }
+
+        private static boolean isSurrogate(char c) {
+            return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+        }
     }
 }
@@ -362,6 +362,19 @@ public class AmazonSQSBufferedAsyncClient implements AmazonSQSAsync {
         return toReturn;
     }
 
+    /**
+     * Returns a snapshot of the metrics of the buffer used to pre-fetch messages from the given
+     * queue, or null if this client has no buffer for the queue.
+     *
+     * @param queueUrl
+     *            The URL of the queue.
+     */
+    public synchronized ReceiveBufferMetrics getReceiveBufferMetrics(String queueUrl) {
+        // Looking at the metrics must not count as a use of the buffer
+        QueueBuffer buffer = buffers.peek(queueUrl);
+        return buffer == null ? null : buffer.getReceiveBufferMetrics();
+    }
+
     class CachingMap extends LinkedHashMap<String, QueueBuffer> {
         private static final long serialVersionUID = 1;
         private static final int MAX_ENTRIES = 100;
@@ -374,6 +387,19 @@ public class AmazonSQSBufferedAsyncClient implements AmazonSQSAsync {
             return size() > MAX_ENTRIES;
         }
 
+        /**
+         * Returns the value for the given key like {@link #get(Object)}, without moving the entry
+         * to the end of the access order.
+         */
+        QueueBuffer peek(String key) {
+            for (java.util.Map.Entry<String, QueueBuffer> entry : entrySet()) {
+                if (entry.getKey().equals(key)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+
     }
 
     public Future<Void> changeMessageVisibilityAsync(ChangeMessageVisibilityRequest changeMessageVisibilityRequest,
@@ -185,6 +185,13 @@ class QueueBuffer {
         return waitForFuture(future);
     }
 
+    /**
+     * @return a snapshot of the metrics of the receive buffer of this queue buffer.
+     */
+    public ReceiveBufferMetrics getReceiveBufferMetrics() {
+        return receiveBuffer.getMetrics();
+    }
+
     /**
      * Shuts down the queue buffer. Once this method has been called, the queue buffer is not
      * operational and all subsequent calls to it may fail
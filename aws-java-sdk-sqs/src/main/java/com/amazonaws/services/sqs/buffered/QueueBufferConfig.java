@@ -109,6 +109,19 @@ public class QueueBufferConfig {
 
     public static final int LONGPOLL_WAIT_TIMEOUT_SECONDS_DEFAULT = 20;
 
+    /**
+     * If set to true, the number of completed receive batches the buffer tries to keep is sized
+     * from the rate at which messages are being received from the buffer and the visibility
+     * timeout, so that buffered messages are normally received well before their visibility
+     * timeout expires. The number of batches never exceeds maxDoneReceiveBatches. This keeps slow
+     * consumers from holding many messages invisible to other consumers, while fast consumers
+     * still get a deep buffer.
+     */
+    private boolean adaptivePrefetching = ADAPTIVE_PREFETCHING_DEFAULT;
+
+    /** false */
+    public static final boolean ADAPTIVE_PREFETCHING_DEFAULT = false;
+
     public QueueBufferConfig(long maxBatchOpenMs, int maxInflightOutboundBatches, int maxInflightReceiveBatches,
             int maxDoneReceiveBatches, boolean paramLongPoll, long maxBatchSizeBytes, int visibilityTimeout,
             int longPollTimeout, int maxBatch) {
@@ -141,6 +154,7 @@ public class QueueBufferConfig {
         maxInflightOutboundBatches = other.maxInflightOutboundBatches;
         maxInflightReceiveBatches = other.maxInflightReceiveBatches;
         visibilityTimeoutSeconds = other.visibilityTimeoutSeconds;
+        adaptivePrefetching = other.adaptivePrefetching;
     }
 
     @Override
@@ -149,7 +163,8 @@ public class QueueBufferConfig {
                 + longPoll + ", maxInflightOutboundBatches=" + maxInflightOutboundBatches
                 + ", maxInflightReceiveBatches=" + maxInflightReceiveBatches + ", maxDoneReceiveBatches="
                 + maxDoneReceiveBatches + ", maxBatchSizeBytes=" + maxBatchSizeBytes + ", visibilityTimeoutSeconds="
-                + visibilityTimeoutSeconds + ", longPollWaitTimeoutSeconds=" + longPollWaitTimeoutSeconds + "]";
+                + visibilityTimeoutSeconds + ", longPollWaitTimeoutSeconds=" + longPollWaitTimeoutSeconds
+                + ", adaptivePrefetching=" + adaptivePrefetching + "]";
     }
 
     /**
@@ -429,6 +444,43 @@ public class QueueBufferConfig {
         return this;
     }
 
+    /**
+     * If set to true, the number of completed receive batches the buffer tries to keep is sized
+     * from the rate at which messages are being received from the buffer and the visibility
+     * timeout, so that buffered messages are normally received well before their visibility
+     * timeout expires. The number of batches never exceeds maxDoneReceiveBatches. This keeps slow
+     * consumers from holding many messages invisible to other consumers, while fast consumers
+     * still get a deep buffer.
+     */
+    public boolean isAdaptivePrefetching() {
+        return adaptivePrefetching;
+    }
+
+    /**
+     * If set to true, the number of completed receive batches the buffer tries to keep is sized
+     * from the rate at which messages are being received from the buffer and the visibility
+     * timeout, so that buffered messages are normally received well before their visibility
+     * timeout expires. The number of batches never exceeds maxDoneReceiveBatches. This keeps slow
+     * consumers from holding many messages invisible to other consumers, while fast consumers
+     * still get a deep buffer.
+     */
+    public void setAdaptivePrefetching(boolean adaptivePrefetching) {
+        this.adaptivePrefetching = adaptivePrefetching;
+    }
+
+    /**
+     * If set to true, the number of completed receive batches the buffer tries to keep is sized
+     * from the rate at which messages are being received from the buffer and the visibility
+     * timeout, so that buffered messages are normally received well before their visibility
+     * timeout expires. The number of batches never exceeds maxDoneReceiveBatches. This keeps slow
+     * consumers from holding many messages invisible to other consumers, while fast consumers
+     * still get a deep buffer.
+     */
+    public QueueBufferConfig withAdaptivePrefetching(boolean adaptivePrefetching) {
+        setAdaptivePrefetching(adaptivePrefetching);
+        return this;
+    }
+
     /**
      * this method checks the config for validity. If the config is deemed to be invalid, an
      * informative exception is thrown.
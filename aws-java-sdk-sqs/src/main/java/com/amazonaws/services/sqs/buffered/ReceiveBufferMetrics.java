@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.sqs.buffered;
+
+/**
+ * A snapshot of the state of the receive buffer that an {@link AmazonSQSBufferedAsyncClient}
+ * keeps for a single queue.
+ */
+public class ReceiveBufferMetrics {
+
+    private final String queueUrl;
+    private final int bufferedMessages;
+    private final int bufferedBatches;
+    private final int inflightReceiveBatches;
+    private final long expiredMessages;
+    private final int prefetchBatches;
+
+    ReceiveBufferMetrics(String queueUrl, int bufferedMessages, int bufferedBatches, int inflightReceiveBatches,
+            long expiredMessages, int prefetchBatches) {
+        this.queueUrl = queueUrl;
+        this.bufferedMessages = bufferedMessages;
+        this.bufferedBatches = bufferedBatches;
+        this.inflightReceiveBatches = inflightReceiveBatches;
+        this.expiredMessages = expiredMessages;
+        this.prefetchBatches = prefetchBatches;
+    }
+
+    /**
+     * @return the URL of the queue the buffer receives messages from.
+     */
+    public String getQueueUrl() {
+        return queueUrl;
+    }
+
+    /**
+     * @return the number of pre-fetched messages waiting in the buffer to be received.
+     */
+    public int getBufferedMessages() {
+        return bufferedMessages;
+    }
+
+    /**
+     * @return the number of completed receive batches waiting in the buffer.
+     */
+    public int getBufferedBatches() {
+        return bufferedBatches;
+    }
+
+    /**
+     * @return the number of receive batches currently being retrieved from SQS.
+     */
+    public int getInflightReceiveBatches() {
+        return inflightReceiveBatches;
+    }
+
+    /**
+     * @return the total number of pre-fetched messages whose visibility timeout expired before
+     *         they could be delivered, and which became visible to other consumers again.
+     */
+    public long getExpiredMessages() {
+        return expiredMessages;
+    }
+
+    /**
+     * @return the number of completed receive batches the buffer currently tries to keep. This is
+     *         {@link QueueBufferConfig#getMaxDoneReceiveBatches()} unless adaptive prefetching is
+     *         enabled.
+     */
+    public int getPrefetchBatches() {
+        return prefetchBatches;
+    }
+
+    @Override
+    public String toString() {
+        return "ReceiveBufferMetrics [queueUrl=" + queueUrl + ", bufferedMessages=" + bufferedMessages
+                + ", bufferedBatches=" + bufferedBatches + ", inflightReceiveBatches=" + inflightReceiveBatches
+                + ", expiredMessages=" + expiredMessages + ", prefetchBatches=" + prefetchBatches + "]";
+    }
+}
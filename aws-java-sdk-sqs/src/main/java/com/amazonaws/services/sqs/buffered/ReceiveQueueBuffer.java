@@ -19,8 +19,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -40,29 +43,28 @@ import com.amazonaws.services.sqs.model.ReceiveMessageResult;
  * which it uses to satisfy incoming requests. The number of requests pre-fetched and kept in the
  * buffer, as well as the maximum number of threads used to retrieve the messages are configurable.
  * <p>
- * Synchronization strategy: - Threads must hold the TaskSpawnSyncPoint object monitor to spawn a
- * new task or modify the number of inflight tasks - Threads must hold the monitor of the "futures"
- * list to modify the list - Threads must hold the monitor of the "finishedTasks" list to modify the
- * list - If you need to lock both futures and finishedTasks, lock futures first and finishedTasks
- * second
+ * Synchronization strategy: - Issued futures and finished batches are kept in concurrent queues
+ * that any thread may add to - Only one thread at a time matches futures with finished batches;
+ * a thread that adds to either queue bumps {@code drainRequests}, and the thread that bumps it
+ * from zero drains both queues until no more requests are pending - The number of inflight
+ * receive batches is a counter updated with compare-and-set, so spawning new batches does not
+ * need a lock either
  */
 public class ReceiveQueueBuffer {
 
+    private static Log log = LogFactory.getLog(ReceiveQueueBuffer.class);
+
     /**
-     * Simple interface to represent a condition
-     * 
-     * @param <T>
+     * With adaptive prefetching, the buffer aims to hold no more messages than consumers drain in
+     * this fraction of the visibility timeout.
      */
-    private interface Predicate<T> {
-        /**
-         * @param t
-         *            Object being evaluated against the condition
-         * @return True if t meets the condition, false if not
-         */
-        boolean test(T t);
-    }
+    private static final double PREFETCH_VISIBILITY_FRACTION = 0.5;
 
-    private static Log log = LogFactory.getLog(ReceiveQueueBuffer.class);
+    /** Interval over which the consumer drain rate is measured. */
+    private static final long DRAIN_RATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Weight of the previous measurement in the smoothed drain rate. */
+    private static final double DRAIN_RATE_SMOOTHING = 0.7;
 
     private final QueueBufferConfig config;
 
@@ -72,34 +74,51 @@ public class ReceiveQueueBuffer {
 
     private final AmazonSQS sqsClient;
 
-    private long bufferCounter = 0;
+    private final AtomicLong bufferCounter = new AtomicLong();
 
     /**
      * This buffer's queue visibility timeout. Used to detect expired message that should not be
-     * returned by the {@code receiveMessage} call. Synchronized by {@code receiveMessageLock}. -1
-     * indicates that the time is uninitialized.
+     * returned by the {@code receiveMessage} call. -1 indicates that the time is uninitialized.
      */
     private volatile long visibilityTimeoutNanos = -1;
 
     /**
-     * Used as permits controlling the number of in flight receive batches. Synchronized by
-     * {@code taskSpawnSyncPoint}.
-     */
-    private volatile int inflightReceiveMessageBatches;
-
-    /**
-     * synchronize on this object to create new receive batches or modify inflight message count
+     * Used as permits controlling the number of in flight receive batches.
      */
-    private final Object taskSpawnSyncPoint = new Object();
+    private final AtomicInteger inflightReceiveMessageBatches = new AtomicInteger();
 
     /** shutdown buffer does not retrieve any more messages from sqs */
     volatile boolean shutDown = false;
 
     /** message delivery futures we gave out */
-    private final LinkedList<ReceiveMessageFuture> futures = new LinkedList<ReceiveMessageFuture>();
+    private final ConcurrentLinkedQueue<ReceiveMessageFuture> futures = new ConcurrentLinkedQueue<ReceiveMessageFuture>();
 
-    /** finished batches are stored in this list. */
-    private LinkedList<ReceiveMessageBatchTask> finishedTasks = new LinkedList<ReceiveMessageBatchTask>();
+    /** finished batches are stored in this queue. */
+    private final ConcurrentLinkedQueue<ReceiveMessageBatchTask> finishedTasks = new ConcurrentLinkedQueue<ReceiveMessageBatchTask>();
+
+    /** Number of batches in {@code finishedTasks}, which does not have a constant time size. */
+    private final AtomicInteger finishedTaskCount = new AtomicInteger();
+
+    /** Number of pending requests to match futures with finished batches. */
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    /** Number of received messages waiting in finished batches. */
+    private final AtomicInteger bufferedMessages = new AtomicInteger();
+
+    /** Number of messages that expired in the buffer before they could be delivered. */
+    private final AtomicLong expiredMessages = new AtomicLong();
+
+    /** Number of messages delivered to consumers, used to measure the drain rate. */
+    private final AtomicLong deliveredMessages = new AtomicLong();
+
+    /** Smoothed consumer drain rate in messages per second. Updated under {@code drainRateLock}. */
+    private volatile double drainRate;
+
+    private long drainRateMeasuredMessages;
+
+    private volatile long drainRateMeasuredNanos = System.nanoTime();
+
+    private final Object drainRateLock = new Object();
 
     ReceiveQueueBuffer(AmazonSQS paramSQS, Executor paramExecutor, QueueBufferConfig paramConfig, String url) {
         config = paramConfig;
@@ -116,7 +135,7 @@ public class ReceiveQueueBuffer {
     public void shutdown() {
         shutDown = true;
         try {
-            while (inflightReceiveMessageBatches > 0)
+            while (inflightReceiveMessageBatches.get() > 0)
                 Thread.sleep(100);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -141,7 +160,8 @@ public class ReceiveQueueBuffer {
         if (rq.getMaxNumberOfMessages() != null) {
             numMessages = rq.getMaxNumberOfMessages();
         }
-        QueueBufferFuture<ReceiveMessageRequest, ReceiveMessageResult> toReturn = issueFuture(numMessages, callback);
+        ReceiveMessageFuture toReturn = new ReceiveMessageFuture(callback, numMessages);
+        futures.add(toReturn);
 
         // attempt to satisfy it right away...
         satisfyFuturesFromBuffer();
@@ -153,74 +173,69 @@ public class ReceiveQueueBuffer {
     }
 
     /**
-     * Creates and returns a new future object. Sleeps if the list of already-issued but as yet
-     * unsatisfied futures is over a throttle limit.
-     * 
-     * @return never null
+     * Returns a snapshot of the metrics of this buffer.
      */
-    private ReceiveMessageFuture issueFuture(int size,
-                                             QueueBufferCallback<ReceiveMessageRequest, ReceiveMessageResult> callback) {
-        synchronized (futures) {
-            ReceiveMessageFuture theFuture = new ReceiveMessageFuture(callback, size);
-            futures.addLast(theFuture);
-            return theFuture;
-        }
+    public ReceiveBufferMetrics getMetrics() {
+        return new ReceiveBufferMetrics(qUrl, bufferedMessages.get(), finishedTaskCount.get(),
+                inflightReceiveMessageBatches.get(), expiredMessages.get(), getDesiredBatches());
     }
 
     /**
      * Attempts to satisfy some or all of the already-issued futures from the local buffer. If the
-     * buffer is empty or there are no futures, this method won't do anything.
+     * buffer is empty or there are no futures, this method won't do anything. If another thread is
+     * already satisfying futures, that thread will pick up the work on behalf of this one.
      */
     private void satisfyFuturesFromBuffer() {
-        synchronized (futures) {
-            synchronized (finishedTasks) {
-                // attempt to satisfy futures until we run out of either futures or
-                // finished tasks
-                while ((!futures.isEmpty()) && (!finishedTasks.isEmpty())) {
-                    // Remove any expired tasks before attempting to fufill the future
-                    pruneExpiredTasks();
-                    // Fufill the future from a non expired task if there is one. There is still a
-                    // slight chance that the first task could have expired between the time we
-                    // pruned and the time we fufill the future
-                    if (!finishedTasks.isEmpty()) {
-                        fufillFuture(futures.poll());
-                    }
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int pending = 1;
+        do {
+            // attempt to satisfy futures until we run out of either futures or
+            // finished tasks
+            while (!futures.isEmpty() && !finishedTasks.isEmpty()) {
+                // Remove any expired tasks before attempting to fufill the future
+                pruneExpiredTasks();
+                // Fufill the future from a non expired task if there is one. There is still a
+                // slight chance that the first task could have expired between the time we
+                // pruned and the time we fufill the future
+                if (!finishedTasks.isEmpty()) {
+                    fufillFuture(futures.peek());
                 }
             }
-        }
+            pending = drainRequests.addAndGet(-pending);
+        } while (pending != 0);
     }
 
     /**
      * Fills the future with whatever results were received by the full batch currently at the head
-     * of the completed batch queue. Those results may be retrieved messages, or an exception. This
-     * method assumes that you are holding the finished tasks lock locks when invoking it. violate
-     * this assumption at your own peril
+     * of the completed batch queue. Those results may be retrieved messages, or an exception. Only
+     * the thread currently draining the queues may call this method, which keeps it the only
+     * thread that removes futures and batches from the head of the queues.
      */
     private void fufillFuture(ReceiveMessageFuture future) {
-        ReceiveMessageBatchTask task = finishedTasks.getFirst();
-        ReceiveMessageResult result = new ReceiveMessageResult();
+        ReceiveMessageBatchTask task = finishedTasks.peek();
         LinkedList<Message> messages = new LinkedList<Message>();
-        result.setMessages(messages);
         Exception exception = task.getException();
-        int numRetrieved = 0;
-        boolean batchDone = false;
-        while (numRetrieved < future.getRequestedSize()) {
-            Message msg = task.removeMessage();
-            // a non-empty batch can still give back a null
-            // message if the message expired.
-            if (msg != null) {
-                messages.add(msg);
-                ++numRetrieved;
-            } else {
-                batchDone = true;
-                break;
-            }
+        // a batch that was cleared concurrently gives back null; move on to the next one
+        // and keep the future for it
+        if (!task.removeMessages(future.getRequestedSize(), messages)) {
+            removeFinishedTask(task);
+            return;
         }
+        futures.poll();
+        int numRetrieved = messages.size();
+        bufferedMessages.addAndGet(-numRetrieved);
+        deliveredMessages.addAndGet(numRetrieved);
         // we may have just drained the batch.
-        batchDone = batchDone || task.isEmpty() || (exception != null);
+        boolean batchDone = numRetrieved < future.getRequestedSize() || task.isEmpty() || (exception != null);
         if (batchDone) {
-            finishedTasks.removeFirst();
+            removeFinishedTask(task);
+            int expired = task.expire();
+            bufferedMessages.addAndGet(-expired);
+            expiredMessages.addAndGet(expired);
         }
+        ReceiveMessageResult result = new ReceiveMessageResult();
         result.setMessages(messages);
 
         // if after the above runs the exception is not null,
@@ -234,49 +249,33 @@ public class ReceiveQueueBuffer {
         }
     }
 
+    private void removeFinishedTask(ReceiveMessageBatchTask task) {
+        if (finishedTasks.remove(task)) {
+            finishedTaskCount.decrementAndGet();
+        }
+    }
+
     /**
-     * Prune any expired tasks that do not have an exception associated with them. This method
-     * assumes that you are holding the finishedTasks lock when invoking it
+     * Prune any expired tasks that do not have an exception associated with them. Only the thread
+     * currently draining the queues may call this method.
      */
     private void pruneExpiredTasks() {
-        int numberExpiredTasksPruned = pruneHeadTasks(new Predicate<ReceiveQueueBuffer.ReceiveMessageBatchTask>() {
-            @Override
-            public boolean test(ReceiveMessageBatchTask t) {
-                return t.isExpired() && t.getException() == null;
-            }
-        });
+        int numberExpiredTasksPruned = 0;
+        ReceiveMessageBatchTask task;
+        while ((task = finishedTasks.peek()) != null && task.isExpired() && task.getException() == null) {
+            int expired = task.expire();
+            bufferedMessages.addAndGet(-expired);
+            expiredMessages.addAndGet(expired);
+            removeFinishedTask(task);
+            numberExpiredTasksPruned++;
+        }
         // If we pruned any tasks because they are expired we also want to prune any empty tasks
         // afterwards so we have a chance to receive those expired messages again.
         if (numberExpiredTasksPruned > 0) {
-            pruneHeadTasks(new Predicate<ReceiveQueueBuffer.ReceiveMessageBatchTask>() {
-                @Override
-                public boolean test(ReceiveMessageBatchTask t) {
-                    return t.isEmpty() && t.getException() == null;
-                }
-            });
-        }
-    }
-
-    /**
-     * Prune all tasks at the beginning of the finishedTasks list that meet the given condition.
-     * Once a task is found that does not meet the given condition the pruning stops. This method
-     * assumes that you are holding the finishedTasks lock when invoking it.
-     * 
-     * @param pruneCondition
-     *            Condition on whether a task is eligible to be pruned
-     * @return Number of total tasks pruned from finishedTasks
-     */
-    private int pruneHeadTasks(Predicate<ReceiveMessageBatchTask> pruneCondition) {
-        int numberPruned = 0;
-        while (!finishedTasks.isEmpty()) {
-            if (pruneCondition.test(finishedTasks.getFirst())) {
-                finishedTasks.removeFirst();
-                numberPruned++;
-            } else {
-                break;
+            while ((task = finishedTasks.peek()) != null && task.isEmpty() && task.getException() == null) {
+                removeFinishedTask(task);
             }
         }
-        return numberPruned;
     }
 
     /**
@@ -288,47 +287,102 @@ public class ReceiveQueueBuffer {
             return;
         }
 
-        int desiredBatches = config.getMaxDoneReceiveBatches();
-        desiredBatches = desiredBatches < 1 ? 1 : desiredBatches;
+        int desiredBatches = getDesiredBatches();
 
-        synchronized (finishedTasks) {
-            if (finishedTasks.size() >= desiredBatches)
-                return;
+        int finished = finishedTaskCount.get();
+        if (finished >= desiredBatches)
+            return;
 
-            // if we have some finished batches already, and
-            // existing inflight batches will bring us to the limit,
-            // don't spawn more. if our finished tasks cache is empty, we will
-            // always spawn a thread.
-            if (finishedTasks.size() > 0 && (finishedTasks.size() + inflightReceiveMessageBatches) >= desiredBatches) {
+        // if we have some finished batches already, and
+        // existing inflight batches will bring us to the limit,
+        // don't spawn more. if our finished tasks cache is empty, we will
+        // always spawn a thread.
+        if (finished > 0 && (finished + inflightReceiveMessageBatches.get()) >= desiredBatches) {
+            return;
+        }
+
+        if (visibilityTimeoutNanos == -1) {
+            initVisibilityTimeout();
+        }
+
+        int max = config.getMaxInflightReceiveBatches();
+        // must allow at least one inflight receive task, or receive won't
+        // work at all.
+        max = max > 0 ? max : 1;
+        int inflight;
+        do {
+            inflight = inflightReceiveMessageBatches.get();
+            if (inflight >= max) {
                 return;
             }
+        } while (!inflightReceiveMessageBatches.compareAndSet(inflight, inflight + 1));
+
+        ReceiveMessageBatchTask task = new ReceiveMessageBatchTask(this);
+        long batchNumber = bufferCounter.incrementAndGet();
+        if (log.isTraceEnabled()) {
+            log.trace("Spawned receive batch #" + batchNumber + " (" + (inflight + 1) + " of " + max
+                    + " inflight) for queue " + qUrl);
         }
+        executor.execute(task);
+    }
 
-        synchronized (taskSpawnSyncPoint) {
-            if (visibilityTimeoutNanos == -1) {
-                GetQueueAttributesRequest request = new GetQueueAttributesRequest().withQueueUrl(qUrl)
-                        .withAttributeNames("VisibilityTimeout");
-                ResultConverter.appendUserAgent(request, AmazonSQSBufferedAsyncClient.USER_AGENT);
-                long visibilityTimeoutSeconds = Long.parseLong(sqsClient.getQueueAttributes(request).getAttributes()
-                        .get("VisibilityTimeout"));
-                visibilityTimeoutNanos = TimeUnit.NANOSECONDS.convert(visibilityTimeoutSeconds, TimeUnit.SECONDS);
-            }
+    private synchronized void initVisibilityTimeout() {
+        if (visibilityTimeoutNanos != -1) {
+            return;
+        }
+        GetQueueAttributesRequest request = new GetQueueAttributesRequest().withQueueUrl(qUrl)
+                .withAttributeNames("VisibilityTimeout");
+        ResultConverter.appendUserAgent(request, AmazonSQSBufferedAsyncClient.USER_AGENT);
+        long visibilityTimeoutSeconds = Long.parseLong(sqsClient.getQueueAttributes(request).getAttributes()
+                .get("VisibilityTimeout"));
+        visibilityTimeoutNanos = TimeUnit.NANOSECONDS.convert(visibilityTimeoutSeconds, TimeUnit.SECONDS);
+    }
 
-            int max = config.getMaxInflightReceiveBatches();
-            // must allow at least one inflight receive task, or receive won't
-            // work at all.
-            max = max > 0 ? max : 1;
-            int toSpawn = max - inflightReceiveMessageBatches;
-            if (toSpawn > 0) {
-                ReceiveMessageBatchTask task = new ReceiveMessageBatchTask(this);
-                ++inflightReceiveMessageBatches;
-                ++bufferCounter;
-                if (log.isTraceEnabled()) {
-                    log.trace("Spawned receive batch #" + bufferCounter + " (" + inflightReceiveMessageBatches + " of "
-                            + max + " inflight) for queue " + qUrl);
-                }
-                executor.execute(task);
+    /**
+     * Returns the number of finished batches the buffer should try to keep. With adaptive
+     * prefetching this is sized so that consumers, at the rate they have been draining the buffer,
+     * receive the buffered messages well before their visibility timeout expires; it never exceeds
+     * the configured maximum number of done receive batches.
+     */
+    private int getDesiredBatches() {
+        int maxBatches = config.getMaxDoneReceiveBatches();
+        maxBatches = maxBatches < 1 ? 1 : maxBatches;
+        if (!config.isAdaptivePrefetching()) {
+            return maxBatches;
+        }
+        long visibilityNanos = config.getVisibilityTimeoutSeconds() > 0
+                ? TimeUnit.SECONDS.toNanos(config.getVisibilityTimeoutSeconds())
+                : visibilityTimeoutNanos;
+        if (visibilityNanos <= 0) {
+            return 1;
+        }
+        double targetMessages = measureDrainRate() * PREFETCH_VISIBILITY_FRACTION * visibilityNanos
+                / TimeUnit.SECONDS.toNanos(1);
+        int batchSize = Math.max(config.getMaxBatchSize(), 1);
+        int batches = (int) Math.ceil(targetMessages / batchSize);
+        return Math.max(1, Math.min(batches, maxBatches));
+    }
+
+    /**
+     * Returns the smoothed rate, in messages per second, at which consumers have been receiving
+     * messages from this buffer.
+     */
+    private double measureDrainRate() {
+        long now = System.nanoTime();
+        if (now - drainRateMeasuredNanos < DRAIN_RATE_INTERVAL_NANOS) {
+            return drainRate;
+        }
+        synchronized (drainRateLock) {
+            long elapsed = now - drainRateMeasuredNanos;
+            if (elapsed >= DRAIN_RATE_INTERVAL_NANOS) {
+                long delivered = deliveredMessages.get();
+                double rate = (delivered - drainRateMeasuredMessages) * (double) TimeUnit.SECONDS.toNanos(1)
+                        / elapsed;
+                drainRate = DRAIN_RATE_SMOOTHING * drainRate + (1 - DRAIN_RATE_SMOOTHING) * rate;
+                drainRateMeasuredMessages = delivered;
+                drainRateMeasuredNanos = now;
             }
+            return drainRate;
         }
     }
 
@@ -336,15 +390,13 @@ public class ReceiveQueueBuffer {
      * This method is called by the batches after they have finished retrieving the messages.
      */
     void reportBatchFinished(ReceiveMessageBatchTask batch) {
-        synchronized (finishedTasks) {
-            finishedTasks.addLast(batch);
-            if (log.isTraceEnabled()) {
-                log.info("Queue " + qUrl + " now has " + finishedTasks.size() + " receive results cached ");
-            }
-        }
-        synchronized (taskSpawnSyncPoint) {
-            --inflightReceiveMessageBatches;
+        bufferedMessages.addAndGet(batch.size());
+        finishedTasks.add(batch);
+        int cached = finishedTaskCount.incrementAndGet();
+        if (log.isTraceEnabled()) {
+            log.trace("Queue " + qUrl + " now has " + cached + " receive results cached ");
         }
+        inflightReceiveMessageBatches.decrementAndGet();
         satisfyFuturesFromBuffer();
         spawnMoreReceiveTasks();
     }
@@ -355,13 +407,11 @@ public class ReceiveQueueBuffer {
     public void clear() {
         boolean done = false;
         while (!done) {
-            ReceiveMessageBatchTask currentBatch = null;
-            synchronized (finishedTasks) {
-                currentBatch = finishedTasks.poll();
-            }
+            ReceiveMessageBatchTask currentBatch = finishedTasks.poll();
 
             if (currentBatch != null) {
-                currentBatch.clear();
+                finishedTaskCount.decrementAndGet();
+                bufferedMessages.addAndGet(-currentBatch.clear());
             } else {
                 // ran out of batches to clear
                 done = true;
@@ -395,6 +445,7 @@ public class ReceiveQueueBuffer {
         private List<Message> messages;
         private long visibilityDeadlineNano;
         private boolean open = false;
+        private boolean cleared = false;
         private ReceiveQueueBuffer parentBuffer;
 
         /**
@@ -416,6 +467,10 @@ public class ReceiveQueueBuffer {
             return messages.isEmpty();
         }
 
+        synchronized int size() {
+            return messages.size();
+        }
+
         /**
          * @return the exception that was thrown during execution, or null if there was no exception
          */
@@ -428,27 +483,40 @@ public class ReceiveQueueBuffer {
         }
 
         /**
-         * Returns a message if one is available.
-         * <p>
-         * The call adjusts the message count.
+         * Moves up to {@code max} messages from this batch to the given list. Gives back no
+         * messages if the batch has expired.
          * 
-         * @return a message or {@code null} if none is available
+         * @return false if the batch has been cleared and can no longer be used to satisfy a
+         *         future, true otherwise
          */
-        synchronized Message removeMessage() {
+        synchronized boolean removeMessages(int max, List<Message> to) {
             if (!open) {
                 throw new IllegalStateException("batch is not open");
             }
+            if (cleared) {
+                return false;
+            }
 
-            // our messages expired.
+            // our messages expired; they are dropped once the batch is done.
             if (isExpired()) {
-                messages.clear();
-                return null;
+                return true;
             }
 
-            if (messages.isEmpty())
-                return null;
-            else
-                return messages.remove(messages.size() - 1);
+            for (int i = 0; i < max && !messages.isEmpty(); i++) {
+                to.add(messages.remove(messages.size() - 1));
+            }
+            return true;
+        }
+
+        /**
+         * Drops any messages left in the batch.
+         * 
+         * @return the number of messages dropped
+         */
+        synchronized int expire() {
+            int expired = messages.size();
+            messages.clear();
+            return expired;
         }
 
         boolean isExpired() {
@@ -457,19 +525,23 @@ public class ReceiveQueueBuffer {
 
         /**
          * Nacks and clears all messages remaining in the batch.
+         * 
+         * @return the number of messages cleared
          */
-        synchronized void clear() {
+        synchronized int clear() {
             if (!open) {
                 throw new IllegalStateException("batch is not open");
             }
+            cleared = true;
+            int size = messages.size();
 
-            if (!isExpired()) {
+            if (!isExpired() && size > 0) {
                 ChangeMessageVisibilityBatchRequest batchRequest = new ChangeMessageVisibilityBatchRequest()
                         .withQueueUrl(qUrl);
                 ResultConverter.appendUserAgent(batchRequest, AmazonSQSBufferedAsyncClient.USER_AGENT);
 
                 List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<ChangeMessageVisibilityBatchRequestEntry>(
-                        messages.size());
+                        size);
 
                 int i = 0;
                 for (Message m : messages) {
@@ -488,6 +560,7 @@ public class ReceiveQueueBuffer {
                 }
             }
             messages.clear();
+            return size;
         }
 
         /**
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.sqs;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+import com.amazonaws.util.BinaryUtils;
+
+/**
+ * Checks the MD5 checksums calculated by {@link MessageMD5ChecksumHandler} against ones calculated
+ * over {@link String#getBytes(Charset)}.
+ */
+public class MessageMD5ChecksumHandlerTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String[] BODIES = {
+        "",
+        "hello world",
+        // two and three byte characters
+        "café € 東京",
+        // supplementary characters as surrogate pairs
+        "😀 𐀀􏿿",
+        // unpaired surrogates
+        "\ud83d",
+        "\ude00",
+        "a\ud83db",
+        "a\ude00\ud83d",
+        "\ude00😀\ud83d",
+    };
+
+    private final MessageMD5ChecksumHandler handler = new MessageMD5ChecksumHandler();
+
+    @Test
+    public void messageBodyMd5MatchesJdkEncoding() {
+        for (String body : BODIES) {
+            receive(body, md5Hex(body.getBytes(UTF8)));
+        }
+    }
+
+    @Test
+    public void messageBodyMd5MatchesJdkEncodingAcrossChunks() {
+        // Multi-byte characters straddling every position of the internal 4KB buffer
+        String[] fillers = { "a", "é", "€", "😀", "\ud83d" };
+        for (String filler : fillers) {
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < 3 * 4096; i++) {
+                body.append(filler);
+                if (i % 7 == 0) {
+                    body.append('x');
+                }
+            }
+            String str = body.toString();
+            receive(str, md5Hex(str.getBytes(UTF8)));
+        }
+    }
+
+    @Test
+    public void messageAttributesMd5MatchesJdkEncoding() throws IOException {
+        for (String str : BODIES) {
+            Map<String, MessageAttributeValue> attributes = new TreeMap<String, MessageAttributeValue>();
+            attributes.put("nameé" + str, new MessageAttributeValue()
+                    .withDataType("String")
+                    .withStringValue(str));
+            attributes.put("binary😀", new MessageAttributeValue()
+                    .withDataType("Binary")
+                    .withBinaryValue(ByteBuffer.wrap(str.getBytes(UTF8))));
+            attributes.put("list", new MessageAttributeValue()
+                    .withDataType("String.東" + str)
+                    .withStringListValues(str, "€"));
+
+            SendMessageRequest request = new SendMessageRequest("queue", str)
+                    .withMessageAttributes(attributes);
+            SendMessageResult result = new SendMessageResult()
+                    .withMD5OfMessageBody(md5Hex(str.getBytes(UTF8)))
+                    .withMD5OfMessageAttributes(attributesMd5Hex(attributes));
+            handler.afterResponse(new DefaultRequest<Void>(request, "AmazonSQS"), result, null);
+        }
+    }
+
+    @Test
+    public void mismatchedMd5IsRejected() {
+        byte[] other = "hello world".getBytes(UTF8);
+        for (String body : BODIES) {
+            if (!Arrays.equals(body.getBytes(UTF8), other)) {
+                assertRejected(body, md5Hex(other));
+            }
+        }
+        assertRejected("hello world", null);
+        assertRejected("hello world", "");
+        assertRejected("hello world", md5Hex(other).substring(1));
+    }
+
+    @Test
+    public void uppercaseMd5IsRejected() {
+        for (String body : BODIES) {
+            String md5 = md5Hex(body.getBytes(UTF8));
+            String upper = md5.toUpperCase();
+            if (!upper.equals(md5)) {
+                assertRejected(body, upper);
+            }
+        }
+    }
+
+    private void receive(String body, String md5OfBody) {
+        ReceiveMessageResult result = new ReceiveMessageResult()
+                .withMessages(new Message().withBody(body).withMD5OfBody(md5OfBody));
+        handler.afterResponse(new DefaultRequest<Void>(new ReceiveMessageRequest("queue"), "AmazonSQS"),
+                result, null);
+    }
+
+    private void assertRejected(String body, String md5OfBody) {
+        try {
+            receive(body, md5OfBody);
+            fail("Expected MD5 mismatch for " + md5OfBody);
+        } catch (AmazonClientException expected) {
+            assertTrue(expected.getMessage().startsWith("MD5 returned by SQS does not match"));
+        }
+    }
+
+    /**
+     * Reference implementation of the message attributes MD5, encoding every string with
+     * {@link String#getBytes(Charset)}.
+     */
+    private static String attributesMd5Hex(Map<String, MessageAttributeValue> sortedAttributes)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Map.Entry<String, MessageAttributeValue> entry : sortedAttributes.entrySet()) {
+            MessageAttributeValue value = entry.getValue();
+            writeLengthAndBytes(out, entry.getKey().getBytes(UTF8));
+            writeLengthAndBytes(out, value.getDataType().getBytes(UTF8));
+            if (value.getStringValue() != null) {
+                out.writeByte(1);
+                writeLengthAndBytes(out, value.getStringValue().getBytes(UTF8));
+            } else if (value.getBinaryValue() != null) {
+                out.writeByte(2);
+                writeLengthAndBytes(out, BinaryUtils.copyAllBytesFrom(value.getBinaryValue()));
+            } else {
+                out.writeByte(3);
+                for (String member : value.getStringListValues()) {
+                    writeLengthAndBytes(out, member.getBytes(UTF8));
+                }
+            }
+        }
+        out.flush();
+        return md5Hex(bytes.toByteArray());
+    }
+
+    private static void writeLengthAndBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String md5Hex(byte[] bytes) {
+        try {
+            return BinaryUtils.toHex(MessageDigest.getInstance("MD5").digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.sqs.buffered;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.services.sqs.AbstractAmazonSQSAsync;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.DeleteMessageRequest;
+
+public class AmazonSQSBufferedAsyncClientTest {
+
+    private static final String QUEUE_URL_PREFIX = "https://sqs.us-east-1.amazonaws.com/123456789012/queue";
+
+    private final AmazonSQSBufferedAsyncClient client = new AmazonSQSBufferedAsyncClient(new FakeSQSAsync());
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    public void receiveBufferMetricsOfUnknownQueueAreNull() {
+        assertNull(client.getReceiveBufferMetrics(QUEUE_URL_PREFIX + 0));
+        // Asking for the metrics does not create a buffer
+        assertNull(client.getReceiveBufferMetrics(QUEUE_URL_PREFIX + 0));
+    }
+
+    @Test
+    public void receiveBufferMetricsDoNotAffectBufferEviction() {
+        // Fill the buffer cache, whose least recently used buffer is then the first one
+        for (int i = 0; i < 100; i++) {
+            useQueue(i);
+        }
+        assertNotNull(client.getReceiveBufferMetrics(QUEUE_URL_PREFIX + 0));
+
+        useQueue(100);
+        assertNull(client.getReceiveBufferMetrics(QUEUE_URL_PREFIX + 0));
+        assertNotNull(client.getReceiveBufferMetrics(QUEUE_URL_PREFIX + 1));
+    }
+
+    private void useQueue(int i) {
+        client.deleteMessageAsync(new DeleteMessageRequest(QUEUE_URL_PREFIX + i, "receipt-handle"));
+    }
+
+    private static class FakeSQSAsync extends AbstractAmazonSQSAsync {
+        @Override
+        public DeleteMessageBatchResult deleteMessageBatch(DeleteMessageBatchRequest request) {
+            return new DeleteMessageBatchResult();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
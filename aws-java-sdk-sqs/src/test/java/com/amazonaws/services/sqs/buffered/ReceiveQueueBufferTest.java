@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.sqs.buffered;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.sqs.AbstractAmazonSQS;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchResult;
+import com.amazonaws.services.sqs.model.GetQueueAttributesRequest;
+import com.amazonaws.services.sqs.model.GetQueueAttributesResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+
+public class ReceiveQueueBufferTest {
+
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/test";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentReceivesGetDistinctMessages() throws Exception {
+        final FakeSQS sqs = new FakeSQS();
+        final ReceiveQueueBuffer buffer = new ReceiveQueueBuffer(sqs, executor,
+                new QueueBufferConfig().withLongPoll(false).withMaxInflightReceiveBatches(4)
+                        .withMaxDoneReceiveBatches(4), QUEUE_URL);
+
+        final int consumers = 8;
+        final int receivesPerConsumer = 50;
+        final Set<String> received = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final AtomicInteger receivedCount = new AtomicInteger();
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[consumers];
+        for (int i = 0; i < consumers; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int j = 0; j < receivesPerConsumer; j++) {
+                            ReceiveMessageResult result = buffer.receiveMessageAsync(
+                                    new ReceiveMessageRequest(QUEUE_URL).withMaxNumberOfMessages(3), null)
+                                    .get(10, TimeUnit.SECONDS);
+                            for (Message message : result.getMessages()) {
+                                received.add(message.getMessageId());
+                                receivedCount.incrementAndGet();
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertTrue(receivedCount.get() > 0);
+        // No message is handed out twice
+        assertEquals(receivedCount.get(), received.size());
+
+        buffer.shutdown();
+        ReceiveBufferMetrics metrics = buffer.getMetrics();
+        assertEquals(0, metrics.getInflightReceiveBatches());
+        // Every message received from SQS is either delivered or still buffered
+        assertEquals(sqs.sent.get(), receivedCount.get() + metrics.getBufferedMessages());
+
+        buffer.clear();
+        metrics = buffer.getMetrics();
+        assertEquals(0, metrics.getBufferedMessages());
+        assertEquals(0, metrics.getBufferedBatches());
+    }
+
+    @Test
+    public void failedReceiveIsReportedToFuture() throws Exception {
+        FakeSQS sqs = new FakeSQS();
+        sqs.fail = true;
+        ReceiveQueueBuffer buffer = new ReceiveQueueBuffer(sqs, executor,
+                new QueueBufferConfig().withLongPoll(false), QUEUE_URL);
+        try {
+            buffer.receiveMessageAsync(new ReceiveMessageRequest(QUEUE_URL), null).get(10, TimeUnit.SECONDS);
+            fail("Expected an ExecutionException");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonClientException);
+        }
+        buffer.shutdown();
+    }
+
+    @Test
+    public void clearReturnsBufferedMessagesToQueue() throws Exception {
+        FakeSQS sqs = new FakeSQS();
+        ReceiveQueueBuffer buffer = new ReceiveQueueBuffer(sqs, executor,
+                new QueueBufferConfig().withLongPoll(false).withMaxDoneReceiveBatches(2), QUEUE_URL);
+        assertEquals(1, buffer.receiveMessageAsync(
+                new ReceiveMessageRequest(QUEUE_URL).withMaxNumberOfMessages(1), null)
+                .get(10, TimeUnit.SECONDS).getMessages().size());
+        buffer.shutdown();
+
+        int buffered = buffer.getMetrics().getBufferedMessages();
+        assertTrue(buffered > 0);
+        buffer.clear();
+        assertEquals(buffered, sqs.nacked.get());
+        assertEquals(0, buffer.getMetrics().getBufferedMessages());
+    }
+
+    private static class FakeSQS extends AbstractAmazonSQS {
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger nacked = new AtomicInteger();
+        private volatile boolean fail;
+
+        @Override
+        public GetQueueAttributesResult getQueueAttributes(GetQueueAttributesRequest request) {
+            return new GetQueueAttributesResult().addAttributesEntry("VisibilityTimeout", "30");
+        }
+
+        @Override
+        public ReceiveMessageResult receiveMessage(ReceiveMessageRequest request) {
+            if (fail) {
+                throw new AmazonClientException("Receive failed");
+            }
+            List<Message> messages = new ArrayList<Message>();
+            for (int i = 0; i < request.getMaxNumberOfMessages(); i++) {
+                String id = String.valueOf(sent.incrementAndGet());
+                messages.add(new Message().withMessageId(id).withReceiptHandle(id));
+            }
+            return new ReceiveMessageResult().withMessages(messages);
+        }
+
+        @Override
+        public ChangeMessageVisibilityBatchResult changeMessageVisibilityBatch(
+                ChangeMessageVisibilityBatchRequest request) {
+            nacked.addAndGet(request.getEntries().size());
+            return new ChangeMessageVisibilityBatchResult();
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.amazonaws.auth;
 
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.auth.internal.RefreshableTask;
 import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient;
@@ -168,7 +169,8 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
         return new RefreshableTask.Builder<SessionCredentialsHolder>()
                 .withRefreshCallable(refreshCallable)
                 .withBlockingRefreshPredicate(new ShouldDoBlockingSessionRefresh())
-                .withAsyncRefreshPredicate(new ShouldDoAsyncSessionRefresh()).build();
+                .withAsyncRefreshPredicate(new ShouldDoAsyncSessionRefresh())
+                .withAsyncRefreshTime(ShouldDoAsyncSessionRefresh.ASYNC_REFRESH_TIME).build();
     }
 
     /**
@@ -272,6 +274,7 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
     @Deprecated
     public synchronized void setSTSClientEndpoint(String endpoint) {
         securityTokenService.setEndpoint(endpoint);
+        this.refreshableTask.shutdown();
         this.refreshableTask = createRefreshableTask();
     }
 
@@ -286,6 +289,21 @@ public class STSAssumeRoleSessionCredentialsProvider implements AWSSessionCreden
         refreshableTask.forceGetValue();
     }
 
+    /**
+     * Stops refreshing the session credentials in the background. New sessions are still started
+     * when credentials are requested and the current session can't be used.
+     */
+    public void shutdown() {
+        refreshableTask.shutdown();
+    }
+
+    /**
+     * Returns a snapshot of how this provider has been refreshing its session credentials.
+     */
+    public CredentialsRefreshMetrics getRefreshMetrics() {
+        return refreshableTask.getMetrics();
+    }
+
     /**
      * Starts a new session by sending a request to the AWS Security Token Service (STS) to assume a
      * Role using the long lived AWS credentials. This class then vends the short lived session
@@ -17,6 +17,7 @@ package com.amazonaws.auth;
 
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.auth.internal.RefreshableTask;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient;
 import com.amazonaws.services.securitytoken.model.GetSessionTokenRequest;
@@ -114,7 +115,8 @@ public class STSSessionCredentialsProvider implements AWSSessionCredentialsProvi
         return new RefreshableTask.Builder<SessionCredentialsHolder>()
                 .withRefreshCallable(refreshCallable)
                 .withBlockingRefreshPredicate(new ShouldDoBlockingSessionRefresh())
-                .withAsyncRefreshPredicate(new ShouldDoAsyncSessionRefresh()).build();
+                .withAsyncRefreshPredicate(new ShouldDoAsyncSessionRefresh())
+                .withAsyncRefreshTime(ShouldDoAsyncSessionRefresh.ASYNC_REFRESH_TIME).build();
     }
 
     /**
@@ -145,6 +147,7 @@ public class STSSessionCredentialsProvider implements AWSSessionCredentialsProvi
     public synchronized void setSTSClientEndpoint(String endpoint) {
         securityTokenService.setEndpoint(endpoint);
         // Create a new task rather then trying to synchronize this in the refreshable task
+        this.refreshableTask.shutdown();
         this.refreshableTask = createRefreshableTask();
     }
 
@@ -172,6 +175,21 @@ public class STSSessionCredentialsProvider implements AWSSessionCredentialsProvi
         refreshableTask.forceGetValue();
     }
 
+    /**
+     * Stops refreshing the session credentials in the background. New sessions are still started
+     * when credentials are requested and the current session can't be used.
+     */
+    public void shutdown() {
+        refreshableTask.shutdown();
+    }
+
+    /**
+     * Returns a snapshot of how this provider has been refreshing its session credentials.
+     */
+    public CredentialsRefreshMetrics getRefreshMetrics() {
+        return refreshableTask.getMetrics();
+    }
+
     private SessionCredentialsHolder newSession() {
         GetSessionTokenResult sessionTokenResult = securityTokenService.getSessionToken(
                 new GetSessionTokenRequest().withDurationSeconds(DEFAULT_DURATION_SECONDS));
@@ -16,6 +16,7 @@ package com.amazonaws.auth;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.internal.SdkFunction;
 import com.amazonaws.internal.SdkPredicate;
 
 import java.util.Date;
@@ -36,6 +37,22 @@ class ShouldDoAsyncSessionRefresh extends SdkPredicate<SessionCredentialsHolder>
      */
     private static final long ASYNC_REFRESH_EXPIRATION_IN_MILLIS = TimeUnit.MINUTES.toMillis(5);
 
+    /**
+     * Returns the time at which this predicate starts matching a session, so that its refresh can
+     * be scheduled ahead of time.
+     */
+    static final SdkFunction<SessionCredentialsHolder, Date> ASYNC_REFRESH_TIME =
+            new SdkFunction<SessionCredentialsHolder, Date>() {
+                @Override
+                public Date apply(SessionCredentialsHolder sessionCredentialsHolder) {
+                    Date expiryTime = sessionCredentialsHolder.getSessionCredentialsExpiration();
+                    if (expiryTime == null) {
+                        return null;
+                    }
+                    return new Date(expiryTime.getTime() - ASYNC_REFRESH_EXPIRATION_IN_MILLIS);
+                }
+            };
+
     @Override
     public boolean test(SessionCredentialsHolder sessionCredentialsHolder) {
         Date expiryTime = sessionCredentialsHolder.getSessionCredentialsExpiration();